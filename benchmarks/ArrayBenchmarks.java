@@ -0,0 +1,235 @@
+package benchmarks;
+
+import data_structures.arrays.DynamicArrays.ChunkedDynamicArray;
+import data_structures.arrays.DynamicArrays.DynamicArray;
+import data_structures.arrays.DynamicArrays.IntDynamicArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmarks for {@link DynamicArray} and its primitive variants against a
+ * {@link java.util.ArrayList} baseline.
+ */
+final class ArrayBenchmarks {
+    /** Random reads performed per {@code get} invocation */
+    private static final int LOOKUPS = 1_000_000;
+    /** Middle inserts/removes per invocation (each one is O(n)) */
+    private static final int SHIFTS = 1_000;
+
+    private ArrayBenchmarks() {
+    }
+
+    static void register(List<Benchmark> out) {
+        // ---- add: build from empty ----
+        out.add(Benchmark.of("DynamicArray.add", Inputs::keys, keys -> {
+            DynamicArray<Integer> array = new DynamicArray<>();
+            for (Integer key : keys) {
+                array.add(key);
+            }
+            return array.size();
+        }, size -> size));
+        out.add(Benchmark.of("ChunkedDynamicArray.add", Inputs::keys, keys -> {
+            ChunkedDynamicArray<Integer> array = new ChunkedDynamicArray<>();
+            for (Integer key : keys) {
+                array.add(key);
+            }
+            return array.size();
+        }, size -> size));
+        out.add(Benchmark.of("IntDynamicArray.add", ArrayBenchmarks::ints, values -> {
+            IntDynamicArray array = new IntDynamicArray();
+            for (int value : values) {
+                array.add(value);
+            }
+            return array.size();
+        }, size -> size));
+        out.add(Benchmark.of("ArrayList.add", Inputs::keys, keys -> {
+            ArrayList<Integer> list = new ArrayList<>();
+            for (Integer key : keys) {
+                list.add(key);
+            }
+            return list.size();
+        }, size -> size));
+
+        // ---- get: random reads from a filled array ----
+        out.add(Benchmark.of("DynamicArray.get", size -> new Filled<>(dynamicArray(size), size), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.structure.get(index);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("ChunkedDynamicArray.get", size -> new Filled<>(chunkedDynamicArray(size), size), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.structure.get(index);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("IntDynamicArray.get", size -> new Filled<>(intDynamicArray(size), size), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.structure.get(index);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("ArrayList.get", size -> new Filled<>(arrayList(size), size), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.structure.get(index);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+
+        // ---- insert: splice into the middle ----
+        out.add(Benchmark.of("DynamicArray.insert", ArrayBenchmarks::dynamicArray, array -> {
+            Integer value = 42;
+            int count = Math.min(array.size(), SHIFTS);
+            for (int i = 0; i < count; i++) {
+                array.insert(array.size() / 2, value);
+            }
+            return array.size();
+        }, size -> Math.min(size, SHIFTS)));
+        out.add(Benchmark.of("ArrayList.insert", ArrayBenchmarks::arrayList, list -> {
+            Integer value = 42;
+            int count = Math.min(list.size(), SHIFTS);
+            for (int i = 0; i < count; i++) {
+                list.add(list.size() / 2, value);
+            }
+            return list.size();
+        }, size -> Math.min(size, SHIFTS)));
+
+        // ---- insertAll: the same splice as one block ----
+        out.add(Benchmark.of("DynamicArray.insertAll", ArrayBenchmarks::dynamicArray, array -> {
+            Integer[] block = new Integer[Math.min(array.size(), SHIFTS)];
+            Arrays.fill(block, 42);
+            array.insertAll(array.size() / 2, block);
+            return array.size();
+        }, size -> Math.min(size, SHIFTS)));
+        out.add(Benchmark.of("ArrayList.insertAll", ArrayBenchmarks::arrayList, list -> {
+            Integer[] block = new Integer[Math.min(list.size(), SHIFTS)];
+            Arrays.fill(block, 42);
+            list.addAll(list.size() / 2, Arrays.asList(block));
+            return list.size();
+        }, size -> Math.min(size, SHIFTS)));
+
+        // ---- remove: delete from the middle ----
+        out.add(Benchmark.of("DynamicArray.remove", ArrayBenchmarks::dynamicArray, array -> {
+            long sum = 0;
+            int count = Math.min(array.size(), SHIFTS);
+            for (int i = 0; i < count; i++) {
+                sum += array.remove(array.size() / 2);
+            }
+            return sum;
+        }, size -> Math.min(size, SHIFTS)));
+        out.add(Benchmark.of("ArrayList.remove", ArrayBenchmarks::arrayList, list -> {
+            long sum = 0;
+            int count = Math.min(list.size(), SHIFTS);
+            for (int i = 0; i < count; i++) {
+                sum += list.remove(list.size() / 2);
+            }
+            return sum;
+        }, size -> Math.min(size, SHIFTS)));
+
+        // ---- removeRange: the same deletion as one block ----
+        out.add(Benchmark.of("DynamicArray.removeRange", ArrayBenchmarks::dynamicArray, array -> {
+            int from = array.size() / 2 - Math.min(array.size(), SHIFTS) / 2;
+            array.removeRange(from, from + Math.min(array.size(), SHIFTS));
+            return array.size();
+        }, size -> Math.min(size, SHIFTS)));
+
+        // ---- indexOf: full scan for an absent value ----
+        out.add(Benchmark.of("DynamicArray.indexOf", ArrayBenchmarks::dynamicArray,
+                array -> array.indexOf(-1), size -> size));
+        out.add(Benchmark.of("IntDynamicArray.indexOf", ArrayBenchmarks::intDynamicArray,
+                array -> array.indexOf(-1), size -> size));
+        out.add(Benchmark.of("ArrayList.indexOf", ArrayBenchmarks::arrayList,
+                list -> list.indexOf(-1), size -> size));
+
+        // ---- reductions over primitives ----
+        out.add(Benchmark.of("IntDynamicArray.count", ArrayBenchmarks::intDynamicArray,
+                array -> array.count(7), size -> size));
+        out.add(Benchmark.of("IntDynamicArray.min", ArrayBenchmarks::intDynamicArray,
+                IntDynamicArray::min, size -> size));
+
+        // ---- stream reduce: one core vs the common ForkJoinPool ----
+        out.add(Benchmark.of("DynamicArray.streamSum", ArrayBenchmarks::dynamicArray,
+                array -> array.stream().mapToLong(Integer::longValue).sum(), size -> size));
+        out.add(Benchmark.of("DynamicArray.parallelStreamSum", ArrayBenchmarks::dynamicArray,
+                array -> array.parallelStream().mapToLong(Integer::longValue).sum(), size -> size));
+        out.add(Benchmark.of("ArrayList.parallelStreamSum", ArrayBenchmarks::arrayList,
+                list -> list.parallelStream().mapToLong(Integer::longValue).sum(), size -> size));
+
+        // ---- iterate: fail-fast iterator vs forEach straight over the backing array ----
+        out.add(Benchmark.of("DynamicArray.iterate", ArrayBenchmarks::dynamicArray, array -> {
+            long sum = 0;
+            for (Integer value : array) {
+                sum += value;
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("DynamicArray.forEach", ArrayBenchmarks::dynamicArray, array -> {
+            long[] sum = new long[1];
+            array.forEach(value -> sum[0] += value);
+            return sum[0];
+        }, size -> size));
+        out.add(Benchmark.of("ArrayList.iterate", ArrayBenchmarks::arrayList, list -> {
+            long sum = 0;
+            for (Integer value : list) {
+                sum += value;
+            }
+            return sum;
+        }, size -> size));
+    }
+
+    private static DynamicArray<Integer> dynamicArray(int size) {
+        DynamicArray<Integer> array = new DynamicArray<>(size);
+        for (Integer key : Inputs.keys(size)) {
+            array.add(key);
+        }
+        return array;
+    }
+
+    private static ChunkedDynamicArray<Integer> chunkedDynamicArray(int size) {
+        ChunkedDynamicArray<Integer> array = new ChunkedDynamicArray<>();
+        for (Integer key : Inputs.keys(size)) {
+            array.add(key);
+        }
+        return array;
+    }
+
+    private static IntDynamicArray intDynamicArray(int size) {
+        IntDynamicArray array = new IntDynamicArray(size);
+        array.addAll(ints(size));
+        return array;
+    }
+
+    private static int[] ints(int size) {
+        Integer[] keys = Inputs.keys(size);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = keys[i];
+        }
+        return values;
+    }
+
+    private static ArrayList<Integer> arrayList(int size) {
+        ArrayList<Integer> list = new ArrayList<>(size);
+        for (Integer key : Inputs.keys(size)) {
+            list.add(key);
+        }
+        return list;
+    }
+
+    /** A pre-filled structure plus the random indices to read from it */
+    private static final class Filled<S> {
+        final S structure;
+        final int[] indices;
+
+        Filled(S structure, int size) {
+            this.structure = structure;
+            this.indices = Inputs.indices(Math.min(size, LOOKUPS), size);
+        }
+    }
+}
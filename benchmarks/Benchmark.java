@@ -0,0 +1,187 @@
+package benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A single named micro-benchmark.
+ *
+ * <p>Each measured iteration calls {@link #setup(int)} (untimed) followed by
+ * {@link #run()} (timed). The reported score is the elapsed time of
+ * {@code run()} divided by {@link #operations(int)}, in nanoseconds per
+ * operation.</p>
+ *
+ * <p>A benchmark may also report secondary metrics (such as the average probe
+ * length of a hash table) through {@link #metrics()}; these are averaged over
+ * the measured iterations like JMH's auxiliary counters.</p>
+ */
+public abstract class Benchmark {
+    private final String name;
+
+    /**
+     * @param name benchmark name in the form {@code Structure.operation}
+     */
+    protected Benchmark(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of this benchmark.
+     * @return the benchmark name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Prepares fresh state for one measured iteration. Not timed.
+     * @param size the number of elements the structure should work with
+     */
+    public abstract void setup(int size);
+
+    /**
+     * Executes the timed body of the benchmark.
+     * @return a checksum of the work done, consumed by the runner so the JIT
+     *         cannot eliminate the body as dead code
+     */
+    public abstract long run();
+
+    /**
+     * Returns the number of operations one call to {@link #run()} performs.
+     * @param size the size passed to {@link #setup(int)}
+     * @return operations per invocation
+     */
+    public abstract long operations(int size);
+
+    /**
+     * Returns the largest size this benchmark is willing to run at. Benchmarks
+     * with super-linear cost override this so large sweeps stay tractable.
+     * @return the maximum supported size
+     */
+    public int maxSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns secondary measurements of the state left by the last {@link #run()}.
+     * Called after every measured iteration, before {@link #tearDown()}, and not timed.
+     * @return metric values by name (names must not contain whitespace)
+     */
+    public Map<String, Double> metrics() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Releases any state held since the last {@link #setup(int)}.
+     */
+    public void tearDown() {
+    }
+
+    /**
+     * Creates a benchmark from a state factory and a body.
+     *
+     * @param name benchmark name
+     * @param setup creates the state for one iteration from the size
+     * @param body the timed work, returning a checksum
+     * @param operations operations performed by the body for a given size
+     * @param <S> the per-iteration state type
+     * @return the benchmark
+     */
+    public static <S> Benchmark of(String name, IntFunction<S> setup, ToLongFunction<S> body,
+                                   IntUnaryOperator operations) {
+        return of(name, setup, body, operations, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a benchmark that also reports one secondary metric of its state.
+     *
+     * @param name benchmark name
+     * @param setup creates the state for one iteration from the size
+     * @param body the timed work, returning a checksum
+     * @param operations operations performed by the body for a given size
+     * @param metric name of the secondary metric
+     * @param measure computes the metric from the state after the body has run
+     * @param <S> the per-iteration state type
+     * @return the benchmark
+     */
+    public static <S> Benchmark of(String name, IntFunction<S> setup, ToLongFunction<S> body,
+                                   IntUnaryOperator operations, String metric, ToDoubleFunction<S> measure) {
+        return of(name, setup, body, operations, Integer.MAX_VALUE,
+                state -> Collections.singletonMap(metric, measure.applyAsDouble(state)));
+    }
+
+    /**
+     * Creates a benchmark that reports several secondary metrics of its state.
+     *
+     * @param name benchmark name
+     * @param setup creates the state for one iteration from the size
+     * @param body the timed work, returning a checksum
+     * @param operations operations performed by the body for a given size
+     * @param measure computes the metrics, by name, from the state after the body has run
+     * @param <S> the per-iteration state type
+     * @return the benchmark
+     */
+    public static <S> Benchmark of(String name, IntFunction<S> setup, ToLongFunction<S> body,
+                                   IntUnaryOperator operations, Function<S, Map<String, Double>> measure) {
+        return of(name, setup, body, operations, Integer.MAX_VALUE, measure);
+    }
+
+    /**
+     * Creates a benchmark from a state factory and a body, capped at a maximum size.
+     *
+     * @param name benchmark name
+     * @param setup creates the state for one iteration from the size
+     * @param body the timed work, returning a checksum
+     * @param operations operations performed by the body for a given size
+     * @param maxSize the largest size the benchmark runs at
+     * @param <S> the per-iteration state type
+     * @return the benchmark
+     */
+    public static <S> Benchmark of(String name, IntFunction<S> setup, ToLongFunction<S> body,
+                                   IntUnaryOperator operations, int maxSize) {
+        return of(name, setup, body, operations, maxSize, state -> Collections.emptyMap());
+    }
+
+    private static <S> Benchmark of(String name, IntFunction<S> setup, ToLongFunction<S> body,
+                                    IntUnaryOperator operations, int maxSize,
+                                    Function<S, Map<String, Double>> measure) {
+        return new Benchmark(name) {
+            private S state;
+
+            @Override
+            public void setup(int size) {
+                state = setup.apply(size);
+            }
+
+            @Override
+            public long run() {
+                return body.applyAsLong(state);
+            }
+
+            @Override
+            public long operations(int size) {
+                return operations.applyAsInt(size);
+            }
+
+            @Override
+            public int maxSize() {
+                return maxSize;
+            }
+
+            @Override
+            public Map<String, Double> metrics() {
+                return measure.apply(state);
+            }
+
+            @Override
+            public void tearDown() {
+                state = null;
+            }
+        };
+    }
+}
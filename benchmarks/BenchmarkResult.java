@@ -0,0 +1,136 @@
+package benchmarks;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The measured samples of one benchmark at one size, with summary statistics
+ * and JSON serialization.
+ */
+final class BenchmarkResult {
+    /** z-score for a two-sided 99.9% confidence interval */
+    private static final double Z_999 = 3.291;
+
+    private final String name;
+    private final int size;
+    private final double[] samples; // ns/op, one per measured iteration
+    private final Map<String, Double> metrics; // secondary metrics, averaged over iterations
+
+    BenchmarkResult(String name, int size, double[] samples, Map<String, Double> metrics) {
+        this.name = name;
+        this.size = size;
+        this.samples = samples;
+        this.metrics = metrics;
+    }
+
+    String name() {
+        return name;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the secondary metrics reported by the benchmark.
+     * @return mean metric values by name (unmodifiable)
+     */
+    Map<String, Double> metrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Returns the mean score in ns/op.
+     * @return the mean of all samples
+     */
+    double score() {
+        double sum = 0;
+        for (double sample : samples) {
+            sum += sample;
+        }
+        return sum / samples.length;
+    }
+
+    /**
+     * Returns the half-width of the 99.9% confidence interval around {@link #score()}.
+     * @return the score error, or NaN with fewer than two samples
+     */
+    double error() {
+        if (samples.length < 2) {
+            return Double.NaN;
+        }
+        double mean = score();
+        double squares = 0;
+        for (double sample : samples) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        double stdev = Math.sqrt(squares / (samples.length - 1));
+        return Z_999 * stdev / Math.sqrt(samples.length);
+    }
+
+    /**
+     * Serializes this result as a JMH-compatible JSON object so existing
+     * JMH tooling (and a plain {@code diff}) can compare runs.
+     *
+     * @param warmup warmup iterations per fork
+     * @param iterations measured iterations per fork
+     * @param forks number of forked JVMs (0 = in-process)
+     * @return the JSON object text
+     */
+    String toJson(int warmup, int iterations, int forks) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("  {\n");
+        sb.append("    \"benchmark\" : ").append(quote("benchmarks." + name)).append(",\n");
+        sb.append("    \"mode\" : \"avgt\",\n");
+        sb.append("    \"jvm\" : ").append(quote(System.getProperty("java.home"))).append(",\n");
+        sb.append("    \"vmVersion\" : ").append(quote(System.getProperty("java.vm.version"))).append(",\n");
+        sb.append("    \"forks\" : ").append(forks).append(",\n");
+        sb.append("    \"warmupIterations\" : ").append(warmup).append(",\n");
+        sb.append("    \"measurementIterations\" : ").append(iterations).append(",\n");
+        sb.append("    \"params\" : {\n");
+        sb.append("      \"size\" : ").append(quote(Integer.toString(size))).append("\n");
+        sb.append("    },\n");
+        sb.append("    \"primaryMetric\" : {\n");
+        sb.append("      \"score\" : ").append(number(score())).append(",\n");
+        sb.append("      \"scoreError\" : ").append(number(error())).append(",\n");
+        sb.append("      \"scoreUnit\" : \"ns/op\",\n");
+        sb.append("      \"rawData\" : [\n        [");
+        for (int i = 0; i < samples.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(number(samples[i]));
+        }
+        sb.append("]\n      ]\n");
+        sb.append("    },\n");
+        sb.append("    \"secondaryMetrics\" : {");
+        int written = 0;
+        for (Map.Entry<String, Double> metric : metrics.entrySet()) {
+            sb.append(written++ > 0 ? ",\n" : "\n");
+            sb.append("      ").append(quote(metric.getKey())).append(" : {\n");
+            sb.append("        \"score\" : ").append(number(metric.getValue())).append(",\n");
+            sb.append("        \"scoreUnit\" : \"\"\n");
+            sb.append("      }");
+        }
+        sb.append(written > 0 ? "\n    }\n" : "}\n");
+        sb.append("  }");
+        return sb.toString();
+    }
+
+    private static String number(double value) {
+        return Double.isNaN(value) ? "\"NaN\"" : String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+}
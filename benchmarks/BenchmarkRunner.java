@@ -0,0 +1,276 @@
+package benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Command-line entry point for the benchmark suite.
+ *
+ * <p>Modelled on JMH: every benchmark/size pair runs in its own forked JVM
+ * (so JIT profiles from one structure do not pollute another), performs a
+ * number of warmup iterations followed by measured iterations, and the
+ * results are written as JMH-format JSON.</p>
+ *
+ * <pre>
+ * javac -d out $(find data_structures benchmarks -name "*.java")
+ * java -Xmx8g -cp out benchmarks.BenchmarkRunner --include=HashTable --sizes=1000,1000000
+ * </pre>
+ *
+ * Options:
+ * <ul>
+ *   <li>{@code --include=REGEX}  run only benchmarks whose name matches (default: all)</li>
+ *   <li>{@code --sizes=N,N,...}  element counts (default: 1000,10000,100000,1000000)</li>
+ *   <li>{@code --warmup=N}       warmup iterations per fork (default: 5)</li>
+ *   <li>{@code --iterations=N}   measured iterations per fork (default: 10)</li>
+ *   <li>{@code --forks=N}        forked JVMs per benchmark, 0 runs in-process (default: 1)</li>
+ *   <li>{@code --out=FILE}       JSON output file (default: benchmark-results.json)</li>
+ *   <li>{@code --list}           print benchmark names and exit</li>
+ * </ul>
+ */
+public final class BenchmarkRunner {
+    /** Prefix of the lines a forked worker uses to report samples */
+    private static final String SAMPLE_PREFIX = "@sample ";
+    /** Prefix of the lines a forked worker uses to report secondary metrics */
+    private static final String METRIC_PREFIX = "@metric ";
+
+    /** Consumes benchmark checksums so the JIT cannot discard the work */
+    private static volatile long sink;
+
+    private String include = ".*";
+    private int[] sizes = {1_000, 10_000, 100_000, 1_000_000};
+    private int warmup = 5;
+    private int iterations = 10;
+    private int forks = 1;
+    private String out = "benchmark-results.json";
+    private boolean list;
+    private boolean worker;
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Returns every registered benchmark, in report order.
+     * @return all benchmarks
+     */
+    static List<Benchmark> all() {
+        List<Benchmark> benchmarks = new ArrayList<>();
+        ArrayBenchmarks.register(benchmarks);
+        HashTableBenchmarks.register(benchmarks);
+        ConcurrentHashTableBenchmarks.register(benchmarks);
+        LinkedListBenchmarks.register(benchmarks);
+        CacheBenchmarks.register(benchmarks);
+        return benchmarks;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        BenchmarkRunner runner = new BenchmarkRunner();
+        runner.parse(args);
+
+        Pattern pattern = Pattern.compile(runner.include);
+        List<Benchmark> selected = new ArrayList<>();
+        for (Benchmark benchmark : all()) {
+            if (pattern.matcher(benchmark.name()).find()) {
+                selected.add(benchmark);
+            }
+        }
+
+        if (runner.list) {
+            for (Benchmark benchmark : selected) {
+                System.out.println(benchmark.name());
+            }
+        } else if (runner.worker) {
+            runner.work(selected);
+        } else {
+            runner.runAll(selected);
+        }
+    }
+
+    private void parse(String[] args) {
+        for (String arg : args) {
+            String value = arg.contains("=") ? arg.substring(arg.indexOf('=') + 1) : "";
+            if (arg.startsWith("--include=")) {
+                include = value;
+            } else if (arg.startsWith("--sizes=")) {
+                String[] parts = value.split(",");
+                sizes = new int[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    sizes[i] = Integer.parseInt(parts[i].trim().replace("_", ""));
+                }
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(value);
+            } else if (arg.startsWith("--iterations=")) {
+                iterations = Integer.parseInt(value);
+            } else if (arg.startsWith("--forks=")) {
+                forks = Integer.parseInt(value);
+            } else if (arg.startsWith("--out=")) {
+                out = value;
+            } else if (arg.equals("--list")) {
+                list = true;
+            } else if (arg.equals("--worker")) {
+                worker = true;
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (iterations <= 0 || warmup < 0 || forks < 0) {
+            throw new IllegalArgumentException("Iteration and fork counts cannot be negative");
+        }
+    }
+
+    /**
+     * Runs every selected benchmark at every size and writes the JSON report.
+     */
+    private void runAll(List<Benchmark> selected) throws IOException, InterruptedException {
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (Benchmark benchmark : selected) {
+            for (int size : sizes) {
+                if (size > benchmark.maxSize()) {
+                    System.out.printf("# %s size=%d skipped (max %d)%n", benchmark.name(), size, benchmark.maxSize());
+                    continue;
+                }
+                System.out.printf("# %s size=%d%n", benchmark.name(), size);
+                Map<String, Double> metrics = new LinkedHashMap<>();
+                double[] samples = forks == 0 ? measure(benchmark, size, metrics) : fork(benchmark, size, metrics);
+                BenchmarkResult result = new BenchmarkResult(benchmark.name(), size, samples, metrics);
+                results.add(result);
+                System.out.printf(Locale.ROOT, "  %.3f +- %.3f ns/op%s%n", result.score(), result.error(),
+                        formatMetrics(result));
+            }
+        }
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(out), StandardCharsets.UTF_8))) {
+            writer.println("[");
+            for (int i = 0; i < results.size(); i++) {
+                writer.print(results.get(i).toJson(warmup, iterations, forks));
+                writer.println(i < results.size() - 1 ? "," : "");
+            }
+            writer.println("]");
+        }
+
+        System.out.println();
+        System.out.printf("%-40s %12s %14s %12s%n", "Benchmark", "size", "ns/op", "error");
+        for (BenchmarkResult result : results) {
+            System.out.printf(Locale.ROOT, "%-40s %12d %14.3f %12.3f%s%n",
+                    result.name(), result.size(), result.score(), result.error(), formatMetrics(result));
+        }
+        System.out.println("\nResults written to " + out);
+    }
+
+    /**
+     * Worker mode: measures the single selected benchmark and reports samples on stdout.
+     */
+    private void work(List<Benchmark> selected) {
+        if (selected.size() != 1 || sizes.length != 1) {
+            throw new IllegalStateException("Worker expects exactly one benchmark and one size");
+        }
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        for (double sample : measure(selected.get(0), sizes[0], metrics)) {
+            System.out.println(SAMPLE_PREFIX + sample);
+        }
+        for (Map.Entry<String, Double> metric : metrics.entrySet()) {
+            System.out.println(METRIC_PREFIX + metric.getKey() + " " + metric.getValue());
+        }
+        System.out.println("# sink " + sink);
+    }
+
+    /**
+     * Measures a benchmark in the current JVM.
+     * @param metrics receives the benchmark's secondary metrics, averaged over the measured iterations
+     * @return ns/op for each measured iteration
+     */
+    private double[] measure(Benchmark benchmark, int size, Map<String, Double> metrics) {
+        for (int i = 0; i < warmup; i++) {
+            benchmark.setup(size);
+            sink ^= benchmark.run();
+            benchmark.tearDown();
+        }
+
+        double[] samples = new double[iterations];
+        long operations = benchmark.operations(size);
+        for (int i = 0; i < iterations; i++) {
+            benchmark.setup(size);
+            System.gc(); // keep setup garbage from being collected inside the timed region
+            long start = System.nanoTime();
+            sink ^= benchmark.run();
+            long elapsed = System.nanoTime() - start;
+            for (Map.Entry<String, Double> metric : benchmark.metrics().entrySet()) {
+                metrics.merge(metric.getKey(), metric.getValue() / iterations, Double::sum);
+            }
+            benchmark.tearDown();
+            samples[i] = (double) elapsed / operations;
+        }
+        return samples;
+    }
+
+    /**
+     * Measures a benchmark in {@code forks} fresh JVMs, inheriting this JVM's flags.
+     * @param metrics receives the benchmark's secondary metrics, averaged over all forks
+     * @return the concatenated samples of all forks
+     */
+    private double[] fork(Benchmark benchmark, int size, Map<String, Double> metrics)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BenchmarkRunner.class.getName());
+        command.add("--worker");
+        command.add("--include=^" + Pattern.quote(benchmark.name()) + "$");
+        command.add("--sizes=" + size);
+        command.add("--warmup=" + warmup);
+        command.add("--iterations=" + iterations);
+
+        double[] samples = new double[forks * iterations];
+        int count = 0;
+        for (int f = 0; f < forks; f++) {
+            Process process = new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .directory(new File(System.getProperty("user.dir")))
+                    .start();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(SAMPLE_PREFIX) && count < samples.length) {
+                        samples[count++] = Double.parseDouble(line.substring(SAMPLE_PREFIX.length()));
+                    } else if (line.startsWith(METRIC_PREFIX)) {
+                        int space = line.lastIndexOf(' ');
+                        metrics.merge(line.substring(METRIC_PREFIX.length(), space),
+                                Double.parseDouble(line.substring(space + 1)) / forks, Double::sum);
+                    }
+                }
+            }
+            int exit = process.waitFor();
+            if (exit != 0) {
+                throw new IllegalStateException("Fork for " + benchmark.name() + " exited with " + exit);
+            }
+        }
+        if (count != samples.length) {
+            throw new IllegalStateException("Expected " + samples.length + " samples, got " + count);
+        }
+        return samples;
+    }
+
+    /** Formats a result's secondary metrics for the console, e.g. "  probeLength=1.42". */
+    private static String formatMetrics(BenchmarkResult result) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Double> metric : result.metrics().entrySet()) {
+            sb.append(String.format(Locale.ROOT, "  %s=%.3f", metric.getKey(), metric.getValue()));
+        }
+        return sb.toString();
+    }
+}
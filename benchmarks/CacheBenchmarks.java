@@ -0,0 +1,78 @@
+package benchmarks;
+
+import data_structures.caches.Cache;
+import data_structures.caches.EvictionPolicy;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks for {@link Cache} under each {@link EvictionPolicy}, against an
+ * access-ordered {@link LinkedHashMap} as the usual hand-rolled LRU baseline.
+ *
+ * <p>Each benchmark replays a skewed request stream with scans mixed in
+ * ({@link Inputs#skewedIndices}) over {@code size} distinct keys, through a cache
+ * holding a tenth of them: a get, and a put on a miss. The score is the cost per
+ * request and {@code hitRate} shows how well the policy chose what to keep.</p>
+ */
+final class CacheBenchmarks {
+    /** Requests per invocation */
+    private static final int REQUESTS = 1_000_000;
+
+    private CacheBenchmarks() {
+    }
+
+    static void register(List<Benchmark> out) {
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            out.add(Benchmark.of("Cache." + policy + ".getOrPut", CacheBenchmarks::trace, s -> {
+                Cache<Integer, Integer> cache = new Cache<>(policy, Math.max(1, s.keys.length / 10));
+                for (int index : s.indices) {
+                    Integer key = s.keys[index];
+                    if (cache.get(key) == null) {
+                        cache.put(key, key);
+                    }
+                }
+                s.last = cache;
+                return cache.size();
+            }, size -> REQUESTS, "hitRate", s -> s.last.hitRate()));
+        }
+        out.add(Benchmark.of("LinkedHashMap.getOrPut", CacheBenchmarks::trace, s -> {
+            int capacity = Math.max(1, s.keys.length / 10);
+            Map<Integer, Integer> cache = new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                    return size() > capacity;
+                }
+            };
+            long hits = 0;
+            for (int index : s.indices) {
+                Integer key = s.keys[index];
+                if (cache.get(key) == null) {
+                    cache.put(key, key);
+                } else {
+                    hits++;
+                }
+            }
+            s.hits = hits;
+            return cache.size();
+        }, size -> REQUESTS, "hitRate", s -> (double) s.hits / REQUESTS));
+    }
+
+    private static Trace trace(int size) {
+        return new Trace(Inputs.keys(size), Inputs.skewedIndices(REQUESTS, size));
+    }
+
+    /** The keys, the request stream over them, and the outcome of the last run */
+    private static final class Trace {
+        final Integer[] keys;
+        final int[] indices;
+        Cache<Integer, Integer> last;
+        long hits;
+
+        Trace(Integer[] keys, int[] indices) {
+            this.keys = keys;
+            this.indices = indices;
+        }
+    }
+}
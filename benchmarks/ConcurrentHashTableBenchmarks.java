@@ -0,0 +1,196 @@
+package benchmarks;
+
+import data_structures.hash_tables.ChainingHashTable.ChainingHashTable;
+import data_structures.hash_tables.ChainingHashTable.ConcurrentChainingHashTable;
+import data_structures.hash_tables.LinearProbingHashTable.ConcurrentLinearProbingHashTable;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntToLongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Multi-threaded benchmarks for {@link ConcurrentChainingHashTable} and the
+ * lock-free {@link ConcurrentLinearProbingHashTable} against a
+ * {@link ChainingHashTable} behind one global lock and a
+ * {@link java.util.concurrent.ConcurrentHashMap} baseline.
+ *
+ * <p>Each benchmark runs at several thread counts and splits a fixed amount of
+ * work between the threads, so the score (ns/op over all threads) falls as
+ * throughput scales with cores and stays flat or rises under contention.</p>
+ */
+final class ConcurrentHashTableBenchmarks {
+    /** Thread counts every benchmark runs at */
+    private static final int[] THREADS = {1, 2, 4, 8};
+    /** Operations per {@code mixed} or {@code readMostly} invocation, across all threads */
+    private static final int MIXED_OPERATIONS = 1_000_000;
+    /** One {@code mixed} operation in this many is a put; the rest are gets */
+    private static final int PUT_EVERY = 10;
+    /** One {@code readMostly} operation in this many is a put, as in a session lookup tier */
+    private static final int READ_MOSTLY_PUT_EVERY = 100;
+
+    private ConcurrentHashTableBenchmarks() {
+    }
+
+    static void register(List<Benchmark> out) {
+        for (int threads : THREADS) {
+            register(out, "SynchronizedChainingHashTable", threads, SynchronizedTable::new);
+            register(out, "ConcurrentChainingHashTable", threads, () -> new Shared() {
+                private final ConcurrentChainingHashTable<Integer, Integer> table = new ConcurrentChainingHashTable<>();
+
+                @Override
+                public void put(Integer key, Integer value) {
+                    table.put(key, value);
+                }
+
+                @Override
+                public Integer get(Integer key) {
+                    return table.get(key);
+                }
+            });
+            register(out, "ConcurrentLinearProbingHashTable", threads, () -> new Shared() {
+                private final ConcurrentLinearProbingHashTable<Integer, Integer> table = new ConcurrentLinearProbingHashTable<>();
+
+                @Override
+                public void put(Integer key, Integer value) {
+                    table.put(key, value);
+                }
+
+                @Override
+                public Integer get(Integer key) {
+                    return table.get(key);
+                }
+            });
+            register(out, "ConcurrentHashMap", threads, () -> new Shared() {
+                private final ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+
+                @Override
+                public void put(Integer key, Integer value) {
+                    map.put(key, value);
+                }
+
+                @Override
+                public Integer get(Integer key) {
+                    return map.get(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Registers {@code putParallel} (threads fill an empty table from disjoint key
+     * slices, so every resize happens under concurrent writes), {@code mixed}
+     * (random gets with one put in {@link #PUT_EVERY} on a filled table) and
+     * {@code readMostly} (the same with one put in {@link #READ_MOSTLY_PUT_EVERY}).
+     */
+    private static void register(List<Benchmark> out, String structure, int threads, Supplier<Shared> factory) {
+        out.add(Benchmark.of(structure + ".putParallel" + threads, size -> new Work(factory.get(), Inputs.keys(size), null), s -> {
+            int slice = (s.keys.length + threads - 1) / threads;
+            return parallel(threads, thread -> {
+                int end = Math.min(s.keys.length, (thread + 1) * slice);
+                for (int i = thread * slice; i < end; i++) {
+                    s.table.put(s.keys[i], s.keys[i]);
+                }
+                return end;
+            });
+        }, size -> size));
+        registerMixed(out, structure + ".mixed" + threads, threads, PUT_EVERY, factory);
+        registerMixed(out, structure + ".readMostly" + threads, threads, READ_MOSTLY_PUT_EVERY, factory);
+    }
+
+    private static void registerMixed(List<Benchmark> out, String name, int threads, int putEvery, Supplier<Shared> factory) {
+        out.add(Benchmark.of(name, size -> {
+            Integer[] keys = Inputs.keys(size);
+            Shared table = factory.get();
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            return new Work(table, keys, Inputs.indices(MIXED_OPERATIONS, size));
+        }, s -> {
+            int slice = MIXED_OPERATIONS / threads;
+            return parallel(threads, thread -> {
+                long sum = 0;
+                for (int i = thread * slice, end = i + slice; i < end; i++) {
+                    Integer key = s.keys[s.indices[i]];
+                    if (i % putEvery == 0) {
+                        s.table.put(key, key);
+                    } else {
+                        sum += s.table.get(key);
+                    }
+                }
+                return sum;
+            });
+        }, size -> MIXED_OPERATIONS / threads * threads));
+    }
+
+    /**
+     * Runs the body on the given number of threads (numbered from 0), all released
+     * together, and returns the sum of their results.
+     */
+    private static long parallel(int threads, IntToLongFunction body) {
+        long[] results = new long[threads];
+        Thread[] workers = new Thread[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                results[thread] = body.applyAsLong(thread);
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        long sum = 0;
+        for (int t = 0; t < threads; t++) {
+            try {
+                workers[t].join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for benchmark threads", e);
+            }
+            sum += results[t];
+        }
+        return sum;
+    }
+
+    /** The operations the benchmarks need from each table */
+    private interface Shared {
+        void put(Integer key, Integer value);
+
+        Integer get(Integer key);
+    }
+
+    /** A ChainingHashTable with every call under one lock, as callers wrap it today */
+    private static final class SynchronizedTable implements Shared {
+        private final ChainingHashTable<Integer, Integer> table = new ChainingHashTable<>();
+
+        @Override
+        public synchronized void put(Integer key, Integer value) {
+            table.put(key, value);
+        }
+
+        @Override
+        public synchronized Integer get(Integer key) {
+            return table.get(key);
+        }
+    }
+
+    /** A table, the keys to work with, and (for mixed and readMostly) the random key indices */
+    private static final class Work {
+        final Shared table;
+        final Integer[] keys;
+        final int[] indices;
+
+        Work(Shared table, Integer[] keys, int[] indices) {
+            this.table = table;
+            this.keys = keys;
+            this.indices = indices;
+        }
+    }
+}
@@ -0,0 +1,616 @@
+package benchmarks;
+
+import data_structures.hash_tables.ChainingHashTable.ChainingHashTable;
+import data_structures.hash_tables.FilterType;
+import data_structures.hash_tables.FilteredMap;
+import data_structures.hash_tables.IntIntMap;
+import data_structures.hash_tables.IntObjectMap;
+import data_structures.hash_tables.LinearProbingHashTable.LinearProbingHashTable;
+import data_structures.hash_tables.LinearProbingHashTable.RobinHoodHashTable;
+import data_structures.hash_tables.SwissHashTable.SwissHashTable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmarks for {@link LinearProbingHashTable}, {@link RobinHoodHashTable},
+ * {@link SwissHashTable}, {@link ChainingHashTable}, the primitive-key maps and
+ * {@link FilteredMap} against a {@link java.util.HashMap} baseline.
+ */
+final class HashTableBenchmarks {
+    /** Random hits performed per {@code get} invocation */
+    private static final int LOOKUPS = 1_000_000;
+    /** Churn steps per invocation; each step is a remove, a put, a hit and a miss */
+    private static final int CHURN_STEPS = 1_000_000;
+    /** False-positive rate of the filters in the FilteredMap benchmarks */
+    private static final double FILTER_FALSE_POSITIVE_RATE = 0.01;
+
+    private HashTableBenchmarks() {
+    }
+
+    static void register(List<Benchmark> out) {
+        // ---- put: build from empty (includes every resize) ----
+        out.add(Benchmark.of("LinearProbingHashTable.put", Inputs::keys, keys -> {
+            LinearProbingHashTable<Integer, Integer> table = new LinearProbingHashTable<>();
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            return table.size();
+        }, size -> size));
+        out.add(Benchmark.of("RobinHoodHashTable.put", Inputs::keys, keys -> {
+            RobinHoodHashTable<Integer, Integer> table = new RobinHoodHashTable<>();
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            return table.size();
+        }, size -> size));
+        out.add(Benchmark.of("SwissHashTable.put", Inputs::keys, keys -> {
+            SwissHashTable<Integer, Integer> table = new SwissHashTable<>();
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            return table.size();
+        }, size -> size));
+        out.add(Benchmark.of("ChainingHashTable.put", Inputs::keys, keys -> {
+            ChainingHashTable<Integer, Integer> table = new ChainingHashTable<>();
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            return table.size();
+        }, size -> size));
+        out.add(Benchmark.of("HashMap.put", Inputs::keys, keys -> {
+            HashMap<Integer, Integer> map = new HashMap<>();
+            for (Integer key : keys) {
+                map.put(key, key);
+            }
+            return map.size();
+        }, size -> size));
+
+        // ---- get: random hits against a filled table ----
+        out.add(Benchmark.of("LinearProbingHashTable.get", size -> new Lookup<>(linearProbing(size), Inputs.keys(size)), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(s.keys[index]);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS), "probeLength", s -> s.table.averageProbeLength()));
+        out.add(Benchmark.of("RobinHoodHashTable.get", size -> new Lookup<>(robinHood(size), Inputs.keys(size)), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(s.keys[index]);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS), "probeLength", s -> s.table.averageProbeLength()));
+        out.add(Benchmark.of("SwissHashTable.get", size -> new Lookup<>(swiss(size), Inputs.keys(size)), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(s.keys[index]);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("ChainingHashTable.get", size -> new Lookup<>(chaining(size), Inputs.keys(size)), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(s.keys[index]);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("HashMap.get", size -> new Lookup<>(hashMap(size), Inputs.keys(size)), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(s.keys[index]);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+
+        // ---- getMiss: random lookups of absent keys against a filled table ----
+        out.add(Benchmark.of("LinearProbingHashTable.getMiss",
+                size -> new Lookup<>(linearProbing(size), Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("RobinHoodHashTable.getMiss",
+                size -> new Lookup<>(robinHood(size), Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("SwissHashTable.getMiss",
+                size -> new Lookup<>(swiss(size), Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("ChainingHashTable.getMiss",
+                size -> new Lookup<>(chaining(size), Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("HashMap.getMiss",
+                size -> new Lookup<>(hashMap(size), Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+
+        out.add(Benchmark.of("FilteredMap.getMissBloom",
+                size -> new Lookup<>(filtered(linearProbing(size), FilterType.BLOOM), Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("FilteredMap.getMissCuckoo",
+                size -> new Lookup<>(filtered(linearProbing(size), FilterType.CUCKOO), Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("FilteredMap.getMissChainingBloom",
+                size -> new Lookup<>(new FilteredMap<>(chaining(size), FilterType.BLOOM, FILTER_FALSE_POSITIVE_RATE),
+                        Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+
+        // ---- getMissAfterChurn: absent keys after half the keys were replaced ----
+        out.add(Benchmark.of("LinearProbingHashTable.getMissAfterChurn",
+                size -> new Lookup<>(churned(linearProbing(size), (table, key) -> table.put(key, key),
+                        LinearProbingHashTable::remove, size), Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("FilteredMap.getMissAfterChurnBloom",
+                size -> new Lookup<>(churned(filtered(linearProbing(size), FilterType.BLOOM), (map, key) -> map.put(key, key),
+                        FilteredMap::remove, size), Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("FilteredMap.getMissAfterChurnCuckoo",
+                size -> new Lookup<>(churned(filtered(linearProbing(size), FilterType.CUCKOO), (map, key) -> map.put(key, key),
+                        FilteredMap::remove, size), Inputs.absentKeys(size)), s -> {
+            long found = 0;
+            for (int index : s.indices) {
+                found += s.table.get(s.keys[index]) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> Math.min(size, LOOKUPS)));
+
+        // ---- remove: drain a filled table ----
+        out.add(Benchmark.of("LinearProbingHashTable.remove", size -> new Lookup<>(linearProbing(size), Inputs.keys(size)), s -> {
+            for (Integer key : s.keys) {
+                s.table.remove(key);
+            }
+            return s.table.size();
+        }, size -> size));
+        out.add(Benchmark.of("RobinHoodHashTable.remove", size -> new Lookup<>(robinHood(size), Inputs.keys(size)), s -> {
+            for (Integer key : s.keys) {
+                s.table.remove(key);
+            }
+            return s.table.size();
+        }, size -> size));
+        out.add(Benchmark.of("SwissHashTable.remove", size -> new Lookup<>(swiss(size), Inputs.keys(size)), s -> {
+            for (Integer key : s.keys) {
+                s.table.remove(key);
+            }
+            return s.table.size();
+        }, size -> size));
+        out.add(Benchmark.of("ChainingHashTable.remove", size -> new Lookup<>(chaining(size), Inputs.keys(size)), s -> {
+            for (Integer key : s.keys) {
+                s.table.remove(key);
+            }
+            return s.table.size();
+        }, size -> size));
+        out.add(Benchmark.of("HashMap.remove", size -> new Lookup<>(hashMap(size), Inputs.keys(size)), s -> {
+            for (Integer key : s.keys) {
+                s.table.remove(key);
+            }
+            return s.table.size();
+        }, size -> size));
+
+        // ---- iterate: every key through the iterator, every mapping through forEach ----
+        out.add(Benchmark.of("LinearProbingHashTable.iterate", HashTableBenchmarks::linearProbing, table -> {
+            long sum = 0;
+            for (Integer key : table) {
+                sum += key;
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("ChainingHashTable.iterate", HashTableBenchmarks::chaining, table -> {
+            long sum = 0;
+            for (Integer key : table) {
+                sum += key;
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("HashMap.iterate", HashTableBenchmarks::hashMap, map -> {
+            long sum = 0;
+            for (Integer key : map.keySet()) {
+                sum += key;
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("LinearProbingHashTable.forEach", HashTableBenchmarks::linearProbing, table -> {
+            long[] sum = new long[1];
+            table.forEach((key, value) -> sum[0] += value);
+            return sum[0];
+        }, size -> size));
+        out.add(Benchmark.of("ChainingHashTable.forEach", HashTableBenchmarks::chaining, table -> {
+            long[] sum = new long[1];
+            table.forEach((key, value) -> sum[0] += value);
+            return sum[0];
+        }, size -> size));
+        out.add(Benchmark.of("HashMap.forEach", HashTableBenchmarks::hashMap, map -> {
+            long[] sum = new long[1];
+            map.forEach((key, value) -> sum[0] += value);
+            return sum[0];
+        }, size -> size));
+
+        // ---- primitive keys: no boxing on put/get (keys are 0..size-1, so a random index is a key) ----
+        out.add(Benchmark.of("IntObjectMap.put", Inputs::keys, keys -> {
+            IntObjectMap<Integer> map = new IntObjectMap<>();
+            for (Integer key : keys) {
+                map.put(key, key);
+            }
+            return map.size();
+        }, size -> size));
+        out.add(Benchmark.of("IntIntMap.put", Inputs::intKeys, keys -> {
+            IntIntMap map = new IntIntMap();
+            for (int key : keys) {
+                map.put(key, key);
+            }
+            return map.size();
+        }, size -> size));
+        out.add(Benchmark.of("IntObjectMap.get", size -> {
+            IntObjectMap<Integer> map = new IntObjectMap<>();
+            for (Integer key : Inputs.keys(size)) {
+                map.put(key, key);
+            }
+            return new Lookup<>(map, Inputs.keys(size));
+        }, s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(index);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("IntIntMap.get", size -> {
+            IntIntMap map = new IntIntMap();
+            for (int key : Inputs.intKeys(size)) {
+                map.put(key, key);
+            }
+            return new Lookup<>(map, Inputs.keys(size));
+        }, s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(index);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+
+        // ---- churn: slide a window of live keys, removing the oldest and adding a new one ----
+        out.add(Benchmark.of("LinearProbingHashTable.churn", size -> {
+            LinearProbingHashTable<Integer, Integer> table = new LinearProbingHashTable<>();
+            Churn<LinearProbingHashTable<Integer, Integer>> s = new Churn<>(table, size);
+            for (int i = 0; i < size; i++) {
+                table.put(s.ring[i], s.ring[i]);
+            }
+            return s;
+        }, s -> {
+            long found = 0;
+            int window = s.ring.length / 2;
+            for (int step = 0; step < CHURN_STEPS; step++) {
+                int oldest = step % s.ring.length;
+                Integer gone = s.ring[oldest];
+                Integer fresh = s.ring[(oldest + window) % s.ring.length];
+                s.table.remove(gone);
+                s.table.put(fresh, fresh);
+                found += s.table.get(s.ring[(oldest + 1 + s.hits[step]) % s.ring.length]) != null ? 1 : 0;
+                found += s.table.get(gone) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> 4 * CHURN_STEPS, s -> probeMetrics(s.table.averageProbeLength(), s.table.maxProbeLength())));
+        out.add(Benchmark.of("RobinHoodHashTable.churn", size -> {
+            RobinHoodHashTable<Integer, Integer> table = new RobinHoodHashTable<>();
+            Churn<RobinHoodHashTable<Integer, Integer>> s = new Churn<>(table, size);
+            for (int i = 0; i < size; i++) {
+                table.put(s.ring[i], s.ring[i]);
+            }
+            return s;
+        }, s -> {
+            long found = 0;
+            int window = s.ring.length / 2;
+            for (int step = 0; step < CHURN_STEPS; step++) {
+                int oldest = step % s.ring.length;
+                Integer gone = s.ring[oldest];
+                Integer fresh = s.ring[(oldest + window) % s.ring.length];
+                s.table.remove(gone);
+                s.table.put(fresh, fresh);
+                found += s.table.get(s.ring[(oldest + 1 + s.hits[step]) % s.ring.length]) != null ? 1 : 0;
+                found += s.table.get(gone) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> 4 * CHURN_STEPS, s -> probeMetrics(s.table.averageProbeLength(), s.table.maxProbeLength())));
+        out.add(Benchmark.of("HashMap.churn", size -> {
+            HashMap<Integer, Integer> map = new HashMap<>();
+            Churn<HashMap<Integer, Integer>> s = new Churn<>(map, size);
+            for (int i = 0; i < size; i++) {
+                map.put(s.ring[i], s.ring[i]);
+            }
+            return s;
+        }, s -> {
+            long found = 0;
+            int window = s.ring.length / 2;
+            for (int step = 0; step < CHURN_STEPS; step++) {
+                int oldest = step % s.ring.length;
+                Integer gone = s.ring[oldest];
+                Integer fresh = s.ring[(oldest + window) % s.ring.length];
+                s.table.remove(gone);
+                s.table.put(fresh, fresh);
+                found += s.table.get(s.ring[(oldest + 1 + s.hits[step]) % s.ring.length]) != null ? 1 : 0;
+                found += s.table.get(gone) != null ? 1 : 0;
+            }
+            return found;
+        }, size -> 4 * CHURN_STEPS));
+
+        // ---- putLatency: build from empty, timing every put to expose resize pauses ----
+        putLatency(out, "LinearProbingHashTable.putLatency",
+                size -> new LinearProbingHashTable<Integer, Integer>(), (t, key) -> t.put(key, key));
+        putLatency(out, "LinearProbingHashTable.putLatencyIncremental",
+                size -> new LinearProbingHashTable<Integer, Integer>(16, true), (t, key) -> t.put(key, key));
+        putLatency(out, "ChainingHashTable.putLatency",
+                size -> new ChainingHashTable<Integer, Integer>(), (t, key) -> t.put(key, key));
+        putLatency(out, "ChainingHashTable.putLatencyIncremental",
+                size -> new ChainingHashTable<Integer, Integer>(16, true), (t, key) -> t.put(key, key));
+        putLatency(out, "HashMap.putLatency", size -> new HashMap<Integer, Integer>(), (t, key) -> t.put(key, key));
+
+        // ---- adversarial key sets: high-bit-only integers and shared-prefix strings ----
+        adversarial(out, "Strided", Inputs::stridedKeys);
+        adversarial(out, "Prefixed", Inputs::prefixedKeys);
+
+        // ---- colliding keys: every string has the same hashCode (tree buckets vs HashMap) ----
+        out.add(Benchmark.of("ChainingHashTable.putColliding", Inputs::collidingKeys, keys -> {
+            ChainingHashTable<String, Integer> table = new ChainingHashTable<>();
+            for (String key : keys) {
+                table.put(key, 1);
+            }
+            return table.size();
+        }, size -> size));
+        out.add(Benchmark.of("HashMap.putColliding", Inputs::collidingKeys, keys -> {
+            HashMap<String, Integer> map = new HashMap<>();
+            for (String key : keys) {
+                map.put(key, 1);
+            }
+            return map.size();
+        }, size -> size));
+        out.add(Benchmark.of("ChainingHashTable.getColliding", size -> {
+            ChainingHashTable<String, Integer> table = new ChainingHashTable<>();
+            String[] keys = Inputs.collidingKeys(size);
+            for (int i = 0; i < keys.length; i++) {
+                table.put(keys[i], i);
+            }
+            return new Lookup<>(table, keys);
+        }, s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(s.keys[index]);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+        out.add(Benchmark.of("HashMap.getColliding", size -> {
+            HashMap<String, Integer> map = new HashMap<>();
+            String[] keys = Inputs.collidingKeys(size);
+            for (int i = 0; i < keys.length; i++) {
+                map.put(keys[i], i);
+            }
+            return new Lookup<>(map, keys);
+        }, s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(s.keys[index]);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+    }
+
+    /**
+     * Registers put and get benchmarks over one key set for LinearProbingHashTable,
+     * with its average probe length as a secondary metric, and a HashMap baseline.
+     */
+    private static <K> void adversarial(List<Benchmark> out, String keySet, IntFunction<K[]> keys) {
+        out.add(Benchmark.of("LinearProbingHashTable.put" + keySet, keys, k -> {
+            LinearProbingHashTable<K, Integer> table = new LinearProbingHashTable<>();
+            for (K key : k) {
+                table.put(key, 1);
+            }
+            return table.size();
+        }, size -> size));
+        out.add(Benchmark.of("HashMap.put" + keySet, keys, k -> {
+            HashMap<K, Integer> map = new HashMap<>();
+            for (K key : k) {
+                map.put(key, 1);
+            }
+            return map.size();
+        }, size -> size));
+        out.add(Benchmark.of("LinearProbingHashTable.get" + keySet, size -> {
+            LinearProbingHashTable<K, Integer> table = new LinearProbingHashTable<>();
+            K[] k = keys.apply(size);
+            for (int i = 0; i < k.length; i++) {
+                table.put(k[i], i);
+            }
+            return new Lookup<>(table, k);
+        }, s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(s.keys[index]);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS), "probeLength", s -> s.table.averageProbeLength()));
+        out.add(Benchmark.of("HashMap.get" + keySet, size -> {
+            HashMap<K, Integer> map = new HashMap<>();
+            K[] k = keys.apply(size);
+            for (int i = 0; i < k.length; i++) {
+                map.put(k[i], i);
+            }
+            return new Lookup<>(map, k);
+        }, s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.table.get(s.keys[index]);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+    }
+
+    /**
+     * Registers a benchmark that fills an empty table, recording the latency of each
+     * put; p50, p99, p99.9, p99.99 and max are reported as secondary metrics.
+     */
+    private static <T> void putLatency(List<Benchmark> out, String name, IntFunction<T> table,
+                                       BiConsumer<T, Integer> put) {
+        out.add(Benchmark.of(name, size -> new Timed<>(table.apply(size), Inputs.keys(size)), s -> {
+            for (Integer key : s.keys) {
+                long start = System.nanoTime();
+                put.accept(s.table, key);
+                s.latencies.record(System.nanoTime() - start);
+            }
+            return s.latencies.max();
+        }, size -> size, s -> s.latencies.metrics()));
+    }
+
+    static LinearProbingHashTable<Integer, Integer> linearProbing(int size) {
+        LinearProbingHashTable<Integer, Integer> table = new LinearProbingHashTable<>();
+        for (Integer key : Inputs.keys(size)) {
+            table.put(key, key);
+        }
+        return table;
+    }
+
+    static FilteredMap<Integer, Integer> filtered(LinearProbingHashTable<Integer, Integer> table, FilterType type) {
+        return new FilteredMap<>(table, type, FILTER_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Removes the first half of {@code Inputs.keys(size)}, a random half since the
+     * keys are shuffled, and puts as many keys from {@code 2 * size} up, which are
+     * neither present nor among {@code Inputs.absentKeys(size)}. Linear probing
+     * leaves a tombstone for every removed key, so misses walk longer probe sequences.
+     */
+    static <T> T churned(T table, BiConsumer<T, Integer> put, BiConsumer<T, Integer> remove, int size) {
+        Integer[] keys = Inputs.keys(size);
+        for (int i = 0; i < size / 2; i++) {
+            remove.accept(table, keys[i]);
+            put.accept(table, 2 * size + i);
+        }
+        return table;
+    }
+
+    static RobinHoodHashTable<Integer, Integer> robinHood(int size) {
+        RobinHoodHashTable<Integer, Integer> table = new RobinHoodHashTable<>();
+        for (Integer key : Inputs.keys(size)) {
+            table.put(key, key);
+        }
+        return table;
+    }
+
+    static SwissHashTable<Integer, Integer> swiss(int size) {
+        SwissHashTable<Integer, Integer> table = new SwissHashTable<>();
+        for (Integer key : Inputs.keys(size)) {
+            table.put(key, key);
+        }
+        return table;
+    }
+
+    static ChainingHashTable<Integer, Integer> chaining(int size) {
+        ChainingHashTable<Integer, Integer> table = new ChainingHashTable<>();
+        for (Integer key : Inputs.keys(size)) {
+            table.put(key, key);
+        }
+        return table;
+    }
+
+    static HashMap<Integer, Integer> hashMap(int size) {
+        HashMap<Integer, Integer> map = new HashMap<>();
+        for (Integer key : Inputs.keys(size)) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /** Secondary metrics describing the probe sequences of an open-addressing table */
+    static Map<String, Double> probeMetrics(double average, int max) {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put("probeLength", average);
+        metrics.put("maxProbeLength", (double) max);
+        return metrics;
+    }
+
+    /**
+     * A table holding a window of {@code size} keys from a ring of {@code 2 * size}
+     * distinct keys, plus the random window offsets to look up at each churn step.
+     */
+    static final class Churn<T> {
+        final T table;
+        final Integer[] ring;
+        final int[] hits;
+
+        Churn(T table, int size) {
+            this.table = table;
+            this.ring = Inputs.keys(2 * size);
+            this.hits = Inputs.indices(CHURN_STEPS, size);
+        }
+    }
+
+    /** An empty table, the keys to put into it, and a histogram of put latencies */
+    static final class Timed<T> {
+        final T table;
+        final Integer[] keys;
+        final LatencyHistogram latencies = new LatencyHistogram();
+
+        Timed(T table, Integer[] keys) {
+            this.table = table;
+            this.keys = keys;
+        }
+    }
+
+    /** A filled table, its keys, and the random key indices to look up */
+    static final class Lookup<T, K> {
+        final T table;
+        final K[] keys;
+        final int[] indices;
+
+        Lookup(T table, K[] keys) {
+            this.table = table;
+            this.keys = keys;
+            this.indices = Inputs.indices(Math.min(keys.length, LOOKUPS), keys.length);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package benchmarks;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Shared, memoized benchmark inputs.
+ *
+ * <p>Boxing millions of keys inside a timed body would measure the allocator
+ * rather than the structure, so keys are boxed once per size and reused by
+ * every benchmark and iteration at that size.</p>
+ */
+final class Inputs {
+    /** Fixed seed so every run (and every fork) sees the same access pattern */
+    private static final long SEED = 0x5EED_1234L;
+
+    private static Integer[] boxed = new Integer[0];
+    private static int[] unboxed = new int[0];
+    private static Integer[] absent = new Integer[0];
+    private static Integer[] strided = new Integer[0];
+    private static String[] prefixed = new String[0];
+    private static String[] colliding = new String[0];
+    private static int[] randomIndices = new int[0];
+    private static int randomBound = -1;
+    private static int[] skewed = new int[0];
+    private static int skewedBound = -1;
+
+    private Inputs() {
+    }
+
+    /**
+     * Returns the boxed integers {@code 0 .. size-1}, shuffled.
+     * @param size number of keys
+     * @return shared key array (must not be modified)
+     */
+    static synchronized Integer[] keys(int size) {
+        if (boxed.length != size) {
+            boxed = null; // let the previous array be collected before allocating
+            Integer[] keys = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i;
+            }
+            boxed = shuffle(keys);
+        }
+        return boxed;
+    }
+
+    /**
+     * Returns the same keys as {@link #keys(int)}, in the same order, unboxed.
+     * @param size number of keys
+     * @return shared key array (must not be modified)
+     */
+    static synchronized int[] intKeys(int size) {
+        if (unboxed.length != size) {
+            Integer[] keys = keys(size);
+            int[] ints = new int[size];
+            for (int i = 0; i < size; i++) {
+                ints[i] = keys[i];
+            }
+            unboxed = ints;
+        }
+        return unboxed;
+    }
+
+    /**
+     * Returns the boxed integers {@code size .. 2*size-1}, shuffled: keys that are
+     * never present in a table filled from {@link #keys(int)}.
+     * @param size number of keys
+     * @return shared key array (must not be modified)
+     */
+    static synchronized Integer[] absentKeys(int size) {
+        if (absent.length != size) {
+            absent = null;
+            Integer[] keys = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = size + i;
+            }
+            absent = shuffle(keys);
+        }
+        return absent;
+    }
+
+    /**
+     * Returns {@code size} distinct integers that differ only in their high bits
+     * ({@code i << 16}, rotated so that keys stay distinct past 65,536), shuffled.
+     * Without hash mixing every one of them lands in the same few slots of a
+     * power-of-two table.
+     * @param size number of keys
+     * @return shared key array (must not be modified)
+     */
+    static synchronized Integer[] stridedKeys(int size) {
+        if (strided.length != size) {
+            strided = null;
+            Integer[] keys = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = Integer.rotateLeft(i, 16);
+            }
+            strided = shuffle(keys);
+        }
+        return strided;
+    }
+
+    /**
+     * Returns {@code size} strings sharing a long common prefix and differing only
+     * in a zero-padded numeric suffix ({@code "customer:0000000042"}), shuffled.
+     * Their {@code String.hashCode()} values are clustered into runs.
+     * @param size number of keys
+     * @return shared key array (must not be modified)
+     */
+    static synchronized String[] prefixedKeys(int size) {
+        if (prefixed.length != size) {
+            prefixed = null;
+            String[] keys = new String[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = String.format(Locale.ROOT, "customer:%010d", i);
+            }
+            prefixed = shuffle(keys);
+        }
+        return prefixed;
+    }
+
+    /**
+     * Returns {@code size} distinct strings that all share one {@code hashCode()},
+     * shuffled. Each is a sequence of "Aa" and "BB" blocks (the binary digits of its
+     * index), and those two blocks hash alike, as in a hash-flooding attack.
+     * @param size number of keys
+     * @return shared key array (must not be modified)
+     */
+    static synchronized String[] collidingKeys(int size) {
+        if (colliding.length != size) {
+            colliding = null;
+            int blocks = Math.max(1, 32 - Integer.numberOfLeadingZeros(size - 1));
+            String[] keys = new String[size];
+            for (int i = 0; i < size; i++) {
+                StringBuilder key = new StringBuilder(2 * blocks);
+                for (int bit = blocks - 1; bit >= 0; bit--) {
+                    key.append((i >>> bit & 1) == 0 ? "Aa" : "BB");
+                }
+                keys[i] = key.toString();
+            }
+            colliding = shuffle(keys);
+        }
+        return colliding;
+    }
+
+    /**
+     * Returns {@code count} uniformly random indices in {@code [0, bound)}.
+     * @param count number of indices
+     * @param bound exclusive upper bound
+     * @return shared index array (must not be modified)
+     */
+    static synchronized int[] indices(int count, int bound) {
+        if (randomIndices.length != count || randomBound != bound) {
+            Random random = new Random(SEED ^ bound);
+            int[] indices = new int[count];
+            for (int i = 0; i < count; i++) {
+                indices[i] = random.nextInt(bound);
+            }
+            randomIndices = indices;
+            randomBound = bound;
+        }
+        return randomIndices;
+    }
+
+    /**
+     * Returns {@code count} indices in {@code [0, bound)} that look like a cache's
+     * request stream: nine in ten are skewed towards small indices (log-uniform, so
+     * index {@code i} is requested roughly in proportion to {@code 1/(i+1)}), and one
+     * in ten continues a sequential scan over the whole range.
+     * @param count number of indices
+     * @param bound exclusive upper bound
+     * @return shared index array (must not be modified)
+     */
+    static synchronized int[] skewedIndices(int count, int bound) {
+        if (skewed.length != count || skewedBound != bound) {
+            Random random = new Random(SEED ^ bound);
+            int[] indices = new int[count];
+            int scan = 0;
+            for (int i = 0; i < count; i++) {
+                if (i % 10 == 9) {
+                    indices[i] = scan;
+                    scan = scan + 1 == bound ? 0 : scan + 1;
+                } else {
+                    indices[i] = Math.min(bound - 1, (int) Math.pow(bound, random.nextDouble()) - 1);
+                }
+            }
+            skewed = indices;
+            skewedBound = bound;
+        }
+        return skewed;
+    }
+
+    /** Fisher-Yates shuffle with the fixed seed. */
+    private static <T> T[] shuffle(T[] keys) {
+        Random random = new Random(SEED);
+        for (int i = keys.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+        return keys;
+    }
+}
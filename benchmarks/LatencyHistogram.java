@@ -0,0 +1,95 @@
+package benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A fixed-size histogram of per-operation latencies, in nanoseconds.
+ *
+ * <p>Buckets are log-linear, as in HdrHistogram: every power of two is split
+ * into 16 equal sub-buckets, so any recorded value is reported within 1/16
+ * (about 6%) of its true value while the whole range of a {@code long} fits in
+ * under a thousand counters. Recording is a few shifts and an array increment,
+ * cheap next to the {@code System.nanoTime()} calls around each operation.</p>
+ */
+final class LatencyHistogram {
+    /** log2 of the number of sub-buckets per power of two */
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BITS + 1) * SUB_BUCKETS];
+    private long total;
+    private long max;
+
+    /**
+     * Records one latency.
+     * @param nanos the latency in nanoseconds (negative values count as 0)
+     */
+    void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts[bucketOf(value)]++;
+        total++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the latency at or below which the given fraction of recordings fall,
+     * rounded up to the upper edge of its bucket.
+     * @param fraction a fraction in (0, 1], e.g. 0.999 for p99.9
+     * @return the percentile in nanoseconds, or 0 if nothing was recorded
+     */
+    long percentile(double fraction) {
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBound(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the largest latency recorded.
+     * @return the maximum in nanoseconds
+     */
+    long max() {
+        return max;
+    }
+
+    /**
+     * Returns p50, p99, p99.9, p99.99 and the maximum as secondary benchmark metrics.
+     * @return metric values in nanoseconds, by name
+     */
+    Map<String, Double> metrics() {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        metrics.put("p50", (double) percentile(0.5));
+        metrics.put("p99", (double) percentile(0.99));
+        metrics.put("p99.9", (double) percentile(0.999));
+        metrics.put("p99.99", (double) percentile(0.9999));
+        metrics.put("max", (double) max);
+        return metrics;
+    }
+
+    /** Values below 16 get a bucket each; above, 16 buckets per power of two. */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /** The largest value that falls in the given bucket. */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long width = 1L << (exponent - SUB_BITS);
+        long lower = (1L << exponent) + (bucket % SUB_BUCKETS) * width;
+        return lower + width - 1;
+    }
+}
@@ -0,0 +1,248 @@
+package benchmarks;
+
+import data_structures.linked_lists.Doubly_Linked_List.DoubleLinkedList;
+import data_structures.linked_lists.Singly_Linked_List.SingleLinkedList;
+import data_structures.linked_lists.Unrolled_Linked_List.UnrolledLinkedList;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Benchmarks for {@link SingleLinkedList}, {@link DoubleLinkedList} and
+ * {@link UnrolledLinkedList} against a {@link java.util.ArrayDeque} baseline.
+ */
+final class LinkedListBenchmarks {
+    /** Tail removals per invocation for the singly linked list (each one is O(n)) */
+    private static final int TAIL_REMOVALS = 1_000;
+    /** Random reads per {@code get} invocation */
+    private static final int LOOKUPS = 1_000_000;
+    /** Random reads per invocation for the singly linked list (each one is O(n)) */
+    private static final int WALKING_LOOKUPS = 1_000;
+    /** Middle inserts per invocation */
+    private static final int SHIFTS = 1_000;
+
+    private LinkedListBenchmarks() {
+    }
+
+    static void register(List<Benchmark> out) {
+        // ---- addFirst / addLast: build from empty ----
+        out.add(Benchmark.of("SingleLinkedList.addFirst", Inputs::keys, keys -> {
+            SingleLinkedList<Integer> list = new SingleLinkedList<>();
+            for (Integer key : keys) {
+                list.addFirst(key);
+            }
+            return list.size();
+        }, size -> size));
+        out.add(Benchmark.of("SingleLinkedList.addLast", Inputs::keys, keys -> {
+            SingleLinkedList<Integer> list = new SingleLinkedList<>();
+            for (Integer key : keys) {
+                list.addLast(key);
+            }
+            return list.size();
+        }, size -> size));
+        out.add(Benchmark.of("DoubleLinkedList.addFirst", Inputs::keys, keys -> {
+            DoubleLinkedList<Integer> list = new DoubleLinkedList<>();
+            for (Integer key : keys) {
+                list.addFirst(key);
+            }
+            return list.size();
+        }, size -> size));
+        out.add(Benchmark.of("DoubleLinkedList.addLast", Inputs::keys, keys -> {
+            DoubleLinkedList<Integer> list = new DoubleLinkedList<>();
+            for (Integer key : keys) {
+                list.addLast(key);
+            }
+            return list.size();
+        }, size -> size));
+        out.add(Benchmark.of("UnrolledLinkedList.addFirst", Inputs::keys, keys -> {
+            UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+            for (Integer key : keys) {
+                list.addFirst(key);
+            }
+            return list.size();
+        }, size -> size));
+        out.add(Benchmark.of("UnrolledLinkedList.addLast", Inputs::keys, keys -> {
+            UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+            for (Integer key : keys) {
+                list.addLast(key);
+            }
+            return list.size();
+        }, size -> size));
+        out.add(Benchmark.of("ArrayDeque.addFirst", Inputs::keys, keys -> {
+            ArrayDeque<Integer> deque = new ArrayDeque<>();
+            for (Integer key : keys) {
+                deque.addFirst(key);
+            }
+            return deque.size();
+        }, size -> size));
+        out.add(Benchmark.of("ArrayDeque.addLast", Inputs::keys, keys -> {
+            ArrayDeque<Integer> deque = new ArrayDeque<>();
+            for (Integer key : keys) {
+                deque.addLast(key);
+            }
+            return deque.size();
+        }, size -> size));
+
+        // ---- removeFirst: drain from the head ----
+        out.add(Benchmark.of("SingleLinkedList.removeFirst", LinkedListBenchmarks::singleLinkedList, list -> {
+            long sum = 0;
+            while (list.size() > 0) {
+                sum += list.removeFirst();
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("DoubleLinkedList.removeFirst", LinkedListBenchmarks::doubleLinkedList, list -> {
+            long sum = 0;
+            while (list.size() > 0) {
+                sum += list.removeFirst();
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("UnrolledLinkedList.removeFirst", LinkedListBenchmarks::unrolledLinkedList, list -> {
+            long sum = 0;
+            while (list.size() > 0) {
+                sum += list.removeFirst();
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("ArrayDeque.removeFirst", LinkedListBenchmarks::arrayDeque, deque -> {
+            long sum = 0;
+            while (!deque.isEmpty()) {
+                sum += deque.removeFirst();
+            }
+            return sum;
+        }, size -> size));
+
+        // ---- removeLast: drain from the tail ----
+        out.add(Benchmark.of("SingleLinkedList.removeLast", LinkedListBenchmarks::singleLinkedList, list -> {
+            long sum = 0;
+            int count = Math.min(list.size(), TAIL_REMOVALS);
+            for (int i = 0; i < count; i++) {
+                sum += list.removeLast();
+            }
+            return sum;
+        }, size -> Math.min(size, TAIL_REMOVALS), 10_000_000));
+        out.add(Benchmark.of("DoubleLinkedList.removeLast", LinkedListBenchmarks::doubleLinkedList, list -> {
+            long sum = 0;
+            while (list.size() > 0) {
+                sum += list.removeLast();
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("UnrolledLinkedList.removeLast", LinkedListBenchmarks::unrolledLinkedList, list -> {
+            long sum = 0;
+            while (list.size() > 0) {
+                sum += list.removeLast();
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("ArrayDeque.removeLast", LinkedListBenchmarks::arrayDeque, deque -> {
+            long sum = 0;
+            while (!deque.isEmpty()) {
+                sum += deque.removeLast();
+            }
+            return sum;
+        }, size -> size));
+
+        // ---- iterate: walk every node with the fail-fast iterator ----
+        out.add(Benchmark.of("SingleLinkedList.iterate", LinkedListBenchmarks::singleLinkedList, list -> {
+            long sum = 0;
+            for (Integer value : list) {
+                sum += value;
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("DoubleLinkedList.iterate", LinkedListBenchmarks::doubleLinkedList, list -> {
+            long sum = 0;
+            for (Integer value : list) {
+                sum += value;
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("UnrolledLinkedList.iterate", LinkedListBenchmarks::unrolledLinkedList, list -> {
+            long sum = 0;
+            for (Integer value : list) {
+                sum += value;
+            }
+            return sum;
+        }, size -> size));
+        out.add(Benchmark.of("ArrayDeque.iterate", LinkedListBenchmarks::arrayDeque, deque -> {
+            long sum = 0;
+            for (Integer value : deque) {
+                sum += value;
+            }
+            return sum;
+        }, size -> size));
+
+        // ---- get: random positional reads ----
+        out.add(Benchmark.of("SingleLinkedList.get",
+                size -> new Filled<>(singleLinkedList(size), size, WALKING_LOOKUPS), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.structure.get(index);
+            }
+            return sum;
+        }, size -> Math.min(size, WALKING_LOOKUPS), 1_000_000));
+        out.add(Benchmark.of("UnrolledLinkedList.get",
+                size -> new Filled<>(unrolledLinkedList(size), size, LOOKUPS), s -> {
+            long sum = 0;
+            for (int index : s.indices) {
+                sum += s.structure.get(index);
+            }
+            return sum;
+        }, size -> Math.min(size, LOOKUPS)));
+
+        // ---- insert: splice into the middle ----
+        out.add(Benchmark.of("UnrolledLinkedList.insert", LinkedListBenchmarks::unrolledLinkedList, list -> {
+            Integer value = 42;
+            int count = Math.min(list.size(), SHIFTS);
+            for (int i = 0; i < count; i++) {
+                list.add(list.size() / 2, value);
+            }
+            return list.size();
+        }, size -> Math.min(size, SHIFTS)));
+    }
+
+    private static SingleLinkedList<Integer> singleLinkedList(int size) {
+        SingleLinkedList<Integer> list = new SingleLinkedList<>();
+        for (Integer key : Inputs.keys(size)) {
+            list.addLast(key);
+        }
+        return list;
+    }
+
+    private static DoubleLinkedList<Integer> doubleLinkedList(int size) {
+        DoubleLinkedList<Integer> list = new DoubleLinkedList<>();
+        for (Integer key : Inputs.keys(size)) {
+            list.addLast(key);
+        }
+        return list;
+    }
+
+    private static UnrolledLinkedList<Integer> unrolledLinkedList(int size) {
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        for (Integer key : Inputs.keys(size)) {
+            list.addLast(key);
+        }
+        return list;
+    }
+
+    private static ArrayDeque<Integer> arrayDeque(int size) {
+        ArrayDeque<Integer> deque = new ArrayDeque<>(size);
+        for (Integer key : Inputs.keys(size)) {
+            deque.addLast(key);
+        }
+        return deque;
+    }
+
+    /** A pre-filled list plus the random indices to read from it */
+    private static final class Filled<S> {
+        final S structure;
+        final int[] indices;
+
+        Filled(S structure, int size, int lookups) {
+            this.structure = structure;
+            this.indices = Inputs.indices(Math.min(size, lookups), size);
+        }
+    }
+}
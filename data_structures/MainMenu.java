@@ -4,7 +4,7 @@ import data_structures.hash_tables.ChainingHashTable.ChainingHashTable;
 import data_structures.hash_tables.LinearProbingHashTable.LinearProbingHashTable;
 import data_structures.linked_lists.Doubly_Linked_List.DoubleLinkedList;
 import data_structures.linked_lists.Singly_Linked_List.SingleLinkedList;
-import data_structures.arrays.DynamicArrays.DynamicArray;
+import data_structures.arrays.DynamicArrays.IntDynamicArray;
 
 import java.util.Scanner;
 
@@ -46,7 +46,7 @@ public class MainMenu {
     }
 
     private static void arrayMenu() {
-        DynamicArray<Integer> dynamicArray = new DynamicArray<>();
+        IntDynamicArray dynamicArray = new IntDynamicArray();
         
         while (true) {
             System.out.println("\n==== Array Implementations ====");
@@ -0,0 +1,57 @@
+package data_structures.arrays;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases direct and memory-mapped buffers now rather than when they are
+ * garbage collected.
+ *
+ * Used by {@link data_structures.arrays.DynamicArrays.OffHeapDynamicArray} to free
+ * its chunks, and by {@link data_structures.arrays.StaticArray.MappedStaticArray}
+ * and {@link data_structures.hash_tables.LinearProbingHashTable.MappedHashIndex}
+ * to unmap their files. Public only because those live in different packages.
+ */
+public final class DirectBuffers {
+    // Frees a direct buffer or mapping immediately; null if the JDK does not expose it
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    private DirectBuffers() {
+    }
+
+    /**
+     * Frees a direct buffer's memory, or unmaps a mapped buffer, immediately.
+     * Falls back to the collector if the JDK does not allow explicit release.
+     * The buffer, and every view of it, must not be used afterwards.
+     *
+     * @param buffer a direct buffer that is not a slice or duplicate
+     */
+    public static void release(ByteBuffer buffer) {
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invokeExact(buffer);
+            } catch (Throwable e) {
+                // Leave the buffer to its cleaner
+            }
+        }
+    }
+
+    /**
+     * Looks up sun.misc.Unsafe#invokeCleaner (JDK 9+), which frees a direct buffer
+     * or unmaps a mapped one immediately.
+     */
+    private static MethodHandle findCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            java.lang.reflect.Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package data_structures.arrays.DynamicArrays;
+
+/**
+ * Linear-scan kernels over ranges of primitive arrays, shared by the primitive
+ * dynamic arrays.
+ *
+ * The loops are written so HotSpot's C2 compiler can turn them into SIMD code
+ * or at least into branch-light scalar code:
+ * - count/min/max are branch-free reductions over a counted loop, which C2's
+ *   superword pass vectorizes on x86 (SSE/AVX) and AArch64 (NEON/SVE)
+ * - indexOf tests eight lanes with non-short-circuit ORs and branches once per
+ *   block of eight instead of once per element
+ *
+ * Fill and equality use {@code Arrays.fill} and {@code Arrays.equals}, which the
+ * JDK already implements with vectorized intrinsics.
+ */
+public final class ArrayKernels {
+    // Elements examined per branch in indexOf
+    private static final int BLOCK = 8;
+
+    private ArrayKernels() {
+    }
+
+    // ================ INT ================ //
+
+    /**
+     * Returns the first index in [from, to) holding value, or -1.
+     * Time Complexity: O(n)
+     */
+    public static int indexOf(int[] a, int from, int to, int value) {
+        int i = from;
+        for (; i <= to - BLOCK; i += BLOCK) {
+            if ((a[i] == value) | (a[i + 1] == value) | (a[i + 2] == value) | (a[i + 3] == value)
+                    | (a[i + 4] == value) | (a[i + 5] == value) | (a[i + 6] == value) | (a[i + 7] == value)) {
+                break;
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns how many elements in [from, to) equal value.
+     * Time Complexity: O(n)
+     */
+    public static int count(int[] a, int from, int to, int value) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += a[i] == value ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the smallest element in the non-empty range [from, to).
+     * Time Complexity: O(n)
+     */
+    public static int min(int[] a, int from, int to) {
+        int min = a[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest element in the non-empty range [from, to).
+     * Time Complexity: O(n)
+     */
+    public static int max(int[] a, int from, int to) {
+        int max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    // ================ LONG ================ //
+
+    /**
+     * Returns the first index in [from, to) holding value, or -1.
+     * Time Complexity: O(n)
+     */
+    public static int indexOf(long[] a, int from, int to, long value) {
+        int i = from;
+        for (; i <= to - BLOCK; i += BLOCK) {
+            if ((a[i] == value) | (a[i + 1] == value) | (a[i + 2] == value) | (a[i + 3] == value)
+                    | (a[i + 4] == value) | (a[i + 5] == value) | (a[i + 6] == value) | (a[i + 7] == value)) {
+                break;
+            }
+        }
+        for (; i < to; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns how many elements in [from, to) equal value.
+     * Time Complexity: O(n)
+     */
+    public static int count(long[] a, int from, int to, long value) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += a[i] == value ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the smallest element in the non-empty range [from, to).
+     * Time Complexity: O(n)
+     */
+    public static long min(long[] a, int from, int to) {
+        long min = a[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest element in the non-empty range [from, to).
+     * Time Complexity: O(n)
+     */
+    public static long max(long[] a, int from, int to) {
+        long max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    // ================ DOUBLE ================ //
+    // Values are matched like Double.equals (bitwise), so NaN can be found and
+    // counted; min/max follow Math.min/Math.max (NaN wins, -0.0 < 0.0).
+
+    /**
+     * Returns the first index in [from, to) holding value (bitwise), or -1.
+     * Time Complexity: O(n)
+     */
+    public static int indexOf(double[] a, int from, int to, double value) {
+        long bits = Double.doubleToLongBits(value);
+        if (value == value && value != 0.0) {
+            // Ordinary value: == matches exactly the same bit pattern, so the fast path applies
+            int i = from;
+            for (; i <= to - BLOCK; i += BLOCK) {
+                if ((a[i] == value) | (a[i + 1] == value) | (a[i + 2] == value) | (a[i + 3] == value)
+                        | (a[i + 4] == value) | (a[i + 5] == value) | (a[i + 6] == value) | (a[i + 7] == value)) {
+                    break;
+                }
+            }
+            for (; i < to; i++) {
+                if (a[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        // NaN or signed zero: compare bit patterns
+        for (int i = from; i < to; i++) {
+            if (Double.doubleToLongBits(a[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns how many elements in [from, to) equal value (bitwise).
+     * Time Complexity: O(n)
+     */
+    public static int count(double[] a, int from, int to, double value) {
+        int count = 0;
+        if (value == value && value != 0.0) {
+            for (int i = from; i < to; i++) {
+                count += a[i] == value ? 1 : 0;
+            }
+        } else {
+            long bits = Double.doubleToLongBits(value);
+            for (int i = from; i < to; i++) {
+                count += Double.doubleToLongBits(a[i]) == bits ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the smallest element in the non-empty range [from, to).
+     * Time Complexity: O(n)
+     */
+    public static double min(double[] a, int from, int to) {
+        double min = a[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest element in the non-empty range [from, to).
+     * Time Complexity: O(n)
+     */
+    public static double max(double[] a, int from, int to) {
+        double max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+}
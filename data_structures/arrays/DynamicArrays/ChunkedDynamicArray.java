@@ -0,0 +1,287 @@
+package data_structures.arrays.DynamicArrays;
+
+import java.util.Arrays;
+
+/**
+ * A dynamic array stored as a directory of fixed-size blocks.
+ *
+ * Unlike {@link DynamicArray}, growing never copies elements: when the last
+ * block is full a new block is appended and only the (small) directory of
+ * block references is ever reallocated. Element i lives at
+ * {@code blocks[i >>> BLOCK_SHIFT][i & BLOCK_MASK]}, so random access stays O(1).
+ *
+ * Each block is 16K references (64 KB with compressed references, 128 KB
+ * without), well under half of the smallest G1 region (1 MB), so blocks are
+ * never allocated as humongous objects, however large the array gets.
+ *
+ * Features:
+ * - Generic type support
+ * - Growth without copying elements
+ * - O(1) get/set, amortized O(1) add/removeLast
+ * - Releases trailing blocks as the array shrinks
+ * - Full exception handling
+ */
+public class ChunkedDynamicArray<T> {
+    // log2 of the number of elements per block
+    private static final int BLOCK_SHIFT = 14;
+    // Number of elements per block
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    // Mask selecting the offset within a block
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    // Initial number of directory slots
+    private static final int INITIAL_DIRECTORY = 8;
+
+    private Object[][] blocks; // Directory of blocks; only the first blockCount are allocated
+    private int blockCount;    // Number of allocated blocks
+    private int size;          // Number of elements in the array
+
+    /**
+     * Constructs an empty chunked array. No block is allocated until the first add.
+     * Time Complexity: O(1)
+     */
+    public ChunkedDynamicArray() {
+        this.blocks = new Object[INITIAL_DIRECTORY][];
+        this.blockCount = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of elements in the array.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of elements the allocated blocks can hold.
+     * Time Complexity: O(1)
+     */
+    public int capacity() {
+        return blockCount * BLOCK_SIZE;
+    }
+
+    /**
+     * Checks if the array is empty.
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the element at the specified index.
+     * Time Complexity: O(1)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkBounds(index);
+        return (T) blocks[index >>> BLOCK_SHIFT][index & BLOCK_MASK];
+    }
+
+    /**
+     * Sets the element at the specified index.
+     * Time Complexity: O(1)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public void set(int index, T element) {
+        checkBounds(index);
+        blocks[index >>> BLOCK_SHIFT][index & BLOCK_MASK] = element;
+    }
+
+    /**
+     * Appends the element to the end of the array.
+     * Amortized Time Complexity: O(1) - never copies existing elements
+     */
+    public void add(T element) {
+        if (size == capacity()) {
+            addBlock();
+        }
+        blocks[size >>> BLOCK_SHIFT][size & BLOCK_MASK] = element;
+        size++;
+    }
+
+    /**
+     * Inserts the element at the specified index.
+     * Time Complexity: O(n) - one block move per block after index
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public void insert(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == capacity()) {
+            addBlock();
+        }
+
+        // Shift right block by block, from the last block back to index's block;
+        // the last element of each block carries into the first slot of the next
+        int first = index >>> BLOCK_SHIFT;
+        for (int b = size >>> BLOCK_SHIFT; b >= first; b--) {
+            Object[] block = blocks[b];
+            int from = b == first ? index & BLOCK_MASK : 0;
+            int end = b == size >>> BLOCK_SHIFT ? size & BLOCK_MASK : BLOCK_SIZE;
+            if (end == BLOCK_SIZE) {
+                blocks[b + 1][0] = block[BLOCK_MASK];
+                end--;
+            }
+            System.arraycopy(block, from, block, from + 1, end - from);
+        }
+
+        blocks[first][index & BLOCK_MASK] = element;
+        size++;
+    }
+
+    /**
+     * Removes the element at the specified index.
+     * Time Complexity: O(n) - one block move per block after index
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkBounds(index);
+
+        int first = index >>> BLOCK_SHIFT;
+        int last = (size - 1) >>> BLOCK_SHIFT;
+        T removed = (T) blocks[first][index & BLOCK_MASK];
+
+        // Shift left block by block; the first element of each following block
+        // carries into the last slot of the one before it
+        for (int b = first; b <= last; b++) {
+            Object[] block = blocks[b];
+            int from = b == first ? index & BLOCK_MASK : 0;
+            int end = b == last ? ((size - 1) & BLOCK_MASK) + 1 : BLOCK_SIZE;
+            System.arraycopy(block, from + 1, block, from, end - from - 1);
+            block[end - 1] = b < last ? blocks[b + 1][0] : null;
+        }
+
+        size--;
+        releaseBlocks();
+        return removed;
+    }
+
+    /**
+     * Removes and returns the last element.
+     * Amortized Time Complexity: O(1)
+     *
+     * @throws IllegalStateException if the array is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T removeLast() {
+        if (size == 0) {
+            throw new IllegalStateException("Array is empty");
+        }
+        size--;
+        Object[] block = blocks[size >>> BLOCK_SHIFT];
+        T removed = (T) block[size & BLOCK_MASK];
+        block[size & BLOCK_MASK] = null; // Clear reference for garbage collection
+        releaseBlocks();
+        return removed;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element.
+     * Time Complexity: O(n)
+     *
+     * @return true if element was found and removed, false otherwise
+     */
+    public boolean remove(T element) {
+        int index = indexOf(element);
+        if (index == -1) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the element.
+     * Time Complexity: O(n)
+     */
+    public int indexOf(T element) {
+        for (int b = 0, base = 0; base < size; b++, base += BLOCK_SIZE) {
+            Object[] block = blocks[b];
+            int end = Math.min(BLOCK_SIZE, size - base);
+            for (int i = 0; i < end; i++) {
+                if (block[i] == element ||
+                   (block[i] != null && block[i].equals(element))) {
+                    return base + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the array contains the specified element.
+     * Time Complexity: O(n)
+     */
+    public boolean contains(T element) {
+        return indexOf(element) != -1;
+    }
+
+    /**
+     * Removes all elements and releases every block.
+     * Time Complexity: O(1)
+     */
+    public void clear() {
+        blocks = new Object[INITIAL_DIRECTORY][];
+        blockCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns a string representation of the array.
+     * Time Complexity: O(n)
+     */
+    @Override
+    public String toString() {
+        if (size == 0) return "[]";
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size - 1; i++) {
+            sb.append(get(i)).append(", ");
+        }
+        sb.append(get(size - 1)).append("]");
+        return sb.toString();
+    }
+
+    // ================ PRIVATE HELPER METHODS ================ //
+
+    /**
+     * Checks if the index is within bounds for access/update.
+     * Throws IndexOutOfBoundsException if invalid.
+     */
+    private void checkBounds(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Appends one empty block, doubling the directory first if it is full.
+     * Only block references are copied, never elements.
+     */
+    private void addBlock() {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blocks.length * 2);
+        }
+        blocks[blockCount++] = new Object[BLOCK_SIZE];
+    }
+
+    /**
+     * Frees trailing blocks that are no longer needed, keeping one spare block
+     * so that add/remove around a block boundary does not allocate repeatedly.
+     */
+    private void releaseBlocks() {
+        int needed = (size + BLOCK_MASK) >>> BLOCK_SHIFT;
+        while (blockCount > needed + 1) {
+            blocks[--blockCount] = null;
+        }
+    }
+}
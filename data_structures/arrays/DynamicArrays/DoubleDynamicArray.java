@@ -0,0 +1,446 @@
+package data_structures.arrays.DynamicArrays;
+
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+
+/**
+ * A dynamic array of primitive {@code double} values with automatic resizing.
+ *
+ * Same growth/shrink policies as {@link DynamicArray}, but backed by an
+ * {@code double[]} so no element is ever boxed.
+ *
+ * Features:
+ * - No boxing: get/set/add never allocate
+ * - Automatic resizing (grow/shrink) with a pluggable GrowthPolicy
+ * - Vectorizable indexOf/count/min/max/fill/equals
+ * - Bulk append from a double[]
+ * - Time complexity analysis
+ * - Full exception handling
+ */
+public class DoubleDynamicArray {
+    // Initial capacity of the array
+    private static final int INITIAL_CAPACITY = 10;
+    // Size of one element in bytes
+    private static final int ELEMENT_BYTES = 8;
+
+    private double[] array; // Internal array to store elements
+    private int size;     // Number of elements in the array
+    private int capacity; // Current capacity of the array
+    private final GrowthPolicy policy; // Decides new capacities on grow/shrink
+    private long resizeCount;    // Number of reallocations so far
+    private long elementsCopied; // Elements moved by those reallocations
+
+    /**
+     * Constructs an empty dynamic array with default capacity.
+     * Time Complexity: O(1)
+     */
+    public DoubleDynamicArray() {
+        this(INITIAL_CAPACITY, GrowthPolicy.DEFAULT);
+    }
+
+    /**
+     * Constructs an empty dynamic array with specified capacity.
+     * Time Complexity: O(1)
+     *
+     * @param initialCapacity the initial capacity of the array
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public DoubleDynamicArray(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.DEFAULT);
+    }
+
+    /**
+     * Constructs an empty dynamic array with default capacity and the given policy.
+     * Time Complexity: O(1)
+     *
+     * @param policy decides how capacity grows and shrinks
+     * @throws IllegalArgumentException if policy is null
+     */
+    public DoubleDynamicArray(GrowthPolicy policy) {
+        this(INITIAL_CAPACITY, policy);
+    }
+
+    /**
+     * Constructs an empty dynamic array with specified capacity and policy.
+     * Time Complexity: O(1)
+     *
+     * @param initialCapacity the initial capacity of the array
+     * @param policy decides how capacity grows and shrinks
+     * @throws IllegalArgumentException if initialCapacity is negative or policy is null
+     */
+    public DoubleDynamicArray(int initialCapacity, GrowthPolicy policy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Growth policy cannot be null");
+        }
+        this.capacity = initialCapacity;
+        this.array = new double[capacity];
+        this.size = 0;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the number of elements in the array.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the current capacity of the array.
+     * Time Complexity: O(1)
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the growth policy chosen at construction.
+     * Time Complexity: O(1)
+     */
+    public GrowthPolicy growthPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns how many times the internal array has been reallocated.
+     * Time Complexity: O(1)
+     */
+    public long resizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * Returns the number of bytes copied by all reallocations so far.
+     * Time Complexity: O(1)
+     */
+    public long bytesCopied() {
+        return elementsCopied * ELEMENT_BYTES;
+    }
+
+    /**
+     * Checks if the array is empty.
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the element at the specified index.
+     * Time Complexity: O(1)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public double get(int index) {
+        checkBounds(index);
+        return array[index];
+    }
+
+    /**
+     * Sets the element at the specified index.
+     * Time Complexity: O(1)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public void set(int index, double element) {
+        checkBounds(index);
+        array[index] = element;
+    }
+
+    /**
+     * Appends the element to the end of the array.
+     * Amortized Time Complexity: O(1)
+     */
+    public void add(double element) {
+        ensureCapacity();
+        array[size] = element;
+        size++;
+    }
+
+    /**
+     * Appends every element of {@code elements} to the end of the array,
+     * growing at most once.
+     * Time Complexity: O(k) for k appended elements
+     */
+    public void addAll(double[] elements) {
+        if (elements == null) {
+            throw new IllegalArgumentException("Elements cannot be null");
+        }
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, array, size, elements.length);
+        size += elements.length;
+    }
+
+    /**
+     * Inserts the element at the specified index.
+     * Time Complexity: O(n)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public void insert(int index, double element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        ensureCapacity();
+
+        // Shift elements to the right to make space
+        System.arraycopy(array, index, array, index + 1, size - index);
+
+        array[index] = element;
+        size++;
+    }
+
+    /**
+     * Removes the element at the specified index.
+     * Time Complexity: O(n)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public double remove(int index) {
+        checkBounds(index);
+
+        double removed = array[index];
+
+        // Shift elements to the left to fill the gap
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+
+        considerShrinking();
+        return removed;
+    }
+
+    /**
+     * Removes the first occurrence of the specified value.
+     * (Named differently from {@link #remove(int)}, which removes by index.)
+     * Time Complexity: O(n)
+     *
+     * @return true if value was found and removed, false otherwise
+     */
+    public boolean removeValue(double value) {
+        int index = indexOf(value);
+        if (index == -1) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the value.
+     * Values are compared like {@link Double#equals}, so NaN can be found.
+     * Time Complexity: O(n), scanned in blocks (see {@link ArrayKernels})
+     */
+    public int indexOf(double value) {
+        return ArrayKernels.indexOf(array, 0, size, value);
+    }
+
+    /**
+     * Returns how many elements equal the value.
+     * Time Complexity: O(n), vectorizable reduction
+     */
+    public int count(double value) {
+        return ArrayKernels.count(array, 0, size, value);
+    }
+
+    /**
+     * Returns the smallest element.
+     * Time Complexity: O(n), vectorizable reduction
+     *
+     * @throws IllegalStateException if the array is empty
+     */
+    public double min() {
+        if (size == 0) {
+            throw new IllegalStateException("Array is empty");
+        }
+        return ArrayKernels.min(array, 0, size);
+    }
+
+    /**
+     * Returns the largest element.
+     * Time Complexity: O(n), vectorizable reduction
+     *
+     * @throws IllegalStateException if the array is empty
+     */
+    public double max() {
+        if (size == 0) {
+            throw new IllegalStateException("Array is empty");
+        }
+        return ArrayKernels.max(array, 0, size);
+    }
+
+    /**
+     * Sets every element to the value (the size does not change).
+     * Time Complexity: O(n), intrinsified by the JIT
+     */
+    public void fill(double value) {
+        Arrays.fill(array, 0, size, value);
+    }
+
+    /**
+     * Checks if the array contains the specified value.
+     * Time Complexity: O(n)
+     */
+    public boolean contains(double value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Returns a copy of the elements as a plain array.
+     * Time Complexity: O(n)
+     */
+    public double[] toArray() {
+        double[] copy = new double[size];
+        System.arraycopy(array, 0, copy, 0, size);
+        return copy;
+    }
+
+    /**
+     * Removes all elements from the array.
+     * The growth policy decides whether the buffer is kept or released.
+     * Time Complexity: O(1)
+     */
+    public void clear() {
+        // No references to null out for primitives
+        size = 0;
+        considerShrinking();
+    }
+
+    /**
+     * Grows the array, if needed, so it can hold at least minCapacity elements
+     * without further resizing.
+     * Time Complexity: O(n) if a resize happens, O(1) otherwise
+     *
+     * @throws IllegalArgumentException if minCapacity is negative
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        if (minCapacity > capacity) {
+            resize(policy.grow(capacity, minCapacity));
+        }
+    }
+
+    /**
+     * Shrinks the capacity to the current size, releasing unused memory.
+     * Time Complexity: O(n)
+     */
+    public void trimToSize() {
+        if (capacity > size) {
+            resize(size);
+        }
+    }
+
+    /**
+     * Returns a sequential DoubleStream over the elements; call {@code .parallel()}
+     * to split it across the common ForkJoinPool. The array must not be
+     * modified while the stream is running.
+     * Time Complexity: O(1)
+     */
+    public DoubleStream stream() {
+        return Arrays.stream(array, 0, size);
+    }
+
+    /**
+     * Sorts the elements in ascending order in parallel.
+     * Time Complexity: O(n log n), divided across cores
+     */
+    public void parallelSort() {
+        Arrays.parallelSort(array, 0, size);
+    }
+
+    /**
+     * Two arrays are equal if they hold the same elements in the same order
+     * (capacity and growth policy are ignored).
+     * Time Complexity: O(n), compared with the JDK's vectorized mismatch
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof DoubleDynamicArray)) {
+            return false;
+        }
+        DoubleDynamicArray that = (DoubleDynamicArray) other;
+        return Arrays.equals(array, 0, size, that.array, 0, that.size);
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}.
+     * Time Complexity: O(n)
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Double.hashCode(array[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * Returns a string representation of the array.
+     * Time Complexity: O(n)
+     */
+    @Override
+    public String toString() {
+        if (size == 0) return "[]";
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size - 1; i++) {
+            sb.append(array[i]).append(", ");
+        }
+        sb.append(array[size - 1]).append("]");
+        return sb.toString();
+    }
+
+    // ================ PRIVATE HELPER METHODS ================ //
+
+    /**
+     * Checks if the index is within bounds for access/update.
+     * Throws IndexOutOfBoundsException if invalid.
+     */
+    private void checkBounds(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Ensures there is enough capacity to add a new element.
+     * Resizes the array if needed.
+     */
+    private void ensureCapacity() {
+        if (size == capacity) {
+            resize(policy.grow(capacity, size + 1));
+        }
+    }
+
+    /**
+     * Asks the growth policy whether to shrink after a removal.
+     */
+    private void considerShrinking() {
+        int newCapacity = policy.shrink(capacity, size);
+        if (newCapacity < capacity) {
+            resize(Math.max(newCapacity, size));
+        }
+    }
+
+    /**
+     * Resizes the internal array to the new capacity.
+     */
+    private void resize(int newCapacity) {
+        double[] newArray = new double[newCapacity];
+        System.arraycopy(array, 0, newArray, 0, size);
+        array = newArray;
+        capacity = newCapacity;
+        resizeCount++;
+        elementsCopied += size;
+    }
+}
@@ -1,35 +1,57 @@
 package data_structures.arrays.DynamicArrays;
 
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A dynamic array implementation with automatic resizing.
  * 
  * Features:
  * - Generic type support
- * - Automatic resizing (grow/shrink)
+ * - Automatic resizing (grow/shrink) with a pluggable GrowthPolicy
+ * - Resize statistics for tuning the policy per call site
+ * - Bulk insert/remove with a single block move
+ * - Parallel sort/search/map/reduce on the common ForkJoinPool
+ * - Fail-fast iterators and spliterators, and a java.util.List view (asList)
  * - Time complexity analysis
  * - Full exception handling
  */
-public class DynamicArray<T> {
+public class DynamicArray<T> implements Iterable<T> {
     // Initial capacity of the array
     private static final int INITIAL_CAPACITY = 10;
-    // Factor by which the array grows
-    private static final double GROWTH_FACTOR = 1.5;
-    // Threshold to shrink the array
-    private static final double SHRINK_THRESHOLD = 0.25;
+    // Estimated size of one array slot: compressed references below a 32 GB heap
+    private static final int REFERENCE_BYTES = Runtime.getRuntime().maxMemory() < (32L << 30) ? 4 : 8;
     
     private T[] array;    // Internal array to store elements
     private int size;     // Number of elements in the array
     private int capacity; // Current capacity of the array
+    private final GrowthPolicy policy; // Decides new capacities on grow/shrink
+    private long resizeCount;    // Number of reallocations so far
+    private long elementsCopied; // Elements moved by those reallocations
+    private int modCount;        // Changes to the size, checked by iterators to fail fast
+    private ListView view;       // Created by the first asList call
 
     /**
      * Constructs an empty dynamic array with default capacity.
      * Time Complexity: O(1)
      */
-    @SuppressWarnings("unchecked")
     public DynamicArray() {
-        this.capacity = INITIAL_CAPACITY;
-        this.array = (T[]) new Object[capacity];
-        this.size = 0;
+        this(INITIAL_CAPACITY, GrowthPolicy.DEFAULT);
     }
 
     /**
@@ -39,14 +61,41 @@ public class DynamicArray<T> {
      * @param initialCapacity the initial capacity of the array
      * @throws IllegalArgumentException if initialCapacity is negative
      */
-    @SuppressWarnings("unchecked")
     public DynamicArray(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.DEFAULT);
+    }
+
+    /**
+     * Constructs an empty dynamic array with default capacity and the given policy.
+     * Time Complexity: O(1)
+     *
+     * @param policy decides how capacity grows and shrinks
+     * @throws IllegalArgumentException if policy is null
+     */
+    public DynamicArray(GrowthPolicy policy) {
+        this(INITIAL_CAPACITY, policy);
+    }
+
+    /**
+     * Constructs an empty dynamic array with specified capacity and policy.
+     * Time Complexity: O(1)
+     *
+     * @param initialCapacity the initial capacity of the array
+     * @param policy decides how capacity grows and shrinks
+     * @throws IllegalArgumentException if initialCapacity is negative or policy is null
+     */
+    @SuppressWarnings("unchecked")
+    public DynamicArray(int initialCapacity, GrowthPolicy policy) {
         if (initialCapacity < 0) {
             throw new IllegalArgumentException("Capacity cannot be negative");
         }
+        if (policy == null) {
+            throw new IllegalArgumentException("Growth policy cannot be null");
+        }
         this.capacity = initialCapacity;
         this.array = (T[]) new Object[capacity];
         this.size = 0;
+        this.policy = policy;
     }
 
     /**
@@ -65,6 +114,30 @@ public class DynamicArray<T> {
         return capacity;
     }
 
+    /**
+     * Returns the growth policy chosen at construction.
+     * Time Complexity: O(1)
+     */
+    public GrowthPolicy growthPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns how many times the internal array has been reallocated.
+     * Time Complexity: O(1)
+     */
+    public long resizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * Returns the (estimated) number of bytes copied by all reallocations so far.
+     * Time Complexity: O(1)
+     */
+    public long bytesCopied() {
+        return elementsCopied * REFERENCE_BYTES;
+    }
+
     /**
      * Checks if the array is empty.
      * Time Complexity: O(1)
@@ -103,6 +176,7 @@ public class DynamicArray<T> {
         ensureCapacity();
         array[size] = element;
         size++;
+        countChange();
     }
 
     /**
@@ -119,12 +193,61 @@ public class DynamicArray<T> {
         ensureCapacity();
         
         // Shift elements to the right to make space
-        for (int i = size; i > index; i--) {
-            array[i] = array[i - 1];
-        }
+        System.arraycopy(array, index, array, index + 1, size - index);
         
         array[index] = element;
         size++;
+        countChange();
+    }
+
+    /**
+     * Appends all elements to the end of the array.
+     * Time Complexity: O(k) for k appended elements (at most one resize)
+     *
+     * @throws IllegalArgumentException if elements is null
+     */
+    public void addAll(T[] elements) {
+        insertAll(size, elements);
+    }
+
+    /**
+     * Appends all elements of another dynamic array to the end of this one.
+     * Time Complexity: O(k) for k appended elements (at most one resize)
+     *
+     * @throws IllegalArgumentException if other is null
+     */
+    public void addAll(DynamicArray<? extends T> other) {
+        insertAll(size, other);
+    }
+
+    /**
+     * Inserts all elements at the specified index, preserving their order.
+     * Time Complexity: O(n + k) - one block move, at most one resize
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     * @throws IllegalArgumentException if elements is null
+     */
+    public void insertAll(int index, T[] elements) {
+        if (elements == null) {
+            throw new IllegalArgumentException("Elements cannot be null");
+        }
+        insertRange(index, elements, elements.length);
+    }
+
+    /**
+     * Inserts all elements of another dynamic array at the specified index.
+     * Time Complexity: O(n + k) - one block move, at most one resize
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     * @throws IllegalArgumentException if other is null
+     */
+    public void insertAll(int index, DynamicArray<? extends T> other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Other array cannot be null");
+        }
+        // Snapshot when inserting into ourselves, since the shift overwrites the source
+        Object[] source = other == this ? Arrays.copyOf(array, size) : other.array;
+        insertRange(index, source, other.size);
     }
 
     /**
@@ -139,17 +262,88 @@ public class DynamicArray<T> {
         T removed = array[index];
         
         // Shift elements to the left to fill the gap
-        for (int i = index; i < size - 1; i++) {
-            array[i] = array[i + 1];
-        }
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
         
         array[size - 1] = null; // Clear reference for garbage collection
         size--;
+        countChange();
         
         considerShrinking();
         return removed;
     }
 
+    /**
+     * Removes the elements in the range [fromIndex, toIndex).
+     * Time Complexity: O(n) - one block move, at most one resize
+     *
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+
+        // Close the gap with one block move
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(array, newSize, size, null); // Clear references for garbage collection
+        size = newSize;
+        countChange();
+
+        considerShrinking();
+    }
+
+    /**
+     * Removes every element matching the filter, preserving the order of the rest.
+     * The filter sees every element before anything moves, so if it throws, the
+     * array is left unchanged.
+     * Time Complexity: O(n) - one testing pass, one compacting pass, at most one resize
+     *
+     * @return true if any element was removed
+     * @throws IllegalArgumentException if filter is null
+     * @throws ConcurrentModificationException if the filter changes the size
+     */
+    public boolean removeIf(Predicate<? super T> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+
+        // Mark the elements to remove; nothing moves until the filter is done
+        int expectedModCount = modCount;
+        int end = size;
+        BitSet removals = null;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            if (filter.test(array[i])) {
+                if (removals == null) {
+                    removals = new BitSet(end);
+                }
+                removals.set(i);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (removals == null) {
+            return false;
+        }
+
+        // Slide survivors down over removed elements
+        int kept = removals.nextSetBit(0);
+        for (int i = removals.nextClearBit(kept); i < end; i = removals.nextClearBit(i + 1)) {
+            array[kept++] = array[i];
+        }
+        Arrays.fill(array, kept, end, null); // Clear references for garbage collection
+        size = kept;
+        countChange();
+
+        considerShrinking();
+        return true;
+    }
+
     /**
      * Removes the first occurrence of the specified element.
      * Time Complexity: O(n)
@@ -191,18 +385,204 @@ public class DynamicArray<T> {
     }
 
     /**
-     * Removes all elements from the array and resets capacity.
+     * Removes all elements from the array.
+     * The growth policy decides whether the buffer is kept or released.
      * Time Complexity: O(n)
      */
-    @SuppressWarnings("unchecked")
     public void clear() {
         // Null out references for garbage collection
-        for (int i = 0; i < size; i++) {
-            array[i] = null;
-        }
+        Arrays.fill(array, 0, size, null);
         size = 0;
-        capacity = INITIAL_CAPACITY;
-        array = (T[]) new Object[capacity];
+        countChange();
+        considerShrinking();
+    }
+
+    /**
+     * Grows the array, if needed, so it can hold at least minCapacity elements
+     * without further resizing.
+     * Time Complexity: O(n) if a resize happens, O(1) otherwise
+     *
+     * @throws IllegalArgumentException if minCapacity is negative
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        if (minCapacity > capacity) {
+            resize(policy.grow(capacity, minCapacity));
+        }
+    }
+
+    /**
+     * Shrinks the capacity to the current size, releasing unused memory.
+     * Time Complexity: O(n)
+     */
+    public void trimToSize() {
+        if (capacity > size) {
+            resize(size);
+        }
+    }
+
+    // ================ ITERATION AND VIEWS ================ //
+    // Iterators, spliterators and forEach are fail-fast: a change to the size that
+    // they did not make themselves throws ConcurrentModificationException.
+
+    /**
+     * Returns an iterator over the elements in index order. Its remove method
+     * removes the element last returned.
+     * Time Complexity: O(1)
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Performs the action for every element in index order, reading the backing
+     * array directly: no iterator and nothing boxed per element.
+     * Time Complexity: O(n)
+     *
+     * @throws IllegalArgumentException if action is null
+     * @throws ConcurrentModificationException if the action changes the size
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        int expectedModCount = modCount;
+        T[] elements = array;
+        int end = size;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            action.accept(elements[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a java.util.List view backed by this array. Changes through either
+     * are visible in the other; the view supports every optional operation and
+     * implements RandomAccess. Every call returns the same view, and its iterators
+     * and sublists fail fast on changes made through either.
+     * Time Complexity: O(1)
+     */
+    public List<T> asList() {
+        if (view == null) {
+            view = new ListView();
+        }
+        return view;
+    }
+
+    // ================ STREAMS AND PARALLEL OPERATIONS ================ //
+    // All parallel operations run on the common ForkJoinPool. The array must not
+    // be modified while one of them (or a stream over it) is running.
+
+    /**
+     * Returns a spliterator over the elements, reporting SIZED, SUBSIZED and
+     * ORDERED so parallel streams split it evenly down the middle. It fails fast
+     * if the size changes during traversal.
+     * Time Complexity: O(1)
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<>(this, array, 0, size);
+    }
+
+    /**
+     * Returns a sequential stream over the elements.
+     * Time Complexity: O(1)
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements.
+     * Time Complexity: O(1)
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Sorts the elements in parallel (merge sort across the common pool).
+     * A null comparator sorts by natural ordering.
+     * Time Complexity: O(n log n), divided across cores
+     *
+     * @throws ClassCastException if comparator is null and the elements are not Comparable
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelSort(Comparator<? super T> comparator) {
+        if (comparator == null) {
+            comparator = (a, b) -> ((Comparable<? super T>) a).compareTo(b);
+        }
+        Arrays.parallelSort(array, 0, size, comparator);
+        countChange();
+    }
+
+    /**
+     * Returns the index of the first occurrence of the element, searching
+     * chunks in parallel. Chunks after an earlier match are abandoned.
+     * Time Complexity: O(n), divided across cores
+     */
+    public int parallelIndexOf(T element) {
+        T[] elements = array;
+        return IntStream.range(0, size)
+                .parallel()
+                .filter(i -> elements[i] == element ||
+                            (elements[i] != null && elements[i].equals(element)))
+                .findFirst()
+                .orElse(-1);
+    }
+
+    /**
+     * Performs the action for every element in parallel, in no particular order.
+     * Time Complexity: O(n), divided across cores
+     *
+     * @throws IllegalArgumentException if action is null
+     */
+    public void parallelForEach(Consumer<? super T> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        parallelStream().forEach(action);
+    }
+
+    /**
+     * Returns a new array holding mapper applied to every element, in order.
+     * Each worker writes its own slice of the result, so nothing is boxed or merged.
+     * Time Complexity: O(n), divided across cores
+     *
+     * @throws IllegalArgumentException if mapper is null
+     */
+    public <R> DynamicArray<R> parallelMap(Function<? super T, ? extends R> mapper) {
+        if (mapper == null) {
+            throw new IllegalArgumentException("Mapper cannot be null");
+        }
+        T[] source = array;
+        DynamicArray<R> result = new DynamicArray<>(size, policy);
+        R[] target = result.array;
+        IntStream.range(0, size).parallel().forEach(i -> target[i] = mapper.apply(source[i]));
+        result.size = size;
+        return result;
+    }
+
+    /**
+     * Combines all elements with an associative operator, reducing chunks in
+     * parallel and then combining the partial results.
+     * Time Complexity: O(n), divided across cores
+     *
+     * @param identity the identity value of the operator
+     * @param operator an associative, side-effect free combining function
+     * @throws IllegalArgumentException if operator is null
+     */
+    public T parallelReduce(T identity, BinaryOperator<T> operator) {
+        if (operator == null) {
+            throw new IllegalArgumentException("Operator cannot be null");
+        }
+        return parallelStream().reduce(identity, operator);
     }
 
     /**
@@ -239,16 +619,47 @@ public class DynamicArray<T> {
      */
     private void ensureCapacity() {
         if (size == capacity) {
-            resize((int) (capacity * GROWTH_FACTOR) + 1);
+            resize(policy.grow(capacity, size + 1));
         }
     }
 
     /**
-     * Shrinks the array if usage drops below the threshold.
+     * Asks the growth policy whether to shrink after a removal.
+     * A bulk removal is always handled with at most one resize.
      */
     private void considerShrinking() {
-        if (capacity > INITIAL_CAPACITY && size < capacity * SHRINK_THRESHOLD) {
-            resize(Math.max(INITIAL_CAPACITY, (int) (capacity / GROWTH_FACTOR)));
+        int newCapacity = policy.shrink(capacity, size);
+        if (newCapacity < capacity) {
+            resize(Math.max(newCapacity, size));
+        }
+    }
+
+    /**
+     * Opens a gap of count slots at index and copies count elements from source into it.
+     */
+    private void insertRange(int index, Object[] source, int count) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (count == 0) {
+            return;
+        }
+
+        ensureCapacity(size + count);
+
+        // Shift the tail right once, then drop the new block into the gap
+        System.arraycopy(array, index, array, index + count, size - index);
+        System.arraycopy(source, 0, array, index, count);
+        size += count;
+        countChange();
+    }
+
+    // Counts a structural change. The asList view's list iterators and sublists check
+    // its inherited modCount, so that is kept equal to this array's
+    private void countChange() {
+        modCount++;
+        if (view != null) {
+            view.syncModCount();
         }
     }
 
@@ -261,5 +672,253 @@ public class DynamicArray<T> {
         System.arraycopy(array, 0, newArray, 0, size);
         array = newArray;
         capacity = newCapacity;
+        resizeCount++;
+        elementsCopied += size;
+    }
+
+    // ================ SPLITERATOR ================ //
+
+    /**
+     * Splits a range of the backing array in halves.
+     * Knows its exact size at every level, so streams can pre-size results.
+     * Like ArrayList's, it checks for concurrent modification once per traversal
+     * rather than per element.
+     */
+    private static final class ArraySpliterator<T> implements Spliterator<T> {
+        private final DynamicArray<?> owner;
+        private final int expectedModCount;
+        private final Object[] array;
+        private int index;       // Next element to visit
+        private final int fence; // One past the last element
+
+        ArraySpliterator(DynamicArray<?> owner, Object[] array, int origin, int fence) {
+            this(owner, owner.modCount, array, origin, fence);
+        }
+
+        private ArraySpliterator(DynamicArray<?> owner, int expectedModCount, Object[] array, int origin, int fence) {
+            this.owner = owner;
+            this.expectedModCount = expectedModCount;
+            this.array = array;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new ArraySpliterator<>(owner, expectedModCount, array, lo, mid);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (index < fence) {
+                action.accept((T) array[index++]);
+                checkForComodification();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            Object[] a = array;
+            int hi = fence;
+            int i = index;
+            index = hi;
+            for (; i < hi; i++) {
+                action.accept((T) a[i]);
+            }
+            checkForComodification();
+        }
+
+        private void checkForComodification() {
+            if (owner.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    // ================ ITERATOR AND LIST VIEW ================ //
+
+    /**
+     * Walks the live backing array by index, so a resize by an element's own
+     * removal does not strand it on a stale copy.
+     */
+    private final class Itr implements Iterator<T> {
+        private int cursor;            // Index of the next element to return
+        private int lastReturned = -1; // Index of the last element returned, or -1
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = cursor++;
+            return array[lastReturned];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException("next() has not been called since the last remove");
+            }
+            checkForComodification();
+            DynamicArray.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            T[] elements = array;
+            int end = size;
+            int i = cursor;
+            for (; i < end && modCount == expectedModCount; i++) {
+                action.accept(elements[i]);
+            }
+            cursor = i;
+            lastReturned = i - 1;
+            checkForComodification();
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * The List returned by asList. Every operation maps onto a method of the
+     * array, so bulk removals keep their single block move.
+     */
+    private final class ListView extends AbstractList<T> implements RandomAccess {
+        ListView() {
+            syncModCount();
+        }
+
+        // Changes made directly to the array then fail the view's iterators fast too
+        void syncModCount() {
+            modCount = DynamicArray.this.modCount;
+        }
+
+        @Override
+        public T get(int index) {
+            return DynamicArray.this.get(index);
+        }
+
+        @Override
+        public T set(int index, T element) {
+            T previous = DynamicArray.this.get(index);
+            DynamicArray.this.set(index, element);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, T element) {
+            insert(index, element);
+        }
+
+        @Override
+        public T remove(int index) {
+            T removed = DynamicArray.this.remove(index);
+            return removed;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            DynamicArray.this.removeRange(fromIndex, toIndex);
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super T> filter) {
+            if (filter == null) {
+                throw new NullPointerException();
+            }
+            return DynamicArray.this.removeIf(filter);
+        }
+
+        @Override
+        public void clear() {
+            DynamicArray.this.clear();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int indexOf(Object element) {
+            return DynamicArray.this.indexOf((T) element);
+        }
+
+        @Override
+        public boolean contains(Object element) {
+            return indexOf(element) != -1;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return DynamicArray.this.iterator();
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return DynamicArray.this.spliterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            DynamicArray.this.forEach(action);
+        }
+
+        @Override
+        public Stream<T> stream() {
+            return DynamicArray.this.stream();
+        }
+
+        @Override
+        public Stream<T> parallelStream() {
+            return DynamicArray.this.parallelStream();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,208 @@
+package data_structures.arrays.DynamicArrays;
+
+/**
+ * Decides how a dynamic array's capacity changes as elements are added and removed.
+ *
+ * A policy is chosen when the array is constructed. The array asks {@link #grow}
+ * whenever it runs out of room and {@link #shrink} after elements are removed
+ * (including {@code clear()}, which asks with a size of 0). Returning the
+ * current capacity from {@code shrink} means "keep the current buffer".
+ *
+ * Built-in policies:
+ * - {@link #geometric(double, double)}: multiply on grow, divide on shrink (the default)
+ * - {@link #doubling()}: geometric with factor 2
+ * - {@link #fixedChunk(int)}: grow/shrink in fixed-size steps
+ * - {@link #neverShrink(GrowthPolicy)}: grow like another policy, never give memory back
+ * - {@link #hysteresis(double, double, int)}: shrink only when usage is very low,
+ *   and never below a retained floor
+ */
+public interface GrowthPolicy {
+    /** Smallest capacity any built-in policy shrinks to */
+    int MIN_CAPACITY = 10;
+
+    /** The historical DynamicArray policy: grow by 1.5x, shrink by 1.5x below 25% usage */
+    GrowthPolicy DEFAULT = geometric(1.5, 0.25);
+
+    /**
+     * Returns the new capacity for an array that needs room for minCapacity elements.
+     *
+     * @param capacity the current capacity
+     * @param minCapacity the required capacity (always greater than capacity)
+     * @return a capacity of at least minCapacity
+     */
+    int grow(int capacity, int minCapacity);
+
+    /**
+     * Returns the capacity the array should have after removals.
+     *
+     * @param capacity the current capacity
+     * @param size the number of elements now in the array
+     * @return a capacity of at least size; returning capacity means no resize
+     */
+    int shrink(int capacity, int size);
+
+    /**
+     * Grows by {@code factor} and, once usage drops below {@code shrinkThreshold},
+     * shrinks by {@code factor} (repeatedly, but in a single resize) until usage is
+     * back above the threshold.
+     *
+     * @param factor growth multiplier, greater than 1
+     * @param shrinkThreshold usage ratio below which the array shrinks, in [0, 1)
+     * @return the policy
+     * @throws IllegalArgumentException if the parameters are out of range
+     */
+    static GrowthPolicy geometric(double factor, double shrinkThreshold) {
+        if (factor <= 1.0) {
+            throw new IllegalArgumentException("Growth factor must be greater than 1");
+        }
+        if (shrinkThreshold < 0 || shrinkThreshold >= 1.0) {
+            throw new IllegalArgumentException("Shrink threshold must be in [0, 1)");
+        }
+        return new GrowthPolicy() {
+            @Override
+            public int grow(int capacity, int minCapacity) {
+                return Math.max(minCapacity, (int) Math.min(Integer.MAX_VALUE - 8, capacity * factor + 1));
+            }
+
+            @Override
+            public int shrink(int capacity, int size) {
+                int newCapacity = capacity;
+                while (newCapacity > MIN_CAPACITY && size < newCapacity * shrinkThreshold) {
+                    newCapacity = Math.max(MIN_CAPACITY, (int) (newCapacity / factor));
+                }
+                return newCapacity;
+            }
+
+            @Override
+            public String toString() {
+                return "geometric(" + factor + ", " + shrinkThreshold + ")";
+            }
+        };
+    }
+
+    /**
+     * Doubles on grow and halves below 25% usage.
+     *
+     * @return the policy
+     */
+    static GrowthPolicy doubling() {
+        return geometric(2.0, 0.25);
+    }
+
+    /**
+     * Grows in multiples of {@code chunk} elements. Shrinks only when more than two
+     * chunks are unused, leaving one spare chunk, so adding and removing around a
+     * chunk boundary never resizes back and forth.
+     *
+     * Use when the array size is predictable and over-allocation must be bounded
+     * by an absolute amount rather than a ratio.
+     *
+     * @param chunk the step size in elements
+     * @return the policy
+     * @throws IllegalArgumentException if chunk is not positive
+     */
+    static GrowthPolicy fixedChunk(int chunk) {
+        if (chunk <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        return new GrowthPolicy() {
+            @Override
+            public int grow(int capacity, int minCapacity) {
+                return roundUp(minCapacity);
+            }
+
+            @Override
+            public int shrink(int capacity, int size) {
+                if (capacity - size <= 2L * chunk) {
+                    return capacity;
+                }
+                return (int) Math.min(capacity, Math.max(MIN_CAPACITY, roundUp(size) + (long) chunk));
+            }
+
+            private int roundUp(int n) {
+                long rounded = ((long) n + chunk - 1) / chunk * chunk;
+                return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(rounded, chunk));
+            }
+
+            @Override
+            public String toString() {
+                return "fixedChunk(" + chunk + ")";
+            }
+        };
+    }
+
+    /**
+     * Grows like {@code growth} but never releases capacity, not even on
+     * {@code clear()}. Suited to buffers that are filled and drained repeatedly;
+     * call {@code trimToSize()} to release memory explicitly.
+     *
+     * @param growth the policy used for growing
+     * @return the policy
+     */
+    static GrowthPolicy neverShrink(GrowthPolicy growth) {
+        if (growth == null) {
+            throw new IllegalArgumentException("Growth policy cannot be null");
+        }
+        return new GrowthPolicy() {
+            @Override
+            public int grow(int capacity, int minCapacity) {
+                return growth.grow(capacity, minCapacity);
+            }
+
+            @Override
+            public int shrink(int capacity, int size) {
+                return capacity;
+            }
+
+            @Override
+            public String toString() {
+                return "neverShrink(" + growth + ")";
+            }
+        };
+    }
+
+    /**
+     * Grows by {@code factor}, but shrinks only when usage falls below
+     * {@code shrinkThreshold} (well under the 1/factor a fresh grow leaves), and then
+     * only down to one growth step of headroom above the current size. The array
+     * never shrinks below {@code floor}, so setting it to the expected working-set
+     * size makes fill/drain/clear cycles allocation-free.
+     *
+     * @param factor growth multiplier, greater than 1
+     * @param shrinkThreshold usage ratio below which the array shrinks, in [0, 1/factor)
+     * @param floor capacity that is always retained
+     * @return the policy
+     * @throws IllegalArgumentException if the parameters are out of range
+     */
+    static GrowthPolicy hysteresis(double factor, double shrinkThreshold, int floor) {
+        if (factor <= 1.0) {
+            throw new IllegalArgumentException("Growth factor must be greater than 1");
+        }
+        if (shrinkThreshold < 0 || shrinkThreshold >= 1.0 / factor) {
+            throw new IllegalArgumentException("Shrink threshold must be in [0, 1/factor)");
+        }
+        if (floor < 0) {
+            throw new IllegalArgumentException("Floor cannot be negative");
+        }
+        int retained = Math.max(MIN_CAPACITY, floor);
+        return new GrowthPolicy() {
+            @Override
+            public int grow(int capacity, int minCapacity) {
+                return Math.max(minCapacity, (int) Math.min(Integer.MAX_VALUE - 8, capacity * factor + 1));
+            }
+
+            @Override
+            public int shrink(int capacity, int size) {
+                if (capacity <= retained || size >= capacity * shrinkThreshold) {
+                    return capacity;
+                }
+                return Math.min(capacity, Math.max(retained, (int) (size * factor) + 1));
+            }
+
+            @Override
+            public String toString() {
+                return "hysteresis(" + factor + ", " + shrinkThreshold + ", " + floor + ")";
+            }
+        };
+    }
+}
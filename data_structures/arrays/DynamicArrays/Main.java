@@ -1,5 +1,9 @@
 package data_structures.arrays.DynamicArrays;
 
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.ListIterator;
+
 public class Main {
     public static void main(String[] args) {
         System.out.println("=== Dynamic Array Demonstration ===");
@@ -58,6 +62,62 @@ public class Main {
         names.clear();
         System.out.println("\nAfter clear():");
         printArrayInfo(names);
+
+        // 11. removeIf tests every element before moving any, so a throwing filter changes nothing
+        System.out.println("\n=== Testing removeIf ===");
+        DynamicArray<Integer> numbers = new DynamicArray<>();
+        for (int i = 0; i < 8; i++) {
+            numbers.add(i);
+        }
+        try {
+            numbers.removeIf(n -> {
+                if (n == 5) {
+                    throw new IllegalArgumentException("filter failed at " + n);
+                }
+                return n % 2 == 0;
+            });
+            throw new IllegalStateException("removeIf did not propagate the filter's exception");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Filter threw (" + e.getMessage() + "), array: " + numbers);
+        }
+        checkContents(numbers, 0, 1, 2, 3, 4, 5, 6, 7);
+        numbers.removeIf(n -> n % 2 == 0);
+        checkContents(numbers, 1, 3, 5, 7);
+        System.out.println("After removeIf(even): " + numbers + " - PASSED");
+
+        // 12. Fail-fast: a change made directly to the array breaks the view's iterators
+        System.out.println("\n=== Testing Fail-Fast Iterators ===");
+        List<Integer> view = numbers.asList();
+        ListIterator<Integer> viaView = view.listIterator();
+        viaView.next();
+        List<Integer> sub = view.subList(1, 3);
+        numbers.add(9);
+        expectConcurrentModification("view list iterator", viaView::next);
+        expectConcurrentModification("view sublist", () -> sub.get(0));
+        numbers.remove(0);
+        numbers.remove(0);
+        expectConcurrentModification("view sublist after removes", () -> sub.get(1));
+    }
+
+    private static void expectConcurrentModification(String what, Runnable action) {
+        try {
+            action.run();
+        } catch (ConcurrentModificationException e) {
+            System.out.println(what + ": ConcurrentModificationException, as expected");
+            return;
+        }
+        throw new IllegalStateException(what + " did not fail fast");
+    }
+
+    private static void checkContents(DynamicArray<Integer> array, int... expected) {
+        if (array.size() != expected.length) {
+            throw new IllegalStateException("Expected size " + expected.length + ", got " + array.size());
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (array.get(i) != expected[i]) {
+                throw new IllegalStateException("Expected " + expected[i] + " at " + i + ", got " + array.get(i));
+            }
+        }
     }
 
     // Helper method to print array information
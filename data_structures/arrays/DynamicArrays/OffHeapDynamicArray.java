@@ -0,0 +1,381 @@
+package data_structures.arrays.DynamicArrays;
+
+import data_structures.arrays.DirectBuffers;
+import data_structures.arrays.RecordLayout;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A dynamic array of fixed-width records stored outside the Java heap.
+ *
+ * Each element is a record described by a {@link RecordLayout}. Records live in
+ * direct (off-heap) memory, so the garbage collector never scans them no matter
+ * how many there are, and fields are read and written in place through
+ * {@link RecordLayout.Field} handles without allocating objects.
+ *
+ * Like {@link ChunkedDynamicArray}, storage is a directory of fixed-size chunks,
+ * so growth never copies records and the array is not limited to the 2 GB of a
+ * single buffer. Memory is released explicitly with {@link #close()}.
+ *
+ * Features:
+ * - No GC scanning or per-record objects
+ * - Allocation-free field access: getInt/getLong/getDouble and setters
+ * - Growth without copying; trailing chunks released on removal
+ * - Explicit, deterministic release of memory
+ * - Full exception handling
+ */
+public class OffHeapDynamicArray implements AutoCloseable {
+    // log2 of the number of records per chunk
+    private static final int CHUNK_SHIFT = 16;
+    // Number of records per chunk
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+    // Mask selecting the record within a chunk
+    private static final int CHUNK_MASK = CHUNK_RECORDS - 1;
+
+    private final RecordLayout layout;
+    private final int recordSize;  // Bytes per record (a multiple of 8)
+    private ByteBuffer[] chunks;   // Directory of chunks; only the first chunkCount are allocated
+    private int chunkCount;        // Number of allocated chunks
+    private int size;              // Number of records in the array
+    private boolean closed;
+
+    /**
+     * Constructs an empty off-heap array of records with the given layout.
+     * No memory is allocated until the first add.
+     * Time Complexity: O(1)
+     *
+     * @param layout the record layout
+     * @throws IllegalArgumentException if layout is null or its records are too large
+     */
+    public OffHeapDynamicArray(RecordLayout layout) {
+        if (layout == null) {
+            throw new IllegalArgumentException("Layout cannot be null");
+        }
+        if (layout.recordSize() > Integer.MAX_VALUE / CHUNK_RECORDS) {
+            throw new IllegalArgumentException("Record size too large: " + layout.recordSize());
+        }
+        this.layout = layout;
+        this.recordSize = layout.recordSize();
+        this.chunks = new ByteBuffer[8];
+        this.chunkCount = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the record layout.
+     * Time Complexity: O(1)
+     */
+    public RecordLayout layout() {
+        return layout;
+    }
+
+    /**
+     * Returns the number of records in the array.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the array is empty.
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of records the allocated chunks can hold.
+     * Time Complexity: O(1)
+     */
+    public int capacity() {
+        return chunkCount * CHUNK_RECORDS;
+    }
+
+    /**
+     * Returns the number of off-heap bytes currently allocated.
+     * Time Complexity: O(1)
+     */
+    public long offHeapBytes() {
+        return (long) chunkCount * CHUNK_RECORDS * recordSize;
+    }
+
+    /**
+     * Appends a record with every field set to zero.
+     * Amortized Time Complexity: O(1) - never copies existing records
+     *
+     * @return the index of the new record
+     * @throws IllegalStateException if the array has been closed
+     */
+    public int add() {
+        ensureOpen();
+        if (size == capacity()) {
+            addChunk();
+        }
+        int index = size++;
+        clearRecord(index);
+        return index;
+    }
+
+    /**
+     * Reads an int field of a record.
+     * Time Complexity: O(1)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     * @throws IllegalArgumentException if the field is not an int field of this layout
+     */
+    public int getInt(int index, RecordLayout.Field field) {
+        checkBounds(index);
+        checkField(field, RecordLayout.Type.INT);
+        return chunk(index).getInt(offset(index) + field.offset());
+    }
+
+    /**
+     * Writes an int field of a record.
+     * Time Complexity: O(1)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     * @throws IllegalArgumentException if the field is not an int field of this layout
+     */
+    public void setInt(int index, RecordLayout.Field field, int value) {
+        checkBounds(index);
+        checkField(field, RecordLayout.Type.INT);
+        chunk(index).putInt(offset(index) + field.offset(), value);
+    }
+
+    /**
+     * Reads a long field of a record.
+     * Time Complexity: O(1)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     * @throws IllegalArgumentException if the field is not a long field of this layout
+     */
+    public long getLong(int index, RecordLayout.Field field) {
+        checkBounds(index);
+        checkField(field, RecordLayout.Type.LONG);
+        return chunk(index).getLong(offset(index) + field.offset());
+    }
+
+    /**
+     * Writes a long field of a record.
+     * Time Complexity: O(1)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     * @throws IllegalArgumentException if the field is not a long field of this layout
+     */
+    public void setLong(int index, RecordLayout.Field field, long value) {
+        checkBounds(index);
+        checkField(field, RecordLayout.Type.LONG);
+        chunk(index).putLong(offset(index) + field.offset(), value);
+    }
+
+    /**
+     * Reads a double field of a record.
+     * Time Complexity: O(1)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     * @throws IllegalArgumentException if the field is not a double field of this layout
+     */
+    public double getDouble(int index, RecordLayout.Field field) {
+        checkBounds(index);
+        checkField(field, RecordLayout.Type.DOUBLE);
+        return chunk(index).getDouble(offset(index) + field.offset());
+    }
+
+    /**
+     * Writes a double field of a record.
+     * Time Complexity: O(1)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     * @throws IllegalArgumentException if the field is not a double field of this layout
+     */
+    public void setDouble(int index, RecordLayout.Field field, double value) {
+        checkBounds(index);
+        checkField(field, RecordLayout.Type.DOUBLE);
+        chunk(index).putDouble(offset(index) + field.offset(), value);
+    }
+
+    /**
+     * Removes the record at the specified index, shifting later records down.
+     * Each chunk's part of the tail moves as one bulk copy, and the first record of
+     * the next chunk is pulled back into the slot this frees.
+     * Time Complexity: O(n)
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public void remove(int index) {
+        checkBounds(index);
+        int last = size - 1;
+        int i = index;
+        while (i < last) {
+            int chunkEnd = Math.min(last, i | CHUNK_MASK); // Last record to move within i's chunk
+            if (chunkEnd > i) {
+                moveDown(chunk(i), offset(i + 1), offset(i), (chunkEnd - i) * recordSize);
+            }
+            if (chunkEnd < last) {
+                copyRecord(chunkEnd + 1, chunkEnd);
+            }
+            i = chunkEnd + 1;
+        }
+        size--;
+        releaseChunks();
+    }
+
+    /**
+     * Removes the last record.
+     * Amortized Time Complexity: O(1)
+     *
+     * @throws IllegalStateException if the array is empty or closed
+     */
+    public void removeLast() {
+        ensureOpen();
+        if (size == 0) {
+            throw new IllegalStateException("Array is empty");
+        }
+        size--;
+        releaseChunks();
+    }
+
+    /**
+     * Removes all records and releases all off-heap memory. The array stays usable.
+     * Time Complexity: O(number of chunks)
+     */
+    public void clear() {
+        ensureOpen();
+        freeChunks();
+        size = 0;
+    }
+
+    /**
+     * Releases all off-heap memory. Any further use of the array throws
+     * IllegalStateException. Calling close more than once has no effect.
+     * Time Complexity: O(number of chunks)
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            freeChunks();
+            size = 0;
+            closed = true;
+        }
+    }
+
+    /**
+     * Returns a summary of the array (the records themselves are not printed).
+     * Time Complexity: O(1)
+     */
+    @Override
+    public String toString() {
+        return "OffHeapDynamicArray[size=" + size + ", layout=" + layout
+                + (closed ? ", closed" : "") + "]";
+    }
+
+    // ================ PRIVATE HELPER METHODS ================ //
+
+    /**
+     * Checks if the index is within bounds for access/update.
+     * Throws IndexOutOfBoundsException if invalid (IllegalStateException once closed).
+     */
+    private void checkBounds(int index) {
+        if (index < 0 || index >= size) {
+            ensureOpen();
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Checks that the field was placed by this array's layout and has the expected type.
+     * A field of another layout is rejected even if its offset happens to fit.
+     */
+    private void checkField(RecordLayout.Field field, RecordLayout.Type type) {
+        if (field.layout() != layout || field.type() != type) {
+            throw new IllegalArgumentException("Field " + field + " is not a " + type + "-typed field of " + layout);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Array is closed");
+        }
+    }
+
+    /** Returns the chunk holding the record at index. */
+    private ByteBuffer chunk(int index) {
+        return chunks[index >>> CHUNK_SHIFT];
+    }
+
+    /** Returns the byte offset of the record at index within its chunk. */
+    private int offset(int index) {
+        return (index & CHUNK_MASK) * recordSize;
+    }
+
+    /** Copies one record, eight bytes at a time (records are padded to 8 bytes). */
+    private void copyRecord(int from, int to) {
+        ByteBuffer source = chunk(from);
+        ByteBuffer target = chunk(to);
+        int sourceOffset = offset(from);
+        int targetOffset = offset(to);
+        for (int i = 0; i < recordSize; i += Long.BYTES) {
+            target.putLong(targetOffset + i, source.getLong(sourceOffset + i));
+        }
+    }
+
+    /**
+     * Moves a byte range of a chunk towards its start with one bulk copy. Direct
+     * buffer copies have memmove semantics, so the overlap is safe.
+     */
+    private static void moveDown(ByteBuffer chunk, int from, int to, int length) {
+        ByteBuffer source = chunk.duplicate();
+        source.limit(from + length);
+        source.position(from);
+        ByteBuffer target = chunk.duplicate();
+        target.position(to);
+        target.put(source);
+    }
+
+    /** Zeroes one record (chunks are reused after removals). */
+    private void clearRecord(int index) {
+        ByteBuffer chunk = chunk(index);
+        int start = offset(index);
+        for (int i = 0; i < recordSize; i += Long.BYTES) {
+            chunk.putLong(start + i, 0L);
+        }
+    }
+
+    /**
+     * Appends one chunk, doubling the directory first if it is full.
+     */
+    private void addChunk() {
+        if (chunkCount == Integer.MAX_VALUE >>> CHUNK_SHIFT) {
+            throw new IllegalStateException("Array is full");
+        }
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        chunks[chunkCount++] = ByteBuffer.allocateDirect(CHUNK_RECORDS * recordSize)
+                .order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Frees trailing chunks that are no longer needed, keeping one spare chunk
+     * so that add/remove around a chunk boundary does not allocate repeatedly.
+     */
+    private void releaseChunks() {
+        int needed = (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+        while (chunkCount > needed + 1) {
+            DirectBuffers.release(chunks[--chunkCount]);
+            chunks[chunkCount] = null;
+        }
+    }
+
+    /** Frees every chunk. */
+    private void freeChunks() {
+        while (chunkCount > 0) {
+            DirectBuffers.release(chunks[--chunkCount]);
+            chunks[chunkCount] = null;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package data_structures.arrays;
+
+import java.util.Arrays;
+
+/**
+ * Describes a fixed-width record: an ordered list of named primitive fields,
+ * each at a naturally aligned byte offset.
+ *
+ * Used by {@link data_structures.arrays.DynamicArrays.OffHeapDynamicArray} to read
+ * and write individual fields of a record in place, without materializing a Java
+ * object per record, and by
+ * {@link data_structures.arrays.StaticArray.MappedStaticArray} for its element types.
+ *
+ * <pre>
+ * RecordLayout TRADE = RecordLayout.of(
+ *         RecordLayout.longField("timestamp"),
+ *         RecordLayout.intField("instrument"),
+ *         RecordLayout.doubleField("price"));
+ * // timestamp @0, instrument @8, price @16 (4 bytes of padding before it), size 24
+ * </pre>
+ */
+public final class RecordLayout {
+    /** Supported field types and their width in bytes */
+    public enum Type {
+        INT(4),
+        LONG(8),
+        DOUBLE(8);
+
+        private final int bytes;
+
+        Type(int bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns the width of this type in bytes.
+         * @return the width in bytes
+         */
+        public int bytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * A named field of a record. Obtain one from {@link RecordLayout#field(String)}
+     * once and reuse it, so field access never does a name lookup.
+     */
+    public static final class Field {
+        private final String name;
+        private final Type type;
+        private final int offset;
+        private RecordLayout layout; // Set once by the layout that placed this field
+
+        private Field(String name, Type type, int offset) {
+            this.name = name;
+            this.type = type;
+            this.offset = offset;
+        }
+
+        /** @return the field name */
+        public String name() {
+            return name;
+        }
+
+        /** @return the field type */
+        public Type type() {
+            return type;
+        }
+
+        /** @return the byte offset of the field within its record (-1 if not yet laid out) */
+        public int offset() {
+            return offset;
+        }
+
+        /** @return the layout this field was placed in (null if not yet laid out) */
+        public RecordLayout layout() {
+            return layout;
+        }
+
+        @Override
+        public String toString() {
+            return name + ":" + type + "@" + offset;
+        }
+    }
+
+    private final Field[] fields;
+    private final int recordSize;
+
+    private RecordLayout(Field[] fields, int recordSize) {
+        this.fields = fields;
+        this.recordSize = recordSize;
+        for (Field field : fields) {
+            field.layout = this;
+        }
+    }
+
+    /**
+     * Declares an int field.
+     * @param name the field name
+     * @return an unplaced field to pass to {@link #of(Field...)}
+     */
+    public static Field intField(String name) {
+        return new Field(name, Type.INT, -1);
+    }
+
+    /**
+     * Declares a long field.
+     * @param name the field name
+     * @return an unplaced field to pass to {@link #of(Field...)}
+     */
+    public static Field longField(String name) {
+        return new Field(name, Type.LONG, -1);
+    }
+
+    /**
+     * Declares a double field.
+     * @param name the field name
+     * @return an unplaced field to pass to {@link #of(Field...)}
+     */
+    public static Field doubleField(String name) {
+        return new Field(name, Type.DOUBLE, -1);
+    }
+
+    /**
+     * Lays out the fields in declaration order, aligning each to its own width and
+     * padding the record to a multiple of 8 bytes so every record starts aligned.
+     *
+     * @param declared the fields, in order
+     * @return the layout
+     * @throws IllegalArgumentException if there are no fields or a name is repeated
+     */
+    public static RecordLayout of(Field... declared) {
+        if (declared == null || declared.length == 0) {
+            throw new IllegalArgumentException("A record needs at least one field");
+        }
+        Field[] placed = new Field[declared.length];
+        int offset = 0;
+        for (int i = 0; i < declared.length; i++) {
+            Field field = declared[i];
+            if (field == null || field.name == null) {
+                throw new IllegalArgumentException("Fields and field names cannot be null");
+            }
+            for (int j = 0; j < i; j++) {
+                if (placed[j].name.equals(field.name)) {
+                    throw new IllegalArgumentException("Duplicate field: " + field.name);
+                }
+            }
+            int width = field.type.bytes;
+            offset = (offset + width - 1) / width * width; // Natural alignment
+            placed[i] = new Field(field.name, field.type, offset);
+            offset += width;
+        }
+        return new RecordLayout(placed, (offset + 7) & ~7);
+    }
+
+    /**
+     * Returns the record size in bytes, including padding.
+     * @return the record size
+     */
+    public int recordSize() {
+        return recordSize;
+    }
+
+    /**
+     * Returns the placed field with the given name.
+     * @param name the field name
+     * @return the field
+     * @throws IllegalArgumentException if there is no such field
+     */
+    public Field field(String name) {
+        for (Field field : fields) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("No such field: " + name);
+    }
+
+    /**
+     * Returns the placed fields in declaration order.
+     * @return a copy of the fields
+     */
+    public Field[] fields() {
+        return fields.clone();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(fields) + " size=" + recordSize;
+    }
+}
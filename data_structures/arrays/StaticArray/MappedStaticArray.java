@@ -0,0 +1,440 @@
+package data_structures.arrays.StaticArray;
+
+import data_structures.arrays.DirectBuffers;
+import data_structures.arrays.RecordLayout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MappedStaticArray.java
+ * A fixed-capacity array of primitives that lives in a memory-mapped file.
+ *
+ * The file is the array: there is no serialization step. Reopening an existing
+ * file maps it back in O(1) regardless of its size, and pages are loaded lazily
+ * by the OS as they are touched. {@link #force()} flushes changes to disk.
+ *
+ * File format (all values little-endian):
+ * <pre>
+ *   0  int   magic "SARR"
+ *   4  int   format version
+ *   8  int   element type (RecordLayout.Type ordinal)
+ *  12  int   capacity
+ *  16  int   size
+ *  64  ...   capacity * element bytes
+ * </pre>
+ *
+ * Files larger than 2 GB are mapped as several 1 GB segments.
+ */
+public class MappedStaticArray implements AutoCloseable {
+    private static final int MAGIC = 0x53415252; // "SARR"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int TYPE_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    // Size of the repeated-value block used by fill
+    private static final int FILL_BLOCK_BYTES = 64 * 1024;
+    // log2 of the bytes mapped per segment (1 GB)
+    private static final int SEGMENT_BYTES_SHIFT = 30;
+
+    private final RecordLayout.Type type;
+    private final int capacity;
+    private final int shift;          // log2 of the element width
+    private final int segmentShift;   // log2 of the elements per segment
+    private final int segmentMask;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private int size;
+    private boolean closed;
+
+    private MappedStaticArray(RecordLayout.Type type, int capacity, MappedByteBuffer header,
+                              MappedByteBuffer[] segments) {
+        this.type = type;
+        this.capacity = capacity;
+        this.shift = Integer.numberOfTrailingZeros(type.bytes());
+        this.segmentShift = SEGMENT_BYTES_SHIFT - shift;
+        this.segmentMask = (1 << segmentShift) - 1;
+        this.header = header;
+        this.segments = segments;
+        this.size = header.getInt(SIZE_OFFSET);
+    }
+
+    /**
+     * Create a new array file, replacing any existing file at the path
+     * @param path The file to create
+     * @param type The element type
+     * @param capacity The fixed number of elements
+     * @return The array, with every element zero and size 0
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static MappedStaticArray create(Path path, RecordLayout.Type type, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long length = HEADER_BYTES + (long) capacity * type.bytes();
+            channel.truncate(length);
+            channel.write(ByteBuffer.allocate(1), length - 1); // Extend the (sparse) file to full length
+
+            MappedByteBuffer header = mapHeader(channel, FileChannel.MapMode.READ_WRITE);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(TYPE_OFFSET, type.ordinal());
+            header.putInt(CAPACITY_OFFSET, capacity);
+            header.putInt(SIZE_OFFSET, 0);
+            return new MappedStaticArray(type, capacity, header,
+                    mapSegments(channel, FileChannel.MapMode.READ_WRITE, type, capacity));
+        }
+    }
+
+    /**
+     * Reopen an existing array file for reading and writing, without reading its contents
+     * @param path The file to open
+     * @return The array
+     * @throws IOException if the file cannot be mapped or is not an array file
+     */
+    public static MappedStaticArray open(Path path) throws IOException {
+        return open(path, FileChannel.MapMode.READ_WRITE);
+    }
+
+    /**
+     * Reopen an existing array file read-only; setters throw ReadOnlyBufferException
+     * @param path The file to open
+     * @return The array
+     * @throws IOException if the file cannot be mapped or is not an array file
+     */
+    public static MappedStaticArray openReadOnly(Path path) throws IOException {
+        return open(path, FileChannel.MapMode.READ_ONLY);
+    }
+
+    private static MappedStaticArray open(Path path, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[] {StandardOpenOption.READ}
+                : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a MappedStaticArray file: " + path);
+            }
+            MappedByteBuffer header = mapHeader(channel, mode);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a MappedStaticArray file: " + path);
+            }
+            int typeOrdinal = header.getInt(TYPE_OFFSET);
+            int capacity = header.getInt(CAPACITY_OFFSET);
+            if (typeOrdinal < 0 || typeOrdinal >= RecordLayout.Type.values().length || capacity <= 0) {
+                throw new IOException("Corrupt MappedStaticArray header: " + path);
+            }
+            RecordLayout.Type type = RecordLayout.Type.values()[typeOrdinal];
+            if (channel.size() < HEADER_BYTES + (long) capacity * type.bytes()) {
+                throw new IOException("Truncated MappedStaticArray file: " + path);
+            }
+            return new MappedStaticArray(type, capacity, header, mapSegments(channel, mode, type, capacity));
+        }
+    }
+
+    /**
+     * Get the int at specified index
+     * @param index The position to retrieve
+     * @return The element at the index
+     * @throws IndexOutOfBoundsException if index is invalid
+     * @throws IllegalStateException if the element type is not INT
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        checkType(RecordLayout.Type.INT);
+        return segment(index).getInt(offset(index));
+    }
+
+    /**
+     * Set the int at specified index
+     * @param index The position to set
+     * @param value The value to store
+     * @throws IndexOutOfBoundsException if index is invalid
+     * @throws IllegalStateException if the element type is not INT
+     */
+    public void setInt(int index, int value) {
+        checkIndex(index);
+        checkType(RecordLayout.Type.INT);
+        segment(index).putInt(offset(index), value);
+        extendSize(index);
+    }
+
+    /**
+     * Get the long at specified index
+     * @param index The position to retrieve
+     * @return The element at the index
+     * @throws IndexOutOfBoundsException if index is invalid
+     * @throws IllegalStateException if the element type is not LONG
+     */
+    public long getLong(int index) {
+        checkIndex(index);
+        checkType(RecordLayout.Type.LONG);
+        return segment(index).getLong(offset(index));
+    }
+
+    /**
+     * Set the long at specified index
+     * @param index The position to set
+     * @param value The value to store
+     * @throws IndexOutOfBoundsException if index is invalid
+     * @throws IllegalStateException if the element type is not LONG
+     */
+    public void setLong(int index, long value) {
+        checkIndex(index);
+        checkType(RecordLayout.Type.LONG);
+        segment(index).putLong(offset(index), value);
+        extendSize(index);
+    }
+
+    /**
+     * Get the double at specified index
+     * @param index The position to retrieve
+     * @return The element at the index
+     * @throws IndexOutOfBoundsException if index is invalid
+     * @throws IllegalStateException if the element type is not DOUBLE
+     */
+    public double getDouble(int index) {
+        checkIndex(index);
+        checkType(RecordLayout.Type.DOUBLE);
+        return segment(index).getDouble(offset(index));
+    }
+
+    /**
+     * Set the double at specified index
+     * @param index The position to set
+     * @param value The value to store
+     * @throws IndexOutOfBoundsException if index is invalid
+     * @throws IllegalStateException if the element type is not DOUBLE
+     */
+    public void setDouble(int index, double value) {
+        checkIndex(index);
+        checkType(RecordLayout.Type.DOUBLE);
+        segment(index).putDouble(offset(index), value);
+        extendSize(index);
+    }
+
+    /**
+     * Fill the whole array with an int value
+     * @param value The value to fill with
+     */
+    public void fill(int value) {
+        checkType(RecordLayout.Type.INT);
+        ByteBuffer pattern = ByteBuffer.allocate(FILL_BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (pattern.hasRemaining()) {
+            pattern.putInt(value);
+        }
+        fillWith(pattern);
+    }
+
+    /**
+     * Fill the whole array with a long value
+     * @param value The value to fill with
+     */
+    public void fill(long value) {
+        checkType(RecordLayout.Type.LONG);
+        ByteBuffer pattern = ByteBuffer.allocate(FILL_BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (pattern.hasRemaining()) {
+            pattern.putLong(value);
+        }
+        fillWith(pattern);
+    }
+
+    /**
+     * Fill the whole array with a double value
+     * @param value The value to fill with
+     */
+    public void fill(double value) {
+        checkType(RecordLayout.Type.DOUBLE);
+        ByteBuffer pattern = ByteBuffer.allocate(FILL_BLOCK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (pattern.hasRemaining()) {
+            pattern.putDouble(value);
+        }
+        fillWith(pattern);
+    }
+
+    /**
+     * Get the element type
+     * @return The element type stored in the file
+     */
+    public RecordLayout.Type type() {
+        return type;
+    }
+
+    /**
+     * Get the current number of elements (one past the highest index set)
+     * @return The size of the array
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the maximum capacity of the array
+     * @return The capacity of the array
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Check if the array is empty
+     * @return true if array contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Check if the array is full
+     * @return true if array has reached capacity
+     */
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Write all changes through to the storage device
+     */
+    public void force() {
+        ensureOpen();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        header.force();
+    }
+
+    /**
+     * Unmap the file. Changes not yet forced are still written back by the OS,
+     * but are only guaranteed durable after {@link #force()}.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            for (int i = 0; i < segments.length; i++) {
+                DirectBuffers.release(segments[i]);
+                segments[i] = null;
+            }
+            DirectBuffers.release(header);
+        }
+    }
+
+    /**
+     * Convert the array to string representation
+     * @return String representation of the array
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            switch (type) {
+                case INT:
+                    sb.append(getInt(i));
+                    break;
+                case LONG:
+                    sb.append(getLong(i));
+                    break;
+                default:
+                    sb.append(getDouble(i));
+            }
+            if (i < size - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    // Private helper method to validate indices
+    private void checkIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Capacity: " + capacity);
+        }
+        ensureOpen();
+    }
+
+    // Private helper method to validate the accessor matches the stored type
+    private void checkType(RecordLayout.Type expected) {
+        if (type != expected) {
+            throw new IllegalStateException("Array holds " + type + ", not " + expected);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Array is closed");
+        }
+    }
+
+    private MappedByteBuffer segment(int index) {
+        return segments[index >>> segmentShift];
+    }
+
+    private int offset(int index) {
+        return (index & segmentMask) << shift;
+    }
+
+    /**
+     * Copies a block of repeated values over every segment with bulk puts (memcpy)
+     * instead of one put per element.
+     */
+    private void fillWith(ByteBuffer pattern) {
+        ensureOpen();
+        for (MappedByteBuffer segment : segments) {
+            ByteBuffer target = segment.duplicate();
+            target.clear();
+            while (target.hasRemaining()) {
+                ByteBuffer block = pattern.duplicate();
+                block.clear();
+                block.limit(Math.min(block.capacity(), target.remaining()));
+                target.put(block);
+            }
+        }
+        setSize(capacity);
+    }
+
+    private void extendSize(int index) {
+        if (index >= size) {
+            setSize(index + 1);
+        }
+    }
+
+    private void setSize(int newSize) {
+        size = newSize;
+        header.putInt(SIZE_OFFSET, newSize);
+    }
+
+    private static MappedByteBuffer mapHeader(FileChannel channel, FileChannel.MapMode mode) throws IOException {
+        MappedByteBuffer header = channel.map(mode, 0, HEADER_BYTES);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        return header;
+    }
+
+    /**
+     * Maps the element region as consecutive 1 GB segments (the last one shorter).
+     */
+    private static MappedByteBuffer[] mapSegments(FileChannel channel, FileChannel.MapMode mode,
+                                                  RecordLayout.Type type, int capacity) throws IOException {
+        long dataBytes = (long) capacity * type.bytes();
+        long segmentBytes = 1L << SEGMENT_BYTES_SHIFT;
+        int count = (int) ((dataBytes + segmentBytes - 1) >>> SEGMENT_BYTES_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << SEGMENT_BYTES_SHIFT;
+            long length = Math.min(segmentBytes, dataBytes - start);
+            segments[i] = channel.map(mode, HEADER_BYTES + start, length);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return segments;
+    }
+}
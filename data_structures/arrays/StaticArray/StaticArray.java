@@ -1,13 +1,30 @@
 package data_structures.arrays.StaticArray;
 
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * StaticArray.java
  * Implementation of a fixed-size array with basic operations
+ *
+ * Iteration covers indices 0 to size - 1. Iterators and forEach are fail-fast:
+ * they throw ConcurrentModificationException if the size changes under them.
  */
-public class StaticArray<T> {
+public class StaticArray<T> implements Iterable<T> {
     private final T[] array;
     private final int capacity;
     private int size;
+    private int modCount; // Changes to the size, checked by iterators
 
     /**
      * Constructor to create a StaticArray with given capacity
@@ -45,6 +62,7 @@ public class StaticArray<T> {
         array[index] = element;
         if (element != null && index >= size) {
             size = index + 1;
+            modCount++;
         }
     }
 
@@ -85,10 +103,94 @@ public class StaticArray<T> {
      * @param value The value to fill with
      */
     public void fill(T value) {
-        for (int i = 0; i < capacity; i++) {
-            array[i] = value;
-        }
+        Arrays.fill(array, value);
         size = value != null ? capacity : 0;
+        modCount++;
+    }
+
+    /**
+     * Get an iterator over the elements from index 0 to size - 1
+     * @return A fail-fast iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int cursor;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                return array[cursor++];
+            }
+        };
+    }
+
+    /**
+     * Perform the action for every element from index 0 to size - 1, reading the
+     * array directly
+     * @param action The action to perform
+     * @throws IllegalArgumentException if action is null
+     * @throws ConcurrentModificationException if the action changes the size
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        int expectedModCount = modCount;
+        for (int i = 0; i < size && modCount == expectedModCount; i++) {
+            action.accept(array[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Get a spliterator over the elements present now. It is SIZED and SUBSIZED
+     * and splits the index range in halves. The backing array never moves, so it
+     * stays safe, but it does not see later changes to the size
+     * @return A spliterator over indices 0 to size - 1
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, 0, size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Get a sequential stream over the elements
+     * @return A stream over indices 0 to size - 1
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Get a parallel stream over the elements
+     * @return A parallel stream over indices 0 to size - 1
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Get a fixed-size java.util.List view of indices 0 to size - 1, like
+     * Arrays.asList: set writes through, add and remove are unsupported
+     * @return A List backed by this array
+     */
+    public List<T> asList() {
+        return new ListView();
     }
 
     /**
@@ -108,6 +210,52 @@ public class StaticArray<T> {
         return sb.toString();
     }
 
+    // Fixed-size List over the elements, backed by the array
+    private final class ListView extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(int index) {
+            checkElementIndex(index);
+            return array[index];
+        }
+
+        @Override
+        public T set(int index, T element) {
+            checkElementIndex(index);
+            T previous = array[index];
+            array[index] = element;
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return StaticArray.this.iterator();
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return StaticArray.this.spliterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            StaticArray.this.forEach(action);
+        }
+
+        private void checkElementIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+    }
+
     // Private helper method to validate indices
     private void checkIndex(int index) {
         if (index < 0 || index >= capacity) {
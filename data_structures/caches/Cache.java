@@ -0,0 +1,577 @@
+package data_structures.caches;
+
+import data_structures.hash_tables.ChainingHashTable.ChainingHashTable;
+import data_structures.linked_lists.Doubly_Linked_List.DoubleLinkedList;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * A bounded in-memory cache: a {@link ChainingHashTable} from keys to entries,
+ * plus {@link DoubleLinkedList}s that keep the entries in eviction order.
+ *
+ * <p>The lists hand out node handles, so {@link #get} and {@link #put} reorder
+ * an entry in O(1), and eviction takes the victim from the end of a list in O(1).
+ * Under every {@link EvictionPolicy} all operations are O(1) (amortized, for
+ * the hash table and the eviction of expired entries).</p>
+ *
+ * <p>Two bounds can be set, and the cache evicts until both hold:</p>
+ * <ul>
+ *   <li>a maximum number of entries;</li>
+ *   <li>a maximum total weight, where a weigher gives the weight of each entry
+ *   (for example its size in bytes).</li>
+ * </ul>
+ *
+ * <p>An optional time-to-live expires each entry a fixed time after it was last
+ * written. As all entries share one time-to-live, write order is expiry order, so
+ * expired entries are dropped from the front of a write-ordered list as the cache
+ * is used.</p>
+ *
+ * <p>The cache counts hits, misses and evictions. It is not thread-safe.</p>
+ *
+ * <pre>
+ * Cache&lt;String, byte[]&gt; responses = new Cache&lt;&gt;(EvictionPolicy.W_TINY_LFU,
+ *         Integer.MAX_VALUE, 64L &lt;&lt; 20, (url, body) -&gt; body.length, 30, TimeUnit.SECONDS);
+ * </pre>
+ *
+ * @param <K> the type of keys maintained by this cache
+ * @param <V> the type of cached values
+ */
+public class Cache<K, V> {
+    private final EvictionPolicy policy;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private final long expireAfterWriteNanos;
+
+    private final ChainingHashTable<K, Entry<K, V>> table = new ChainingHashTable<>();
+    private final Strategy<K, V> strategy;
+    /** Entries in order of their last write, oldest first; null without a time-to-live */
+    private final DoubleLinkedList<Entry<K, V>> writeOrder;
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /** A cached mapping, with its places in the policy's and the expiry list */
+    private static final class Entry<K, V> {
+        final K key;
+        final int hash;
+        V value;
+        long weight;
+        long expiresAt;
+        DoubleLinkedList.Node<Entry<K, V>> node;      // Position in the policy's list
+        DoubleLinkedList.Node<Entry<K, V>> writeNode; // Position in writeOrder
+        DoubleLinkedList.Node<FrequencyBucket<K, V>> bucket; // LFU only
+        int region;                                   // W-TinyLFU only
+
+        Entry(K key, V value, long weight) {
+            this.key = key;
+            this.hash = key.hashCode();
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Constructs a cache bounded by the number of entries, without expiry.
+     *
+     * @param policy the eviction policy
+     * @param maxEntries the maximum number of entries
+     * @throws IllegalArgumentException if the policy is null or maxEntries is negative
+     */
+    public Cache(EvictionPolicy policy, int maxEntries) {
+        this(policy, maxEntries, Long.MAX_VALUE, null, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Constructs a cache with all bounds given. Pass {@code Integer.MAX_VALUE} or
+     * {@code Long.MAX_VALUE} for a bound that should not apply.
+     *
+     * @param policy the eviction policy
+     * @param maxEntries the maximum number of entries
+     * @param maxWeight the maximum total weight of the entries
+     * @param weigher gives the (non-negative) weight of an entry, or null to weigh every entry as 1
+     * @param expireAfterWrite how long an entry lives after it was last written, or 0 for no expiry
+     * @param unit the unit of expireAfterWrite
+     * @throws IllegalArgumentException if the policy or unit is null, or any bound is negative
+     */
+    public Cache(EvictionPolicy policy, int maxEntries, long maxWeight,
+                 ToLongBiFunction<? super K, ? super V> weigher, long expireAfterWrite, TimeUnit unit) {
+        if (policy == null || unit == null) {
+            throw new IllegalArgumentException("Policy and time unit cannot be null");
+        }
+        if (maxEntries < 0 || maxWeight < 0 || expireAfterWrite < 0) {
+            throw new IllegalArgumentException("Bounds cannot be negative");
+        }
+        this.policy = policy;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.expireAfterWriteNanos = unit.toNanos(expireAfterWrite);
+        this.writeOrder = expireAfterWriteNanos > 0 ? new DoubleLinkedList<>() : null;
+
+        switch (policy) {
+            case LRU:
+                strategy = new LruStrategy<>();
+                break;
+            case LFU:
+                strategy = new LfuStrategy<>();
+                break;
+            default:
+                strategy = new TinyLfuStrategy<>(maxEntries, maxWeight);
+                break;
+        }
+    }
+
+    /**
+     * Returns the cached value for the key, or null if it is absent or expired.
+     * A hit counts as an access for the eviction policy.
+     *
+     * @param key the key whose cached value is to be returned
+     * @return the cached value, or null
+     * @throws IllegalArgumentException if the key is null
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        expireEntries();
+        Entry<K, V> entry = table.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        strategy.accessed(entry);
+        return entry.value;
+    }
+
+    /**
+     * Caches the value for the key, replacing any cached value, then evicts
+     * entries until the cache is within its bounds again. An entry heavier than the
+     * maximum weight is evicted straight away.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param value the value to be cached
+     * @throws IllegalArgumentException if the key or value is null, or the weigher returns a negative weight
+     */
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value cannot be null");
+        }
+        long entryWeight = weigh(key, value);
+        expireEntries();
+
+        Entry<K, V> entry = table.get(key);
+        if (entry != null) {
+            long delta = entryWeight - entry.weight;
+            entry.value = value;
+            entry.weight = entryWeight;
+            weight += delta;
+            strategy.reweighed(entry, delta);
+            strategy.accessed(entry);
+            if (writeOrder != null) {
+                writeOrder.moveToBack(entry.writeNode);
+            }
+        } else {
+            entry = new Entry<>(key, value, entryWeight);
+            table.put(key, entry);
+            weight += entryWeight;
+            strategy.added(entry);
+            if (writeOrder != null) {
+                entry.writeNode = writeOrder.addLastNode(entry);
+            }
+        }
+        if (writeOrder != null) {
+            entry.expiresAt = System.nanoTime() + expireAfterWriteNanos;
+        }
+
+        // An entry that can never fit goes at once, rather than after everything else
+        if (entryWeight > maxWeight) {
+            removeEntry(entry);
+            evictions++;
+        }
+        while (table.size() > maxEntries || weight > maxWeight) {
+            removeEntry(strategy.victim(entry));
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes the key from the cache if present. Not counted as an eviction.
+     *
+     * @param key the key whose entry is to be removed
+     * @throws IllegalArgumentException if the key is null
+     */
+    public void remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        Entry<K, V> entry = table.get(key);
+        if (entry != null) {
+            removeEntry(entry);
+        }
+    }
+
+    /**
+     * Returns true if the cache holds an unexpired entry for the key. Does not
+     * count as an access, a hit or a miss.
+     *
+     * @param key the key to look up
+     * @return true if the key is cached
+     */
+    public boolean containsKey(K key) {
+        Entry<K, V> entry = table.get(key);
+        return entry != null && (writeOrder == null || System.nanoTime() - entry.expiresAt < 0);
+    }
+
+    /**
+     * Returns the number of cached entries, including expired ones not yet dropped.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Returns the total weight of the cached entries (their number, without a weigher).
+     *
+     * @return the total weight
+     */
+    public long weight() {
+        return weight;
+    }
+
+    /**
+     * Returns the eviction policy of this cache.
+     *
+     * @return the eviction policy
+     */
+    public EvictionPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * Returns the number of {@link #get} calls that found a value.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of {@link #get} calls that found no value.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries the cache dropped on its own: to stay within
+     * its bounds, or because they expired.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns the fraction of {@link #get} calls that were hits.
+     *
+     * @return the hit rate in [0, 1], or 1 if there were no calls
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    /**
+     * Returns a summary of the cache's bounds, contents and counters.
+     *
+     * @return a string representation of the cache
+     */
+    @Override
+    public String toString() {
+        return "Cache{policy=" + policy + ", size=" + size() + ", weight=" + weight
+                + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "}";
+    }
+
+    private long weigh(K key, V value) {
+        if (weigher == null) {
+            return 1;
+        }
+        long entryWeight = weigher.applyAsLong(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative: " + entryWeight);
+        }
+        return entryWeight;
+    }
+
+    // Drops expired entries from the front of the write order
+    private void expireEntries() {
+        if (writeOrder == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        DoubleLinkedList.Node<Entry<K, V>> oldest = writeOrder.firstNode();
+        while (oldest != null && now - oldest.getData().expiresAt >= 0) {
+            removeEntry(oldest.getData());
+            evictions++;
+            oldest = writeOrder.firstNode();
+        }
+    }
+
+    private void removeEntry(Entry<K, V> entry) {
+        table.remove(entry.key);
+        weight -= entry.weight;
+        strategy.removed(entry);
+        if (writeOrder != null) {
+            writeOrder.remove(entry.writeNode);
+        }
+    }
+
+    /** Keeps entries in eviction order for one policy */
+    private interface Strategy<K, V> {
+        /** A new entry was inserted */
+        void added(Entry<K, V> entry);
+
+        /** An entry was read or overwritten */
+        void accessed(Entry<K, V> entry);
+
+        /** An entry was removed or evicted */
+        void removed(Entry<K, V> entry);
+
+        /** An overwrite changed an entry's weight by delta (called before accessed) */
+        default void reweighed(Entry<K, V> entry, long delta) {
+        }
+
+        /**
+         * Chooses the next entry to evict from a non-empty cache. The incoming entry
+         * (just put) is only chosen when a policy rejects it or nothing else is left.
+         */
+        Entry<K, V> victim(Entry<K, V> incoming);
+    }
+
+    /** One recency list, most recently used first */
+    private static final class LruStrategy<K, V> implements Strategy<K, V> {
+        private final DoubleLinkedList<Entry<K, V>> order = new DoubleLinkedList<>();
+
+        @Override
+        public void added(Entry<K, V> entry) {
+            entry.node = order.addFirstNode(entry);
+        }
+
+        @Override
+        public void accessed(Entry<K, V> entry) {
+            order.moveToFront(entry.node);
+        }
+
+        @Override
+        public void removed(Entry<K, V> entry) {
+            order.remove(entry.node);
+        }
+
+        @Override
+        public Entry<K, V> victim(Entry<K, V> incoming) {
+            return order.lastNode().getData();
+        }
+    }
+
+    /** The entries that share one access count, most recently used first */
+    private static final class FrequencyBucket<K, V> {
+        final long frequency;
+        final DoubleLinkedList<Entry<K, V>> entries = new DoubleLinkedList<>();
+
+        FrequencyBucket(long frequency) {
+            this.frequency = frequency;
+        }
+    }
+
+    /**
+     * O(1) LFU: a list of frequency buckets in ascending order. A hit moves an entry
+     * to the bucket for the next count, creating it right after the current one if
+     * needed, and empty buckets are unlinked.
+     */
+    private static final class LfuStrategy<K, V> implements Strategy<K, V> {
+        private final DoubleLinkedList<FrequencyBucket<K, V>> buckets = new DoubleLinkedList<>();
+
+        @Override
+        public void added(Entry<K, V> entry) {
+            DoubleLinkedList.Node<FrequencyBucket<K, V>> first = buckets.firstNode();
+            if (first == null || first.getData().frequency != 1) {
+                first = buckets.addFirstNode(new FrequencyBucket<>(1));
+            }
+            entry.bucket = first;
+            entry.node = first.getData().entries.addFirstNode(entry);
+        }
+
+        @Override
+        public void accessed(Entry<K, V> entry) {
+            DoubleLinkedList.Node<FrequencyBucket<K, V>> current = entry.bucket;
+            long frequency = current.getData().frequency + 1;
+            DoubleLinkedList.Node<FrequencyBucket<K, V>> next = current.getNext();
+            if (next == null || next.getData().frequency != frequency) {
+                next = buckets.addAfter(current, new FrequencyBucket<>(frequency));
+            }
+            unlink(entry);
+            entry.bucket = next;
+            entry.node = next.getData().entries.addFirstNode(entry);
+        }
+
+        @Override
+        public void removed(Entry<K, V> entry) {
+            unlink(entry);
+        }
+
+        @Override
+        public Entry<K, V> victim(Entry<K, V> incoming) {
+            // Evict the least recent of the least used, but never a newcomer that is alone in its bucket
+            DoubleLinkedList.Node<FrequencyBucket<K, V>> bucket = buckets.firstNode();
+            Entry<K, V> victim = bucket.getData().entries.lastNode().getData();
+            if (victim == incoming && bucket.getNext() != null) {
+                victim = bucket.getNext().getData().entries.lastNode().getData();
+            }
+            return victim;
+        }
+
+        private void unlink(Entry<K, V> entry) {
+            FrequencyBucket<K, V> bucket = entry.bucket.getData();
+            bucket.entries.remove(entry.node);
+            if (bucket.entries.isEmpty()) {
+                buckets.remove(entry.bucket);
+            }
+        }
+    }
+
+    /**
+     * W-TinyLFU: a 1% LRU window in front of a segmented LRU main area (probation
+     * plus an 80% protected segment). An entry leaving the window becomes the
+     * admission candidate; when the cache is over its bounds, the candidate and the
+     * probation victim are compared by sketch frequency and the less popular one is
+     * evicted.
+     */
+    private static final class TinyLfuStrategy<K, V> implements Strategy<K, V> {
+        private static final int WINDOW = 0;
+        private static final int PROBATION = 1;
+        private static final int PROTECTED = 2;
+
+        private final DoubleLinkedList<Entry<K, V>> window = new DoubleLinkedList<>();
+        private final DoubleLinkedList<Entry<K, V>> probation = new DoubleLinkedList<>();
+        private final DoubleLinkedList<Entry<K, V>> protectedSegment = new DoubleLinkedList<>();
+        private final long[] regionWeight = new long[3];
+
+        private final int windowMaxEntries;
+        private final long windowMaxWeight;
+        private final int protectedMaxEntries;
+        private final long protectedMaxWeight;
+        private final FrequencySketch sketch;
+        // True when the entry count is unbounded, so the sketch grows with the cache
+        private final boolean growSketch;
+
+        private Entry<K, V> candidate;
+
+        TinyLfuStrategy(int maxEntries, long maxWeight) {
+            windowMaxEntries = Math.max(1, maxEntries / 100);
+            windowMaxWeight = Math.max(1, maxWeight / 100);
+            protectedMaxEntries = (int) ((maxEntries - windowMaxEntries) * 4L / 5);
+            protectedMaxWeight = (maxWeight - windowMaxWeight) / 5 * 4;
+            // The weight bound says nothing about how many entries fit, so a cache bounded
+            // only by weight starts with the smallest sketch instead of the largest
+            growSketch = maxEntries == Integer.MAX_VALUE;
+            sketch = new FrequencySketch(growSketch ? 0 : maxEntries);
+        }
+
+        @Override
+        public void added(Entry<K, V> entry) {
+            if (growSketch) {
+                sketch.ensureCapacity((long) window.size() + probation.size() + protectedSegment.size() + 1);
+            }
+            sketch.increment(entry.hash);
+            link(entry, WINDOW);
+            drainWindow();
+        }
+
+        @Override
+        public void accessed(Entry<K, V> entry) {
+            sketch.increment(entry.hash);
+            if (entry.region == PROBATION) {
+                unlink(entry);
+                link(entry, PROTECTED);
+            } else {
+                listOf(entry.region).moveToFront(entry.node);
+            }
+            drainWindow();
+            drainProtected();
+        }
+
+        @Override
+        public void removed(Entry<K, V> entry) {
+            unlink(entry);
+        }
+
+        @Override
+        public void reweighed(Entry<K, V> entry, long delta) {
+            regionWeight[entry.region] += delta;
+        }
+
+        @Override
+        public Entry<K, V> victim(Entry<K, V> incoming) {
+            DoubleLinkedList.Node<Entry<K, V>> last = probation.lastNode();
+            if (last == null) {
+                last = protectedSegment.lastNode() != null ? protectedSegment.lastNode() : window.lastNode();
+            }
+            Entry<K, V> victim = last.getData();
+            if (candidate == null || candidate == victim) {
+                return victim;
+            }
+            // Admit the candidate only if it has been used more than the entry it would replace
+            return sketch.frequency(candidate.hash) > sketch.frequency(victim.hash) ? victim : candidate;
+        }
+
+        // Moves entries that overflow the window to the probation segment as candidates
+        private void drainWindow() {
+            while (!window.isEmpty()
+                    && (window.size() > windowMaxEntries || regionWeight[WINDOW] > windowMaxWeight)) {
+                Entry<K, V> oldest = window.lastNode().getData();
+                unlink(oldest);
+                link(oldest, PROBATION);
+                candidate = oldest;
+            }
+        }
+
+        // Demotes entries that overflow the protected segment back to probation
+        private void drainProtected() {
+            while (!protectedSegment.isEmpty()
+                    && (protectedSegment.size() > protectedMaxEntries || regionWeight[PROTECTED] > protectedMaxWeight)) {
+                Entry<K, V> oldest = protectedSegment.lastNode().getData();
+                unlink(oldest);
+                link(oldest, PROBATION);
+            }
+        }
+
+        private void link(Entry<K, V> entry, int region) {
+            entry.region = region;
+            entry.node = listOf(region).addFirstNode(entry);
+            regionWeight[region] += entry.weight;
+        }
+
+        private void unlink(Entry<K, V> entry) {
+            listOf(entry.region).remove(entry.node);
+            regionWeight[entry.region] -= entry.weight;
+            if (entry == candidate) {
+                candidate = null;
+            }
+        }
+
+        private DoubleLinkedList<Entry<K, V>> listOf(int region) {
+            return region == WINDOW ? window : region == PROBATION ? probation : protectedSegment;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package data_structures.caches;
+
+/**
+ * How a full {@link Cache} chooses which entry to evict.
+ */
+public enum EvictionPolicy {
+    /** Least recently used: evicts the entry read or written longest ago */
+    LRU,
+
+    /**
+     * Least frequently used: evicts the entry with the fewest hits since it was
+     * inserted, breaking ties by recency. Counts never decay, so entries that were
+     * popular once can linger after the workload moves on.
+     */
+    LFU,
+
+    /**
+     * Window TinyLFU: new entries enter a small LRU window (1% of the capacity).
+     * When they leave it, they are admitted to the main segmented-LRU area only if a
+     * decaying frequency sketch says they are more popular than the entry they
+     * would replace. This resists both scans and one-hit wonders, and adapts when
+     * the popular keys change.
+     */
+    W_TINY_LFU
+}
@@ -0,0 +1,108 @@
+package data_structures.caches;
+
+/**
+ * An approximate, aging count of how often each key was accessed: the TinyLFU
+ * admission filter behind {@link EvictionPolicy#W_TINY_LFU}.
+ *
+ * <p>A count-min sketch of 4-bit counters, sixteen packed into each {@code long}.
+ * Each key maps to one counter in each of four rows; an increment bumps all four
+ * (saturating at 15) and the estimate is the smallest of them, so collisions can
+ * only make a key look more popular, never less. After ten increments per table
+ * slot every counter is halved, so past popularity fades and the sketch follows
+ * changes in the workload.</p>
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+            0x97cb3127L, 0xc2b2ae35L, 0x85ebca6bL, 0x27d4eb2fL
+    };
+    /** Clears the high bit of every 4-bit counter after a shift, halving them all */
+    private static final long HALF_MASK = 0x7777_7777_7777_7777L;
+
+    /** The largest table, in longs (32 MB) */
+    private static final int MAX_LENGTH = 1 << 22;
+
+    private long[] table;
+    private int counterMask;
+    private int sampleSize;
+    private int additions;
+
+    /**
+     * Creates a sketch sized for the given number of entries.
+     * @param expectedEntries how many distinct keys the cache holds at most (clamped to [16, 2^22])
+     */
+    FrequencySketch(long expectedEntries) {
+        allocate(expectedEntries);
+    }
+
+    /**
+     * Grows the sketch if it is too small for the given number of entries. Growing
+     * discards every count, as Caffeine's sketch does; since the table at least
+     * doubles each time, that happens only a few times while a cache fills up.
+     * @param entries how many distinct keys the cache holds now
+     */
+    void ensureCapacity(long entries) {
+        if (entries > table.length && table.length < MAX_LENGTH) {
+            allocate(entries);
+        }
+    }
+
+    /**
+     * Records one access of the key.
+     * @param hash the key's hash code
+     */
+    void increment(int hash) {
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int counter = indexOf(hash, row);
+            int slot = counter >>> 4;
+            int shift = (counter & 15) << 2;
+            if (((table[slot] >>> shift) & 0xF) != 0xF) {
+                table[slot] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Returns the estimated number of recent accesses of the key.
+     * @param hash the key's hash code
+     * @return an estimate in [0, 15]
+     */
+    int frequency(int hash) {
+        int frequency = 0xF;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int counter = indexOf(hash, row);
+            int count = (int) (table[counter >>> 4] >>> ((counter & 15) << 2)) & 0xF;
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    private void allocate(long expectedEntries) {
+        int slots = (int) Math.min(MAX_LENGTH, Math.max(16, expectedEntries));
+        int length = Integer.highestOneBit(slots - 1) << 1;
+        table = new long[length];
+        counterMask = length * 16 - 1;
+        sampleSize = 10 * length;
+        additions = 0;
+    }
+
+    // Halves every counter. Odd counts lose their low bit, which the additions total accounts for
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & 0x1111_1111_1111_1111L);
+            table[i] = (table[i] >>> 1) & HALF_MASK;
+        }
+        additions = (additions - (odd >>> 2)) >>> 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & counterMask;
+    }
+}
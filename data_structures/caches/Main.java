@@ -0,0 +1,81 @@
+package data_structures.caches;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Demonstration of Cache under each eviction policy
+ */
+public class Main {
+    public static void main(String[] args) throws InterruptedException {
+        // 1. LRU: the least recently used entry goes first
+        System.out.println("=== Testing LRU ===");
+        Cache<String, Integer> lru = new Cache<>(EvictionPolicy.LRU, 3);
+        lru.put("a", 1);
+        lru.put("b", 2);
+        lru.put("c", 3);
+        lru.get("a");        // "b" is now the least recently used
+        lru.put("d", 4);     // evicts "b"
+        System.out.println("Contains 'a': " + lru.containsKey("a"));
+        System.out.println("Contains 'b': " + lru.containsKey("b"));
+        System.out.println(lru);
+
+        // 2. LFU: the least used entry goes first, even if it was used recently
+        System.out.println("\n=== Testing LFU ===");
+        Cache<String, Integer> lfu = new Cache<>(EvictionPolicy.LFU, 3);
+        lfu.put("a", 1);
+        lfu.put("b", 2);
+        lfu.put("c", 3);
+        lfu.get("a");
+        lfu.get("a");
+        lfu.get("b");
+        lfu.put("d", 4);     // evicts "c", used least
+        System.out.println("Contains 'c': " + lfu.containsKey("c"));
+        System.out.println("Contains 'd': " + lfu.containsKey("d"));
+        System.out.println(lfu);
+
+        // 3. W-TinyLFU: a scan of one-off keys does not flush the popular ones
+        System.out.println("\n=== Testing W-TinyLFU Against a Scan ===");
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            Cache<Integer, Integer> cache = new Cache<>(policy, 100);
+            for (int round = 0; round < 20; round++) {
+                // 50 popular keys, each read several times per round
+                for (int read = 0; read < 3; read++) {
+                    for (int hot = 0; hot < 50; hot++) {
+                        if (cache.get(hot) == null) {
+                            cache.put(hot, hot);
+                        }
+                    }
+                }
+                // then 200 keys that are never read again
+                for (int scan = 0; scan < 200; scan++) {
+                    int key = 1_000 + round * 200 + scan;
+                    if (cache.get(key) == null) {
+                        cache.put(key, key);
+                    }
+                }
+            }
+            System.out.printf("%-10s hit rate %.3f%n", policy, cache.hitRate());
+        }
+
+        // 4. Weight bound: an entry heavier than the bound is not kept
+        System.out.println("\n=== Testing the Weight Bound ===");
+        Cache<String, byte[]> pages = new Cache<>(EvictionPolicy.LRU,
+                Integer.MAX_VALUE, 1_000, (url, body) -> body.length, 0, TimeUnit.SECONDS);
+        pages.put("/small", new byte[300]);
+        pages.put("/medium", new byte[600]);
+        pages.put("/huge", new byte[5_000]);
+        System.out.println("Contains '/huge': " + pages.containsKey("/huge"));
+        System.out.println("Contains '/small': " + pages.containsKey("/small"));
+        System.out.println("Total weight: " + pages.weight());
+
+        // 5. Expiry: entries live a fixed time after their last write
+        System.out.println("\n=== Testing Expiry ===");
+        Cache<String, String> sessions = new Cache<>(EvictionPolicy.LRU,
+                100, Long.MAX_VALUE, null, 50, TimeUnit.MILLISECONDS);
+        sessions.put("token", "alice");
+        System.out.println("Right after put: " + sessions.get("token"));
+        Thread.sleep(100);
+        System.out.println("After 100 ms: " + sessions.get("token"));
+        System.out.println(sessions);
+    }
+}
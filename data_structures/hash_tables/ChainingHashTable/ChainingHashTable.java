@@ -1,24 +1,134 @@
 package data_structures.hash_tables.ChainingHashTable;
 
-import java.util.LinkedList;
+import data_structures.hash_tables.Codec;
+import data_structures.hash_tables.Snapshots;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Hash table implementation using chaining for collision resolution
+ *
+ * Each bucket is a singly linked chain of entries threaded through the entries'
+ * own next fields, so a mapping costs one Entry object and an empty bucket costs
+ * nothing but its array slot. Entries cache their key's hash code: chain walks
+ * compare it before calling equals, and resizing never calls hashCode again.
+ *
+ * The capacity is a power of two, so an entry's bucket is its hash masked by
+ * capacity - 1. Doubling the table therefore splits every chain into a "lo" chain
+ * that stays at the same index and a "hi" chain that moves up by the old capacity,
+ * decided by a single bit of the cached hash.
+ *
+ * With incrementalResize set, growing the table keeps the old buckets next to the
+ * new ones and every put/remove migrates a few of them, so no single put pays for
+ * rehashing the whole table. Lookups fall back to the old bucket of a key until
+ * that bucket has been migrated.
+ *
+ * A chain that grows past TREEIFY_THRESHOLD entries (many keys with colliding
+ * hash codes, e.g. a hash-flooding attack) is converted to a balanced tree ordered
+ * by hash code and then by compareTo for keys of a class C implementing
+ * Comparable<C>, so lookups in it take
+ * O(log n) rather than O(n). It turns back into a chain once it shrinks to
+ * UNTREEIFY_THRESHOLD entries.
+ *
+ * writeTo saves the mappings to a compact binary snapshot (see Snapshots) with
+ * pluggable key and value codecs. readFrom allocates the bucket array at its final
+ * size and prepends each entry to its bucket directly, so a restore never resizes.
+ *
+ * The table is Iterable over its keys. Iterators, spliterators and both forEach
+ * methods are fail-fast: adding or removing a key, or moving entries during an
+ * incremental resize (which any put or remove may do), other than through the
+ * iterator itself throws ConcurrentModificationException. asMap returns a Map view
+ * whose entries are the table's own Entry objects, so iterating it allocates
+ * nothing per mapping either.
  */
-public class ChainingHashTable<K, V> {
+public class ChainingHashTable<K, V> implements Iterable<K> {
     private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
     private static final double LOAD_FACTOR_THRESHOLD = 0.75;
+    // Old buckets migrated by each put/remove during an incremental resize
+    private static final int MIGRATION_STEP = 4;
+    // Chain length above which a bucket becomes a tree
+    private static final int TREEIFY_THRESHOLD = 8;
+    // Tree size at or below which a bucket becomes a chain again (lower, to avoid flapping)
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    // Magic number at the start of a snapshot, "CHHT"
+    private static final int SNAPSHOT_MAGIC = 0x43484854;
 
-    private LinkedList<Entry<K, V>>[] table;
+    // Buckets by index: null when empty, otherwise the first Entry of a chain or a TreeBucket
+    private Object[] table;
     private int size;
 
-    private static class Entry<K, V> {
-        K key;
+    private final boolean incrementalResize;
+    // Buckets being migrated from (null once migrated), or null if no resize is in progress
+    private Object[] oldTable;
+    // Next old bucket to migrate
+    private int migrated;
+    // Changes that add, remove or move entries, checked by iterators to fail fast
+    private int modCount;
+
+    // Handed out as is by the map view's entry set, so setValue writes through
+    private static class Entry<K, V> implements Map.Entry<K, V> {
+        final int hash;
+        final K key;
         V value;
+        Entry<K, V> next;
 
-        Entry(K key, V value) {
+        Entry(int hash, K key, V value, Entry<K, V> next) {
+            this.hash = hash;
             this.key = key;
             this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = this.value;
+            this.value = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry
+                    && key.equals(((Map.Entry<?, ?>) o).getKey())
+                    && Objects.equals(value, ((Map.Entry<?, ?>) o).getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
         }
     }
 
@@ -26,12 +136,17 @@ public class ChainingHashTable<K, V> {
         this(DEFAULT_CAPACITY);
     }
 
-    @SuppressWarnings("unchecked")
     public ChainingHashTable(int initialCapacity) {
-        table = new LinkedList[initialCapacity];
-        for (int i = 0; i < table.length; i++) {
-            table[i] = new LinkedList<>();
+        this(initialCapacity, false);
+    }
+
+    // The capacity is rounded up to the next power of two
+    public ChainingHashTable(int initialCapacity, boolean incrementalResize) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
         }
+        this.incrementalResize = incrementalResize;
+        table = new Object[tableSizeFor(initialCapacity)];
         size = 0;
     }
 
@@ -40,22 +155,43 @@ public class ChainingHashTable<K, V> {
             throw new IllegalArgumentException("Key cannot be null");
         }
 
+        if (oldTable != null) {
+            migrate(MIGRATION_STEP);
+        }
         if ((double) size / table.length > LOAD_FACTOR_THRESHOLD) {
             resize();
         }
 
-        int index = hash(key);
-        LinkedList<Entry<K, V>> bucket = table[index];
-
-        for (Entry<K, V> entry : bucket) {
-            if (entry.key.equals(key)) {
-                entry.value = value;
-                return;
+        int hash = spread(key.hashCode());
+        int index = hash & (table.length - 1);
+        Object bucket = table[index];
+        Entry<K, V> existing;
+        int length = 0;
+        if (bucket instanceof TreeBucket) {
+            existing = ChainingHashTable.<K, V>tree(bucket).find(hash, key);
+        } else {
+            existing = chain(bucket);
+            while (existing != null && !(existing.hash == hash && existing.key.equals(key))) {
+                existing = existing.next;
+                length++;
             }
         }
+        if (existing == null && oldTable != null) {
+            existing = findIn(oldTable[hash & (oldTable.length - 1)], hash, key);
+        }
+        if (existing != null) {
+            existing.value = value;
+            return;
+        }
 
-        bucket.add(new Entry<>(key, value));
+        if (bucket instanceof TreeBucket) {
+            ChainingHashTable.<K, V>tree(bucket).insert(hash, key, value);
+        } else {
+            Entry<K, V> head = new Entry<>(hash, key, value, chain(bucket));
+            table[index] = length >= TREEIFY_THRESHOLD ? TreeBucket.of(head) : head;
+        }
         size++;
+        modCount++;
     }
 
     public V get(K key) {
@@ -63,16 +199,12 @@ public class ChainingHashTable<K, V> {
             throw new IllegalArgumentException("Key cannot be null");
         }
 
-        int index = hash(key);
-        LinkedList<Entry<K, V>> bucket = table[index];
-
-        for (Entry<K, V> entry : bucket) {
-            if (entry.key.equals(key)) {
-                return entry.value;
-            }
+        int hash = spread(key.hashCode());
+        Entry<K, V> entry = findIn(table[hash & (table.length - 1)], hash, key);
+        if (entry == null && oldTable != null) {
+            entry = findIn(oldTable[hash & (oldTable.length - 1)], hash, key);
         }
-
-        return null;
+        return entry == null ? null : entry.value;
     }
 
     public void remove(K key) {
@@ -80,14 +212,17 @@ public class ChainingHashTable<K, V> {
             throw new IllegalArgumentException("Key cannot be null");
         }
 
-        int index = hash(key);
-        LinkedList<Entry<K, V>> bucket = table[index];
-
-        for (Entry<K, V> entry : bucket) {
-            if (entry.key.equals(key)) {
-                bucket.remove(entry);
+        if (oldTable != null) {
+            migrate(MIGRATION_STEP);
+        }
+        int hash = spread(key.hashCode());
+        if (removeFrom(table, hash & (table.length - 1), hash, key)) {
+            size--;
+            modCount++;
+        } else if (oldTable != null) {
+            if (removeFrom(oldTable, hash & (oldTable.length - 1), hash, key)) {
                 size--;
-                return;
+                modCount++;
             }
         }
     }
@@ -104,23 +239,318 @@ public class ChainingHashTable<K, V> {
         return size == 0;
     }
 
-    private int hash(K key) {
-        return Math.abs(key.hashCode()) % table.length;
+    // Performs the action for every mapping, bucket by bucket (mappings not yet
+    // migrated by an incremental resize come last)
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        int expectedModCount = modCount;
+        forEachEntry(entry -> action.accept(entry.key, entry.value));
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    // Performs the action for every key, in the same order as forEach(BiConsumer)
+    @Override
+    public void forEach(Consumer<? super K> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        int expectedModCount = modCount;
+        forEachEntry(entry -> action.accept(entry.key));
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    // Iterates the keys in the same order as forEach. remove unlinks the entry in
+    // place, without migrating, so the buckets still ahead never change
+    @Override
+    public Iterator<K> iterator() {
+        return new KeyIterator();
+    }
+
+    // Splits the bucket range in halves. Like HashMap's, it is SIZED until its first
+    // split, after which each half estimates half the keys
+    @Override
+    public Spliterator<K> spliterator() {
+        return new KeySpliterator<>(this, new EntryCursor<>(table, oldTable, 0, bucketCount()), size, true);
+    }
+
+    public Stream<K> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<K> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // A Map view backed by this table. Following the Map contract it throws
+    // NullPointerException for null keys and reports keys mapped to null as present
+    public Map<K, V> asMap() {
+        return new MapView();
+    }
+
+    // Writes every mapping at the channel's position: a 64-byte header, then each key
+    // and value as encoded by the codecs. The channel stays open, positioned after it
+    public void writeTo(FileChannel channel, Codec<? super K> keyCodec, Codec<? super V> valueCodec)
+            throws IOException {
+        if (channel == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("Channel and codecs cannot be null");
+        }
+        boolean[] nullable = new boolean[1];
+        forEachEntry(entry -> nullable[0] |= entry.value == null);
+        try (Snapshots.Writer out = Snapshots.writer(channel)) {
+            Snapshots.writeHeader(out, SNAPSHOT_MAGIC,
+                    new Snapshots.Header(nullable[0] ? Snapshots.NULLABLE_VALUES : 0, size));
+            forEachEntry(entry -> {
+                try {
+                    keyCodec.write(entry.key, out);
+                    if (nullable[0]) {
+                        out.writeBoolean(entry.value != null);
+                    }
+                    if (entry.value != null) {
+                        valueCodec.write(entry.value, out);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Reads a snapshot written by writeTo from the channel's position into a new
+    // (non-incremental) table sized so that it holds every entry without resizing
+    public static <K, V> ChainingHashTable<K, V> readFrom(FileChannel channel, Codec<? extends K> keyCodec,
+                                                          Codec<? extends V> valueCodec) throws IOException {
+        if (channel == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("Channel and codecs cannot be null");
+        }
+        try (Snapshots.Reader in = Snapshots.reader(channel)) {
+            Snapshots.Header header = Snapshots.readHeader(in, SNAPSHOT_MAGIC, "ChainingHashTable");
+            boolean nullable = (header.flags() & Snapshots.NULLABLE_VALUES) != 0;
+            int count = header.size();
+            int capacity = (int) Math.min(MAXIMUM_CAPACITY, Math.max(1, (long) Math.ceil(count / LOAD_FACTOR_THRESHOLD)));
+            ChainingHashTable<K, V> table = new ChainingHashTable<>(capacity);
+            for (int i = 0; i < count; i++) {
+                K key = keyCodec.read(in);
+                V value = nullable && !in.readBoolean() ? null : valueCodec.read(in);
+                table.load(key, value);
+            }
+            return table;
+        }
+    }
+
+    // Adds a snapshot entry to its bucket: no load check, and the chain walk only
+    // counts its length (for treeifying) and rejects duplicate keys
+    private void load(K key, V value) throws IOException {
+        if (key == null) {
+            throw new IOException("Corrupt snapshot: null key");
+        }
+        int hash = spread(key.hashCode());
+        int index = hash & (table.length - 1);
+        Object bucket = table[index];
+        if (bucket instanceof TreeBucket) {
+            TreeBucket<K, V> tree = tree(bucket);
+            if (tree.find(hash, key) != null) {
+                throw new IOException("Corrupt snapshot: duplicate key " + key);
+            }
+            tree.insert(hash, key, value);
+        } else {
+            int length = 0;
+            for (Entry<K, V> entry = chain(bucket); entry != null; entry = entry.next, length++) {
+                if (entry.hash == hash && entry.key.equals(key)) {
+                    throw new IOException("Corrupt snapshot: duplicate key " + key);
+                }
+            }
+            Entry<K, V> head = new Entry<>(hash, key, value, chain(bucket));
+            table[index] = length >= TREEIFY_THRESHOLD ? TreeBucket.of(head) : head;
+        }
+        size++;
+    }
+
+    // Buckets in the current table plus the old one, as numbered by EntryCursor
+    private int bucketCount() {
+        return table.length + (oldTable == null ? 0 : oldTable.length);
+    }
+
+    // The entry for the key, in either table, or null; finds keys mapped to null too
+    private Entry<K, V> entryFor(K key) {
+        int hash = spread(key.hashCode());
+        Entry<K, V> entry = findIn(table[hash & (table.length - 1)], hash, key);
+        if (entry == null && oldTable != null) {
+            entry = findIn(oldTable[hash & (oldTable.length - 1)], hash, key);
+        }
+        return entry;
+    }
+
+    // Visits every entry, in the current table and then in the old one
+    private void forEachEntry(Consumer<Entry<K, V>> action) {
+        forEachEntry(table, action);
+        if (oldTable != null) {
+            forEachEntry(oldTable, action);
+        }
+    }
+
+    private static <K, V> void forEachEntry(Object[] buckets, Consumer<Entry<K, V>> action) {
+        for (Object bucket : buckets) {
+            if (bucket instanceof TreeBucket) {
+                ChainingHashTable.<K, V>tree(bucket).forEach(action);
+            } else {
+                for (Entry<K, V> entry = chain(bucket); entry != null; entry = entry.next) {
+                    action.accept(entry);
+                }
+            }
+        }
+    }
+
+    // Folds the high half of the hash code into the low half, since masking only keeps
+    // the low bits; unlike Math.abs and %, masking is also safe for negative hash codes
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int requested) {
+        if (requested >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+    }
+
+    private static <K, V> Entry<K, V> findIn(Object bucket, int hash, K key) {
+        if (bucket instanceof TreeBucket) {
+            return ChainingHashTable.<K, V>tree(bucket).find(hash, key);
+        }
+        for (Entry<K, V> entry = chain(bucket); entry != null; entry = entry.next) {
+            if (entry.hash == hash && entry.key.equals(key)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    // Unlinks the key's entry in a single pass over the chain
+    private static <K, V> boolean removeFrom(Object[] buckets, int index, int hash, K key) {
+        Object bucket = buckets[index];
+        if (bucket instanceof TreeBucket) {
+            TreeBucket<K, V> tree = tree(bucket);
+            if (!tree.remove(hash, key)) {
+                return false;
+            }
+            if (tree.size() <= UNTREEIFY_THRESHOLD) {
+                buckets[index] = tree.toChain();
+            }
+            return true;
+        }
+        Entry<K, V> previous = null;
+        for (Entry<K, V> entry = chain(bucket); entry != null; previous = entry, entry = entry.next) {
+            if (entry.hash == hash && entry.key.equals(key)) {
+                if (previous == null) {
+                    buckets[index] = entry.next;
+                } else {
+                    previous.next = entry.next;
+                }
+                return true;
+            }
+        }
+        return false;
     }
 
     @SuppressWarnings("unchecked")
-    private void resize() {
-        LinkedList<Entry<K, V>>[] oldTable = table;
-        table = new LinkedList[table.length * 2];
-        for (int i = 0; i < table.length; i++) {
-            table[i] = new LinkedList<>();
+    private static <K, V> Entry<K, V> chain(Object bucket) {
+        return (Entry<K, V>) bucket;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> TreeBucket<K, V> tree(Object bucket) {
+        return (TreeBucket<K, V>) bucket;
+    }
+
+    // Moves up to the given number of old buckets into the current table. Old bucket j
+    // can only map to buckets j ("lo") and j + old capacity ("hi"), so each chain is
+    // split in order by one bit of the cached hashes, without calling hashCode
+    private void migrate(int buckets) {
+        modCount++;
+        int oldCapacity = oldTable.length;
+        int end = Math.min(oldCapacity, migrated + buckets);
+        for (; migrated < end; migrated++) {
+            Object bucket = oldTable[migrated];
+            if (bucket == null) {
+                continue;
+            }
+            oldTable[migrated] = null;
+            Entry<K, V> entry = bucket instanceof TreeBucket ? ChainingHashTable.<K, V>tree(bucket).toChain() : chain(bucket);
+            Entry<K, V> loHead = null, loTail = null, hiHead = null, hiTail = null;
+            int loCount = 0, hiCount = 0;
+            while (entry != null) {
+                Entry<K, V> next = entry.next;
+                entry.next = null;
+                if ((entry.hash & oldCapacity) == 0) {
+                    if (loTail == null) {
+                        loHead = entry;
+                    } else {
+                        loTail.next = entry;
+                    }
+                    loTail = entry;
+                    loCount++;
+                } else {
+                    if (hiTail == null) {
+                        hiHead = entry;
+                    } else {
+                        hiTail.next = entry;
+                    }
+                    hiTail = entry;
+                    hiCount++;
+                }
+                entry = next;
+            }
+            attach(migrated, loHead, loTail, loCount);
+            attach(migrated + oldCapacity, hiHead, hiTail, hiCount);
         }
-        size = 0;
+        if (migrated == oldCapacity) {
+            oldTable = null;
+        }
+    }
 
-        for (LinkedList<Entry<K, V>> bucket : oldTable) {
-            for (Entry<K, V> entry : bucket) {
-                put(entry.key, entry.value);
+    // Puts a split chain into its new bucket. The bucket is normally empty, but during
+    // an incremental resize later puts may already have added entries to it
+    private void attach(int index, Entry<K, V> head, Entry<K, V> tail, int count) {
+        if (head == null) {
+            return;
+        }
+        Object bucket = table[index];
+        if (bucket instanceof TreeBucket) {
+            TreeBucket<K, V> tree = tree(bucket);
+            for (Entry<K, V> entry = head; entry != null; entry = entry.next) {
+                tree.insert(entry.hash, entry.key, entry.value);
             }
+            return;
+        }
+        for (Entry<K, V> entry = chain(bucket); entry != null; entry = entry.next) {
+            count++;
+        }
+        tail.next = chain(bucket);
+        table[index] = count > TREEIFY_THRESHOLD ? TreeBucket.of(head) : head;
+    }
+
+    // Doubles the bucket array; entries are moved all at once or by later operations
+    private void resize() {
+        modCount++;
+        if (oldTable != null) {
+            migrate(oldTable.length);
+        }
+        if (table.length == MAXIMUM_CAPACITY) {
+            return; // Chains simply grow longer
+        }
+        oldTable = table;
+        migrated = 0;
+        table = new Object[oldTable.length * 2];
+        if (!incrementalResize) {
+            migrate(oldTable.length);
         }
     }
 
@@ -128,10 +558,9 @@ public class ChainingHashTable<K, V> {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("{\n");
-        for (LinkedList<Entry<K, V>> bucket : table) {
-            for (Entry<K, V> entry : bucket) {
-                sb.append("  ").append(entry.key).append(": ").append(entry.value).append(",\n");
-            }
+        appendEntries(sb, table);
+        if (oldTable != null) {
+            appendEntries(sb, oldTable);
         }
         if (size > 0) {
             sb.delete(sb.length() - 2, sb.length());
@@ -139,4 +568,596 @@ public class ChainingHashTable<K, V> {
         sb.append("\n}");
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    private static <K, V> void appendEntries(StringBuilder sb, Object[] buckets) {
+        ChainingHashTable.<K, V>forEachEntry(buckets, entry ->
+                sb.append("  ").append(entry.key).append(": ").append(entry.value).append(",\n"));
+    }
+
+    // A tree bucket's entry; next is unused
+    private static final class TreeNode<K, V> extends Entry<K, V> {
+        TreeNode<K, V> left;
+        TreeNode<K, V> right;
+        int height = 1;
+
+        TreeNode(int hash, K key, V value) {
+            super(hash, key, value, null);
+        }
+    }
+
+    /**
+     * A bucket held as an AVL tree.
+     *
+     * Nodes are ordered by hash code, then by class name, then by compareTo when both
+     * keys are of the same class C and C implements Comparable<C> directly, as
+     * HashMap checks. A raw or foreign Comparable is never called, so it cannot throw
+     * ClassCastException. Keys that still tie (equal hash codes and not mutually
+     * comparable) are placed by identity hash code on insertion, and a lookup that
+     * meets a tie searches both subtrees, so only such keys fall back to a linear
+     * search among themselves.
+     */
+    private static final class TreeBucket<K, V> {
+        // Whether compareTo may be called between two instances of a class
+        private static final ClassValue<Boolean> SELF_COMPARABLE = new ClassValue<>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                return isSelfComparable(type);
+            }
+        };
+
+        private TreeNode<K, V> root;
+        private int size;
+        // The node unlinked by the last call to remove, or null if the key was absent
+        private TreeNode<K, V> removed;
+
+        static <K, V> TreeBucket<K, V> of(Entry<K, V> chain) {
+            TreeBucket<K, V> tree = new TreeBucket<>();
+            for (Entry<K, V> entry = chain; entry != null; entry = entry.next) {
+                tree.insert(entry.hash, entry.key, entry.value);
+            }
+            return tree;
+        }
+
+        int size() {
+            return size;
+        }
+
+        TreeNode<K, V> find(int hash, Object key) {
+            return find(root, hash, key);
+        }
+
+        // The key must not already be present
+        void insert(int hash, K key, V value) {
+            root = insert(root, new TreeNode<>(hash, key, value));
+            size++;
+        }
+
+        boolean remove(int hash, Object key) {
+            removed = null;
+            root = remove(root, hash, key);
+            if (removed == null) {
+                return false;
+            }
+            removed = null;
+            size--;
+            return true;
+        }
+
+        // Visits the nodes in order
+        void forEach(Consumer<? super TreeNode<K, V>> action) {
+            forEach(root, action);
+        }
+
+        // Copies the nodes, in order, into the array, which must hold size() of them
+        void copyInto(Object[] target) {
+            copyInto(root, target, 0);
+        }
+
+        // Copies the nodes, in order, into a chain of plain entries
+        Entry<K, V> toChain() {
+            return prependAll(root, null);
+        }
+
+        // Negative, zero or positive as (hash1, key1) orders before, ties with or after
+        // (hash2, key2); keys that are not equal may still tie
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(int hash1, Object key1, int hash2, Object key2) {
+            if (hash1 != hash2) {
+                return hash1 < hash2 ? -1 : 1;
+            }
+            Class<?> class1 = key1.getClass();
+            Class<?> class2 = key2.getClass();
+            if (class1 != class2) {
+                return class1.getName().compareTo(class2.getName());
+            }
+            return SELF_COMPARABLE.get(class1) ? ((Comparable) key1).compareTo(key2) : 0;
+        }
+
+        // True if the class is String or directly implements Comparable<itself>
+        private static boolean isSelfComparable(Class<?> type) {
+            if (type == String.class) {
+                return true;
+            }
+            if (!Comparable.class.isAssignableFrom(type)) {
+                return false;
+            }
+            for (Type implemented : type.getGenericInterfaces()) {
+                if (implemented instanceof ParameterizedType) {
+                    ParameterizedType parameterized = (ParameterizedType) implemented;
+                    Type[] arguments = parameterized.getActualTypeArguments();
+                    if (parameterized.getRawType() == Comparable.class
+                            && arguments.length == 1 && arguments[0] == type) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static <K, V> TreeNode<K, V> find(TreeNode<K, V> node, int hash, Object key) {
+            while (node != null) {
+                int cmp = compare(hash, key, node.hash, node.key);
+                if (cmp < 0) {
+                    node = node.left;
+                } else if (cmp > 0) {
+                    node = node.right;
+                } else if (node.key.equals(key)) {
+                    return node;
+                } else {
+                    // A tie: the key may be on either side
+                    TreeNode<K, V> found = find(node.right, hash, key);
+                    if (found != null) {
+                        return found;
+                    }
+                    node = node.left;
+                }
+            }
+            return null;
+        }
+
+        private static <K, V> TreeNode<K, V> insert(TreeNode<K, V> node, TreeNode<K, V> added) {
+            if (node == null) {
+                return added;
+            }
+            int cmp = compare(added.hash, added.key, node.hash, node.key);
+            if (cmp == 0) {
+                cmp = System.identityHashCode(added.key) <= System.identityHashCode(node.key) ? -1 : 1;
+            }
+            if (cmp < 0) {
+                node.left = insert(node.left, added);
+            } else {
+                node.right = insert(node.right, added);
+            }
+            return rebalance(node);
+        }
+
+        private TreeNode<K, V> remove(TreeNode<K, V> node, int hash, Object key) {
+            if (node == null) {
+                return null;
+            }
+            int cmp = compare(hash, key, node.hash, node.key);
+            if (cmp < 0) {
+                node.left = remove(node.left, hash, key);
+            } else if (cmp > 0) {
+                node.right = remove(node.right, hash, key);
+            } else if (node.key.equals(key)) {
+                removed = node;
+                if (node.left == null || node.right == null) {
+                    return node.left != null ? node.left : node.right;
+                }
+                // Replace the node by its in-order successor
+                TreeNode<K, V> successor = node.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                successor.right = removeMin(node.right);
+                successor.left = node.left;
+                node = successor;
+            } else {
+                node.right = remove(node.right, hash, key);
+                if (removed == null) {
+                    node.left = remove(node.left, hash, key);
+                }
+            }
+            return rebalance(node);
+        }
+
+        private static <K, V> TreeNode<K, V> removeMin(TreeNode<K, V> node) {
+            if (node.left == null) {
+                return node.right;
+            }
+            node.left = removeMin(node.left);
+            return rebalance(node);
+        }
+
+        // Prepends copies of a subtree's nodes to a chain, keeping them in order
+        private static <K, V> Entry<K, V> prependAll(TreeNode<K, V> node, Entry<K, V> head) {
+            if (node == null) {
+                return head;
+            }
+            head = prependAll(node.right, head);
+            head = new Entry<>(node.hash, node.key, node.value, head);
+            return prependAll(node.left, head);
+        }
+
+        private static int copyInto(TreeNode<?, ?> node, Object[] target, int index) {
+            if (node == null) {
+                return index;
+            }
+            index = copyInto(node.left, target, index);
+            target[index++] = node;
+            return copyInto(node.right, target, index);
+        }
+
+        private static <K, V> void forEach(TreeNode<K, V> node, Consumer<? super TreeNode<K, V>> action) {
+            if (node != null) {
+                forEach(node.left, action);
+                action.accept(node);
+                forEach(node.right, action);
+            }
+        }
+
+        private static int height(TreeNode<?, ?> node) {
+            return node == null ? 0 : node.height;
+        }
+
+        private static void updateHeight(TreeNode<?, ?> node) {
+            node.height = 1 + Math.max(height(node.left), height(node.right));
+        }
+
+        private static <K, V> TreeNode<K, V> rotateLeft(TreeNode<K, V> node) {
+            TreeNode<K, V> pivot = node.right;
+            node.right = pivot.left;
+            pivot.left = node;
+            updateHeight(node);
+            updateHeight(pivot);
+            return pivot;
+        }
+
+        private static <K, V> TreeNode<K, V> rotateRight(TreeNode<K, V> node) {
+            TreeNode<K, V> pivot = node.left;
+            node.left = pivot.right;
+            pivot.right = node;
+            updateHeight(node);
+            updateHeight(pivot);
+            return pivot;
+        }
+
+        // Restores the AVL balance of a node whose subtrees differ in height by at most 2
+        private static <K, V> TreeNode<K, V> rebalance(TreeNode<K, V> node) {
+            updateHeight(node);
+            int balance = height(node.left) - height(node.right);
+            if (balance > 1) {
+                if (height(node.left.left) < height(node.left.right)) {
+                    node.left = rotateLeft(node.left);
+                }
+                return rotateRight(node);
+            }
+            if (balance < -1) {
+                if (height(node.right.right) < height(node.right.left)) {
+                    node.right = rotateRight(node.right);
+                }
+                return rotateLeft(node);
+            }
+            return node;
+        }
+    }
+
+    // Walks the entries of buckets [index, fence), numbering the current table's
+    // buckets first and the old table's after them. A tree bucket is copied into a
+    // reused array, in order, when the walk reaches it
+    private static final class EntryCursor<K, V> {
+        final Object[] table;
+        final Object[] oldTable;
+        int index;
+        final int fence;
+        private Entry<K, V> chain; // Next entry of the current chain, or null
+        private Object[] treeNodes;
+        private int treeIndex;
+        private int treeLength;
+        // The bucket array and index the entries now being returned came from
+        Object[] buckets;
+        int bucket;
+
+        EntryCursor(Object[] table, Object[] oldTable, int index, int fence) {
+            this.table = table;
+            this.oldTable = oldTable;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @SuppressWarnings("unchecked")
+        Entry<K, V> next() {
+            while (true) {
+                if (treeIndex < treeLength) {
+                    return (Entry<K, V>) treeNodes[treeIndex++];
+                }
+                if (chain != null) {
+                    Entry<K, V> entry = chain;
+                    chain = entry.next;
+                    return entry;
+                }
+                if (index >= fence) {
+                    return null;
+                }
+                int position = index++;
+                buckets = position < table.length ? table : oldTable;
+                bucket = position < table.length ? position : position - table.length;
+                Object contents = buckets[bucket];
+                if (contents instanceof TreeBucket) {
+                    TreeBucket<K, V> tree = tree(contents);
+                    if (treeNodes == null || treeNodes.length < tree.size()) {
+                        treeNodes = new Object[tree.size()];
+                    }
+                    tree.copyInto(treeNodes);
+                    treeIndex = 0;
+                    treeLength = tree.size();
+                } else {
+                    chain = chain(contents);
+                }
+            }
+        }
+
+        // True between buckets, where the range can be split
+        boolean betweenBuckets() {
+            return chain == null && treeIndex >= treeLength;
+        }
+    }
+
+    private abstract class HashIterator<T> implements Iterator<T> {
+        private final EntryCursor<K, V> cursor = new EntryCursor<>(table, oldTable, 0, bucketCount());
+        private Entry<K, V> next;
+        private Object[] nextBuckets;
+        private int nextBucket;
+        private Entry<K, V> lastReturned;
+        private Object[] lastBuckets;
+        private int lastBucket;
+        private int expectedModCount = modCount;
+
+        HashIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        final Entry<K, V> nextEntry() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            lastBuckets = nextBuckets;
+            lastBucket = nextBucket;
+            advance();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("No key to remove");
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeFrom(lastBuckets, lastBucket, lastReturned.hash, lastReturned.key);
+            size--;
+            modCount++;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        private void advance() {
+            next = cursor.next();
+            nextBuckets = cursor.buckets;
+            nextBucket = cursor.bucket;
+        }
+    }
+
+    private final class KeyIterator extends HashIterator<K> {
+        @Override
+        public K next() {
+            return nextEntry().key;
+        }
+    }
+
+    private final class EntryIterator extends HashIterator<Map.Entry<K, V>> {
+        @Override
+        public Map.Entry<K, V> next() {
+            return nextEntry();
+        }
+    }
+
+    private static final class KeySpliterator<K, V> implements Spliterator<K> {
+        private final ChainingHashTable<K, V> owner;
+        private final EntryCursor<K, V> cursor;
+        private final int expectedModCount;
+        private int estimate;
+        private boolean exact; // True until the first split: the estimate is the size
+
+        KeySpliterator(ChainingHashTable<K, V> owner, EntryCursor<K, V> cursor, int estimate, boolean exact) {
+            this.owner = owner;
+            this.cursor = cursor;
+            this.expectedModCount = owner.modCount;
+            this.estimate = estimate;
+            this.exact = exact;
+        }
+
+        @Override
+        public Spliterator<K> trySplit() {
+            int lo = cursor.index;
+            int mid = (lo + cursor.fence) >>> 1;
+            if (lo >= mid || !cursor.betweenBuckets()) {
+                return null;
+            }
+            cursor.index = mid;
+            estimate >>>= 1;
+            exact = false;
+            EntryCursor<K, V> prefix = new EntryCursor<>(cursor.table, cursor.oldTable, lo, mid);
+            return new KeySpliterator<>(owner, prefix, estimate, false);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super K> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            Entry<K, V> entry = cursor.next();
+            if (entry == null) {
+                return false;
+            }
+            action.accept(entry.key);
+            checkForComodification();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super K> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            for (Entry<K, V> entry = cursor.next(); entry != null; entry = cursor.next()) {
+                action.accept(entry.key);
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (exact ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+
+        private void checkForComodification() {
+            if (owner.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    // The view returned by asMap; lookups, puts and removes go straight to the table.
+    // Inside it, a bare Entry means Map.Entry, so the table's own is qualified
+    private final class MapView extends AbstractMap<K, V> {
+        private Set<Map.Entry<K, V>> entrySet;
+        private Set<K> keySet;
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            return key == null ? null : ChainingHashTable.this.get((K) key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean containsKey(Object key) {
+            return key != null && entryFor((K) key) != null;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            ChainingHashTable.Entry<K, V> existing = entryFor(Objects.requireNonNull(key));
+            V previous = existing == null ? null : existing.value;
+            ChainingHashTable.this.put(key, value);
+            return previous;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(Object key) {
+            ChainingHashTable.Entry<K, V> existing = key == null ? null : entryFor((K) key);
+            if (existing == null) {
+                return null;
+            }
+            ChainingHashTable.this.remove((K) key);
+            return existing.value;
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            ChainingHashTable.this.forEach(Objects.requireNonNull(action));
+        }
+
+        @Override
+        public Set<K> keySet() {
+            if (keySet == null) {
+                keySet = new AbstractSet<K>() {
+                    @Override
+                    public Iterator<K> iterator() {
+                        return new KeyIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    public boolean contains(Object key) {
+                        return containsKey(key);
+                    }
+
+                    @Override
+                    public boolean remove(Object key) {
+                        boolean present = containsKey(key);
+                        MapView.this.remove(key);
+                        return present;
+                    }
+
+                    @Override
+                    public Spliterator<K> spliterator() {
+                        return ChainingHashTable.this.spliterator();
+                    }
+
+                    @Override
+                    public void forEach(Consumer<? super K> action) {
+                        ChainingHashTable.this.forEach(Objects.requireNonNull(action));
+                    }
+                };
+            }
+            return keySet;
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                    @Override
+                    public Iterator<Map.Entry<K, V>> iterator() {
+                        return new EntryIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public boolean contains(Object o) {
+                        if (!(o instanceof Map.Entry) || ((Map.Entry<?, ?>) o).getKey() == null) {
+                            return false;
+                        }
+                        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                        ChainingHashTable.Entry<K, V> existing = entryFor((K) entry.getKey());
+                        return existing != null && Objects.equals(existing.value, entry.getValue());
+                    }
+                };
+            }
+            return entrySet;
+        }
+    }
+}
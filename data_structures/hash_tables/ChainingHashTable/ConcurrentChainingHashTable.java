@@ -0,0 +1,520 @@
+package data_structures.hash_tables.ChainingHashTable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe hash table using chaining for collision resolution
+ *
+ * Reads take no locks: bucket heads are read from the array with acquire semantics
+ * and chains are walked through volatile next links. Writes lock only the bucket
+ * they touch (by synchronizing on its first node), and a write to an empty bucket
+ * is a single compare-and-set, so threads updating different buckets never wait
+ * for each other. The size is kept in a LongAdder, so counting does not become a
+ * point of contention either.
+ *
+ * Resizing is cooperative. The thread that notices the table is too full allocates
+ * the doubled array; every thread that then writes to a moved bucket, or notices
+ * the resize, claims a range of old buckets and moves them. A moved bucket's chain
+ * is split into lo/hi chains in the new array (copying nodes, so readers still
+ * walking the old chain see a consistent one) and the old bucket is replaced by a
+ * forwarding node pointing at the new array. Readers that meet a forwarding node
+ * simply continue in the new array, so reads never block on a resize.
+ *
+ * Keys and values may not be null. Unlike ChainingHashTable, chains are never
+ * converted to trees.
+ */
+public class ConcurrentChainingHashTable<K, V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    // Buckets claimed at a time by a thread helping with a resize
+    private static final int TRANSFER_STRIDE = 16;
+
+    // Hash codes of special nodes; spread() keeps the hashes of real entries non-negative
+    private static final int MOVED = -1;
+    private static final int RESERVED = -2;
+    private static final int HASH_BITS = 0x7fffffff;
+
+    private static final VarHandle BUCKETS = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    // Buckets by index: null when empty, otherwise the first node of a chain
+    private volatile Node<K, V>[] table;
+    // The resize in progress, or null
+    private volatile Resize<K, V> resize;
+    private final LongAdder count = new LongAdder();
+
+    private static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    // Replaces a bucket that has been moved to the next table
+    private static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Node<K, V>[] nextTable;
+
+        ForwardingNode(Node<K, V>[] nextTable) {
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    // Holds (and locks) an empty bucket while computeIfAbsent runs its function
+    private static final class ReservationNode<K, V> extends Node<K, V> {
+        ReservationNode() {
+            super(RESERVED, null, null, null);
+        }
+    }
+
+    // The shared state of one doubling
+    private static final class Resize<K, V> {
+        final Node<K, V>[] from;
+        final Node<K, V>[] to;
+        final ForwardingNode<K, V> forward;
+        // Buckets below this index are still unclaimed
+        final AtomicInteger transferIndex;
+        // Buckets moved so far
+        final AtomicInteger transferred = new AtomicInteger();
+
+        Resize(Node<K, V>[] from) {
+            this.from = from;
+            this.to = newTable(from.length * 2);
+            this.forward = new ForwardingNode<>(to);
+            this.transferIndex = new AtomicInteger(from.length);
+        }
+    }
+
+    public ConcurrentChainingHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // The capacity is rounded up to the next power of two
+    public ConcurrentChainingHashTable(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        int capacity = initialCapacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY
+                : initialCapacity <= 1 ? 1 : Integer.highestOneBit(initialCapacity - 1) << 1;
+        table = newTable(capacity);
+    }
+
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value cannot be null");
+        }
+
+        int hash = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        int chainLength;
+        while (true) {
+            int index = hash & (tab.length - 1);
+            Node<K, V> first = bucketAt(tab, index);
+            if (first == null) {
+                if (casBucket(tab, index, null, new Node<>(hash, key, value, null))) {
+                    chainLength = 0;
+                    break;
+                }
+            } else if (first.hash == MOVED) {
+                tab = helpResize((ForwardingNode<K, V>) first);
+            } else {
+                synchronized (first) {
+                    if (bucketAt(tab, index) != first) {
+                        continue; // Changed before we got the lock; retry
+                    }
+                    chainLength = 1;
+                    for (Node<K, V> node = first;; node = node.next, chainLength++) {
+                        if (node.hash == hash && key.equals(node.key)) {
+                            node.value = value;
+                            return;
+                        }
+                        if (node.next == null) {
+                            node.next = new Node<>(hash, key, value, null);
+                            break;
+                        }
+                    }
+                }
+                break;
+            }
+        }
+        added(chainLength);
+    }
+
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int hash = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        while (true) {
+            Node<K, V> node = bucketAt(tab, hash & (tab.length - 1));
+            if (node != null && node.hash == MOVED) {
+                tab = ((ForwardingNode<K, V>) node).nextTable;
+                continue;
+            }
+            for (; node != null; node = node.next) {
+                if (node.hash == hash && key.equals(node.key)) {
+                    return node.value;
+                }
+            }
+            return null;
+        }
+    }
+
+    public void remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int hash = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        while (true) {
+            int index = hash & (tab.length - 1);
+            Node<K, V> first = bucketAt(tab, index);
+            if (first == null) {
+                return;
+            }
+            if (first.hash == MOVED) {
+                tab = helpResize((ForwardingNode<K, V>) first);
+                continue;
+            }
+            synchronized (first) {
+                if (bucketAt(tab, index) != first) {
+                    continue;
+                }
+                // Unlinking leaves the removed node's next intact for readers still on it
+                for (Node<K, V> node = first, previous = null; node != null; previous = node, node = node.next) {
+                    if (node.hash == hash && key.equals(node.key)) {
+                        if (previous == null) {
+                            setBucket(tab, index, node.next);
+                        } else {
+                            previous.next = node.next;
+                        }
+                        count.decrement();
+                        return;
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the value for the key, first computing and storing it if the key is absent.
+     * The whole operation is atomic: the function runs at most once per absent key,
+     * while the key's bucket is locked, so it must be short and must not modify
+     * this table. If it returns null nothing is stored.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null) {
+            throw new IllegalArgumentException("Key and mapping function cannot be null");
+        }
+
+        V existing = get(key);
+        if (existing != null) {
+            return existing; // Lock-free fast path
+        }
+        int hash = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        while (true) {
+            int index = hash & (tab.length - 1);
+            Node<K, V> first = bucketAt(tab, index);
+            if (first == null) {
+                ReservationNode<K, V> reservation = new ReservationNode<>();
+                synchronized (reservation) {
+                    if (casBucket(tab, index, null, reservation)) {
+                        V value = null;
+                        try {
+                            value = mappingFunction.apply(key);
+                        } finally {
+                            setBucket(tab, index, value == null ? null : new Node<>(hash, key, value, null));
+                        }
+                        if (value != null) {
+                            added(0);
+                        }
+                        return value;
+                    }
+                }
+            } else if (first.hash == MOVED) {
+                tab = helpResize((ForwardingNode<K, V>) first);
+            } else {
+                V value;
+                int chainLength = 1;
+                synchronized (first) {
+                    if (bucketAt(tab, index) != first) {
+                        continue;
+                    }
+                    Node<K, V> last = first;
+                    for (Node<K, V> node = first; node != null; last = node, node = node.next, chainLength++) {
+                        if (node.hash == hash && key.equals(node.key)) {
+                            return node.value;
+                        }
+                    }
+                    value = mappingFunction.apply(key);
+                    if (value == null) {
+                        return null;
+                    }
+                    last.next = new Node<>(hash, key, value, null);
+                }
+                added(chainLength);
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Atomically stores the value if the key is absent, or otherwise replaces the
+     * current value with remappingFunction(current, value), removing the mapping if
+     * that returns null. The function runs while the key's bucket is locked, so it
+     * must be short and must not modify this table.
+     *
+     * @return the new value, or null if the mapping was removed
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null || value == null || remappingFunction == null) {
+            throw new IllegalArgumentException("Key, value and remapping function cannot be null");
+        }
+
+        int hash = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        while (true) {
+            int index = hash & (tab.length - 1);
+            Node<K, V> first = bucketAt(tab, index);
+            if (first == null) {
+                if (casBucket(tab, index, null, new Node<>(hash, key, value, null))) {
+                    added(0);
+                    return value;
+                }
+            } else if (first.hash == MOVED) {
+                tab = helpResize((ForwardingNode<K, V>) first);
+            } else {
+                int chainLength = 1;
+                synchronized (first) {
+                    if (bucketAt(tab, index) != first) {
+                        continue;
+                    }
+                    Node<K, V> previous = null;
+                    for (Node<K, V> node = first; node != null; previous = node, node = node.next, chainLength++) {
+                        if (node.hash == hash && key.equals(node.key)) {
+                            V merged = remappingFunction.apply(node.value, value);
+                            if (merged != null) {
+                                node.value = merged;
+                            } else {
+                                if (previous == null) {
+                                    setBucket(tab, index, node.next);
+                                } else {
+                                    previous.next = node.next;
+                                }
+                                count.decrement();
+                            }
+                            return merged;
+                        }
+                    }
+                    previous.next = new Node<>(hash, key, value, null);
+                }
+                added(chainLength);
+                return value;
+            }
+        }
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    // Exact when no writes are in flight; otherwise an estimate
+    public int size() {
+        long sum = count.sum();
+        return sum < 0 ? 0 : sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Performs the action for every mapping. Weakly consistent, like the iterators of
+     * java.util.concurrent: never throws because of concurrent updates, and reflects
+     * each mapping as it was at some point during the traversal.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        Node<K, V>[] tab = table;
+        for (int i = 0; i < tab.length; i++) {
+            forEachIn(tab, i, action);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        forEach((key, value) -> sb.append("  ").append(key).append(": ").append(value).append(",\n"));
+        if (sb.length() > 2) {
+            sb.delete(sb.length() - 2, sb.length());
+        }
+        sb.append("\n}");
+        return sb.toString();
+    }
+
+    // Visits one bucket, following it into the next table if it has been moved
+    private static <K, V> void forEachIn(Node<K, V>[] tab, int index, BiConsumer<? super K, ? super V> action) {
+        Node<K, V> node = bucketAt(tab, index);
+        if (node != null && node.hash == MOVED) {
+            Node<K, V>[] next = ((ForwardingNode<K, V>) node).nextTable;
+            forEachIn(next, index, action);
+            forEachIn(next, index + tab.length, action);
+            return;
+        }
+        for (; node != null; node = node.next) {
+            V value = node.value;
+            if (node.hash >= 0 && value != null) {
+                action.accept(node.key, value);
+            }
+        }
+    }
+
+    // Keeps the sign bit clear so real hashes never collide with MOVED or RESERVED
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) & HASH_BITS;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Node<K, V>[] newTable(int capacity) {
+        return (Node<K, V>[]) new Node[capacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V> bucketAt(Node<K, V>[] tab, int index) {
+        return (Node<K, V>) BUCKETS.getAcquire(tab, index);
+    }
+
+    private static <K, V> boolean casBucket(Node<K, V>[] tab, int index, Node<K, V> expected, Node<K, V> node) {
+        return BUCKETS.compareAndSet(tab, index, expected, node);
+    }
+
+    private static <K, V> void setBucket(Node<K, V>[] tab, int index, Node<K, V> node) {
+        BUCKETS.setRelease(tab, index, node);
+    }
+
+    // Counts a new mapping. The (comparatively costly) sum is only checked against the
+    // load factor when the key landed in a non-empty bucket, a sign the table is filling
+    private void added(int chainLength) {
+        count.increment();
+        if (chainLength > 0) {
+            Node<K, V>[] tab = table;
+            int n = tab.length;
+            if (count.sum() >= n - (n >>> 2) && n < MAXIMUM_CAPACITY) {
+                startResize(tab);
+            }
+        }
+    }
+
+    // Starts doubling tab unless another thread got there first, then helps move buckets
+    private void startResize(Node<K, V>[] tab) {
+        Resize<K, V> current;
+        synchronized (this) {
+            current = resize;
+            if (current == null) {
+                if (table != tab) {
+                    return; // Already resized
+                }
+                current = new Resize<>(tab);
+                resize = current;
+            }
+        }
+        transfer(current);
+    }
+
+    // Helps with the resize that moved a bucket, then returns the table to retry in
+    private Node<K, V>[] helpResize(ForwardingNode<K, V> forward) {
+        Resize<K, V> current = resize;
+        if (current != null && current.to == forward.nextTable) {
+            transfer(current);
+        }
+        return forward.nextTable;
+    }
+
+    // Claims ranges of old buckets until none are left; whoever moves the last bucket publishes the new table
+    private void transfer(Resize<K, V> r) {
+        int n = r.from.length;
+        while (true) {
+            int start = r.transferIndex.get();
+            if (start <= 0) {
+                return;
+            }
+            int bound = Math.max(0, start - TRANSFER_STRIDE);
+            if (!r.transferIndex.compareAndSet(start, bound)) {
+                continue;
+            }
+            for (int i = start - 1; i >= bound; i--) {
+                moveBucket(r, i);
+            }
+            if (r.transferred.addAndGet(start - bound) == n) {
+                table = r.to;
+                resize = null;
+                return;
+            }
+        }
+    }
+
+    // Splits old bucket i into lo (index i) and hi (index i + n) chains of the new table
+    private static <K, V> void moveBucket(Resize<K, V> r, int i) {
+        Node<K, V>[] from = r.from;
+        Node<K, V>[] to = r.to;
+        int n = from.length;
+        while (true) {
+            Node<K, V> first = bucketAt(from, i);
+            if (first == null) {
+                if (casBucket(from, i, null, r.forward)) {
+                    return;
+                }
+                continue;
+            }
+            synchronized (first) {
+                if (bucketAt(from, i) != first) {
+                    continue; // e.g. a reservation that was just resolved
+                }
+                // The tail run whose nodes all go the same way is reused as is; the
+                // nodes before it are copied, so readers on the old chain are unaffected
+                Node<K, V> lastRun = first;
+                int runBit = first.hash & n;
+                for (Node<K, V> node = first.next; node != null; node = node.next) {
+                    int bit = node.hash & n;
+                    if (bit != runBit) {
+                        runBit = bit;
+                        lastRun = node;
+                    }
+                }
+                Node<K, V> lo = runBit == 0 ? lastRun : null;
+                Node<K, V> hi = runBit == 0 ? null : lastRun;
+                for (Node<K, V> node = first; node != lastRun; node = node.next) {
+                    if ((node.hash & n) == 0) {
+                        lo = new Node<>(node.hash, node.key, node.value, lo);
+                    } else {
+                        hi = new Node<>(node.hash, node.key, node.value, hi);
+                    }
+                }
+                setBucket(to, i, lo);
+                setBucket(to, i + n, hi);
+                setBucket(from, i, r.forward);
+                return;
+            }
+        }
+    }
+}
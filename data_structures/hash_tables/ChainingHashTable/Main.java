@@ -1,5 +1,11 @@
 package data_structures.hash_tables.ChainingHashTable;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
 /**
  * Demonstration of ChainingHashTable functionality
  */
@@ -45,6 +51,88 @@ public class Main {
         for (int i = 1; i <= 5; i++) {
             System.out.println("Student" + i + ": " + studentAges.get("Student" + i));
         }
+
+        // Test the concurrent table
+        System.out.println("\n=== Testing ConcurrentChainingHashTable ===");
+        ConcurrentChainingHashTable<String, Integer> wordCounts = new ConcurrentChainingHashTable<>();
+        for (String word : "the cat and the hat and the bat".split(" ")) {
+            wordCounts.merge(word, 1, Integer::sum);
+        }
+        System.out.println("Word counts: " + wordCounts);
+        System.out.println("Length of 'hat': " + wordCounts.computeIfAbsent("hat", String::length));
+        System.out.println("Length of 'mat': " + wordCounts.computeIfAbsent("mat", String::length));
+
+        // Stress test: results are checked against a single-threaded model
+        System.out.println("\n=== Stress Testing ConcurrentChainingHashTable ===");
+        stressTest(4, 20_000, 42);
+    }
+
+    /**
+     * Runs threads that each put and remove keys in their own range, starting from a
+     * tiny table so that many resizes overlap with the writes, while every thread also
+     * merges into one shared counter. Each thread's operations come from a Random with
+     * a fixed seed, so the final contents are the same on every run whatever the
+     * interleaving, and are compared with what one thread computes alone.
+     */
+    private static void stressTest(int threads, int opsPerThread, long seed) {
+        ConcurrentChainingHashTable<Integer, Integer> table = new ConcurrentChainingHashTable<>(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int first = t * opsPerThread;
+            long threadSeed = seed + t;
+            // Replay the thread's operations on the model
+            applyOps(first, opsPerThread, threadSeed, expected::put, expected::remove);
+            workers[t] = new Thread(() -> {
+                applyOps(first, opsPerThread, threadSeed, table::put, table::remove);
+                for (int i = 0; i < opsPerThread; i++) {
+                    table.merge(-1, 1, Integer::sum);
+                }
+            });
+        }
+        expected.put(-1, threads * opsPerThread);
+        runAll(workers);
+
+        int[] mismatches = {0};
+        table.forEach((key, value) -> {
+            if (!value.equals(expected.get(key))) {
+                mismatches[0]++;
+            }
+        });
+        boolean passed = mismatches[0] == 0 && table.size() == expected.size();
+        System.out.println(threads + " threads x " + opsPerThread + " ops, seed " + seed
+                + ": " + table.size() + " entries, counter " + table.get(-1)
+                + (passed ? " - PASSED" : " - FAILED"));
+        if (!passed) {
+            throw new IllegalStateException("Concurrent table differs from the model");
+        }
+    }
+
+    private static void applyOps(int first, int ops, long seed,
+                                 BiConsumer<Integer, Integer> put, Consumer<Integer> remove) {
+        Random random = new Random(seed);
+        for (int i = 0; i < ops; i++) {
+            int key = first + random.nextInt(ops);
+            if (random.nextInt(4) == 0) {
+                remove.accept(key);
+            } else {
+                put.accept(key, i);
+            }
+        }
+    }
+
+    private static void runAll(Thread[] workers) {
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the stress test", e);
+        }
     }
     
     private static void printHashTable(ChainingHashTable<?, ?> ht) {
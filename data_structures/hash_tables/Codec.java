@@ -0,0 +1,81 @@
+package data_structures.hash_tables;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes keys or values of one type to and from the binary snapshot format
+ * written by the hash tables' {@code writeTo} methods.
+ *
+ * <p>An encoding must be self-delimiting: {@link #read} has to consume exactly
+ * the bytes {@link #write} produced. Codecs for the common types are provided as
+ * constants; anything else plugs in by implementing this interface.</p>
+ *
+ * @param <T> the type encoded
+ */
+public interface Codec<T> {
+    /** 4-byte big-endian ints */
+    Codec<Integer> INT = new Codec<Integer>() {
+        @Override
+        public void write(Integer value, DataOutput out) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    /** 8-byte big-endian longs */
+    Codec<Long> LONG = new Codec<Long>() {
+        @Override
+        public void write(Long value, DataOutput out) throws IOException {
+            out.writeLong(value);
+        }
+
+        @Override
+        public Long read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+    };
+
+    /** UTF-8 bytes after their length as a 4-byte int (strings of any length) */
+    Codec<String> STRING = new Codec<String>() {
+        @Override
+        public void write(String value, DataOutput out) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("Negative string length: " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Writes one value.
+     * @param value the value (never null; null values are flagged by the table itself)
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    void write(T value, DataOutput out) throws IOException;
+
+    /**
+     * Reads one value written by {@link #write}.
+     * @param in the source
+     * @return the value
+     * @throws IOException if reading fails or the data is malformed
+     */
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,265 @@
+package data_structures.hash_tables;
+
+import java.util.Arrays;
+
+/**
+ * A cuckoo filter: an approximate set that, unlike a Bloom filter, supports removal.
+ *
+ * <p>Each item is reduced to a small fingerprint stored in one of two candidate
+ * buckets of four slots. Both come from the item's mixed 32-bit hash, the one
+ * {@code LinearProbingHashTable} keeps: the bucket from its low bits, the
+ * fingerprint from the top of the hash multiplied out to 64 bits. The second
+ * bucket is derived from the first and the fingerprint alone
+ * ({@code i2 = i1 ^ hash(fingerprint)}), so a stored fingerprint can always be
+ * moved to its other bucket without knowing the item. When both buckets are
+ * full, an insert evicts a random resident to that resident's other bucket, and
+ * so on, up to 500 moves. A lookup reads two buckets at most.</p>
+ *
+ * <p>A bucket is one {@code long} holding four 16-bit slots, with 0 meaning empty.
+ * Testing a bucket for a fingerprint is one load and a few word operations: XOR
+ * the fingerprint into every lane, then test the lanes for zero with the usual
+ * borrow trick. Fingerprints are as many bits as the false-positive rate needs
+ * ({@code log2(8 / rate)}, at most 16).</p>
+ *
+ * <p>If the eviction chain runs out, the last fingerprint it displaced is kept in a
+ * one-entry stash, so nothing already added is lost. Further adds fail until a
+ * removal makes room. Remove only items that were added: removing an absent item
+ * can delete another item's matching fingerprint.</p>
+ *
+ * @param <T> the type of items
+ */
+public class CuckooFilter<T> implements MembershipFilter<T> {
+    private static final int BUCKET_SLOTS = 4;
+    private static final int SLOT_BITS = 16;
+    private static final long LANE_ONES = 0x0001_0001_0001_0001L;
+    private static final long LANE_HIGH_BITS = 0x8000_8000_8000_8000L;
+    /** Fraction of the slots the filter is sized to fill */
+    private static final double TARGET_LOAD = 0.95;
+    private static final int MAX_KICKS = 500;
+    /** Odd multiplier that widens the 32-bit hash for the fingerprint */
+    private static final long FINGERPRINT_MULTIPLIER = 0x9e3779b97f4a7c15L;
+    private static final int MAXIMUM_BUCKETS = 1 << 30;
+
+    private final long[] buckets;
+    private final int bucketMask;
+    private final int fingerprintMask;
+    private final int capacity;
+    private int size;
+
+    /** A fingerprint displaced by an insert that ran out of kicks, and one of its buckets */
+    private int stashedFingerprint;
+    private int stashedBucket;
+
+    /** xorshift state for picking which resident to evict */
+    private int random = 0x2545F491;
+
+    /**
+     * Creates a filter sized for the expected number of items and false-positive rate.
+     * @param expectedItems the number of items the filter should hold
+     * @param falsePositiveRate the target probability that mightContain is wrong, in (0, 1)
+     * @throws IllegalArgumentException if expectedItems is not positive or the rate is out of range
+     */
+    public CuckooFilter(int expectedItems, double falsePositiveRate) {
+        if (expectedItems <= 0) {
+            throw new IllegalArgumentException("Expected items must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        // A lookup compares against up to 2 * 4 fingerprints, each matching with probability 2^-f
+        int bits = (int) Math.ceil(Math.log(2.0 * BUCKET_SLOTS / falsePositiveRate) / Math.log(2));
+        this.fingerprintMask = (1 << Math.max(4, Math.min(SLOT_BITS, bits))) - 1;
+        long wanted = (long) Math.ceil(expectedItems / (BUCKET_SLOTS * TARGET_LOAD));
+        if (wanted > MAXIMUM_BUCKETS) {
+            throw new IllegalArgumentException("Filter for " + expectedItems + " items is too large");
+        }
+        int bucketCount = wanted <= 1 ? 1 : Integer.highestOneBit((int) wanted - 1) << 1;
+        this.buckets = new long[bucketCount];
+        this.bucketMask = bucketCount - 1;
+        this.capacity = expectedItems;
+    }
+
+    /**
+     * Stores the item's fingerprint in either candidate bucket, evicting residents
+     * to their other bucket if both are full.
+     * Time Complexity: O(1) amortized below the target load
+     *
+     * @return false if the filter is full: the stash is taken and the item was not added
+     */
+    @Override
+    public boolean addHash(int hash) {
+        int fingerprint = fingerprint(hash);
+        int first = hash & bucketMask;
+        if (insert(first, fingerprint) || insert(alternate(first, fingerprint), fingerprint)) {
+            size++;
+            return true;
+        }
+        if (stashedFingerprint != 0) {
+            return false;
+        }
+
+        int bucket = nextRandom() % 2 == 0 ? first : alternate(first, fingerprint);
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int lane = nextRandom() & (BUCKET_SLOTS - 1);
+            int evicted = lane(buckets[bucket], lane);
+            buckets[bucket] = withLane(buckets[bucket], lane, fingerprint);
+            fingerprint = evicted;
+            bucket = alternate(bucket, fingerprint);
+            if (insert(bucket, fingerprint)) {
+                size++;
+                return true;
+            }
+        }
+        stashedFingerprint = fingerprint;
+        stashedBucket = bucket;
+        size++;
+        return true;
+    }
+
+    /**
+     * Looks for the item's fingerprint in its two buckets and the stash.
+     * Time Complexity: O(1), two bucket loads
+     */
+    @Override
+    public boolean mightContainHash(int hash) {
+        int fingerprint = fingerprint(hash);
+        int first = hash & bucketMask;
+        return hasLane(buckets[first], fingerprint)
+                || hasLane(buckets[alternate(first, fingerprint)], fingerprint)
+                || (stashedFingerprint == fingerprint
+                        && (stashedBucket == first || stashedBucket == alternate(first, fingerprint)));
+    }
+
+    /**
+     * Removes one copy of the item's fingerprint, then moves the stashed fingerprint
+     * back into the table if there is now room for it.
+     * Time Complexity: O(1)
+     */
+    @Override
+    public boolean removeHash(int hash) {
+        int fingerprint = fingerprint(hash);
+        int first = hash & bucketMask;
+        int second = alternate(first, fingerprint);
+        if (stashedFingerprint == fingerprint && (stashedBucket == first || stashedBucket == second)) {
+            stashedFingerprint = 0;
+        } else if (!delete(first, fingerprint) && !delete(second, fingerprint)) {
+            return false;
+        }
+        size--;
+        if (stashedFingerprint != 0) {
+            int stashed = stashedFingerprint;
+            if (insert(stashedBucket, stashed) || insert(alternate(stashedBucket, stashed), stashed)) {
+                stashedFingerprint = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean supportsRemoval() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(buckets, 0L);
+        stashedFingerprint = 0;
+        size = 0;
+    }
+
+    /**
+     * @return the number of bits kept per fingerprint
+     */
+    public int fingerprintBits() {
+        return Integer.bitCount(fingerprintMask);
+    }
+
+    /**
+     * @return the fraction of slots in use
+     */
+    public double loadFactor() {
+        return (double) size / ((long) buckets.length * BUCKET_SLOTS);
+    }
+
+    @Override
+    public String toString() {
+        return "CuckooFilter[size=" + size + ", capacity=" + capacity + ", buckets=" + buckets.length
+                + ", fingerprintBits=" + fingerprintBits() + "]";
+    }
+
+    /**
+     * Takes the fingerprint from the top bits of the widened hash, which depend on
+     * every bit of the hash, while the bucket index uses its low bits; never 0.
+     */
+    private int fingerprint(int hash) {
+        int fingerprint = (int) ((hash * FINGERPRINT_MULTIPLIER) >>> 48) & fingerprintMask;
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    /** The other candidate bucket; applying it twice gives back the original. */
+    private int alternate(int bucket, int fingerprint) {
+        return (bucket ^ (fingerprint * 0x5bd1e995)) & bucketMask;
+    }
+
+    /** Places the fingerprint in the lowest empty lane, if any. */
+    private boolean insert(int bucket, int fingerprint) {
+        long word = buckets[bucket];
+        long empty = zeroLanes(word);
+        if (empty == 0) {
+            return false;
+        }
+        buckets[bucket] = withLane(word, Long.numberOfTrailingZeros(empty) >>> 4, fingerprint);
+        return true;
+    }
+
+    /** Clears the lowest lane holding the fingerprint, if any. */
+    private boolean delete(int bucket, int fingerprint) {
+        long word = buckets[bucket];
+        long matches = zeroLanes(word ^ (fingerprint * LANE_ONES));
+        if (matches == 0) {
+            return false;
+        }
+        buckets[bucket] = withLane(word, Long.numberOfTrailingZeros(matches) >>> 4, 0);
+        return true;
+    }
+
+    private static boolean hasLane(long word, int fingerprint) {
+        return zeroLanes(word ^ (fingerprint * LANE_ONES)) != 0;
+    }
+
+    /**
+     * Flags 16-bit lanes that are zero with their high bit. A borrow can also flag
+     * a lane above a zero lane, but the lowest flag is always exact.
+     */
+    private static long zeroLanes(long word) {
+        return (word - LANE_ONES) & ~word & LANE_HIGH_BITS;
+    }
+
+    private static int lane(long word, int lane) {
+        return (int) (word >>> (lane * SLOT_BITS)) & 0xFFFF;
+    }
+
+    private static long withLane(long word, int lane, int fingerprint) {
+        int shift = lane * SLOT_BITS;
+        return (word & ~(0xFFFFL << shift)) | ((long) fingerprint << shift);
+    }
+
+    private int nextRandom() {
+        int x = random;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        random = x;
+        return x >>> 1;
+    }
+}
@@ -0,0 +1,31 @@
+package data_structures.hash_tables;
+
+/**
+ * The kinds of {@link MembershipFilter} a {@link FilteredMap} can keep in front of its table.
+ */
+public enum FilterType {
+    /**
+     * {@link BlockedBloomFilter}: one 64-bit word per lookup, about 12 bits per key at
+     * a 1% rate. Removed keys stay in the filter until it is rebuilt, so heavy
+     * removal raises the false-positive rate in the meantime.
+     */
+    BLOOM {
+        @Override
+        <T> MembershipFilter<T> create(int expectedItems, double falsePositiveRate) {
+            return new BlockedBloomFilter<>(expectedItems, falsePositiveRate);
+        }
+    },
+
+    /**
+     * {@link CuckooFilter}: two bucket loads per lookup, and removed keys leave the
+     * filter at once. Suits workloads with many removals.
+     */
+    CUCKOO {
+        @Override
+        <T> MembershipFilter<T> create(int expectedItems, double falsePositiveRate) {
+            return new CuckooFilter<>(expectedItems, falsePositiveRate);
+        }
+    };
+
+    abstract <T> MembershipFilter<T> create(int expectedItems, double falsePositiveRate);
+}
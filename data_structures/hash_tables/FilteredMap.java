@@ -0,0 +1,332 @@
+package data_structures.hash_tables;
+
+import data_structures.hash_tables.ChainingHashTable.ChainingHashTable;
+import data_structures.hash_tables.LinearProbingHashTable.LinearProbingHashTable;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A hash table with a {@link MembershipFilter} in front of it, so lookups of absent
+ * keys are answered without touching the table.
+ *
+ * <p>A miss in {@link LinearProbingHashTable} walks the whole probe sequence to an
+ * empty slot, and a miss in {@link ChainingHashTable} walks the whole chain. A miss
+ * here usually ends after the filter's one or two cache lines. Only the filter's
+ * false positives reach the table. The key is hashed once, with the mix
+ * {@code LinearProbingHashTable} uses, and the filter works from that hash.</p>
+ *
+ * <p>The filter pays off when table misses are long, not when they already end at
+ * the first slot. Either way, a lookup loads the key object and then one line the
+ * key's hash picks, in the table or in the filter. On a freshly built
+ * linear-probing table with 1M {@code Integer} keys, a miss costs about 85-90 ns,
+ * the Bloom filter 105-135 ns and the cuckoo filter 70-80 ns; chaining misses in
+ * about 22 ns. After half the keys have been removed and replaced, the table's
+ * tombstones lengthen its probe sequences and a miss costs about 320 ns, against
+ * 135 ns with the Bloom filter and 105 ns with the cuckoo filter
+ * ({@code getMiss} and {@code getMissAfterChurn} benchmarks). Hits also pay for
+ * the filter test.</p>
+ *
+ * <p>Every key in the table is also in the filter. A cuckoo filter holds at most
+ * nine copies of one fingerprint and refuses further adds once its stash is taken,
+ * for example when many keys share a hash code. The hashes it refuses are counted
+ * in a small overflow map that lookups consult while it is not empty, so a put
+ * never fails after it has changed the table. The filter grows with the table.
+ * When it fills, or a Bloom filter has been diluted by many removed keys, it is
+ * rebuilt at twice the table's size from the table's keys, in O(n) amortized over
+ * as many puts or removes. All changes must go through this map, or the filter
+ * falls out of step with the table.</p>
+ *
+ * <pre>
+ * FilteredMap&lt;String, Integer&gt; ids = new FilteredMap&lt;&gt;(new LinearProbingHashTable&lt;&gt;(),
+ *         FilterType.BLOOM, 0.01);
+ * </pre>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+public class FilteredMap<K, V> {
+    /** Smallest number of keys a filter is sized for */
+    private static final int MINIMUM_FILTER_CAPACITY = 64;
+
+    private final Table<K, V> table;
+    private final FilterType type;
+    private final double falsePositiveRate;
+    private MembershipFilter<K> filter;
+    /** Hashes of keys the filter refused, with how many keys have each */
+    private final IntIntMap overflow = new IntIntMap();
+    private int overflowCount;
+
+    /**
+     * Wraps a linear-probing table, adding its current keys to a new filter.
+     *
+     * @param table the table, which from now on should only be changed through this map
+     * @param type the kind of filter
+     * @param falsePositiveRate the filter's target false-positive rate, in (0, 1)
+     * @throws IllegalArgumentException if an argument is null or the rate is out of range
+     */
+    public FilteredMap(LinearProbingHashTable<K, V> table, FilterType type, double falsePositiveRate) {
+        this(table == null ? null : new LinearProbingTable<>(table), type, falsePositiveRate);
+    }
+
+    /**
+     * Wraps a chaining table, adding its current keys to a new filter.
+     *
+     * @param table the table, which from now on should only be changed through this map
+     * @param type the kind of filter
+     * @param falsePositiveRate the filter's target false-positive rate, in (0, 1)
+     * @throws IllegalArgumentException if an argument is null or the rate is out of range
+     */
+    public FilteredMap(ChainingHashTable<K, V> table, FilterType type, double falsePositiveRate) {
+        this(table == null ? null : new ChainingTable<>(table), type, falsePositiveRate);
+    }
+
+    private FilteredMap(Table<K, V> table, FilterType type, double falsePositiveRate) {
+        if (table == null || type == null) {
+            throw new IllegalArgumentException("Table and filter type cannot be null");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        this.table = table;
+        this.type = type;
+        this.falsePositiveRate = falsePositiveRate;
+        rebuildFilter();
+    }
+
+    /**
+     * Associates the value with the key, adding it to the filter if it is new.
+     * Time Complexity: O(1) amortized
+     *
+     * @param key the key
+     * @param value the value
+     * @throws IllegalArgumentException if the key is null
+     */
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        int before = table.size();
+        table.put(key, value);
+        if (table.size() == before) {
+            return;
+        }
+        if (filter.size() + overflowCount >= filter.capacity()) {
+            rebuildFilter(); // Includes the new key, which is already in the table
+        } else {
+            add(PrimitiveHashing.mix(key.hashCode()));
+        }
+    }
+
+    /**
+     * Returns the value mapped to the key, or null. Most absent keys are rejected by
+     * the filter without a table lookup.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key
+     * @return the mapped value, or null if there is none
+     * @throws IllegalArgumentException if the key is null
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return mightContain(PrimitiveHashing.mix(key.hashCode())) ? table.get(key) : null;
+    }
+
+    /**
+     * Removes the mapping for the key, if present, from the table and (if the filter
+     * supports it) from the filter.
+     * Time Complexity: O(1) amortized
+     *
+     * @param key the key
+     * @throws IllegalArgumentException if the key is null
+     */
+    public void remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        int hash = PrimitiveHashing.mix(key.hashCode());
+        if (!mightContain(hash)) {
+            return;
+        }
+        int before = table.size();
+        table.remove(key);
+        if (table.size() == before) {
+            return;
+        }
+        int count = overflowCount == 0 ? 0 : overflow.get(hash);
+        if (count > 0) {
+            // Any copy of the hash will do: the filter and the overflow only know hashes
+            if (count == 1) {
+                overflow.remove(hash);
+            } else {
+                overflow.put(hash, count - 1);
+            }
+            overflowCount--;
+        } else if (filter.supportsRemoval()) {
+            filter.removeHash(hash);
+        } else if (filter.size() - table.size() > table.size()) {
+            rebuildFilter(); // Over half the filter's keys are stale
+        }
+    }
+
+    /**
+     * Returns true if the table holds a mapping for the key.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key
+     * @return true if the key is present
+     * @throws IllegalArgumentException if the key is null
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns the number of mappings.
+     * @return the number of mappings
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Returns true if the map holds no mappings.
+     * @return true if the map is empty
+     */
+    public boolean isEmpty() {
+        return table.size() == 0;
+    }
+
+    /**
+     * Performs the action for every mapping, in the table's order.
+     * @param action the action to perform
+     * @throws IllegalArgumentException if action is null
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        table.forEach(action);
+    }
+
+    /**
+     * Returns the filter currently in front of the table, for diagnostics.
+     * @return the filter
+     */
+    public MembershipFilter<K> filter() {
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return table.toString();
+    }
+
+    /** Replaces the filter with one sized for twice the table, holding every key in it. */
+    private void rebuildFilter() {
+        int capacity = (int) Math.min(Integer.MAX_VALUE / 2, Math.max(MINIMUM_FILTER_CAPACITY, 2L * table.size()));
+        filter = type.create(capacity, falsePositiveRate);
+        overflow.clear();
+        overflowCount = 0;
+        table.forEach((key, value) -> add(PrimitiveHashing.mix(key.hashCode())));
+    }
+
+    /** Adds a hash to the filter, or to the overflow if the filter refuses it. */
+    private void add(int hash) {
+        if (!filter.addHash(hash)) {
+            overflow.put(hash, overflow.get(hash) + 1);
+            overflowCount++;
+        }
+    }
+
+    private boolean mightContain(int hash) {
+        return filter.mightContainHash(hash) || (overflowCount != 0 && overflow.containsKey(hash));
+    }
+
+    /** The operations FilteredMap needs from a table */
+    private interface Table<K, V> {
+        void put(K key, V value);
+
+        V get(K key);
+
+        void remove(K key);
+
+        int size();
+
+        void forEach(BiConsumer<? super K, ? super V> action);
+    }
+
+    private static final class LinearProbingTable<K, V> implements Table<K, V> {
+        private final LinearProbingHashTable<K, V> table;
+
+        LinearProbingTable(LinearProbingHashTable<K, V> table) {
+            this.table = table;
+        }
+
+        @Override
+        public void put(K key, V value) {
+            table.put(key, value);
+        }
+
+        @Override
+        public V get(K key) {
+            return table.get(key);
+        }
+
+        @Override
+        public void remove(K key) {
+            table.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return table.size();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            table.forEach(action);
+        }
+
+        @Override
+        public String toString() {
+            return table.toString();
+        }
+    }
+
+    private static final class ChainingTable<K, V> implements Table<K, V> {
+        private final ChainingHashTable<K, V> table;
+
+        ChainingTable(ChainingHashTable<K, V> table) {
+            this.table = table;
+        }
+
+        @Override
+        public void put(K key, V value) {
+            table.put(key, value);
+        }
+
+        @Override
+        public V get(K key) {
+            return table.get(key);
+        }
+
+        @Override
+        public void remove(K key) {
+            table.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return table.size();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            table.forEach(action);
+        }
+
+        @Override
+        public String toString() {
+            return table.toString();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package data_structures.hash_tables;
+
+/**
+ * Receives an int key and its int value, without boxing either.
+ */
+@FunctionalInterface
+public interface IntIntConsumer {
+    /**
+     * Performs this operation on one mapping.
+     *
+     * @param key the key
+     * @param value the value mapped to the key
+     */
+    void accept(int key, int value);
+}
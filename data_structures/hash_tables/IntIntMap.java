@@ -0,0 +1,369 @@
+package data_structures.hash_tables;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from primitive int keys to primitive int values.
+ *
+ * <p>Keys are stored unboxed in an {@code int[]}, with 0 reserved to mark an
+ * empty slot; a mapping for the key 0 itself is kept in two separate fields.
+ * get, put and remove never box, allocating only when the table grows, and
+ * {@link #forEach(IntIntConsumer)} iterates without boxing. {@link #get(int)} returns 0
+ * for an absent key; use {@link #containsKey(int)} or
+ * {@link #getOrDefault(int, int)} to tell the two apart.</p>
+ *
+ * <p>Collisions are resolved by linear probing over a power-of-two table, with
+ * keys scrambled by a bit-mixing finalizer first. Removal shifts later entries
+ * of the cluster back instead of leaving tombstones, so the table does not
+ * degrade under put/remove churn. The table resizes when the load factor
+ * exceeds 0.7.</p>
+ *
+ * <p>{@link #writeTo(FileChannel)} saves the slot arrays as they are, and
+ * {@link #readFrom(FileChannel)} restores them with bulk copies: no rehashing and
+ * no resizes. {@link MappedIntIntMap} probes such a file in place through a read-only
+ * memory mapping, without loading it.</p>
+ */
+public class IntIntMap {
+    /** Default initial capacity of the table */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Threshold for resizing the table (size/capacity) */
+    private static final double LOAD_FACTOR_THRESHOLD = 0.7;
+
+    /** Magic number at the start of a snapshot, "IIMP" */
+    static final int SNAPSHOT_MAGIC = 0x49494D50;
+
+    /** The key marking an empty slot */
+    private static final int EMPTY = 0;
+
+    /** Keys by slot; EMPTY for an empty slot */
+    private int[] keys;
+
+    /** Values by slot */
+    private int[] values;
+
+    /** Whether the key 0 (which cannot be stored in a slot) is present */
+    private boolean hasZeroKey;
+
+    /** The value mapped to the key 0 */
+    private int zeroValue;
+
+    /** The number of mappings, including the key 0 */
+    private int size;
+
+    /** capacity - 1, used to wrap indices without a division */
+    private int mask;
+
+    /** Number of occupied slots at which the table grows */
+    private int threshold;
+
+    /**
+     * Constructs an empty map with the default initial capacity (16).
+     */
+    public IntIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map with the specified initial capacity.
+     * The capacity is rounded up to the next power of two.
+     *
+     * @param initialCapacity the initial capacity of the table
+     * @throws IllegalArgumentException if the initial capacity is non-positive
+     */
+    public IntIntMap(int initialCapacity) {
+        allocate(PrimitiveHashing.tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * Associates the specified value with the specified key.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key
+     * @param value the value to be associated with the key
+     */
+    public void put(int key, int value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+
+        int index = PrimitiveHashing.mix(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                values[index] = value; // Update in place
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (occupied() > threshold) {
+            resize();
+        }
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or 0 if there is none.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key
+     * @return the mapped value, or 0
+     */
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or defaultValue if there is none.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key
+     * @param defaultValue the value to return for an absent key
+     * @return the mapped value, or defaultValue
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int index = findKeyIndex(key);
+        return index == -1 ? defaultValue : values[index];
+    }
+
+    /**
+     * Returns true if the map contains a mapping for the specified key.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key
+     * @return true if the key is present
+     */
+    public boolean containsKey(int key) {
+        return key == EMPTY ? hasZeroKey : findKeyIndex(key) != -1;
+    }
+
+    /**
+     * Removes the mapping for the specified key if present.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key
+     * @return true if a mapping was removed
+     */
+    public boolean remove(int key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return true;
+        }
+        int index = findKeyIndex(key);
+        if (index == -1) {
+            return false;
+        }
+        shiftKeys(index);
+        size--;
+        return true;
+    }
+
+    /**
+     * Performs the action for every mapping, in no particular order.
+     * Time Complexity: O(capacity)
+     *
+     * @param action the action to perform
+     * @throws IllegalArgumentException if action is null
+     */
+    public void forEach(IntIntConsumer action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        if (hasZeroKey) {
+            action.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of mappings.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the map contains no mappings.
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every mapping, keeping the current capacity.
+     * Time Complexity: O(capacity)
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        hasZeroKey = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns a string representation of the map.
+     * Time Complexity: O(capacity)
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append("=").append(value);
+        });
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Writes the map to the channel, starting at its current position, in the format
+     * {@link MappedIntIntMap} maps: a 64-byte header, then the key and value slot arrays
+     * verbatim. The channel is left open and positioned after the snapshot.
+     * Time Complexity: O(capacity)
+     *
+     * @param channel the channel to write to
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if channel is null
+     */
+    public void writeTo(FileChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        PrimitiveSnapshots.writeHeader(channel, SNAPSHOT_MAGIC,
+                new Snapshots.Header(0, size, keys.length, hasZeroKey, zeroValue));
+        PrimitiveSnapshots.writeInts(channel, keys);
+        PrimitiveSnapshots.writeInts(channel, values);
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(FileChannel)} from the channel's
+     * current position. The slot arrays are allocated at the snapshot's capacity and
+     * filled with bulk copies, so nothing is rehashed.
+     * Time Complexity: O(capacity)
+     *
+     * @param channel the channel to read from
+     * @return a new map with the snapshot's mappings
+     * @throws IOException if reading fails or the snapshot is malformed
+     * @throws IllegalArgumentException if channel is null
+     */
+    public static IntIntMap readFrom(FileChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        Snapshots.Header header = PrimitiveSnapshots.readHeader(channel, SNAPSHOT_MAGIC, "IntIntMap");
+        IntIntMap map = new IntIntMap(header.capacity);
+        PrimitiveSnapshots.readInts(channel, map.keys, "IntIntMap");
+        PrimitiveSnapshots.readInts(channel, map.values, "IntIntMap");
+        map.hasZeroKey = header.hasZeroKey;
+        map.zeroValue = (int) header.zeroValue;
+        map.size = header.size;
+        if (map.countOccupied() != map.occupied() || map.occupied() > map.threshold) {
+            throw new IOException("Corrupt IntIntMap snapshot: size does not match the slots");
+        }
+        return map;
+    }
+
+    // ================ PRIVATE HELPER METHODS ================ //
+
+    /** Counts the non-empty slots. */
+    private int countOccupied() {
+        int count = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Number of occupied slots (the key 0 does not use one). */
+    private int occupied() {
+        return hasZeroKey ? size - 1 : size;
+    }
+
+    /** Returns the slot holding a non-zero key, or -1. */
+    private int findKeyIndex(int key) {
+        int index = PrimitiveHashing.mix(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties a slot, moving back any later entry of the cluster whose home slot
+     * is not cyclically between the gap and its current position.
+     */
+    private void shiftKeys(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            int key = keys[index];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = PrimitiveHashing.mix(key) & mask;
+            boolean stays = gap <= index ? gap < home && home <= index : gap < home || home <= index;
+            if (!stays) {
+                keys[gap] = key;
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        keys[gap] = EMPTY;
+    }
+
+    /** Allocates empty slot arrays of the given capacity. */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = PrimitiveHashing.threshold(capacity, LOAD_FACTOR_THRESHOLD);
+    }
+
+    /** Doubles the capacity and reinserts every slot entry. */
+    private void resize() {
+        if (keys.length == PrimitiveHashing.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Map cannot grow beyond " + PrimitiveHashing.MAXIMUM_CAPACITY + " slots");
+        }
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = PrimitiveHashing.mix(oldKeys[i]) & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package data_structures.hash_tables;
+
+/**
+ * Receives an int key and its object value, without boxing the key.
+ *
+ * @param <V> the type of values
+ */
+@FunctionalInterface
+public interface IntObjConsumer<V> {
+    /**
+     * Performs this operation on one mapping.
+     *
+     * @param key the key
+     * @param value the value mapped to the key
+     */
+    void accept(int key, V value);
+}
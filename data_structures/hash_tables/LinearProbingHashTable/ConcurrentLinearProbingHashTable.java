@@ -0,0 +1,594 @@
+package data_structures.hash_tables.LinearProbingHashTable;
+
+import data_structures.hash_tables.PrimitiveHashing;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * A non-blocking, thread-safe hash table using linear probing, after Cliff Click's
+ * lock-free hash table.
+ *
+ * <p>No operation takes a lock. Keys and values live in two parallel arrays whose
+ * slots are only ever changed by compare-and-set through a {@link VarHandle}:</p>
+ * <ul>
+ *   <li>A key slot goes from null to a key exactly once and never changes after
+ *   that, so a probe sequence never shifts under a concurrent reader.</li>
+ *   <li>A value slot moves between null (never set), a value, and a TOMBSTONE
+ *   (removed). Removing a key leaves its key slot claimed; such dead slots are
+ *   dropped the next time the table is copied.</li>
+ * </ul>
+ *
+ * <p>Resizing is a migration to a new table that every writer helps with. Copying a
+ * slot first boxes its value in a {@code Prime} by CAS, which makes any later
+ * write to the old slot fail; the value is then written into the new table and the
+ * old slot is marked as fully copied. A reader or writer that meets a boxed value
+ * finishes copying that one slot and continues in the new table, so nobody ever
+ * waits for the migration as a whole, and once every slot has been copied the new
+ * table replaces the old one.</p>
+ *
+ * <p>Keys and values may not be null. Reads are a few plain acquire loads, which
+ * suits read-mostly workloads with many threads.</p>
+ *
+ * @param <K> the type of keys maintained by this hash table
+ * @param <V> the type of mapped values
+ */
+public class ConcurrentLinearProbingHashTable<K, V> {
+    /** Smallest capacity of any table */
+    private static final int MINIMUM_CAPACITY = 16;
+
+    /** Largest power-of-two capacity an int-indexed array can have */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** Slots a writer copies each time it helps with a migration */
+    private static final int COPY_CHUNK = 64;
+
+    /** Key of a slot closed by a migration, and value of a removed key */
+    private static final Object TOMBSTONE = new Object();
+
+    /** Value of a slot whose migration has finished */
+    private static final Prime TOMBPRIME = new Prime(TOMBSTONE);
+
+    // Expected-value markers for putIfMatch, besides a concrete value
+    /** Write whatever the current value is */
+    private static final Object MATCH_ALL = new Object();
+    /** Write only if the key is present */
+    private static final Object MATCH_PRESENT = new Object();
+    /** Write only if the key is absent (TOMBSTONE and null both mean absent) */
+    private static final Object MATCH_ABSENT = TOMBSTONE;
+    /** Write only into a value slot that has never been set (used by migration) */
+    private static final Object MATCH_EMPTY = null;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle TOP;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TOP = lookup.findVarHandle(ConcurrentLinearProbingHashTable.class, "top", Table.class);
+            NEXT = lookup.findVarHandle(Table.class, "next", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** The newest table that every operation starts from */
+    private volatile Table top;
+
+    /** The number of key-value mappings */
+    private final LongAdder size = new LongAdder();
+
+    /** A value being migrated: writes to the old slot fail once it is boxed */
+    private static final class Prime {
+        final Object value;
+
+        Prime(Object value) {
+            this.value = value;
+        }
+    }
+
+    /** One generation of slot arrays and the state of its migration to the next */
+    private static final class Table {
+        final Object[] keys;
+        final Object[] values;
+        /** Key slots claimed so far, live or dead */
+        final AtomicInteger claimed = new AtomicInteger();
+        /** Next slot to hand out to a thread helping with the migration */
+        final AtomicInteger copyIndex = new AtomicInteger();
+        /** Slots whose migration has finished */
+        final AtomicInteger copyDone = new AtomicInteger();
+        /** The table being migrated to, or null */
+        volatile Table next;
+
+        Table(int capacity) {
+            keys = new Object[capacity];
+            values = new Object[capacity];
+        }
+    }
+
+    /**
+     * Constructs an empty hash table with the default initial capacity (16).
+     */
+    public ConcurrentLinearProbingHashTable() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty hash table with the specified initial capacity.
+     * The capacity is rounded up to the next power of two, and to at least 16.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     * @throws IllegalArgumentException if the initial capacity is non-positive
+     */
+    public ConcurrentLinearProbingHashTable(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        int capacity = initialCapacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY
+                : Math.max(MINIMUM_CAPACITY, Integer.highestOneBit(initialCapacity - 1) << 1);
+        top = new Table(capacity);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this hash table.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @throws IllegalArgumentException if the key or value is null
+     */
+    public void put(K key, V value) {
+        checkNotNull(key, value);
+        putIfMatch(key, value, MATCH_ALL);
+    }
+
+    /**
+     * Associates the value with the key only if the key is absent.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the current value if the key was present (and nothing was stored), or null
+     * @throws IllegalArgumentException if the key or value is null
+     */
+    public V putIfAbsent(K key, V value) {
+        checkNotNull(key, value);
+        return unwrap(putIfMatch(key, value, MATCH_ABSENT));
+    }
+
+    /**
+     * Replaces the value of the key only if the key is present.
+     *
+     * @param key the key whose value is to be replaced
+     * @param value the new value
+     * @return the previous value, or null if the key was absent (and nothing was stored)
+     * @throws IllegalArgumentException if the key or value is null
+     */
+    public V replace(K key, V value) {
+        checkNotNull(key, value);
+        return unwrap(putIfMatch(key, value, MATCH_PRESENT));
+    }
+
+    /**
+     * Replaces the value of the key only if it is currently mapped to the expected value.
+     *
+     * @param key the key whose value is to be replaced
+     * @param expectedValue the value the key must currently be mapped to (compared with equals)
+     * @param newValue the new value
+     * @return true if the value was replaced
+     * @throws IllegalArgumentException if the key or either value is null
+     */
+    public boolean replace(K key, V expectedValue, V newValue) {
+        checkNotNull(key, newValue);
+        if (expectedValue == null) {
+            throw new IllegalArgumentException("Expected value cannot be null");
+        }
+        Object previous = unwrap(putIfMatch(key, newValue, expectedValue));
+        return expectedValue.equals(previous);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this hash table
+     * contains no mapping for the key. Never blocks and never writes, except to finish
+     * copying the key's slot if it is in the middle of a migration.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if no mapping exists
+     * @throws IllegalArgumentException if the key is null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int hash = PrimitiveHashing.mix(key.hashCode());
+        Table t = top;
+        search:
+        while (true) {
+            int mask = t.keys.length - 1;
+            int limit = reprobeLimit(t.keys.length);
+            int index = hash & mask;
+            for (int probes = 0;; ) {
+                Object k = SLOTS.getAcquire(t.keys, index);
+                if (k == null) {
+                    return null;
+                }
+                if (k != TOMBSTONE && (k == key || k.equals(key))) {
+                    Object v = SLOTS.getAcquire(t.values, index);
+                    if (!(v instanceof Prime)) {
+                        return v == TOMBSTONE ? null : (V) v;
+                    }
+                    t = copySlotAndCheck(t, index);
+                    continue search;
+                }
+                if (++probes >= limit || k == TOMBSTONE) {
+                    // Not in this table's probe sequence; a writer would have gone on to the next table
+                    t = t.next;
+                    if (t == null) {
+                        return null;
+                    }
+                    continue search;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+    }
+
+    /**
+     * Removes the mapping for the specified key from this hash table if present.
+     *
+     * @param key the key whose mapping is to be removed from the hash table
+     * @throws IllegalArgumentException if the key is null
+     */
+    public void remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        putIfMatch(key, TOMBSTONE, MATCH_ALL);
+    }
+
+    /**
+     * Removes the key only if it is currently mapped to the given value.
+     *
+     * @param key the key whose mapping is to be removed
+     * @param value the value the key must currently be mapped to (compared with equals)
+     * @return true if the mapping was removed
+     * @throws IllegalArgumentException if the key or value is null
+     */
+    public boolean remove(K key, V value) {
+        checkNotNull(key, value);
+        return value.equals(unwrap(putIfMatch(key, TOMBSTONE, value)));
+    }
+
+    /**
+     * Returns true if this hash table contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this hash table is to be tested
+     * @return true if this hash table contains a mapping for the specified key
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this hash table. Exact when no
+     * writes are in flight; otherwise an estimate.
+     *
+     * @return the number of key-value mappings in this hash table
+     */
+    public int size() {
+        long sum = size.sum();
+        return sum < 0 ? 0 : sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    /**
+     * Returns true if this hash table contains no key-value mappings.
+     *
+     * @return true if this hash table contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Performs the action for every mapping. Weakly consistent, like the iterators of
+     * java.util.concurrent: it never fails because of concurrent updates, reports each
+     * key at most once, and may or may not see updates made during the traversal.
+     * A migration in progress when it starts is finished first.
+     *
+     * @param action the action to perform
+     * @throws IllegalArgumentException if action is null
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        Table t = top;
+        while (t.next != null) {
+            int done = 0;
+            for (int i = 0; i < t.keys.length; i++) {
+                if (copySlot(t, i)) {
+                    done++;
+                }
+            }
+            copied(t, done);
+            t = t.next;
+        }
+        for (int i = 0; i < t.keys.length; i++) {
+            Object k = SLOTS.getAcquire(t.keys, i);
+            if (k == null || k == TOMBSTONE) {
+                continue;
+            }
+            Object v = SLOTS.getAcquire(t.values, i);
+            if (v instanceof Prime) {
+                v = get((K) k); // Migrated since the traversal began: read the newest value
+            }
+            if (v != null && v != TOMBSTONE) {
+                action.accept((K) k, (V) v);
+            }
+        }
+    }
+
+    /**
+     * Returns a string representation of this hash table.
+     *
+     * @return a string representation of the hash table contents
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append("=").append(value);
+        });
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * Writes a value (or TOMBSTONE, to remove) for a key if its current value matches.
+     *
+     * @return the value before the call (null or TOMBSTONE if absent); on a failed
+     *         match, the current value
+     */
+    private Object putIfMatch(Object key, Object put, Object expected) {
+        int hash = PrimitiveHashing.mix(key.hashCode());
+        return putIfMatch(top, key, hash, put, expected);
+    }
+
+    private Object putIfMatch(Table t, Object key, int hash, Object put, Object expected) {
+        boolean migrating = expected == MATCH_EMPTY;
+        retry:
+        while (true) {
+            int length = t.keys.length;
+            int mask = length - 1;
+            int limit = reprobeLimit(length);
+            int index = hash & mask;
+            boolean claimedHere = false;
+
+            // Find the key's slot, claiming an empty one if the key is new
+            for (int probes = 0;; ) {
+                Object k = SLOTS.getAcquire(t.keys, index);
+                if (k == null) {
+                    if (put == TOMBSTONE || !(expected == MATCH_ALL || expected == MATCH_ABSENT || migrating)) {
+                        return null; // Removing or replacing an absent key: nothing to do
+                    }
+                    if (SLOTS.compareAndSet(t.keys, index, null, key)) {
+                        t.claimed.incrementAndGet();
+                        claimedHere = true;
+                        break;
+                    }
+                    k = SLOTS.getAcquire(t.keys, index); // Lost the race; maybe to the same key
+                }
+                if (k != TOMBSTONE && (k == key || k.equals(key))) {
+                    break;
+                }
+                if (++probes >= limit || k == TOMBSTONE) {
+                    // Probe sequence full, or the table is being migrated: go on to the next table
+                    Table next = resize(t);
+                    if (!migrating) {
+                        helpCopy(t);
+                    }
+                    t = next;
+                    continue retry;
+                }
+                index = (index + 1) & mask;
+            }
+
+            if (claimedHere && t.next == null && t.claimed.get() >= length - (length >>> 2)) {
+                resize(t);
+            }
+            if (!migrating && t.next != null) {
+                // Writers always move on to the newest table, finishing this slot first
+                t = copySlotAndCheck(t, index);
+                helpCopy(top);
+                continue;
+            }
+
+            while (true) {
+                Object v = SLOTS.getAcquire(t.values, index);
+                if (v instanceof Prime) {
+                    t = copySlotAndCheck(t, index);
+                    continue retry;
+                }
+                if (!matches(v, expected)) {
+                    return v;
+                }
+                if (SLOTS.compareAndSet(t.values, index, v, put)) {
+                    if (!migrating) {
+                        boolean wasAbsent = v == null || v == TOMBSTONE;
+                        if (wasAbsent && put != TOMBSTONE) {
+                            size.increment();
+                        } else if (!wasAbsent && put == TOMBSTONE) {
+                            size.decrement();
+                        }
+                    }
+                    return v;
+                }
+            }
+        }
+    }
+
+    private static boolean matches(Object current, Object expected) {
+        boolean absent = current == null || current == TOMBSTONE;
+        if (expected == MATCH_ALL) {
+            return true;
+        }
+        if (expected == MATCH_EMPTY) {
+            return current == null;
+        }
+        if (expected == MATCH_ABSENT) {
+            return absent;
+        }
+        if (expected == MATCH_PRESENT) {
+            return !absent;
+        }
+        return !absent && expected.equals(current);
+    }
+
+    /**
+     * Returns the table being migrated to, starting a migration if there is none. The
+     * new capacity depends on the live entries, so a table clogged with removed keys
+     * is rebuilt at its current size.
+     */
+    private Table resize(Table t) {
+        Table next = t.next;
+        if (next != null) {
+            return next;
+        }
+        int length = t.keys.length;
+        long live = size.sum();
+        int capacity = length;
+        if (live >= length >>> 2) {
+            capacity = length << 1;
+        }
+        if (live >= length >>> 1) {
+            capacity = length << 2;
+        }
+        if (capacity > MAXIMUM_CAPACITY || capacity <= 0) {
+            if (length == MAXIMUM_CAPACITY && live >= length >>> 1) {
+                throw new IllegalStateException("Hash table cannot grow beyond " + MAXIMUM_CAPACITY + " slots");
+            }
+            capacity = MAXIMUM_CAPACITY;
+        }
+        Table created = new Table(capacity);
+        return NEXT.compareAndSet(t, null, created) ? created : t.next;
+    }
+
+    /**
+     * Copies one chunk of a migrating table's slots, if any are left unclaimed.
+     */
+    private void helpCopy(Table t) {
+        if (t.next == null) {
+            return;
+        }
+        int length = t.keys.length;
+        int start;
+        do {
+            start = t.copyIndex.get();
+            if (start >= length) {
+                copied(t, 0); // Nothing left to claim; make sure a finished table gets promoted
+                return;
+            }
+        } while (!t.copyIndex.compareAndSet(start, start + COPY_CHUNK));
+        int done = 0;
+        for (int i = start, end = Math.min(length, start + COPY_CHUNK); i < end; i++) {
+            if (copySlot(t, i)) {
+                done++;
+            }
+        }
+        copied(t, done);
+    }
+
+    /**
+     * Finishes copying one slot and returns the table to continue in.
+     */
+    private Table copySlotAndCheck(Table t, int index) {
+        if (copySlot(t, index)) {
+            copied(t, 1);
+        }
+        return t.next;
+    }
+
+    /**
+     * Records finished slots and promotes fully copied tables to the top.
+     */
+    private void copied(Table t, int slots) {
+        if (slots > 0) {
+            t.copyDone.addAndGet(slots);
+        }
+        Table current = top;
+        while (current.next != null && current.copyDone.get() == current.keys.length
+                && TOP.compareAndSet(this, current, current.next)) {
+            current = current.next;
+        }
+    }
+
+    /**
+     * Migrates one slot to the next table. Idempotent and safe to race.
+     *
+     * @return true if this call is the one that completed the slot
+     */
+    private boolean copySlot(Table t, int index) {
+        // Close an empty key slot so no new key can be claimed in the old table
+        Object k = SLOTS.getAcquire(t.keys, index);
+        while (k == null) {
+            if (SLOTS.compareAndSet(t.keys, index, null, TOMBSTONE)) {
+                k = TOMBSTONE;
+            } else {
+                k = SLOTS.getAcquire(t.keys, index);
+            }
+        }
+
+        // Box the value so that every later write to the old slot fails
+        Object v = SLOTS.getAcquire(t.values, index);
+        while (!(v instanceof Prime)) {
+            Prime boxed = v == null || v == TOMBSTONE ? TOMBPRIME : new Prime(v);
+            if (SLOTS.compareAndSet(t.values, index, v, boxed)) {
+                if (boxed == TOMBPRIME) {
+                    return true; // Nothing to carry over
+                }
+                v = boxed;
+                break;
+            }
+            v = SLOTS.getAcquire(t.values, index);
+        }
+        if (v == TOMBPRIME) {
+            return false;
+        }
+
+        // Carry the value over unless it is already there, then retire the old slot
+        int hash = PrimitiveHashing.mix(k.hashCode());
+        putIfMatch(t.next, k, hash, ((Prime) v).value, MATCH_EMPTY);
+        while (v != TOMBPRIME) {
+            if (SLOTS.compareAndSet(t.values, index, v, TOMBPRIME)) {
+                return true;
+            }
+            v = SLOTS.getAcquire(t.values, index);
+        }
+        return false;
+    }
+
+    /** Probes a lookup makes before concluding the key must be in the next table. */
+    private static int reprobeLimit(int length) {
+        return 10 + (length >>> 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V unwrap(Object value) {
+        return value == TOMBSTONE ? null : (V) value;
+    }
+
+    private static void checkNotNull(Object key, Object value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value cannot be null");
+        }
+    }
+}
@@ -1,80 +1,160 @@
 package data_structures.hash_tables.LinearProbingHashTable;
 
+import data_structures.hash_tables.Codec;
+import data_structures.hash_tables.PrimitiveHashing;
+import data_structures.hash_tables.Snapshots;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A hash table implementation using linear probing for collision resolution.
  * 
  * <p>When a collision occurs, this implementation searches sequentially (linearly)
  * for the next available slot in the array. The table automatically resizes when
  * the load factor exceeds a specified threshold (0.7 by default).</p>
+ *
+ * <p>Capacities are always powers of two, so the home slot and every probe step
+ * are computed with a bit mask instead of an integer division. Because a mask only
+ * keeps the low bits of the hash code, hash codes are first passed through a
+ * bit-mixing finalizer so that keys differing only in their high bits (strided
+ * integers, for example) still spread across the table.</p>
+ *
+ * <p>Removal leaves tombstones, which count towards the load factor: once live
+ * entries plus tombstones reach the threshold the table is rebuilt, doubling only
+ * if the live entries alone need the room. For workloads with heavy put/remove
+ * churn, {@link RobinHoodHashTable} avoids tombstones altogether.</p>
+ *
+ * <p>Storage is flat: keys, values and the keys' mixed hash codes live in three
+ * parallel arrays rather than in one Entry object per mapping. Probing compares
+ * the cached hash codes first and only calls {@code equals} on a match, resizing
+ * never calls {@code hashCode} again, and updating an existing key writes the
+ * value in place without allocating.</p>
+ *
+ * <p>A table constructed with {@code incrementalResize} set does not rehash
+ * everything at once when it grows. It keeps the old slot arrays next to the new
+ * ones and migrates a few old slots on every put and remove; lookups check the
+ * new table first and then the old one. This bounds the work of any single
+ * operation, so the worst-case put latency stays flat instead of spiking on
+ * every doubling, at the cost of a second probe for keys not yet migrated and
+ * holding both tables in memory while the migration runs.</p>
+ *
+ * <p>{@link #writeTo} saves the mappings to a compact binary snapshot and
+ * {@link #readFrom} restores them into a table presized for the final size, placing
+ * each key straight into its slot: no resizes and no duplicate-key probes.</p>
+ *
+ * <p>The table is {@link Iterable} over its keys. Iterators, spliterators and both
+ * forEach methods are fail-fast: they throw {@link ConcurrentModificationException}
+ * if a key is added or removed, or entries move, other than through the iterator
+ * itself. In incremental mode every put and remove migrates slots, so even
+ * replacing a value counts. {@link #asMap} returns a {@link Map} view.</p>
  * 
  * @param <K> the type of keys maintained by this hash table
  * @param <V> the type of mapped values
  */
-public class LinearProbingHashTable<K, V> {
+public class LinearProbingHashTable<K, V> implements Iterable<K> {
     /** Default initial capacity of the hash table */
     private static final int DEFAULT_CAPACITY = 16;
+
+    /** Largest power-of-two capacity an int-indexed array can have */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
     
     /** Threshold for resizing the hash table (size/capacity) */
     private static final double LOAD_FACTOR_THRESHOLD = 0.7;
     
-    /** Special marker for deleted entries (tombstones) */
-    private static final Entry<?, ?> DELETED = new Entry<>(null, null);
+    /** Special key marking deleted slots (tombstones) */
+    private static final Object DELETED = new Object();
+
+    /** Magic number at the start of a snapshot, "LPHT" */
+    private static final int SNAPSHOT_MAGIC = 0x4C504854;
+
+    /** Old slots migrated by each put and remove during an incremental resize */
+    private static final int MIGRATION_STEP = 8;
 
-    /** The array of entries representing the hash table */
-    private Entry<K, V>[] table;
+    /** Whether growing migrates entries gradually rather than all at once */
+    private final boolean incrementalResize;
+
+    /** Keys by slot: null for an empty slot, DELETED for a tombstone */
+    private Object[] keys;
+
+    /** Values by slot */
+    private Object[] values;
+
+    /** Mixed hash code of the key in each occupied slot */
+    private int[] hashes;
     
     /** The number of key-value mappings in the hash table */
     private int size;
+
+    /** The number of tombstones in the table */
+    private int deleted;
     
-    /** The current capacity of the hash table */
+    /** The current capacity of the hash table (always a power of two) */
     private int capacity;
 
-    /**
-     * Represents a key-value pair in the hash table.
-     * 
-     * @param <K> the type of the key
-     * @param <V> the type of the value
-     */
-    private static class Entry<K, V> {
-        /** The key of the entry (final to ensure immutability) */
-        final K key;
-        
-        /** The value associated with the key */
-        V value;
+    /** capacity - 1, used to wrap indices without a division */
+    private int mask;
 
-        /**
-         * Constructs a new entry with the specified key and value.
-         * 
-         * @param key the entry key
-         * @param value the entry value
-         */
-        Entry(K key, V value) {
-            this.key = key;
-            this.value = value;
-        }
-    }
+    /** Slot arrays of the table being migrated from; null unless a resize is in progress */
+    private Object[] oldKeys;
+    private Object[] oldValues;
+    private int[] oldHashes;
+
+    /** The number of live entries still in the old table (included in size) */
+    private int oldSize;
+
+    /** The next old slot to migrate */
+    private int migrated;
+
+    /** Number of changes that add, remove or move keys, checked by iterators */
+    private int modCount;
 
     /**
      * Constructs an empty hash table with the default initial capacity (16).
      */
-    @SuppressWarnings("unchecked")
     public LinearProbingHashTable() {
         this(DEFAULT_CAPACITY);
     }
 
     /**
      * Constructs an empty hash table with the specified initial capacity.
+     * The capacity is rounded up to the next power of two.
      * 
      * @param initialCapacity the initial capacity of the hash table
      * @throws IllegalArgumentException if the initial capacity is non-positive
      */
-    @SuppressWarnings("unchecked")
     public LinearProbingHashTable(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * Constructs an empty hash table with the specified initial capacity, optionally
+     * spreading the work of each resize over the operations that follow it.
+     * The capacity is rounded up to the next power of two.
+     * 
+     * @param initialCapacity the initial capacity of the hash table
+     * @param incrementalResize whether to migrate entries to a grown table gradually
+     * @throws IllegalArgumentException if the initial capacity is non-positive
+     */
+    public LinearProbingHashTable(int initialCapacity, boolean incrementalResize) {
         if (initialCapacity <= 0) {
             throw new IllegalArgumentException("Initial capacity must be positive");
         }
-        this.capacity = initialCapacity;
-        this.table = (Entry<K, V>[]) new Entry[capacity];
+        this.incrementalResize = incrementalResize;
+        allocate(tableSizeFor(initialCapacity));
         this.size = 0;
     }
 
@@ -90,16 +170,29 @@ public class LinearProbingHashTable<K, V> {
             throw new IllegalArgumentException("Key cannot be null");
         }
 
-        // Resize if the load factor exceeds threshold
-        if ((double) size / capacity >= LOAD_FACTOR_THRESHOLD) {
+        if (oldKeys != null) {
+            migrate(MIGRATION_STEP);
+        }
+        // Resize if the load factor of the new table (tombstones included) exceeds threshold
+        if ((double) (size - oldSize + deleted) / capacity >= LOAD_FACTOR_THRESHOLD) {
             resize();
         }
 
-        int index = findSlot(key);
-        if (table[index] == null || table[index] == DELETED) {
+        int hash = PrimitiveHashing.mix(key.hashCode());
+        int index = findSlot(key, hash);
+        if (keys[index] == null || keys[index] == DELETED) {
+            if (keys[index] == DELETED) {
+                deleted--;
+            }
+            if (oldKeys != null && removeFromOld(key, hash)) {
+                size--; // Not new after all: the mapping moves out of the old table
+            }
+            keys[index] = key;
+            hashes[index] = hash;
             size++;
+            modCount++;
         }
-        table[index] = new Entry<>(key, value);
+        values[index] = value; // Existing keys are updated in place
     }
 
     /**
@@ -110,13 +203,24 @@ public class LinearProbingHashTable<K, V> {
      * @return the value to which the specified key is mapped, or null if no mapping exists
      * @throws IllegalArgumentException if the key is null
      */
+    @SuppressWarnings("unchecked")
     public V get(K key) {
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null");
         }
 
-        int index = findKeyIndex(key);
-        return index == -1 ? null : table[index].value;
+        int hash = PrimitiveHashing.mix(key.hashCode());
+        int index = indexOf(keys, hashes, mask, key, hash);
+        if (index != -1) {
+            return (V) values[index];
+        }
+        if (oldKeys != null) {
+            index = indexOf(oldKeys, oldHashes, oldKeys.length - 1, key, hash);
+            if (index != -1) {
+                return (V) oldValues[index];
+            }
+        }
+        return null;
     }
 
     /**
@@ -130,12 +234,22 @@ public class LinearProbingHashTable<K, V> {
             throw new IllegalArgumentException("Key cannot be null");
         }
 
-        int index = findKeyIndex(key);
+        if (oldKeys != null) {
+            migrate(MIGRATION_STEP);
+        }
+        int hash = PrimitiveHashing.mix(key.hashCode());
+        int index = indexOf(keys, hashes, mask, key, hash);
         if (index != -1) {
             // Mark as deleted (tombstone) instead of setting to null
             // to maintain probe sequence integrity
-            table[index] = (Entry<K, V>) DELETED;
+            keys[index] = DELETED;
+            values[index] = null; // Clear reference for garbage collection
             size--;
+            deleted++;
+            modCount++;
+        } else if (oldKeys != null && removeFromOld(key, hash)) {
+            size--;
+            modCount++;
         }
     }
 
@@ -168,14 +282,296 @@ public class LinearProbingHashTable<K, V> {
     }
 
     /**
-     * Computes the hash index for the specified key.
+     * Performs the given action for every mapping, in slot order (mappings not yet
+     * migrated by an incremental resize come last).
+     * 
+     * @param action the action to perform
+     * @throws IllegalArgumentException if action is null
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        int expectedModCount = modCount;
+        Object[] oldKeys = this.oldKeys;
+        Object[] oldValues = this.oldValues;
+        forEach(keys, values, action);
+        if (oldKeys != null && modCount == expectedModCount) {
+            forEach(oldKeys, oldValues, action);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs the given action for every key, in the same order as
+     * {@link #forEach(BiConsumer)}, reading the slot arrays directly.
+     * 
+     * @param action the action to perform
+     * @throws IllegalArgumentException if action is null
+     * @throws ConcurrentModificationException if the action adds or removes keys
+     */
+    @Override
+    public void forEach(Consumer<? super K> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        forEach((key, value) -> action.accept(key));
+    }
+
+    /**
+     * Returns an iterator over the keys, in the same order as {@link #forEach(BiConsumer)}.
+     * Its remove method turns the key's slot into a tombstone without migrating or
+     * resizing, so the slots still ahead of it never move.
+     * 
+     * @return a fail-fast iterator over the keys
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Returns a spliterator over the keys that splits the slot range in halves.
+     * Like {@link java.util.HashMap}'s, it is SIZED until its first split, after
+     * which each half estimates half the keys.
+     * 
+     * @return a fail-fast, DISTINCT and NONNULL spliterator over the keys
+     */
+    @Override
+    public Spliterator<K> spliterator() {
+        return new KeySpliterator<>(this, 0, keys.length + (oldKeys == null ? 0 : oldKeys.length), size, true);
+    }
+
+    /**
+     * Returns a sequential stream over the keys.
+     * 
+     * @return a stream over the keys
+     */
+    public Stream<K> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the keys.
+     * 
+     * @return a parallel stream over the keys
+     */
+    public Stream<K> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Returns a {@link Map} view of this table. Changes through either are visible
+     * in the other. Following the Map contract, the view throws
+     * NullPointerException for null keys and reports keys mapped to null as present.
+     * Entries from its entry set are allocated per step; use
+     * {@link #forEach(BiConsumer)} to visit mappings without allocation.
+     * 
+     * @return a Map backed by this table
+     */
+    public Map<K, V> asMap() {
+        return new MapView();
+    }
+
+    /**
+     * Writes every mapping to the channel, starting at its current position: a 64-byte
+     * header, then each key and value as encoded by the codecs. The channel is left
+     * open and positioned after the snapshot.
+     * 
+     * @param channel the channel to write to
+     * @param keyCodec encodes the keys
+     * @param valueCodec encodes the non-null values
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the channel or a codec is null
+     */
+    public void writeTo(FileChannel channel, Codec<? super K> keyCodec, Codec<? super V> valueCodec)
+            throws IOException {
+        if (channel == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("Channel and codecs cannot be null");
+        }
+        // A flag byte per value only if some value actually is null
+        boolean nullable = hasNullValue(keys, values) || (oldKeys != null && hasNullValue(oldKeys, oldValues));
+        try (Snapshots.Writer out = Snapshots.writer(channel)) {
+            Snapshots.writeHeader(out, SNAPSHOT_MAGIC,
+                    new Snapshots.Header(nullable ? Snapshots.NULLABLE_VALUES : 0, size));
+            writeEntries(out, keys, values, nullable, keyCodec, valueCodec);
+            if (oldKeys != null) {
+                writeEntries(out, oldKeys, oldValues, nullable, keyCodec, valueCodec);
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo} from the channel's current position.
+     * The table is allocated at its final capacity up front and every key goes
+     * directly into the first free slot of its probe sequence, so loading n entries
+     * never resizes. The channel is left open and positioned after the snapshot.
+     * 
+     * @param channel the channel to read from
+     * @param keyCodec decodes the keys
+     * @param valueCodec decodes the values
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     * @return a new (non-incremental) table holding the snapshot's mappings
+     * @throws IOException if reading fails or the snapshot is malformed
+     * @throws IllegalArgumentException if the channel or a codec is null
+     */
+    public static <K, V> LinearProbingHashTable<K, V> readFrom(FileChannel channel, Codec<? extends K> keyCodec,
+                                                               Codec<? extends V> valueCodec) throws IOException {
+        if (channel == null || keyCodec == null || valueCodec == null) {
+            throw new IllegalArgumentException("Channel and codecs cannot be null");
+        }
+        try (Snapshots.Reader in = Snapshots.reader(channel)) {
+            Snapshots.Header header = Snapshots.readHeader(in, SNAPSHOT_MAGIC, "LinearProbingHashTable");
+            boolean nullable = (header.flags() & Snapshots.NULLABLE_VALUES) != 0;
+            int count = header.size();
+            long capacity = (long) (count / LOAD_FACTOR_THRESHOLD) + 1; // Stays under the threshold when full
+            if (capacity > MAXIMUM_CAPACITY) {
+                throw new IOException("Snapshot of " + count + " entries exceeds the maximum capacity");
+            }
+            LinearProbingHashTable<K, V> table = new LinearProbingHashTable<>((int) capacity);
+            for (int i = 0; i < count; i++) {
+                K key = keyCodec.read(in);
+                V value = nullable && !in.readBoolean() ? null : valueCodec.read(in);
+                table.load(key, value);
+            }
+            return table;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void forEach(Object[] keys, Object[] values, BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && keys[i] != DELETED) {
+                action.accept((K) keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the average number of slots a successful lookup examines
+     * (1.0 means every key sits in its home slot). Intended for diagnostics
+     * and benchmarks; it walks the whole table.
      * 
-     * @param key the key to hash
-     * @return the computed hash index (always non-negative)
+     * @return the mean probe length over all keys, or 0 if the table is empty
      */
-    private int hash(K key) {
-        // Using absolute value to ensure non-negative index
-        return Math.abs(key.hashCode()) % capacity;
+    public double averageProbeLength() {
+        if (size == 0) {
+            return 0;
+        }
+        long total = totalProbeLength(keys, hashes);
+        if (oldKeys != null) {
+            total += totalProbeLength(oldKeys, oldHashes);
+        }
+        return (double) total / size;
+    }
+
+    /**
+     * Returns the longest probe sequence of any key in the table, tombstones
+     * included. Intended for diagnostics and benchmarks; it walks the whole table.
+     * 
+     * @return the maximum probe length, or 0 if the table is empty
+     */
+    public int maxProbeLength() {
+        int max = maxProbeLength(keys, hashes);
+        if (oldKeys != null) {
+            max = Math.max(max, maxProbeLength(oldKeys, oldHashes));
+        }
+        return max;
+    }
+
+    /**
+     * Writes the live entries of one set of slot arrays.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeEntries(Snapshots.Writer out, Object[] keys, Object[] values, boolean nullable,
+                              Codec<? super K> keyCodec, Codec<? super V> valueCodec) throws IOException {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && keys[i] != DELETED) {
+                keyCodec.write((K) keys[i], out);
+                if (nullable) {
+                    out.writeBoolean(values[i] != null);
+                }
+                if (values[i] != null) {
+                    valueCodec.write((V) values[i], out);
+                }
+            }
+        }
+    }
+
+    private static boolean hasNullValue(Object[] keys, Object[] values) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && keys[i] != DELETED && values[i] == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Places a snapshot entry into the first empty slot of its probe sequence. The
+     * table is presized and has no tombstones, so there is no load check; the only
+     * key comparisons are against colliding entries, to reject duplicates.
+     */
+    private void load(K key, V value) throws IOException {
+        if (key == null) {
+            throw new IOException("Corrupt snapshot: null key");
+        }
+        int hash = PrimitiveHashing.mix(key.hashCode());
+        int index = hash & mask;
+        while (keys[index] != null) {
+            if (hashes[index] == hash && keys[index].equals(key)) {
+                throw new IOException("Corrupt snapshot: duplicate key " + key);
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+        size++;
+    }
+
+    /**
+     * Sums the probe lengths of the live entries in one set of slot arrays.
+     */
+    private static long totalProbeLength(Object[] keys, int[] hashes) {
+        int mask = keys.length - 1;
+        long total = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && keys[i] != DELETED) {
+                total += ((i - hashes[i]) & mask) + 1;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the longest probe length of the live entries in one set of slot arrays.
+     */
+    private static int maxProbeLength(Object[] keys, int[] hashes) {
+        int mask = keys.length - 1;
+        int max = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && keys[i] != DELETED) {
+                max = Math.max(max, ((i - hashes[i]) & mask) + 1);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the smallest power of two that is at least the given capacity.
+     * 
+     * @param requested the requested capacity (positive)
+     * @return the table capacity to use
+     */
+    private static int tableSizeFor(int requested) {
+        if (requested >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
     }
 
     /**
@@ -187,16 +583,17 @@ public class LinearProbingHashTable<K, V> {
      * 3. The slot is occupied by a different key (probes for next slot)</p>
      * 
      * @param key the key to find a slot for
+     * @param hash the mixed hash code of the key
      * @return the index of the appropriate slot
      */
-    private int findSlot(K key) {
-        int index = hash(key);
+    private int findSlot(K key, int hash) {
+        int index = hash & mask;
         int firstDeleted = -1; // Track first tombstone encountered
 
-        while (table[index] != null) {
-            if (table[index] != DELETED) {
-                // Found existing entry with same key
-                if (table[index].key.equals(key)) {
+        while (keys[index] != null) {
+            if (keys[index] != DELETED) {
+                // Found existing entry with same key (cached hash checked first)
+                if (hashes[index] == hash && keys[index].equals(key)) {
                     return index;
                 }
             } else if (firstDeleted == -1) {
@@ -204,7 +601,7 @@ public class LinearProbingHashTable<K, V> {
                 firstDeleted = index;
             }
             // Linear probing: move to next slot (with wrap-around)
-            index = (index + 1) % capacity;
+            index = (index + 1) & mask;
         }
 
         // Return either the first tombstone or the found empty slot
@@ -212,46 +609,186 @@ public class LinearProbingHashTable<K, V> {
     }
 
     /**
-     * Finds the index of the specified key in the hash table.
+     * Finds the index of the specified key in one set of slot arrays (the current
+     * table or, during an incremental resize, the old one).
      * 
+     * @param keys the key slots to search
+     * @param hashes the cached hash codes of those slots
+     * @param mask the length of the slot arrays minus one
      * @param key the key to search for
+     * @param hash the mixed hash code of the key
      * @return the index of the key, or -1 if not found
      */
-    private int findKeyIndex(K key) {
-        int index = hash(key);
+    private static int indexOf(Object[] keys, int[] hashes, int mask, Object key, int hash) {
+        int index = hash & mask;
         int startIndex = index;
 
         do {
-            if (table[index] == null) {
+            if (keys[index] == null) {
                 return -1; // Key not found
             }
-            if (table[index] != DELETED && table[index].key.equals(key)) {
+            // Tombstones never match: their cached hash is stale but DELETED equals nothing else
+            if (hashes[index] == hash && keys[index] != DELETED && keys[index].equals(key)) {
                 return index; // Key found
             }
-            index = (index + 1) % capacity; // Linear probing
+            index = (index + 1) & mask; // Linear probing
         } while (index != startIndex); // Check entire table
 
         return -1; // Key not found after full traversal
     }
 
     /**
-     * Resizes the hash table to double its current capacity and rehashes all entries.
+     * Returns true if the key is mapped, even to null (unlike {@link #containsKey}).
+     * 
+     * @param key the key to search for
+     * @return true if either table holds the key
+     */
+    private boolean hasKey(Object key) {
+        int hash = PrimitiveHashing.mix(key.hashCode());
+        return indexOf(keys, hashes, mask, key, hash) != -1
+                || (oldKeys != null && indexOf(oldKeys, oldHashes, oldKeys.length - 1, key, hash) != -1);
+    }
+
+    /**
+     * Turns a live slot into a tombstone for an iterator's remove. Unlike
+     * {@link #remove}, it never migrates, so no other slot moves.
+     * 
+     * @param slots the key slots holding the entry (the current or the old table)
+     * @param index the entry's slot
+     */
+    private void removeSlot(Object[] slots, int index) {
+        slots[index] = DELETED;
+        if (slots == keys) {
+            values[index] = null;
+            deleted++;
+        } else {
+            oldValues[index] = null;
+            oldSize--;
+        }
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Removes a key from the old table of an incremental resize. Its slot becomes a
+     * tombstone so the probe sequences of entries not yet migrated stay intact.
+     * 
+     * @param key the key to remove
+     * @param hash the mixed hash code of the key
+     * @return true if the key was found (size is left for the caller to adjust)
+     */
+    private boolean removeFromOld(Object key, int hash) {
+        int index = indexOf(oldKeys, oldHashes, oldKeys.length - 1, key, hash);
+        if (index == -1) {
+            return false;
+        }
+        oldKeys[index] = DELETED;
+        oldValues[index] = null;
+        oldSize--;
+        return true;
+    }
+
+    /**
+     * Moves the live entries of up to the given number of old slots into the current
+     * table, and drops the old table once every slot has been visited. Migrated
+     * slots become tombstones so lookups cannot find a stale copy there.
+     * 
+     * @param slots the number of old slots to visit
+     */
+    private void migrate(int slots) {
+        modCount++;
+        int end = Math.min(oldKeys.length, migrated + slots);
+        for (; migrated < end; migrated++) {
+            Object key = oldKeys[migrated];
+            if (key != null && key != DELETED) {
+                // The key is absent from the current table, so any free slot will do
+                int hash = oldHashes[migrated];
+                int index = hash & mask;
+                while (keys[index] != null && keys[index] != DELETED) {
+                    index = (index + 1) & mask;
+                }
+                if (keys[index] == DELETED) {
+                    deleted--;
+                }
+                keys[index] = key;
+                values[index] = oldValues[migrated];
+                hashes[index] = hash;
+                oldKeys[migrated] = DELETED;
+                oldValues[migrated] = null;
+                oldSize--;
+            }
+        }
+        if (migrated == oldKeys.length) {
+            oldKeys = null;
+            oldValues = null;
+            oldHashes = null;
+        }
+    }
+
+    /**
+     * Rehashes all entries into a fresh table, dropping every tombstone. The capacity
+     * doubles unless tombstones make up most of the load, in which case the table is
+     * rebuilt at its current capacity.
+     * 
+     * <p>In incremental mode the current arrays become the old table and entries are
+     * migrated by later operations instead. A resize that arrives while a previous
+     * migration is still running finishes that migration first.</p>
      */
-    @SuppressWarnings("unchecked")
     private void resize() {
-        capacity *= 2;
-        Entry<K, V>[] oldTable = table;
-        table = (Entry<K, V>[]) new Entry[capacity];
-        size = 0; // Reset size, will be recalculated during rehashing
+        modCount++;
+        if (oldKeys != null) {
+            migrate(oldKeys.length);
+        }
+        int newCapacity = capacity;
+        if (size >= capacity * LOAD_FACTOR_THRESHOLD / 2) {
+            if (capacity == MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Hash table cannot grow beyond " + MAXIMUM_CAPACITY + " slots");
+            }
+            newCapacity = capacity * 2;
+        }
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(newCapacity);
+        deleted = 0;
 
-        // Rehash all existing entries (skip nulls and tombstones)
-        for (Entry<K, V> entry : oldTable) {
-            if (entry != null && entry != DELETED) {
-                put(entry.key, entry.value);
+        if (incrementalResize) {
+            this.oldKeys = oldKeys;
+            this.oldValues = oldValues;
+            this.oldHashes = oldHashes;
+            oldSize = size;
+            migrated = 0;
+            return;
+        }
+
+        // Reinsert all live entries (skip nulls and tombstones) using their cached
+        // hashes; keys are distinct, so each goes into the first empty slot
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null && oldKeys[i] != DELETED) {
+                int index = oldHashes[i] & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                hashes[index] = oldHashes[i];
             }
         }
     }
 
+    /**
+     * Allocates empty slot arrays of the given capacity.
+     * 
+     * @param newCapacity the new capacity (a power of two)
+     */
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        keys = new Object[newCapacity];
+        values = new Object[newCapacity];
+        hashes = new int[newCapacity];
+    }
+
     /**
      * Returns a string representation of this hash table.
      * 
@@ -261,17 +798,358 @@ public class LinearProbingHashTable<K, V> {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("{");
-        boolean first = true;
-        for (Entry<K, V> entry : table) {
-            if (entry != null && entry != DELETED) {
-                if (!first) {
+        appendEntries(sb, keys, values);
+        if (oldKeys != null) {
+            appendEntries(sb, oldKeys, oldValues);
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * Appends the live entries of one set of slot arrays as "key=value" pairs.
+     */
+    private static void appendEntries(StringBuilder sb, Object[] keys, Object[] values) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && keys[i] != DELETED) {
+                if (sb.length() > 1) {
                     sb.append(", ");
                 }
-                sb.append(entry.key).append("=").append(entry.value);
-                first = false;
+                sb.append(keys[i]).append("=").append(values[i]);
             }
         }
-        sb.append("}");
-        return sb.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Walks the live slots of the current table and then of the old one. Subclasses
+     * choose what to return for a slot.
+     */
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        private final Object[] currentKeys = keys;
+        private final Object[] previousKeys = oldKeys;
+        private Object[] slots = currentKeys; // Array of the next slot, or null when done
+        private int next = -1;                // Index of the next live slot
+        private Object[] lastSlots;
+        private int lastIndex = -1;
+        private int expectedModCount = modCount;
+
+        SlotIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slots != null;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (slots == null) {
+                throw new NoSuchElementException();
+            }
+            lastSlots = slots;
+            lastIndex = next;
+            advance();
+            return element(lastSlots, lastIndex);
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex < 0) {
+                throw new IllegalStateException("No key to remove");
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeSlot(lastSlots, lastIndex);
+            lastIndex = -1;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Returns the element for a live slot.
+         * 
+         * @param slots the key slots (the current or the old table)
+         * @param index the slot
+         * @return the element to hand out
+         */
+        abstract T element(Object[] slots, int index);
+
+        /** Moves to the next live slot, switching to the old table at the end of the current one. */
+        private void advance() {
+            while (slots != null) {
+                for (next++; next < slots.length; next++) {
+                    if (slots[next] != null && slots[next] != DELETED) {
+                        return;
+                    }
+                }
+                slots = slots == currentKeys ? previousKeys : null;
+                next = -1;
+            }
+        }
+    }
+
+    private final class KeyIterator extends SlotIterator<K> {
+        @Override
+        @SuppressWarnings("unchecked")
+        K element(Object[] slots, int index) {
+            return (K) slots[index];
+        }
+    }
+
+    private final class EntryIterator extends SlotIterator<Map.Entry<K, V>> {
+        @Override
+        @SuppressWarnings("unchecked")
+        Map.Entry<K, V> element(Object[] slots, int index) {
+            Object[] slotValues = slots == keys ? values : oldValues;
+            return new SlotEntry((K) slots[index], (V) slotValues[index], slots, index);
+        }
+    }
+
+    /**
+     * An entry handed out by the map view. setValue writes straight into the slot
+     * while the key is still there, and goes through put once a resize or
+     * migration has moved it.
+     */
+    private final class SlotEntry extends AbstractMap.SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+        private final transient Object[] slots;
+        private final int index;
+
+        SlotEntry(K key, V value, Object[] slots, int index) {
+            super(key, value);
+            this.slots = slots;
+            this.index = index;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = super.setValue(value);
+            if ((slots == keys || slots == oldKeys) && slots[index] == getKey()) {
+                (slots == keys ? values : oldValues)[index] = value;
+            } else if (hasKey(getKey())) {
+                put(getKey(), value);
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * Splits the range of slot positions [index, fence), where positions past the
+     * current table's length refer to the old table.
+     */
+    private static final class KeySpliterator<K> implements Spliterator<K> {
+        private final LinearProbingHashTable<K, ?> table;
+        private final Object[] currentKeys;
+        private final Object[] previousKeys;
+        private final int expectedModCount;
+        private int index;
+        private final int fence;
+        private int estimate;
+        private boolean exact; // True until the first split: the estimate is the size
+
+        KeySpliterator(LinearProbingHashTable<K, ?> table, int origin, int fence, int estimate, boolean exact) {
+            this(table, table.keys, table.oldKeys, table.modCount, origin, fence, estimate, exact);
+        }
+
+        private KeySpliterator(LinearProbingHashTable<K, ?> table, Object[] currentKeys, Object[] previousKeys,
+                               int expectedModCount, int origin, int fence, int estimate, boolean exact) {
+            this.table = table;
+            this.currentKeys = currentKeys;
+            this.previousKeys = previousKeys;
+            this.expectedModCount = expectedModCount;
+            this.index = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exact = exact;
+        }
+
+        @Override
+        public Spliterator<K> trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            estimate >>>= 1;
+            exact = false;
+            return new KeySpliterator<>(table, currentKeys, previousKeys, expectedModCount, lo, mid, estimate, false);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super K> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            while (index < fence) {
+                K key = key(index++);
+                if (key != null) {
+                    action.accept(key);
+                    checkForComodification();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super K> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int i = index;
+            index = fence;
+            for (; i < fence; i++) {
+                K key = key(i);
+                if (key != null) {
+                    action.accept(key);
+                }
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (exact ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+
+        /** The key at a slot position, or null for an empty slot or tombstone */
+        @SuppressWarnings("unchecked")
+        private K key(int position) {
+            Object key = position < currentKeys.length
+                    ? currentKeys[position] : previousKeys[position - currentKeys.length];
+            return key == DELETED ? null : (K) key;
+        }
+
+        private void checkForComodification() {
+            if (table.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * The view returned by {@link #asMap}. Lookups, puts and removes go straight
+     * to the table; only the entry set allocates.
+     */
+    private final class MapView extends AbstractMap<K, V> {
+        private Set<Map.Entry<K, V>> entrySet;
+        private Set<K> keySet;
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            return key == null ? null : LinearProbingHashTable.this.get((K) key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && hasKey(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            Objects.requireNonNull(key);
+            V previous = LinearProbingHashTable.this.get(key);
+            LinearProbingHashTable.this.put(key, value);
+            return previous;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(Object key) {
+            if (key == null || !hasKey(key)) {
+                return null;
+            }
+            V previous = LinearProbingHashTable.this.get((K) key);
+            LinearProbingHashTable.this.remove((K) key);
+            return previous;
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            LinearProbingHashTable.this.forEach(Objects.requireNonNull(action));
+        }
+
+        @Override
+        public Set<K> keySet() {
+            if (keySet == null) {
+                keySet = new AbstractSet<K>() {
+                    @Override
+                    public Iterator<K> iterator() {
+                        return new KeyIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    public boolean contains(Object key) {
+                        return containsKey(key);
+                    }
+
+                    @Override
+                    public boolean remove(Object key) {
+                        boolean present = containsKey(key);
+                        MapView.this.remove(key);
+                        return present;
+                    }
+
+                    @Override
+                    public Spliterator<K> spliterator() {
+                        return LinearProbingHashTable.this.spliterator();
+                    }
+
+                    @Override
+                    public void forEach(Consumer<? super K> action) {
+                        LinearProbingHashTable.this.forEach(Objects.requireNonNull(action));
+                    }
+                };
+            }
+            return keySet;
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                    @Override
+                    public Iterator<Map.Entry<K, V>> iterator() {
+                        return new EntryIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    public boolean contains(Object o) {
+                        if (!(o instanceof Map.Entry)) {
+                            return false;
+                        }
+                        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                        return containsKey(entry.getKey()) && Objects.equals(get(entry.getKey()), entry.getValue());
+                    }
+                };
+            }
+            return entrySet;
+        }
+    }
+}
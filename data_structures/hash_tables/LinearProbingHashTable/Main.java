@@ -1,5 +1,25 @@
 package data_structures.hash_tables.LinearProbingHashTable;
 
+import data_structures.hash_tables.FilterType;
+import data_structures.hash_tables.FilteredMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
 /**
  * Demonstration class for the LinearProbingHashTable implementation.
  * 
@@ -7,7 +27,7 @@ package data_structures.hash_tables.LinearProbingHashTable;
  * insertion, retrieval, deletion, collision handling, and resizing.</p>
  */
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         LinearProbingHashTable<String, Integer> ageTable = new LinearProbingHashTable<>();
 
         // 1. Basic operations demonstration
@@ -46,5 +66,277 @@ public class Main {
         for (int i = 1; i <= 5; i++) {
             System.out.println("Person" + i + ": " + ageTable.get("Person" + i));
         }
+
+        // 5. Concurrent table demonstration
+        System.out.println("\n=== Testing ConcurrentLinearProbingHashTable ===");
+        ConcurrentLinearProbingHashTable<String, Integer> sessions = new ConcurrentLinearProbingHashTable<>();
+        sessions.put("alice", 1);
+        System.out.println("putIfAbsent('alice', 2) returns: " + sessions.putIfAbsent("alice", 2));
+        System.out.println("replace('alice', 1, 3) succeeds: " + sessions.replace("alice", 1, 3));
+        System.out.println("replace('alice', 1, 4) succeeds: " + sessions.replace("alice", 1, 4));
+        sessions.put("bob", 5);
+        sessions.remove("bob");
+        System.out.println("Table: " + sessions);
+
+        // 6. Stress test: results are checked against a single-threaded model
+        System.out.println("\n=== Stress Testing ConcurrentLinearProbingHashTable ===");
+        stressTest(4, 20_000, 42);
+
+        // 7. Persistent index demonstration
+        System.out.println("\n=== Testing MappedHashIndex ===");
+        Path dir = Files.createTempDirectory("mapped-hash-index");
+        try (MappedHashIndex index = MappedHashIndex.create(dir, 32)) {
+            index.put(bytes("user:42"), 4096L);
+            index.put(bytes("user:7"), 8192L);
+            index.remove(bytes("user:7"));
+        }
+        try (MappedHashIndex index = MappedHashIndex.open(dir)) {
+            System.out.println("Offset of 'user:42' after reopening: " + index.get(bytes("user:42")));
+            System.out.println("Contains 'user:7': " + index.containsKey(bytes("user:7")));
+            System.out.println(index);
+        }
+
+        // 8. Dirty reopen: an index that was never closed is recovered on open
+        System.out.println("\n=== Testing MappedHashIndex Recovery ===");
+        dirtyReopenTest(dir, 50_000, 42);
+        deleteDirectory(dir);
+
+        // 9. A segment whose empty slots were all overwritten is rejected, not probed forever
+        System.out.println("\n=== Testing MappedHashIndex Corruption ===");
+        dir = Files.createTempDirectory("mapped-hash-index");
+        noEmptySlotTest(dir);
+        deleteDirectory(dir);
+
+        // 10. FilteredMap with keys that share one hash code: a cuckoo filter holds only
+        // nine copies of a fingerprint, and the rest must still be found
+        System.out.println("\n=== Testing FilteredMap with Colliding Keys ===");
+        for (FilterType type : FilterType.values()) {
+            collidingKeysTest(type, 6);
+        }
+    }
+
+    /**
+     * Puts 2^pairs strings made of "Aa" and "BB" pairs, which all have the same
+     * hashCode, into a FilteredMap, then checks that every one is found, that an
+     * absent key with the same hash is not, and that removing half of them leaves
+     * exactly the other half. A filter built over the full table must find them too.
+     */
+    private static void collidingKeysTest(FilterType type, int pairs) {
+        List<String> keys = new ArrayList<>();
+        keys.add("");
+        for (int i = 0; i < pairs; i++) {
+            List<String> longer = new ArrayList<>();
+            for (String key : keys) {
+                longer.add(key + "Aa");
+                longer.add(key + "BB");
+            }
+            keys = longer;
+        }
+        String absent = keys.remove(keys.size() - 1);
+
+        LinearProbingHashTable<String, Integer> table = new LinearProbingHashTable<>();
+        FilteredMap<String, Integer> map = new FilteredMap<>(table, type, 0.01);
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            if (!Integer.valueOf(i).equals(map.get(keys.get(i)))) {
+                throw new IllegalStateException(type + ": lost colliding key " + keys.get(i));
+            }
+        }
+        if (map.get(absent) != null || map.size() != keys.size()) {
+            throw new IllegalStateException(type + ": wrong contents after colliding puts");
+        }
+        for (int i = 0; i < keys.size(); i += 2) {
+            map.remove(keys.get(i));
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            if ((map.get(keys.get(i)) != null) != (i % 2 == 1)) {
+                throw new IllegalStateException(type + ": wrong key after removal " + keys.get(i));
+            }
+        }
+        FilteredMap<String, Integer> rebuilt = new FilteredMap<>(table, type, 0.01);
+        for (int i = 1; i < keys.size(); i += 2) {
+            if (rebuilt.get(keys.get(i)) == null) {
+                throw new IllegalStateException(type + ": filter built over the table lost " + keys.get(i));
+            }
+        }
+        System.out.println(type + ": " + keys.size() + " keys with hash code " + absent.hashCode()
+                + ", " + map.size() + " left after removing half - PASSED");
+    }
+
+    /**
+     * Fills an index with keys from a seeded Random, forces it, keeps writing so
+     * that segments split after the force, and then abandons it without closing, as
+     * if the process had died. Reopening sees the index was not closed cleanly and
+     * scans it. Every key written before the force must be found with its value,
+     * every key found must hold a value that was written for it, and the recounted
+     * size must match the keys actually present.
+     */
+    private static void dirtyReopenTest(Path dir, int keys, long seed) throws IOException {
+        Random random = new Random(seed);
+        long[] forced = new long[keys];
+        long[] latest = new long[keys * 2];
+        // Small segments, so the second half of the writes splits many of them
+        MappedHashIndex index = MappedHashIndex.create(dir, 32, 1024);
+        for (int i = 0; i < keys; i++) {
+            forced[i] = random.nextInt(Integer.MAX_VALUE);
+            latest[i] = forced[i];
+            index.put(bytes("key:" + i), forced[i]);
+        }
+        index.force();
+        for (int i = keys; i < keys * 2; i++) {
+            latest[i] = random.nextInt(Integer.MAX_VALUE);
+            index.put(bytes("key:" + i), latest[i]);
+        }
+        // No close: the abandoned index is never touched again
+
+        int lost = 0;
+        int wrong = 0;
+        int present = 0;
+        try (MappedHashIndex reopened = MappedHashIndex.open(dir)) {
+            for (int i = 0; i < keys * 2; i++) {
+                long value = reopened.get(bytes("key:" + i));
+                if (value == MappedHashIndex.NOT_FOUND) {
+                    if (i < keys) {
+                        lost++;
+                    }
+                } else {
+                    present++;
+                    if (value != latest[i]) {
+                        wrong++;
+                    }
+                }
+            }
+            boolean passed = lost == 0 && wrong == 0 && reopened.size() == present;
+            System.out.println(keys + " forced + " + keys + " unforced keys, seed " + seed + ": "
+                    + present + " present after reopening, " + reopened.segmentCount() + " segments"
+                    + (passed ? " - PASSED" : " - FAILED"));
+            if (!passed) {
+                throw new IllegalStateException("Recovered index lost " + lost + " forced keys, has "
+                        + wrong + " wrong values and size " + reopened.size() + " for " + present + " keys");
+            }
+        }
+    }
+
+    /**
+     * Writes a few keys into the smallest segment, abandons the index, and marks every
+     * empty slot in the segment file deleted. Opening must fail with IOException: a
+     * lookup for an absent key could otherwise probe the full segment forever.
+     */
+    private static void noEmptySlotTest(Path dir) throws IOException {
+        MappedHashIndex index = MappedHashIndex.create(dir, 32, 16); // 64-byte slots after a 64-byte header
+        for (int i = 0; i < 3; i++) {
+            index.put(bytes("key:" + i), i);
+        }
+        index.force();
+        // No close: the abandoned index is never touched again
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "segment-*.dat");
+             FileChannel channel = FileChannel.open(files.iterator().next(), StandardOpenOption.READ,
+                     StandardOpenOption.WRITE)) {
+            ByteBuffer state = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < 16; i++) {
+                long position = 64 + i * 64L;
+                state.clear();
+                channel.read(state, position);
+                if (state.getInt(0) == 0) {
+                    state.clear();
+                    state.putInt(0, -1);
+                    channel.write(state, position);
+                }
+            }
+        }
+        try (MappedHashIndex reopened = MappedHashIndex.open(dir)) {
+            throw new IllegalStateException("Opened a segment with no empty slot: " + reopened);
+        } catch (IOException e) {
+            System.out.println("Open failed as expected (" + e.getMessage().replace(dir.toString(), "<dir>")
+                    + ") - PASSED");
+        }
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Runs threads that each put and remove keys in their own range, starting from a
+     * tiny table so that many migrations overlap with the writes, while every thread
+     * also increments one shared counter by compare-and-set. Each thread's operations
+     * come from a Random with a fixed seed, so the final contents are the same on
+     * every run whatever the interleaving, and are compared with what one thread
+     * computes alone.
+     */
+    private static void stressTest(int threads, int opsPerThread, long seed) {
+        ConcurrentLinearProbingHashTable<Integer, Integer> table = new ConcurrentLinearProbingHashTable<>(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        table.put(-1, 0);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int first = t * opsPerThread;
+            long threadSeed = seed + t;
+            // Replay the thread's operations on the model
+            applyOps(first, opsPerThread, threadSeed, expected::put, expected::remove);
+            workers[t] = new Thread(() -> {
+                applyOps(first, opsPerThread, threadSeed, table::put, table::remove);
+                for (int i = 0; i < opsPerThread; i++) {
+                    Integer count;
+                    do {
+                        count = table.get(-1);
+                    } while (!table.replace(-1, count, count + 1));
+                }
+            });
+        }
+        expected.put(-1, threads * opsPerThread);
+        runAll(workers);
+
+        int[] mismatches = {0};
+        table.forEach((key, value) -> {
+            if (!value.equals(expected.get(key))) {
+                mismatches[0]++;
+            }
+        });
+        boolean passed = mismatches[0] == 0 && table.size() == expected.size();
+        System.out.println(threads + " threads x " + opsPerThread + " ops, seed " + seed
+                + ": " + table.size() + " entries, counter " + table.get(-1)
+                + (passed ? " - PASSED" : " - FAILED"));
+        if (!passed) {
+            throw new IllegalStateException("Concurrent table differs from the model");
+        }
+    }
+
+    private static void applyOps(int first, int ops, long seed,
+                                 BiConsumer<Integer, Integer> put, Consumer<Integer> remove) {
+        Random random = new Random(seed);
+        for (int i = 0; i < ops; i++) {
+            int key = first + random.nextInt(ops);
+            if (random.nextInt(4) == 0) {
+                remove.accept(key);
+            } else {
+                put.accept(key, i);
+            }
+        }
+    }
+
+    private static void runAll(Thread[] workers) {
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the stress test", e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,881 @@
+package data_structures.hash_tables.LinearProbingHashTable;
+
+import data_structures.arrays.DirectBuffers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * A persistent index from byte-string keys to long offsets, stored in
+ * memory-mapped files and probed in place.
+ *
+ * <p>The index is a directory of segment files. Each segment is a linear-probing
+ * table of fixed-size slots, and the slots hold the key bytes themselves, so a
+ * lookup hashes the key, picks a segment and compares bytes in the mapping, with
+ * no deserialization. The OS pages slots in as lookups touch them, so the index
+ * can be much larger than RAM.</p>
+ *
+ * <p>The index grows one segment at a time (extendible hashing). The top bits of a
+ * key's 64-bit hash select a segment through a directory, and the low bits select
+ * the home slot within it. When a segment reaches the load factor, its entries are
+ * copied into two new segment files, split on the next hash bit. The directory
+ * doubles only when the segment already uses as many bits as the directory. A
+ * segment that is full mostly of tombstones is rebuilt into one new file
+ * instead. No put ever rehashes more than one segment.</p>
+ *
+ * <p>The directory and the segment list are kept in two metadata files with a
+ * CRC32C checksum, written alternately. A torn write leaves the other copy
+ * intact, and opening picks the valid copy with the higher generation. The
+ * metadata lists each segment with the hash prefix it covers, not the directory,
+ * which is rebuilt from the prefixes on open: a directory can reach 2^20 entries
+ * while few segments are deep, so the write that every split makes stays
+ * proportional to the number of segments. A split writes and forces the new
+ * segments before it writes the metadata that references them, so the files the
+ * metadata names are always complete. Segment files that no metadata references
+ * are leftovers of an interrupted split, and opening deletes them. Opening also
+ * reads every slot's state word to recount the entries, so it touches each page
+ * once. After a clean close the counts must match the metadata. After a crash,
+ * slots whose stored hash does not match their key bytes were torn and are turned
+ * into tombstones. A segment with no empty slot is rejected as corrupt, and probes
+ * stop after one lap of a segment in any case.</p>
+ *
+ * <p>A put writes the key, hash and value before the slot's state word. Slots are
+ * powers of two of at most 4 KB, and the slot array starts at an offset that is a
+ * multiple of the slot size (the 64-byte segment header, padded to one slot for
+ * slots over 64 bytes), so no slot straddles a page. Changes reach the disk when
+ * the OS writes the pages back, and are only guaranteed durable after
+ * {@link #force()} or {@link #close()}. Not thread-safe.</p>
+ *
+ * Segment slot layout (little-endian):
+ * <pre>
+ *   0  int   state: 0 empty, -1 deleted, key length + 1 if occupied
+ *   8  long  64-bit hash of the key
+ *  16  long  value
+ *  24  ...   key bytes
+ * </pre>
+ */
+public class MappedHashIndex implements AutoCloseable {
+    /** Returned by get for an absent key */
+    public static final long NOT_FOUND = -1;
+
+    private static final int META_MAGIC = 0x4D484958; // "MHIX"
+    private static final int SEGMENT_MAGIC = 0x4D485347; // "MHSG"
+    private static final int VERSION = 2;
+    private static final int META_HEADER_BYTES = 48;
+    private static final int META_SEGMENT_BYTES = 24;
+    private static final int SEGMENT_HEADER_BYTES = 64;
+
+    private static final int STATE_OFFSET = 0;
+    private static final int HASH_OFFSET = 8;
+    private static final int VALUE_OFFSET = 16;
+    private static final int KEY_OFFSET = 24;
+    private static final int MAXIMUM_SLOT_BYTES = 4096;
+
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+
+    /** Default number of slots per segment file */
+    private static final int DEFAULT_SEGMENT_SLOTS = 1 << 16;
+    private static final int MINIMUM_SEGMENT_SLOTS = 16;
+    /** Largest bytes mapped for one segment's slots */
+    private static final int MAXIMUM_SEGMENT_BYTES = 1 << 30;
+    /** Largest number of hash bits the directory uses (a 4 MB directory) */
+    private static final int MAXIMUM_DEPTH = 20;
+    /** Threshold for splitting a segment (occupied and deleted slots / slots) */
+    private static final double LOAD_FACTOR_THRESHOLD = 0.7;
+
+    private static final long HASH_SEED = 0x9E3779B97F4A7C15L;
+    private static final long HASH_MULTIPLIER = 0xC6A4A7935BD1E995L;
+
+    private final Path directoryPath;
+    private final int maxKeyBytes;
+    private final int slotBytes;
+    private final int slotShift;
+    /** File offset of slot 0: the header, padded to a multiple of the slot size */
+    private final int slotsOffset;
+    private final int segmentSlots;
+    private final int threshold;
+
+    /** Segments in metadata order */
+    private final List<Segment> segments;
+    /** Segment of each value of the hash's top globalDepth bits */
+    private Segment[] directory;
+    private int globalDepth;
+    private long generation;
+    private long nextSegmentId;
+    private long size;
+    private boolean closed;
+
+    /** One segment file, mapped whole */
+    private static final class Segment {
+        final long id;
+        /** Number of hash bits shared by every key in the segment */
+        final int depth;
+        /** The value of those bits */
+        final int prefix;
+        final MappedByteBuffer buffer;
+        /** Occupied slots */
+        int live;
+        /** Occupied and deleted slots */
+        int used;
+
+        Segment(long id, int depth, int prefix, MappedByteBuffer buffer) {
+            this.id = id;
+            this.depth = depth;
+            this.prefix = prefix;
+            this.buffer = buffer;
+        }
+    }
+
+    /** The fields of a valid metadata file */
+    private static final class Meta {
+        long generation;
+        int maxKeyBytes;
+        int slotBytes;
+        int segmentSlots;
+        int globalDepth;
+        boolean clean;
+        long nextSegmentId;
+        long[] ids;
+        int[] depths;
+        int[] prefixes;
+        int[] live;
+        int[] used;
+    }
+
+    private MappedHashIndex(Path directoryPath, int maxKeyBytes, int slotBytes, int segmentSlots) {
+        this.directoryPath = directoryPath;
+        this.maxKeyBytes = maxKeyBytes;
+        this.slotBytes = slotBytes;
+        this.slotShift = Integer.numberOfTrailingZeros(slotBytes);
+        this.slotsOffset = Math.max(SEGMENT_HEADER_BYTES, slotBytes);
+        this.segmentSlots = segmentSlots;
+        this.threshold = Math.min(segmentSlots - 1, (int) Math.ceil(segmentSlots * LOAD_FACTOR_THRESHOLD));
+        this.segments = new ArrayList<>();
+    }
+
+    /**
+     * Create an empty index with the default segment size (65536 slots), replacing
+     * any index already in the directory
+     * @param directory The directory holding the index files, created if missing
+     * @param maxKeyBytes The longest key, in bytes
+     * @return The index
+     * @throws IOException if the files cannot be created or mapped
+     */
+    public static MappedHashIndex create(Path directory, int maxKeyBytes) throws IOException {
+        return create(directory, maxKeyBytes, DEFAULT_SEGMENT_SLOTS);
+    }
+
+    /**
+     * Create an empty index, replacing any index already in the directory
+     * @param directory The directory holding the index files, created if missing
+     * @param maxKeyBytes The longest key, in bytes (at most 4072)
+     * @param segmentSlots Slots per segment file, rounded up to a power of two
+     * @return The index
+     * @throws IllegalArgumentException if a size is out of range
+     * @throws IOException if the files cannot be created or mapped
+     */
+    public static MappedHashIndex create(Path directory, int maxKeyBytes, int segmentSlots) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (maxKeyBytes < 0 || maxKeyBytes > MAXIMUM_SLOT_BYTES - KEY_OFFSET) {
+            throw new IllegalArgumentException("Maximum key length must be between 0 and "
+                    + (MAXIMUM_SLOT_BYTES - KEY_OFFSET) + " bytes");
+        }
+        int slotBytes = Math.max(32, Integer.highestOneBit(KEY_OFFSET + maxKeyBytes - 1) << 1);
+        if (segmentSlots <= 0 || (long) segmentSlots * slotBytes > MAXIMUM_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Segment slots must be positive and at most "
+                    + (MAXIMUM_SEGMENT_BYTES / slotBytes) + " for this key length");
+        }
+        int slots = Math.max(MINIMUM_SEGMENT_SLOTS, Integer.highestOneBit(segmentSlots - 1) << 1);
+        Files.createDirectories(directory);
+        deleteIndexFiles(directory);
+
+        MappedHashIndex index = new MappedHashIndex(directory, maxKeyBytes, slotBytes, slots);
+        Segment first = index.createSegment(0, 0);
+        index.segments.add(first);
+        index.directory = new Segment[] {first};
+        index.writeMeta(false);
+        return index;
+    }
+
+    /**
+     * Reopen an existing index. Every segment's slot states are read to recount its
+     * entries. If the index was closed cleanly, the counts must match the metadata;
+     * if not, the scan also discards slots torn by the crash. A segment with no empty
+     * slot left is rejected, since probes for absent keys stop only at one.
+     * @param directory The directory holding the index files
+     * @return The index
+     * @throws IOException if no valid metadata is found or a segment file is missing or corrupt
+     */
+    public static MappedHashIndex open(Path directory) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        Meta meta = newer(readMeta(metaPath(directory, 0)), readMeta(metaPath(directory, 1)));
+        if (meta == null) {
+            throw new IOException("No valid MappedHashIndex metadata in " + directory);
+        }
+        MappedHashIndex index = new MappedHashIndex(directory, meta.maxKeyBytes, meta.slotBytes, meta.segmentSlots);
+        index.generation = meta.generation;
+        index.nextSegmentId = meta.nextSegmentId;
+        index.globalDepth = meta.globalDepth;
+        Set<Long> referenced = new HashSet<>();
+        try {
+            for (int i = 0; i < meta.ids.length; i++) {
+                Segment segment = index.mapSegment(meta.ids[i], meta.depths[i], meta.prefixes[i]);
+                index.segments.add(segment);
+                referenced.add(segment.id);
+                if (meta.clean) {
+                    index.count(segment);
+                    if (segment.live != meta.live[i] || segment.used != meta.used[i]) {
+                        throw new IOException("Corrupt MappedHashIndex segment: entry counts differ from metadata: "
+                                + segmentPath(directory, segment.id));
+                    }
+                } else {
+                    index.recover(segment);
+                }
+                if (segment.used >= index.segmentSlots) {
+                    throw new IOException("Corrupt MappedHashIndex segment: no empty slot: "
+                            + segmentPath(directory, segment.id));
+                }
+                index.size += segment.live;
+            }
+            index.buildDirectory();
+        } catch (IOException | RuntimeException e) {
+            index.unmapAll();
+            throw e;
+        }
+        deleteOrphans(directory, referenced);
+        index.writeMeta(false); // Open and dirty until closed
+        return index;
+    }
+
+    /**
+     * Insert or update a key-offset pair
+     * Time Complexity: O(1) average; a put that splits a segment copies that one segment
+     *
+     * @param key the key bytes
+     * @param value the offset, which cannot be negative
+     * @throws IllegalArgumentException if the key is null or too long, or the value is negative
+     * @throws IllegalStateException if the index is closed or has reached its maximum size
+     * @throws UncheckedIOException if a segment split cannot write its files
+     */
+    public void put(byte[] key, long value) {
+        checkKey(key);
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative");
+        }
+        ByteBuffer probe = wrap(key);
+        long hash = hash(probe, 0, key.length);
+        Segment segment = segmentFor(hash);
+        int index = findKeyIndex(segment, probe, key.length, hash);
+        if (index >= 0) {
+            segment.buffer.putLong(slotOffset(index) + VALUE_OFFSET, value);
+            return;
+        }
+
+        try {
+            while (segment.used >= threshold) {
+                grow(segment);
+                segment = segmentFor(hash);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow MappedHashIndex in " + directoryPath, e);
+        }
+
+        // The key is absent: take the first empty or deleted slot on its probe path
+        index = (int) hash & (segmentSlots - 1);
+        for (int probes = 0; segment.buffer.getInt(slotOffset(index)) > 0; probes++) {
+            if (probes == segmentSlots) {
+                throw new IllegalStateException("Corrupt MappedHashIndex segment: no free slot");
+            }
+            index = (index + 1) & (segmentSlots - 1);
+        }
+        int offset = slotOffset(index);
+        boolean wasEmpty = segment.buffer.getInt(offset + STATE_OFFSET) == EMPTY;
+        ByteBuffer target = segment.buffer.duplicate();
+        target.position(offset + KEY_OFFSET);
+        target.put(key);
+        segment.buffer.putLong(offset + HASH_OFFSET, hash);
+        segment.buffer.putLong(offset + VALUE_OFFSET, value);
+        segment.buffer.putInt(offset + STATE_OFFSET, key.length + 1); // Publishes the slot
+        if (wasEmpty) {
+            segment.used++;
+        }
+        segment.live++;
+        size++;
+    }
+
+    /**
+     * Get the offset mapped to a key
+     * Time Complexity: O(1) average
+     *
+     * @param key the key bytes
+     * @return the offset, or {@link #NOT_FOUND} if the key is absent
+     * @throws IllegalArgumentException if the key is null or too long
+     * @throws IllegalStateException if the index is closed
+     */
+    public long get(byte[] key) {
+        checkKey(key);
+        ByteBuffer probe = wrap(key);
+        long hash = hash(probe, 0, key.length);
+        Segment segment = segmentFor(hash);
+        int index = findKeyIndex(segment, probe, key.length, hash);
+        return index < 0 ? NOT_FOUND : segment.buffer.getLong(slotOffset(index) + VALUE_OFFSET);
+    }
+
+    /**
+     * Remove a key. The slot becomes a tombstone until its segment is rebuilt.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key bytes
+     * @throws IllegalArgumentException if the key is null or too long
+     * @throws IllegalStateException if the index is closed
+     */
+    public void remove(byte[] key) {
+        checkKey(key);
+        ByteBuffer probe = wrap(key);
+        long hash = hash(probe, 0, key.length);
+        Segment segment = segmentFor(hash);
+        int index = findKeyIndex(segment, probe, key.length, hash);
+        if (index >= 0) {
+            segment.buffer.putInt(slotOffset(index) + STATE_OFFSET, DELETED);
+            segment.live--;
+            size--;
+        }
+    }
+
+    /**
+     * Check if a key is present
+     * Time Complexity: O(1) average
+     *
+     * @param key the key bytes
+     * @return true if the key is present
+     */
+    public boolean containsKey(byte[] key) {
+        return get(key) != NOT_FOUND;
+    }
+
+    /**
+     * Get the number of keys
+     * @return the number of keys, which may exceed Integer.MAX_VALUE
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Check if the index is empty
+     * @return true if the index holds no keys
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the number of segment files
+     * @return the number of segments
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Perform an action for every key and offset, segment by segment. Each key is
+     * copied out of the mapping into a new array.
+     * Time Complexity: O(segments * slots per segment)
+     *
+     * @param action the action to perform
+     * @throws IllegalArgumentException if action is null
+     */
+    public void forEach(ObjLongConsumer<byte[]> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        ensureOpen();
+        for (Segment segment : segments) {
+            for (int i = 0; i < segmentSlots; i++) {
+                int offset = slotOffset(i);
+                int state = segment.buffer.getInt(offset + STATE_OFFSET);
+                if (state > 0) {
+                    byte[] key = new byte[state - 1];
+                    ByteBuffer source = segment.buffer.duplicate();
+                    source.position(offset + KEY_OFFSET);
+                    source.get(key);
+                    action.accept(key, segment.buffer.getLong(offset + VALUE_OFFSET));
+                }
+            }
+        }
+    }
+
+    /**
+     * Write all changes and the entry counts through to the storage device
+     * @throws IOException if the metadata cannot be written
+     */
+    public void force() throws IOException {
+        ensureOpen();
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+        writeMeta(false);
+    }
+
+    /**
+     * Force all changes, mark the index as cleanly closed and unmap its files
+     * @throws IOException if the metadata cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            for (Segment segment : segments) {
+                segment.buffer.force();
+            }
+            writeMeta(true);
+            closed = true;
+            unmapAll();
+        }
+    }
+
+    /**
+     * Get a summary of the index
+     * @return the directory, size and segment count
+     */
+    @Override
+    public String toString() {
+        return "MappedHashIndex[" + directoryPath + ", size=" + size + ", segments=" + segments.size() + "]";
+    }
+
+    // Private helper method to validate keys
+    private void checkKey(byte[] key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (key.length > maxKeyBytes) {
+            throw new IllegalArgumentException("Key of " + key.length + " bytes exceeds the maximum of " + maxKeyBytes);
+        }
+        ensureOpen();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Index is closed");
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return globalDepth == 0 ? directory[0] : directory[(int) (hash >>> (64 - globalDepth))];
+    }
+
+    private int slotOffset(int index) {
+        return slotsOffset + (index << slotShift);
+    }
+
+    /** Returns the slot holding the key, or -1. Stops after one lap of the segment. */
+    private int findKeyIndex(Segment segment, ByteBuffer key, int length, long hash) {
+        MappedByteBuffer buffer = segment.buffer;
+        int index = (int) hash & (segmentSlots - 1);
+        int state;
+        for (int probes = 0; probes < segmentSlots
+                && (state = buffer.getInt(slotOffset(index) + STATE_OFFSET)) != EMPTY; probes++) {
+            int offset = slotOffset(index);
+            if (state == length + 1 && buffer.getLong(offset + HASH_OFFSET) == hash
+                    && keyEquals(buffer, offset + KEY_OFFSET, key, length)) {
+                return index;
+            }
+            index = (index + 1) & (segmentSlots - 1);
+        }
+        return -1;
+    }
+
+    /** Compares key bytes in the mapping with the probe, eight bytes at a time. */
+    private static boolean keyEquals(ByteBuffer buffer, int offset, ByteBuffer key, int length) {
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            if (buffer.getLong(offset + i) != key.getLong(i)) {
+                return false;
+            }
+        }
+        for (; i < length; i++) {
+            if (buffer.get(offset + i) != key.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer wrap(byte[] key) {
+        return ByteBuffer.wrap(key).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 64-bit hash of a byte range: MurmurHash64A-style mixing of each 8-byte word,
+     * then the fmix64 finalizer so both the top bits (segment) and the low bits
+     * (slot) depend on every byte. The buffer must be little-endian.
+     */
+    private static long hash(ByteBuffer buffer, int offset, int length) {
+        long h = HASH_SEED ^ (length * HASH_MULTIPLIER);
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            h = (h ^ mixWord(buffer.getLong(offset + i))) * HASH_MULTIPLIER;
+        }
+        if (i < length) {
+            long tail = 0;
+            for (int shift = 0; i < length; i++, shift += 8) {
+                tail |= (buffer.get(offset + i) & 0xFFL) << shift;
+            }
+            h = (h ^ mixWord(tail)) * HASH_MULTIPLIER;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long mixWord(long word) {
+        word *= HASH_MULTIPLIER;
+        word ^= word >>> 47;
+        return word * HASH_MULTIPLIER;
+    }
+
+    /**
+     * Replaces a segment at the load factor: by two segments split on its next hash
+     * bit, or by a single rebuilt one if tombstones fill most of it.
+     */
+    private void grow(Segment full) throws IOException {
+        Segment[] replacements;
+        if (full.live <= threshold / 2) {
+            replacements = new Segment[] {createSegment(full.depth, full.prefix)};
+        } else {
+            if (full.depth == MAXIMUM_DEPTH) {
+                throw new IllegalStateException("MappedHashIndex is full: segments cannot split further");
+            }
+            if (full.depth == globalDepth) {
+                doubleDirectory();
+            }
+            replacements = new Segment[] {createSegment(full.depth + 1, full.prefix << 1),
+                    createSegment(full.depth + 1, (full.prefix << 1) | 1)};
+        }
+
+        int splitShift = 63 - full.depth;
+        for (int i = 0; i < segmentSlots; i++) {
+            int offset = slotOffset(i);
+            if (full.buffer.getInt(offset + STATE_OFFSET) > 0) {
+                long hash = full.buffer.getLong(offset + HASH_OFFSET);
+                copySlot(full, offset, replacements[replacements.length == 1 ? 0 : (int) (hash >>> splitShift) & 1], hash);
+            }
+        }
+        // The new files must be complete on disk before any metadata names them
+        for (Segment replacement : replacements) {
+            replacement.buffer.force();
+        }
+        int bitShift = globalDepth - full.depth - 1;
+        for (int i = 0; i < directory.length; i++) {
+            if (directory[i] == full) {
+                directory[i] = replacements[replacements.length == 1 ? 0 : (i >>> bitShift) & 1];
+            }
+        }
+        segments.remove(full);
+        for (Segment replacement : replacements) {
+            segments.add(replacement);
+        }
+        writeMeta(false);
+        DirectBuffers.release(full.buffer);
+        Files.deleteIfExists(segmentPath(directoryPath, full.id));
+    }
+
+    /**
+     * Points every directory entry at the segment whose prefix it starts with,
+     * checking that the segments cover each entry exactly once.
+     */
+    private void buildDirectory() throws IOException {
+        directory = new Segment[1 << globalDepth];
+        for (Segment segment : segments) {
+            int start = segment.prefix << (globalDepth - segment.depth);
+            int end = (segment.prefix + 1) << (globalDepth - segment.depth);
+            for (int i = start; i < end; i++) {
+                if (directory[i] != null) {
+                    throw new IOException("Corrupt MappedHashIndex metadata: overlapping segments");
+                }
+                directory[i] = segment;
+            }
+        }
+        for (Segment segment : directory) {
+            if (segment == null) {
+                throw new IOException("Corrupt MappedHashIndex metadata: hash prefixes not covered");
+            }
+        }
+    }
+
+    private void doubleDirectory() {
+        Segment[] doubled = new Segment[directory.length * 2];
+        for (int i = 0; i < doubled.length; i++) {
+            doubled[i] = directory[i >>> 1];
+        }
+        directory = doubled;
+        globalDepth++;
+    }
+
+    /** Copies an occupied slot's bytes into the first empty slot on its probe path in the target. */
+    private void copySlot(Segment source, int offset, Segment target, long hash) {
+        int index = (int) hash & (segmentSlots - 1);
+        while (target.buffer.getInt(slotOffset(index) + STATE_OFFSET) != EMPTY) {
+            index = (index + 1) & (segmentSlots - 1);
+        }
+        int length = source.buffer.getInt(offset + STATE_OFFSET) - 1;
+        ByteBuffer from = source.buffer.duplicate();
+        from.limit(offset + KEY_OFFSET + length).position(offset);
+        ByteBuffer to = target.buffer.duplicate();
+        to.position(slotOffset(index));
+        to.put(from);
+        target.live++;
+        target.used++;
+    }
+
+    /** Recounts a segment's occupied and deleted slots from their state words. */
+    private void count(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        segment.live = 0;
+        segment.used = 0;
+        for (int i = 0; i < segmentSlots; i++) {
+            int state = buffer.getInt(slotOffset(i) + STATE_OFFSET);
+            if (state != EMPTY) {
+                segment.used++;
+                if (state > 0) {
+                    segment.live++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans a segment after an unclean shutdown. An occupied slot whose stored hash
+     * does not match its key was being written when the process stopped, and is
+     * turned into a tombstone.
+     */
+    private void recover(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        segment.live = 0;
+        segment.used = 0;
+        for (int i = 0; i < segmentSlots; i++) {
+            int offset = slotOffset(i);
+            int state = buffer.getInt(offset + STATE_OFFSET);
+            if (state == EMPTY) {
+                continue;
+            }
+            if (state > 0 && (state - 1 > maxKeyBytes
+                    || hash(buffer, offset + KEY_OFFSET, state - 1) != buffer.getLong(offset + HASH_OFFSET))) {
+                buffer.putInt(offset + STATE_OFFSET, DELETED);
+                state = DELETED;
+            } else if (state < 0 && state != DELETED) {
+                buffer.putInt(offset + STATE_OFFSET, DELETED);
+                state = DELETED;
+            }
+            segment.used++;
+            if (state > 0) {
+                segment.live++;
+            }
+        }
+    }
+
+    private Segment createSegment(int depth, int prefix) throws IOException {
+        long id = nextSegmentId++;
+        try (FileChannel channel = FileChannel.open(segmentPath(directoryPath, id), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long length = slotsOffset + (long) segmentSlots * slotBytes;
+            channel.write(ByteBuffer.allocate(1), length - 1); // Extend the (sparse) file to full length
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, SEGMENT_MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, slotBytes);
+            buffer.putInt(12, segmentSlots);
+            buffer.putLong(16, id);
+            return new Segment(id, depth, prefix, buffer);
+        }
+    }
+
+    private Segment mapSegment(long id, int depth, int prefix) throws IOException {
+        Path path = segmentPath(directoryPath, id);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long length = slotsOffset + (long) segmentSlots * slotBytes;
+            if (channel.size() < length) {
+                throw new IOException("Truncated MappedHashIndex segment: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != SEGMENT_MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != slotBytes
+                    || buffer.getInt(12) != segmentSlots || buffer.getLong(16) != id) {
+                DirectBuffers.release(buffer);
+                throw new IOException("Corrupt MappedHashIndex segment header: " + path);
+            }
+            return new Segment(id, depth, prefix, buffer);
+        }
+    }
+
+    /**
+     * Writes the next generation of metadata into the file the current one is not in,
+     * and forces it, so a crash mid-write leaves the previous generation readable.
+     * Layout (little-endian): the header fields below, then id, depth, hash prefix,
+     * live and used for each segment, then a CRC32C of everything before it. The
+     * directory is not stored: open rebuilds it from the prefixes.
+     */
+    private void writeMeta(boolean clean) throws IOException {
+        generation++;
+        int bytes = META_HEADER_BYTES + segments.size() * META_SEGMENT_BYTES + Integer.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(META_MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(generation);
+        buffer.putInt(maxKeyBytes);
+        buffer.putInt(slotBytes);
+        buffer.putInt(segmentSlots);
+        buffer.putInt(globalDepth);
+        buffer.putInt(clean ? 1 : 0);
+        buffer.putInt(segments.size());
+        buffer.putLong(nextSegmentId);
+        for (Segment segment : segments) {
+            buffer.putLong(segment.id);
+            buffer.putInt(segment.depth);
+            buffer.putInt(segment.prefix);
+            buffer.putInt(segment.live);
+            buffer.putInt(segment.used);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, bytes - Integer.BYTES);
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(metaPath(directoryPath, (int) (generation & 1)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Reads a metadata file, returning null if it is missing, torn or otherwise
+     * fails its checksum or bounds checks.
+     */
+    private static Meta readMeta(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        int bytes = buffer.capacity();
+        if (bytes < META_HEADER_BYTES + Integer.BYTES || buffer.getInt(0) != META_MAGIC) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, bytes - Integer.BYTES);
+        if ((int) crc.getValue() != buffer.getInt(bytes - Integer.BYTES)) {
+            return null;
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported MappedHashIndex version " + buffer.getInt(4) + ": " + path);
+        }
+
+        Meta meta = new Meta();
+        buffer.position(8);
+        meta.generation = buffer.getLong();
+        meta.maxKeyBytes = buffer.getInt();
+        meta.slotBytes = buffer.getInt();
+        meta.segmentSlots = buffer.getInt();
+        meta.globalDepth = buffer.getInt();
+        meta.clean = buffer.getInt() == 1;
+        int segmentCount = buffer.getInt();
+        meta.nextSegmentId = buffer.getLong();
+        if (meta.maxKeyBytes < 0 || meta.maxKeyBytes > meta.slotBytes - KEY_OFFSET
+                || meta.slotBytes > MAXIMUM_SLOT_BYTES || Integer.bitCount(meta.slotBytes) != 1
+                || meta.segmentSlots < MINIMUM_SEGMENT_SLOTS || Integer.bitCount(meta.segmentSlots) != 1
+                || (long) meta.segmentSlots * meta.slotBytes > MAXIMUM_SEGMENT_BYTES
+                || meta.globalDepth < 0 || meta.globalDepth > MAXIMUM_DEPTH || segmentCount <= 0
+                || bytes != META_HEADER_BYTES + (long) segmentCount * META_SEGMENT_BYTES + Integer.BYTES) {
+            throw new IOException("Corrupt MappedHashIndex metadata: " + path);
+        }
+        meta.ids = new long[segmentCount];
+        meta.depths = new int[segmentCount];
+        meta.prefixes = new int[segmentCount];
+        meta.live = new int[segmentCount];
+        meta.used = new int[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            meta.ids[i] = buffer.getLong();
+            meta.depths[i] = buffer.getInt();
+            meta.prefixes[i] = buffer.getInt();
+            meta.live[i] = buffer.getInt();
+            meta.used[i] = buffer.getInt();
+            if (meta.depths[i] < 0 || meta.depths[i] > meta.globalDepth
+                    || meta.prefixes[i] < 0 || meta.prefixes[i] >= 1 << meta.depths[i]) {
+                throw new IOException("Corrupt MappedHashIndex metadata: " + path);
+            }
+        }
+        return meta;
+    }
+
+    private static Meta newer(Meta a, Meta b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.generation > b.generation ? a : b;
+    }
+
+    /** Deletes segment files left behind by a split that never reached the metadata. */
+    private static void deleteOrphans(Path directory, Set<Long> referenced) throws IOException {
+        List<Path> orphans = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "segment-*.dat")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    long id = Long.parseLong(name.substring("segment-".length(), name.length() - ".dat".length()));
+                    if (!referenced.contains(id)) {
+                        orphans.add(file);
+                    }
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        for (Path orphan : orphans) {
+            Files.deleteIfExists(orphan);
+        }
+    }
+
+    private static void deleteIndexFiles(Path directory) throws IOException {
+        deleteOrphans(directory, new HashSet<>());
+        Files.deleteIfExists(metaPath(directory, 0));
+        Files.deleteIfExists(metaPath(directory, 1));
+    }
+
+    private static Path metaPath(Path directory, int copy) {
+        return directory.resolve("index-" + copy + ".meta");
+    }
+
+    private static Path segmentPath(Path directory, long id) {
+        return directory.resolve("segment-" + id + ".dat");
+    }
+
+    private void unmapAll() {
+        for (Segment segment : segments) {
+            DirectBuffers.release(segment.buffer);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package data_structures.hash_tables.LinearProbingHashTable;
+
+import data_structures.hash_tables.PrimitiveHashing;
+
+/**
+ * A linear probing hash table that uses Robin Hood insertion and backward-shift
+ * deletion.
+ *
+ * <p>Every slot records its displacement: how far the key stored there sits from
+ * its home slot. On insertion, a key that has probed further than the resident of
+ * a slot takes that slot, and the resident continues probing in its place
+ * ("take from the rich, give to the poor"). This keeps displacements small and
+ * nearly uniform, even at high load factors.</p>
+ *
+ * <p>Because keys are ordered by displacement along every cluster, a lookup can
+ * stop as soon as it reaches a slot whose displacement is smaller than its own
+ * probe distance: the key would have been placed there. Removal shifts the
+ * following entries of the cluster back by one slot instead of leaving a
+ * tombstone, so the table never degrades under put/remove churn and there is
+ * nothing to purge on resize.</p>
+ *
+ * <p>Keys, values and displacements are held in parallel arrays, and the table
+ * resizes when the load factor exceeds 0.875.</p>
+ *
+ * @param <K> the type of keys maintained by this hash table
+ * @param <V> the type of mapped values
+ */
+public class RobinHoodHashTable<K, V> {
+    /** Default initial capacity of the hash table */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Largest power-of-two capacity an int-indexed array can have */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** Threshold for resizing the hash table (size/capacity) */
+    private static final double LOAD_FACTOR_THRESHOLD = 0.875;
+
+    /** Keys by slot */
+    private Object[] keys;
+
+    /** Values by slot */
+    private Object[] values;
+
+    /** Displacement of each slot's key from its home slot, plus one; 0 marks an empty slot */
+    private int[] distances;
+
+    /** The number of key-value mappings in the hash table */
+    private int size;
+
+    /** capacity - 1, used to wrap indices without a division */
+    private int mask;
+
+    /**
+     * Constructs an empty hash table with the default initial capacity (16).
+     */
+    public RobinHoodHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty hash table with the specified initial capacity.
+     * The capacity is rounded up to the next power of two.
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     * @throws IllegalArgumentException if the initial capacity is non-positive
+     */
+    public RobinHoodHashTable(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        int capacity = initialCapacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY
+                : initialCapacity <= 1 ? 1 : Integer.highestOneBit(initialCapacity - 1) << 1;
+        allocate(capacity);
+        this.size = 0;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this hash table.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @throws IllegalArgumentException if the key is null
+     */
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int index = hash(key);
+        int distance = 1;
+
+        // Look for the key; it cannot lie beyond the first slot whose resident is closer to home
+        while (distances[index] >= distance) {
+            if (distances[index] == distance && keys[index].equals(key)) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+
+        // New key: grow first if needed (which moves every slot), then insert
+        if ((double) (size + 1) / keys.length > LOAD_FACTOR_THRESHOLD) {
+            resize();
+            insertNew(key, value);
+        } else {
+            insertAt(index, distance, key, value);
+        }
+        size++;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this hash table
+     * contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if no mapping exists
+     * @throws IllegalArgumentException if the key is null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int index = findKeyIndex(key);
+        return index == -1 ? null : (V) values[index];
+    }
+
+    /**
+     * Removes the mapping for the specified key from this hash table if present.
+     *
+     * @param key the key whose mapping is to be removed from the hash table
+     * @throws IllegalArgumentException if the key is null
+     */
+    public void remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int index = findKeyIndex(key);
+        if (index == -1) {
+            return;
+        }
+
+        // Backward-shift deletion: pull each displaced successor one slot closer
+        // to home until reaching an empty slot or a key already in its home slot
+        int next = (index + 1) & mask;
+        while (distances[next] > 1) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            distances[index] = distances[next] - 1;
+            index = next;
+            next = (next + 1) & mask;
+        }
+        keys[index] = null;
+        values[index] = null;
+        distances[index] = 0;
+        size--;
+    }
+
+    /**
+     * Returns true if this hash table contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this hash table is to be tested
+     * @return true if this hash table contains a mapping for the specified key
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this hash table.
+     *
+     * @return the number of key-value mappings in this hash table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this hash table contains no key-value mappings.
+     *
+     * @return true if this hash table contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the average number of slots a successful lookup examines
+     * (1.0 means every key sits in its home slot). Intended for diagnostics
+     * and benchmarks; it walks the whole table.
+     *
+     * @return the mean probe length over all keys, or 0 if the table is empty
+     */
+    public double averageProbeLength() {
+        if (size == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int distance : distances) {
+            total += distance;
+        }
+        return (double) total / size;
+    }
+
+    /**
+     * Returns the longest probe sequence of any key in the table. This bounds
+     * both successful and unsuccessful lookups.
+     *
+     * @return the maximum probe length, or 0 if the table is empty
+     */
+    public int maxProbeLength() {
+        int max = 0;
+        for (int distance : distances) {
+            max = Math.max(max, distance);
+        }
+        return max;
+    }
+
+    /**
+     * Computes the home slot for the specified key.
+     *
+     * @param key the key to hash
+     * @return the computed hash index (always in [0, capacity))
+     */
+    private int hash(Object key) {
+        return PrimitiveHashing.mix(key.hashCode()) & mask;
+    }
+
+    /**
+     * Finds the index of the specified key, stopping early once the probe distance
+     * exceeds the displacement of the slot being examined.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or -1 if not found
+     */
+    private int findKeyIndex(K key) {
+        int index = hash(key);
+        for (int distance = 1; distances[index] >= distance; distance++) {
+            if (distances[index] == distance && keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts a key known to be absent, probing from its home slot.
+     */
+    private void insertNew(Object key, Object value) {
+        int index = hash(key);
+        int distance = 1;
+        while (distances[index] >= distance) {
+            index = (index + 1) & mask;
+            distance++;
+        }
+        insertAt(index, distance, key, value);
+    }
+
+    /**
+     * Places an entry at the first slot whose resident is closer to home (or empty),
+     * then carries each displaced resident forward until an empty slot absorbs it.
+     *
+     * @param index the slot to start at
+     * @param distance the entry's probe distance at that slot, plus one
+     */
+    private void insertAt(int index, int distance, Object key, Object value) {
+        while (distances[index] != 0) {
+            if (distances[index] < distance) {
+                // Swap with the richer resident and keep probing for it
+                Object residentKey = keys[index];
+                Object residentValue = values[index];
+                int residentDistance = distances[index];
+                keys[index] = key;
+                values[index] = value;
+                distances[index] = distance;
+                key = residentKey;
+                value = residentValue;
+                distance = residentDistance;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        keys[index] = key;
+        values[index] = value;
+        distances[index] = distance;
+    }
+
+    /**
+     * Allocates empty slot arrays of the given capacity.
+     */
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        distances = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Doubles the capacity and reinserts every entry. Nothing needs purging,
+     * since removal never leaves tombstones.
+     */
+    private void resize() {
+        if (keys.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Hash table cannot grow beyond " + MAXIMUM_CAPACITY + " slots");
+        }
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldDistances = distances;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldDistances[i] != 0) {
+                insertNew(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a string representation of this hash table.
+     *
+     * @return a string representation of the hash table contents
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        boolean first = true;
+        for (int i = 0; i < keys.length; i++) {
+            if (distances[i] != 0) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(keys[i]).append("=").append(values[i]);
+                first = false;
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+}
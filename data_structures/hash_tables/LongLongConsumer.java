@@ -0,0 +1,15 @@
+package data_structures.hash_tables;
+
+/**
+ * Receives a long key and its long value, without boxing either.
+ */
+@FunctionalInterface
+public interface LongLongConsumer {
+    /**
+     * Performs this operation on one mapping.
+     *
+     * @param key the key
+     * @param value the value mapped to the key
+     */
+    void accept(long key, long value);
+}
@@ -0,0 +1,135 @@
+package data_structures.hash_tables;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only view of a {@link IntIntMap} snapshot, probed in place through a memory
+ * mapping.
+ *
+ * <p>Opening a view maps the file, checks the header and reads the key array once
+ * to check that every key can be found, so a corrupt file raises an IOException
+ * rather than sending a lookup into an endless probe. After that the OS pages
+ * slots in as lookups touch them, and several processes mapping the same file
+ * share one copy in the page cache. A lookup follows the same hash function and
+ * probe sequence as {@link IntIntMap}, reading keys and values straight from the
+ * mapped slot arrays; the probing is shared with {@link MappedLongLongMap} in MappedSlots.</p>
+ *
+ * <p>The mapping is released when the view is garbage collected. Regions larger
+ * than 2 GB are mapped as several 1 GB segments.</p>
+ */
+public final class MappedIntIntMap {
+    private final MappedSlots slots;
+
+    private MappedIntIntMap(MappedSlots slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * Maps a file that holds a snapshot at its start.
+     * Time Complexity: O(capacity), for the check of the keys
+     *
+     * @param path the snapshot file
+     * @return the view
+     * @throws IOException if the file cannot be mapped or is not a valid IntIntMap snapshot
+     */
+    public static MappedIntIntMap open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return map(channel, 0);
+        }
+    }
+
+    /**
+     * Maps a snapshot that starts at the given position of a channel. The view stays
+     * valid after the channel is closed.
+     * Time Complexity: O(capacity), for the check of the keys
+     *
+     * @param channel the channel to map
+     * @param position the offset of the snapshot's header
+     * @return the view
+     * @throws IOException if the region cannot be mapped or is not a valid IntIntMap snapshot
+     * @throws IllegalArgumentException if channel is null
+     */
+    public static MappedIntIntMap map(FileChannel channel, long position) throws IOException {
+        return new MappedIntIntMap(MappedSlots.map(channel, position, IntIntMap.SNAPSHOT_MAGIC, "IntIntMap", Integer.BYTES));
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or 0 if there is none.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key
+     * @return the mapped value, or 0
+     */
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Returns the value mapped to the specified key, or defaultValue if there is none.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key
+     * @param defaultValue the value to return for an absent key
+     * @return the mapped value, or defaultValue
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) {
+            return slots.hasZeroKey() ? (int) slots.zeroValue() : defaultValue;
+        }
+        int index = slots.find(key);
+        return index == -1 ? defaultValue : (int) slots.valueAt(index);
+    }
+
+    /**
+     * Returns true if the snapshot contains a mapping for the specified key.
+     * Time Complexity: O(1) average
+     *
+     * @param key the key
+     * @return true if the key is present
+     */
+    public boolean containsKey(int key) {
+        return key == 0 ? slots.hasZeroKey() : slots.find(key) != -1;
+    }
+
+    /**
+     * Performs the action for every mapping, in slot order.
+     * Time Complexity: O(capacity)
+     *
+     * @param action the action to perform
+     * @throws IllegalArgumentException if action is null
+     */
+    public void forEach(IntIntConsumer action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        slots.forEach((key, value) -> action.accept((int) key, (int) value));
+    }
+
+    /**
+     * Returns the number of mappings.
+     * Time Complexity: O(1)
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Returns true if the snapshot contains no mappings.
+     * Time Complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return slots.size() == 0;
+    }
+
+    /**
+     * Returns a string representation of the mappings.
+     * Time Complexity: O(capacity)
+     */
+    @Override
+    public String toString() {
+        return slots.toString();
+    }
+}
@@ -0,0 +1,191 @@
+package data_structures.hash_tables;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * The mapped key and value slot arrays of an {@link IntIntMap} or {@link LongLongMap}
+ * snapshot, and the probing that {@link MappedIntIntMap} and {@link MappedLongLongMap}
+ * share. Keys and values are widened to long, so one copy of the code serves both
+ * slot widths.
+ *
+ * <p>Opening a snapshot checks it before any lookup trusts it: the header must be
+ * valid, the file long enough, and every stored key reachable from its home slot
+ * without crossing an empty one, with exactly as many keys as the header counts.
+ * That scan reads the key array once. A probe still stops after visiting every
+ * slot, so even a file changed after it was opened cannot make a lookup loop
+ * forever.</p>
+ */
+final class MappedSlots {
+    /** The key marking an empty slot */
+    private static final long EMPTY = 0;
+
+    private final MappedByteBuffer[] keys;
+    private final MappedByteBuffer[] values;
+    /** log2 of the bytes per slot: 2 for int slots, 3 for long slots */
+    private final int widthShift;
+    /** log2 of the slots per mapped segment */
+    private final int segmentShift;
+    private final int segmentMask;
+    private final int mask;
+    private final int size;
+    private final boolean hasZeroKey;
+    private final long zeroValue;
+
+    private MappedSlots(MappedByteBuffer[] keys, MappedByteBuffer[] values, int widthShift, Snapshots.Header header) {
+        this.keys = keys;
+        this.values = values;
+        this.widthShift = widthShift;
+        this.segmentShift = PrimitiveSnapshots.SEGMENT_BYTES_SHIFT - widthShift;
+        this.segmentMask = (1 << segmentShift) - 1;
+        this.mask = header.capacity - 1;
+        this.size = header.size;
+        this.hasZeroKey = header.hasZeroKey;
+        this.zeroValue = header.zeroValue;
+    }
+
+    /**
+     * Maps and checks a snapshot that starts at the given position of a channel.
+     *
+     * @param channel the channel to map
+     * @param position the offset of the snapshot's header
+     * @param magic the map type's magic number
+     * @param type the map type, for error messages
+     * @param slotBytes 4 for int slots, 8 for long slots
+     * @return the mapped slots
+     * @throws IOException if the region cannot be mapped or is not a valid snapshot of this type
+     */
+    static MappedSlots map(FileChannel channel, long position, int magic, String type, int slotBytes)
+            throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        if (position < 0 || channel.size() - position < Snapshots.HEADER_BYTES) {
+            throw new IOException("Truncated " + type + " snapshot");
+        }
+        ByteBuffer headerBytes = channel.map(FileChannel.MapMode.READ_ONLY, position, Snapshots.HEADER_BYTES);
+        Snapshots.Header header = Snapshots.decodeHeader(headerBytes, magic, type);
+        if (header.capacity == 0) {
+            throw new IOException("Corrupt " + type + " snapshot header");
+        }
+        long region = (long) header.capacity * slotBytes;
+        long keysStart = position + Snapshots.HEADER_BYTES;
+        if (channel.size() - keysStart < 2 * region) {
+            throw new IOException("Truncated " + type + " snapshot");
+        }
+        MappedSlots slots = new MappedSlots(PrimitiveSnapshots.map(channel, keysStart, region),
+                PrimitiveSnapshots.map(channel, keysStart + region, region),
+                Integer.numberOfTrailingZeros(slotBytes), header);
+        if (!slots.probesAreValid()) {
+            throw new IOException("Corrupt " + type + " snapshot: the slots do not match the header");
+        }
+        return slots;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean hasZeroKey() {
+        return hasZeroKey;
+    }
+
+    long zeroValue() {
+        return zeroValue;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /** Returns the slot holding a non-zero key, or -1. */
+    int find(long key) {
+        int index = home(key);
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = keyAt(index);
+            if (current == key) {
+                return index;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    long keyAt(int index) {
+        MappedByteBuffer segment = keys[index >>> segmentShift];
+        int offset = (index & segmentMask) << widthShift;
+        return widthShift == 2 ? segment.getInt(offset) : segment.getLong(offset);
+    }
+
+    long valueAt(int index) {
+        MappedByteBuffer segment = values[index >>> segmentShift];
+        int offset = (index & segmentMask) << widthShift;
+        return widthShift == 2 ? segment.getInt(offset) : segment.getLong(offset);
+    }
+
+    /** Performs the action for every mapping, the key 0 first, then in slot order. */
+    void forEach(LongLongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i <= mask; i++) {
+            long key = keyAt(i);
+            if (key != EMPTY) {
+                action.accept(key, valueAt(i));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append("=").append(value);
+        });
+        return sb.append("}").toString();
+    }
+
+    // The same hash as the map that wrote the slots
+    private int home(long key) {
+        return (widthShift == 2 ? PrimitiveHashing.mix((int) key) : PrimitiveHashing.mix(key)) & mask;
+    }
+
+    /**
+     * Checks that the number of stored keys matches the header and that every key
+     * sits in the run of occupied slots that starts at or before its home slot, so
+     * a lookup finds it. The walk starts after an empty slot, which the header
+     * check guarantees exists.
+     */
+    private boolean probesAreValid() {
+        int start = 0;
+        while (keyAt(start) != EMPTY) {
+            if (++start > mask) {
+                return false;
+            }
+        }
+        int occupied = 0;
+        int runLength = 0; // Occupied slots since the last empty one
+        for (int step = 1; step <= mask + 1; step++) {
+            int index = (start + step) & mask;
+            long key = keyAt(index);
+            if (key == EMPTY) {
+                runLength = 0;
+                continue;
+            }
+            if (((index - home(key)) & mask) > runLength) {
+                return false;
+            }
+            runLength++;
+            occupied++;
+        }
+        return occupied == (hasZeroKey ? size - 1 : size);
+    }
+}
@@ -0,0 +1,103 @@
+package data_structures.hash_tables;
+
+/**
+ * An approximate set: {@link #mightContain} never answers false for an item that
+ * was added, but may answer true for one that was not, with a probability close to
+ * the false-positive rate the filter was sized for. Put in front of a hash table, a
+ * filter answers most lookups of absent keys without probing the table.
+ *
+ * <p>Items are identified by their {@code hashCode}, so the table and the filter
+ * agree on which keys are equal as long as equal keys have equal hash codes. The
+ * {@code ...Hash} methods take that hash code already mixed with
+ * {@link PrimitiveHashing#mix(int)}, the hash {@code LinearProbingHashTable} keeps,
+ * so a caller that has hashed a key once can pass the hash on instead of having
+ * the filter hash the key again.</p>
+ *
+ * @param <T> the type of items
+ */
+public interface MembershipFilter<T> {
+    /**
+     * Adds an item.
+     * @param item the item
+     * @return true if it was added; false if the filter is too full to take it
+     * @throws IllegalArgumentException if item is null
+     */
+    default boolean add(T item) {
+        return addHash(hash(item));
+    }
+
+    /**
+     * Adds an item by its mixed hash.
+     * @param hash {@code PrimitiveHashing.mix(item.hashCode())}
+     * @return true if it was added; false if the filter is too full to take it
+     */
+    boolean addHash(int hash);
+
+    /**
+     * Tests whether an item may have been added.
+     * @param item the item
+     * @return false if the item was definitely not added
+     * @throws IllegalArgumentException if item is null
+     */
+    default boolean mightContain(T item) {
+        return mightContainHash(hash(item));
+    }
+
+    /**
+     * Tests whether an item with this mixed hash may have been added.
+     * @param hash {@code PrimitiveHashing.mix(item.hashCode())}
+     * @return false if the item was definitely not added
+     */
+    boolean mightContainHash(int hash);
+
+    /**
+     * Removes one earlier addition of an item. Removing an item that was never
+     * added can remove another item that shares its fingerprint.
+     * @param item the item
+     * @return true if a matching entry was removed
+     * @throws IllegalArgumentException if item is null
+     * @throws UnsupportedOperationException if the filter does not support removal
+     */
+    default boolean remove(T item) {
+        return removeHash(hash(item));
+    }
+
+    /**
+     * Removes one earlier addition of an item by its mixed hash.
+     * @param hash {@code PrimitiveHashing.mix(item.hashCode())}
+     * @return true if a matching entry was removed
+     * @throws UnsupportedOperationException if the filter does not support removal
+     */
+    default boolean removeHash(int hash) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support removal");
+    }
+
+    /**
+     * @return true if {@link #remove} is supported
+     */
+    default boolean supportsRemoval() {
+        return false;
+    }
+
+    /**
+     * @return the number of items added (and not removed)
+     */
+    int size();
+
+    /**
+     * @return the number of items the filter was sized for
+     */
+    int capacity();
+
+    /**
+     * Removes every item.
+     */
+    void clear();
+
+    private static int hash(Object item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        return PrimitiveHashing.mix(item.hashCode());
+    }
+}
@@ -0,0 +1,88 @@
+package data_structures.hash_tables;
+
+/**
+ * Hashing and sizing helpers shared by the hash tables, the primitive-key maps and
+ * the membership filters.
+ */
+public final class PrimitiveHashing {
+    /** Largest power-of-two capacity an int-indexed array can have */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private PrimitiveHashing() {
+    }
+
+    /**
+     * MurmurHash3 fmix32: a cheap bijective mixer with full avalanche. It spreads
+     * every bit of a key or hash code into the low bits kept by a power-of-two mask,
+     * so sequential or strided keys do not cluster. Masking (rather than Math.abs
+     * and %) also makes the index non-negative for every hash code, including
+     * Integer.MIN_VALUE.
+     *
+     * @param key the key or hash code
+     * @return the mixed hash
+     */
+    public static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * MurmurHash3 fmix64, folded to 32 bits.
+     *
+     * @param key the key
+     * @return the mixed hash
+     */
+    static int mix(long key) {
+        return (int) mix64(key);
+    }
+
+    /**
+     * MurmurHash3 fmix64: every output bit depends on every input bit, so the
+     * low bits kept by a mask are as well mixed as the rest.
+     *
+     * @param key the key
+     * @return the mixed 64-bit hash
+     */
+    static long mix64(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Returns the smallest power of two that is at least the requested capacity.
+     *
+     * @param requested the requested capacity
+     * @return the table capacity to use
+     * @throws IllegalArgumentException if the requested capacity is non-positive
+     */
+    static int tableSizeFor(int requested) {
+        if (requested <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (requested >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+    }
+
+    /**
+     * Returns the number of occupied slots at which a table of the given capacity grows.
+     *
+     * @param capacity the table capacity
+     * @param loadFactor the maximum load factor
+     * @return the resize threshold (always less than the capacity)
+     */
+    static int threshold(int capacity, double loadFactor) {
+        return Math.min(capacity - 1, (int) Math.ceil(capacity * loadFactor));
+    }
+}
@@ -0,0 +1,118 @@
+package data_structures.hash_tables;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * The snapshot format of the primitive-key maps, shared by their writeTo and
+ * readFrom methods and by the memory-mapped views.
+ *
+ * <p>The slot arrays are written verbatim, so restoring a map is a bulk copy
+ * into arrays of the same capacity and a view can probe the file in place, with
+ * the same hash function and probe sequence as the map that wrote it.</p>
+ *
+ * <p>Layout: the {@link Snapshots} header, with the capacity, the key 0 and
+ * (IntObjectMap) the NULLABLE_VALUES flag filled in, then keys[capacity] and
+ * values[capacity] (primitive values only) from byte 64, big-endian like the
+ * header.</p>
+ * IntObjectMap follows its keys with the values of the key 0 and then of every
+ * occupied slot in slot order, written through {@link Snapshots#writer} and a
+ * {@link Codec}.
+ */
+final class PrimitiveSnapshots {
+    /** Bytes copied per channel read or write */
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    /** log2 of the bytes mapped per segment (1 GB) */
+    static final int SEGMENT_BYTES_SHIFT = 30;
+
+    private PrimitiveSnapshots() {
+    }
+
+    static void writeHeader(FileChannel channel, int magic, Snapshots.Header header) throws IOException {
+        writeFully(channel, Snapshots.encodeHeader(magic, header));
+    }
+
+    static Snapshots.Header readHeader(FileChannel channel, int magic, String type) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Snapshots.HEADER_BYTES);
+        readFully(channel, buffer, type);
+        return Snapshots.decodeHeader(buffer, magic, type);
+    }
+
+    static void writeInts(FileChannel channel, int[] array) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+        for (int offset = 0; offset < array.length; ) {
+            int count = Math.min(array.length - offset, CHUNK_BYTES / Integer.BYTES);
+            buffer.clear();
+            buffer.asIntBuffer().put(array, offset, count);
+            buffer.limit(count * Integer.BYTES);
+            writeFully(channel, buffer);
+            offset += count;
+        }
+    }
+
+    static void readInts(FileChannel channel, int[] array, String type) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+        for (int offset = 0; offset < array.length; ) {
+            int count = Math.min(array.length - offset, CHUNK_BYTES / Integer.BYTES);
+            buffer.clear().limit(count * Integer.BYTES);
+            readFully(channel, buffer, type);
+            buffer.asIntBuffer().get(array, offset, count);
+            offset += count;
+        }
+    }
+
+    static void writeLongs(FileChannel channel, long[] array) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+        for (int offset = 0; offset < array.length; ) {
+            int count = Math.min(array.length - offset, CHUNK_BYTES / Long.BYTES);
+            buffer.clear();
+            buffer.asLongBuffer().put(array, offset, count);
+            buffer.limit(count * Long.BYTES);
+            writeFully(channel, buffer);
+            offset += count;
+        }
+    }
+
+    static void readLongs(FileChannel channel, long[] array, String type) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+        for (int offset = 0; offset < array.length; ) {
+            int count = Math.min(array.length - offset, CHUNK_BYTES / Long.BYTES);
+            buffer.clear().limit(count * Long.BYTES);
+            readFully(channel, buffer, type);
+            buffer.asLongBuffer().get(array, offset, count);
+            offset += count;
+        }
+    }
+
+    /**
+     * Maps a region read-only as consecutive 1 GB segments (the last one shorter).
+     */
+    static MappedByteBuffer[] map(FileChannel channel, long position, long bytes) throws IOException {
+        long segmentBytes = 1L << SEGMENT_BYTES_SHIFT;
+        int count = (int) ((bytes + segmentBytes - 1) >>> SEGMENT_BYTES_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << SEGMENT_BYTES_SHIFT;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + start, Math.min(segmentBytes, bytes - start));
+        }
+        return segments;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, String type) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Truncated " + type + " snapshot");
+            }
+        }
+        buffer.flip();
+    }
+}
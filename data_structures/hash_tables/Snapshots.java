@@ -0,0 +1,446 @@
+package data_structures.hash_tables;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Buffered {@link DataInput} and {@link DataOutput} over a {@link FileChannel} for
+ * the hash tables' binary snapshots, and the header every snapshot starts with.
+ *
+ * <p>A snapshot is written at the channel's current position and read from it.
+ * Closing a {@link Writer} or {@link Reader} flushes it but leaves the channel
+ * open, positioned just after the snapshot, so several snapshots can follow each
+ * other in one file. Both work directly on a 64 KB heap {@link ByteBuffer}: a
+ * {@code readInt} is one bounds check and one {@code getInt} rather than four
+ * virtual single-byte reads as in a {@code DataInputStream}, and the channel sees
+ * one call per 64 KB.</p>
+ *
+ * <p>Every snapshot, whether its entries are coded one by one or its slot arrays
+ * are copied verbatim, starts with the same 64-byte header. The header and
+ * everything after it are big-endian, as {@link DataOutput} specifies, so there
+ * is one byte order throughout a file:</p>
+ * <pre>
+ *   0  int   magic, identifying the table type
+ *   4  int   format version
+ *   8  int   flags
+ *  12  int   number of entries, including the key 0
+ *  16  int   slot array capacity (a power of two), or 0 if slots are not stored
+ *  20  int   1 if the key 0 is present (primitive-key maps)
+ *  24  long  the value of the key 0 (primitive-value maps)
+ *  32  ...   reserved, zero
+ * </pre>
+ */
+public final class Snapshots {
+    /** Version of the snapshot format written by this code */
+    public static final int VERSION = 2;
+
+    /** Length of the header in bytes */
+    public static final int HEADER_BYTES = 64;
+
+    /** Header flag: every value is preceded by a boolean saying whether it is non-null */
+    public static final int NULLABLE_VALUES = 1;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private Snapshots() {
+    }
+
+    /**
+     * Opens a buffered writer at the channel's position.
+     * @param channel the channel to write to
+     * @return a writer whose close() flushes without closing the channel
+     */
+    public static Writer writer(FileChannel channel) {
+        return new Writer(channel);
+    }
+
+    /**
+     * Opens a buffered reader at the channel's position.
+     * @param channel the channel to read from
+     * @return a reader whose close() moves the channel to just after the bytes consumed
+     * @throws IOException if the channel position cannot be read
+     */
+    public static Reader reader(FileChannel channel) throws IOException {
+        return new Reader(channel);
+    }
+
+    /**
+     * Writes a snapshot header.
+     * @param out the destination
+     * @param magic the table type's magic number
+     * @param header the header fields
+     * @throws IOException if writing fails
+     */
+    public static void writeHeader(DataOutput out, int magic, Header header) throws IOException {
+        out.write(encodeHeader(magic, header).array());
+    }
+
+    /**
+     * Reads and checks a snapshot header.
+     * @param in the source
+     * @param magic the magic number expected
+     * @param type the table type, for error messages
+     * @return the header fields
+     * @throws IOException if the header is not a valid one for this table type
+     */
+    public static Header readHeader(DataInput in, int magic, String type) throws IOException {
+        byte[] bytes = new byte[HEADER_BYTES];
+        in.readFully(bytes);
+        return decodeHeader(ByteBuffer.wrap(bytes), magic, type);
+    }
+
+    /** Returns the header as HEADER_BYTES bytes in a buffer positioned at 0 */
+    static ByteBuffer encodeHeader(int magic, Header header) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+        buffer.putInt(0, magic);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, header.flags);
+        buffer.putInt(12, header.size);
+        buffer.putInt(16, header.capacity);
+        buffer.putInt(20, header.hasZeroKey ? 1 : 0);
+        buffer.putLong(24, header.zeroValue);
+        return buffer;
+    }
+
+    /**
+     * Validates a header read from a file or a mapping, given as the first
+     * HEADER_BYTES bytes of a big-endian buffer.
+     */
+    static Header decodeHeader(ByteBuffer buffer, int magic, String type) throws IOException {
+        if (buffer.getInt(0) != magic) {
+            throw new IOException("Not a " + type + " snapshot");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported " + type + " snapshot version: " + version);
+        }
+        int flags = buffer.getInt(8);
+        int size = buffer.getInt(12);
+        int capacity = buffer.getInt(16);
+        int zeroKey = buffer.getInt(20);
+        if (size < 0 || (zeroKey != 0 && zeroKey != 1) || size < zeroKey) {
+            throw new IOException("Corrupt " + type + " snapshot header");
+        }
+        // A slot array keeps at least one slot empty, so every probe ends
+        if (capacity != 0 && (capacity < 0 || Integer.bitCount(capacity) != 1
+                || capacity > PrimitiveHashing.MAXIMUM_CAPACITY || size - zeroKey >= capacity)) {
+            throw new IOException("Corrupt " + type + " snapshot header");
+        }
+        return new Header(flags, size, capacity, zeroKey == 1, buffer.getLong(24));
+    }
+
+    /** The fields of a snapshot header */
+    public static final class Header {
+        final int flags;
+        final int size;
+        final int capacity;
+        final boolean hasZeroKey;
+        final long zeroValue;
+
+        /**
+         * A header for a snapshot whose entries are written one by one.
+         * @param flags header flags
+         * @param size the number of entries that follow
+         */
+        public Header(int flags, int size) {
+            this(flags, size, 0, false, 0);
+        }
+
+        Header(int flags, int size, int capacity, boolean hasZeroKey, long zeroValue) {
+            this.flags = flags;
+            this.size = size;
+            this.capacity = capacity;
+            this.hasZeroKey = hasZeroKey;
+            this.zeroValue = zeroValue;
+        }
+
+        /** Returns the header flags. */
+        public int flags() {
+            return flags;
+        }
+
+        /** Returns the number of entries. */
+        public int size() {
+            return size;
+        }
+    }
+
+    /** A DataOutput that fills a buffer and writes it to the channel when full */
+    public static final class Writer implements DataOutput, Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+        private Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensure(1).put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes) throws IOException {
+            write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int chunk = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        @Override
+        public void writeBoolean(boolean v) throws IOException {
+            ensure(1).put((byte) (v ? 1 : 0));
+        }
+
+        @Override
+        public void writeByte(int v) throws IOException {
+            ensure(1).put((byte) v);
+        }
+
+        @Override
+        public void writeShort(int v) throws IOException {
+            ensure(2).putShort((short) v);
+        }
+
+        @Override
+        public void writeChar(int v) throws IOException {
+            ensure(2).putChar((char) v);
+        }
+
+        @Override
+        public void writeInt(int v) throws IOException {
+            ensure(4).putInt(v);
+        }
+
+        @Override
+        public void writeLong(long v) throws IOException {
+            ensure(8).putLong(v);
+        }
+
+        @Override
+        public void writeFloat(float v) throws IOException {
+            ensure(4).putFloat(v);
+        }
+
+        @Override
+        public void writeDouble(double v) throws IOException {
+            ensure(8).putDouble(v);
+        }
+
+        @Override
+        public void writeBytes(String s) throws IOException {
+            for (int i = 0; i < s.length(); i++) {
+                writeByte(s.charAt(i));
+            }
+        }
+
+        @Override
+        public void writeChars(String s) throws IOException {
+            for (int i = 0; i < s.length(); i++) {
+                writeChar(s.charAt(i));
+            }
+        }
+
+        @Override
+        public void writeUTF(String s) throws IOException {
+            // Modified UTF-8 exactly as DataOutputStream writes it
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(s.length() + 2);
+            new DataOutputStream(bytes).writeUTF(s);
+            write(bytes.toByteArray());
+        }
+
+        /**
+         * Writes everything buffered to the channel.
+         * @throws IOException if writing fails
+         */
+        public void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+    }
+
+    /** A DataInput that reads ahead into a buffer; close() rewinds the channel over what was not consumed */
+    public static final class Reader implements DataInput, Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        /** Channel position of the first byte in the buffer */
+        private long bufferStart;
+
+        private Reader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.bufferStart = channel.position();
+            buffer.flip(); // Start empty
+        }
+
+        @Override
+        public void readFully(byte[] bytes) throws IOException {
+            readFully(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void readFully(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!buffer.hasRemaining()) {
+                    require(1);
+                }
+                int chunk = Math.min(length, buffer.remaining());
+                buffer.get(bytes, offset, chunk);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        @Override
+        public int skipBytes(int n) throws IOException {
+            int skipped = 0;
+            while (skipped < n) {
+                if (!buffer.hasRemaining() && !fill()) {
+                    break;
+                }
+                int chunk = Math.min(n - skipped, buffer.remaining());
+                buffer.position(buffer.position() + chunk);
+                skipped += chunk;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean readBoolean() throws IOException {
+            return require(1).get() != 0;
+        }
+
+        @Override
+        public byte readByte() throws IOException {
+            return require(1).get();
+        }
+
+        @Override
+        public int readUnsignedByte() throws IOException {
+            return require(1).get() & 0xFF;
+        }
+
+        @Override
+        public short readShort() throws IOException {
+            return require(2).getShort();
+        }
+
+        @Override
+        public int readUnsignedShort() throws IOException {
+            return require(2).getShort() & 0xFFFF;
+        }
+
+        @Override
+        public char readChar() throws IOException {
+            return require(2).getChar();
+        }
+
+        @Override
+        public int readInt() throws IOException {
+            return require(4).getInt();
+        }
+
+        @Override
+        public long readLong() throws IOException {
+            return require(8).getLong();
+        }
+
+        @Override
+        public float readFloat() throws IOException {
+            return require(4).getFloat();
+        }
+
+        @Override
+        public double readDouble() throws IOException {
+            return require(8).getDouble();
+        }
+
+        /**
+         * Reads bytes up to a line terminator as DataInputStream does: each byte
+         * becomes one char, and "\n", "\r" and "\r\n" end a line.
+         * @return the line without its terminator, or null at end of file
+         * @throws IOException if reading fails
+         */
+        @Override
+        public String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            boolean read = false;
+            while (buffer.hasRemaining() || fill()) {
+                read = true;
+                int c = buffer.get() & 0xFF;
+                if (c == '\n') {
+                    break;
+                }
+                if (c == '\r') {
+                    if ((buffer.hasRemaining() || fill()) && buffer.get(buffer.position()) == '\n') {
+                        buffer.get();
+                    }
+                    break;
+                }
+                line.append((char) c);
+            }
+            return read ? line.toString() : null;
+        }
+
+        @Override
+        public String readUTF() throws IOException {
+            return DataInputStream.readUTF(this);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.position(bufferStart + buffer.position());
+        }
+
+        // Makes sure the given number of bytes is buffered, compacting and refilling as needed
+        private ByteBuffer require(int bytes) throws IOException {
+            while (buffer.remaining() < bytes) {
+                if (!fill()) {
+                    throw new EOFException("Snapshot ends unexpectedly");
+                }
+            }
+            return buffer;
+        }
+
+        // Reads more bytes after those not yet consumed; false at end of file
+        private boolean fill() throws IOException {
+            bufferStart += buffer.position();
+            buffer.compact();
+            int read = channel.read(buffer);
+            buffer.flip();
+            return read > 0;
+        }
+    }
+}
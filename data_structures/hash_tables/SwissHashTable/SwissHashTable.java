@@ -0,0 +1,372 @@
+package data_structures.hash_tables.SwissHashTable;
+
+import data_structures.hash_tables.PrimitiveHashing;
+
+import java.util.Arrays;
+
+/**
+ * A hash table in the style of Abseil's "Swiss tables": open addressing over
+ * groups of slots, guided by one control byte per slot.
+ *
+ * <p>Each key's mixed hash is split in two. The high bits (h1) choose the group
+ * where probing starts; the low 7 bits (h2) are stored in the slot's control
+ * byte as a fingerprint. A control byte is one of:</p>
+ * <ul>
+ *   <li>{@code 0x00-0x7F}: full, holding the key's 7-bit fingerprint</li>
+ *   <li>{@code 0x80}: empty</li>
+ *   <li>{@code 0xFE}: deleted (tombstone)</li>
+ * </ul>
+ *
+ * <p>A group is 16 slots whose control bytes are packed into two adjacent
+ * {@code long}s. A lookup tests all 16 of them against the fingerprint with
+ * SWAR ("SIMD within a register") arithmetic, 8 bytes per word, which is the
+ * portable stand-in for a 16-byte vector compare. Only slots whose fingerprint
+ * matches (1 in 128 for a non-matching key) have their key compared with
+ * equals, so at moderate load a miss costs one cache line of control bytes and
+ * no key dereference. Probing stops at the first group that has an empty slot
+ * and moves between groups in a triangular sequence, which visits every group.</p>
+ *
+ * <p>Because a probe rarely touches the keys, the table runs at a load factor
+ * of 0.875. Each slot costs a key reference, a value reference and one control
+ * byte; a key and its value are stored next to each other so a hit reads one
+ * cache line for both.</p>
+ *
+ * <p>The gain is memory, not speed: it is slower than
+ * {@link data_structures.hash_tables.LinearProbingHashTable.LinearProbingHashTable}
+ * for both hits and misses in the repository benchmarks. A hit loads the key only
+ * after the control word has been matched, while the linear prober loads its
+ * cached hashes and keys together. Misses depend on the load. Just after a resize
+ * (1M keys, under half full) a miss reads one group and costs about 1.4 times a
+ * linear-probing miss. Near the 0.875 load factor (1.8M keys) it reads about 1.9
+ * groups spread over 1.45 cache lines and meets about 0.2 false fingerprint
+ * matches, and costs about 2.5 times as much. The first group takes about 80 ns,
+ * the later groups another 80, and the key comparisons 40, while the linear
+ * prober, under half full at that size, usually stops at its first slot. Keeping
+ * keys apart from values, so a false match touches a line of keys only, took
+ * about 10 ns off such a miss but made hits at 1M about 50% slower, so a key and
+ * its value stay side by side.</p>
+ *
+ * @param <K> the type of keys maintained by this hash table
+ * @param <V> the type of mapped values
+ */
+public class SwissHashTable<K, V> {
+    /** Slots per group: the control bytes of two longs */
+    private static final int GROUP_SIZE = 16;
+
+    /** log2 of the slots whose control bytes fit in one long */
+    private static final int WORD_SHIFT = 3;
+
+    /** Default initial capacity of the hash table */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Largest power-of-two capacity whose interleaved key/value array fits in an int-indexed array */
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+    /** Threshold for resizing the hash table ((size + tombstones)/capacity) */
+    private static final double LOAD_FACTOR_THRESHOLD = 0.875;
+
+    /** Control byte of an empty slot */
+    private static final int EMPTY = 0x80;
+
+    /** Control byte of a deleted slot */
+    private static final int DELETED = 0xFE;
+
+    /** 0x01 in every byte */
+    private static final long LSBS = 0x0101010101010101L;
+
+    /** 0x7F in every byte */
+    private static final long LOW_7_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    /** 0x80 in every byte */
+    private static final long MSBS = 0x8080808080808080L;
+
+    /** Control bytes, 8 per word and 2 words per group, little-endian (slot 0 in the low byte) */
+    private long[] control;
+
+    /** Keys and values, interleaved: slot i holds its key at 2i and its value at 2i + 1 */
+    private Object[] slots;
+
+    /** The number of key-value mappings in the hash table */
+    private int size;
+
+    /** The number of tombstones in the table */
+    private int deleted;
+
+    /** Number of groups - 1, used to wrap group indices without a division */
+    private int groupMask;
+
+    /** Maximum size + tombstones before the table is rebuilt */
+    private int threshold;
+
+    /**
+     * Constructs an empty hash table with the default initial capacity (16).
+     */
+    public SwissHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty hash table with the specified initial capacity.
+     * The capacity is rounded up to a power of two of at least 16 (one group).
+     *
+     * @param initialCapacity the initial capacity of the hash table
+     * @throws IllegalArgumentException if the initial capacity is non-positive
+     */
+    public SwissHashTable(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        int capacity = initialCapacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY
+                : Math.max(GROUP_SIZE, Integer.highestOneBit(initialCapacity - 1) << 1);
+        allocate(capacity);
+        this.size = 0;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this hash table.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @throws IllegalArgumentException if the key is null
+     */
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int hash = PrimitiveHashing.mix(key.hashCode());
+        int index = findKeyIndex(key, hash);
+        if (index != -1) {
+            slots[2 * index + 1] = value; // Existing key: update in place
+            return;
+        }
+
+        index = findFreeSlot(hash);
+        boolean reusesTombstone = controlAt(index) == DELETED;
+        if (!reusesTombstone && size + deleted >= threshold) {
+            resize();
+            index = findFreeSlot(hash);
+        } else if (reusesTombstone) {
+            deleted--;
+        }
+        setControl(index, hash & 0x7F);
+        slots[2 * index] = key;
+        slots[2 * index + 1] = value;
+        size++;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this hash table
+     * contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if no mapping exists
+     * @throws IllegalArgumentException if the key is null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int index = findKeyIndex(key, PrimitiveHashing.mix(key.hashCode()));
+        return index == -1 ? null : (V) slots[2 * index + 1];
+    }
+
+    /**
+     * Removes the mapping for the specified key from this hash table if present.
+     *
+     * @param key the key whose mapping is to be removed from the hash table
+     * @throws IllegalArgumentException if the key is null
+     */
+    public void remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int index = findKeyIndex(key, PrimitiveHashing.mix(key.hashCode()));
+        if (index == -1) {
+            return;
+        }
+        // If the group still has an empty slot, no probe ever continued past it,
+        // so the slot can become empty again instead of a tombstone
+        int word = (index >>> WORD_SHIFT) & ~1; // First word of the slot's group
+        if ((matchEmpty(control[word]) | matchEmpty(control[word + 1])) != 0) {
+            setControl(index, EMPTY);
+        } else {
+            setControl(index, DELETED);
+            deleted++;
+        }
+        slots[2 * index] = null;
+        slots[2 * index + 1] = null; // Clear references for garbage collection
+        size--;
+    }
+
+    /**
+     * Returns true if this hash table contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this hash table is to be tested
+     * @return true if this hash table contains a mapping for the specified key
+     */
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this hash table.
+     *
+     * @return the number of key-value mappings in this hash table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this hash table contains no key-value mappings.
+     *
+     * @return true if this hash table contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a string representation of this hash table.
+     *
+     * @return a string representation of the hash table contents
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        boolean first = true;
+        for (int i = 0; i < slots.length / 2; i++) {
+            if (controlAt(i) < EMPTY) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(slots[2 * i]).append("=").append(slots[2 * i + 1]);
+                first = false;
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ================ PRIVATE HELPER METHODS ================ //
+
+    /**
+     * Finds the slot holding the key, testing a whole group of fingerprints per step.
+     *
+     * @param key the key to search for
+     * @param hash the mixed hash code of the key
+     * @return the index of the key, or -1 if not found
+     */
+    private int findKeyIndex(K key, int hash) {
+        long fingerprint = (hash & 0x7F) * LSBS;
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            int word = group << 1;
+            long low = control[word];
+            long high = control[word + 1];
+            for (long matches = matchZero(low ^ fingerprint); matches != 0; matches &= matches - 1) {
+                int index = (word << WORD_SHIFT) + (Long.numberOfTrailingZeros(matches) >>> 3);
+                if (slots[2 * index].equals(key)) {
+                    return index;
+                }
+            }
+            for (long matches = matchZero(high ^ fingerprint); matches != 0; matches &= matches - 1) {
+                int index = ((word + 1) << WORD_SHIFT) + (Long.numberOfTrailingZeros(matches) >>> 3);
+                if (slots[2 * index].equals(key)) {
+                    return index;
+                }
+            }
+            if ((matchEmpty(low) | matchEmpty(high)) != 0) {
+                return -1;
+            }
+            group = (group + step) & groupMask; // Triangular probing over groups
+        }
+    }
+
+    /**
+     * Returns the first empty or deleted slot on the key's probe sequence.
+     */
+    private int findFreeSlot(int hash) {
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            int word = group << 1;
+            // Empty and deleted bytes have the high bit set
+            long free = control[word] & MSBS;
+            if (free == 0) {
+                free = control[++word] & MSBS;
+            }
+            if (free != 0) {
+                return (word << WORD_SHIFT) + (Long.numberOfTrailingZeros(free) >>> 3);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Returns a word with the high bit set in exactly the bytes of x that are zero.
+     * Unlike the shorter {@code (x - LSBS) & ~x & MSBS}, no borrow crosses bytes,
+     * so there are no false positives.
+     */
+    private static long matchZero(long x) {
+        return ~(((x & LOW_7_BITS) + LOW_7_BITS) | x) & MSBS;
+    }
+
+    /** Returns a word with the high bit set in the bytes of word that are EMPTY. */
+    private static long matchEmpty(long word) {
+        return matchZero(word ^ (EMPTY * LSBS));
+    }
+
+    /** Returns the control byte of a slot. */
+    private int controlAt(int index) {
+        return (int) (control[index >>> WORD_SHIFT] >>> ((index & 7) << 3)) & 0xFF;
+    }
+
+    /** Sets the control byte of a slot. */
+    private void setControl(int index, int value) {
+        int shift = (index & 7) << 3;
+        int word = index >>> WORD_SHIFT;
+        control[word] = (control[word] & ~(0xFFL << shift)) | ((long) value << shift);
+    }
+
+    /** Allocates empty arrays for the given capacity, with every control byte EMPTY. */
+    private void allocate(int capacity) {
+        control = new long[capacity >>> WORD_SHIFT];
+        Arrays.fill(control, EMPTY * LSBS);
+        slots = new Object[2 * capacity];
+        groupMask = capacity / GROUP_SIZE - 1;
+        threshold = (int) (capacity * LOAD_FACTOR_THRESHOLD);
+    }
+
+    /**
+     * Rebuilds the table, dropping every tombstone. The capacity doubles unless
+     * tombstones make up most of the load, in which case it stays the same.
+     */
+    private void resize() {
+        int capacity = slots.length / 2;
+        if (size >= threshold / 2) {
+            if (capacity == MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("Hash table cannot grow beyond " + MAXIMUM_CAPACITY + " slots");
+            }
+            capacity *= 2;
+        }
+        long[] oldControl = control;
+        Object[] oldSlots = slots;
+        allocate(capacity);
+        deleted = 0;
+        for (int i = 0; i < oldSlots.length / 2; i++) {
+            if (((oldControl[i >>> WORD_SHIFT] >>> ((i & 7) << 3)) & 0x80) == 0) { // Full slot
+                Object key = oldSlots[2 * i];
+                int hash = PrimitiveHashing.mix(key.hashCode());
+                int index = findFreeSlot(hash);
+                setControl(index, hash & 0x7F);
+                slots[2 * index] = key;
+                slots[2 * index + 1] = oldSlots[2 * i + 1];
+            }
+        }
+    }
+}
@@ -1,5 +1,17 @@
 package data_structures.linked_lists.Doubly_Linked_List;
 
+import java.util.AbstractSequentialList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A generic implementation of a doubly linked list.
  * 
@@ -8,15 +20,21 @@ package data_structures.linked_lists.Doubly_Linked_List;
  * - Remove elements from both ends
  * - Search for elements
  * - Print elements in both directions
+ * - Node handles: the add*Node methods return the node they create, which can
+ *   later be moved to either end or removed in O(1)
+ * - Fail-fast iterators, a sized spliterator for streams, and a java.util.List
+ *   view (asList)
  */
-public class DoubleLinkedList<E> {
+public class DoubleLinkedList<E> implements Iterable<E> {
     /**
      * Node class represents each element in the doubly linked list.
+     * Nodes returned by the add*Node methods act as handles to their element.
      */
-    private static class Node<E> {
+    public static final class Node<E> {
         E data;        // Value stored in the node
         Node<E> next;  // Reference to the next node
         Node<E> prev;   // Reference to the previous node
+        DoubleLinkedList<E> list; // The list this node is linked into, or null once removed
 
         /**
          * Constructs a node with the given data.
@@ -27,26 +45,55 @@ public class DoubleLinkedList<E> {
             this.next = null;
             this.prev = null;
         }
+
+        /**
+         * Returns the value stored in this node.
+         * @return the value
+         */
+        public E getData() {
+            return data;
+        }
+
+        /**
+         * Returns the node after this one.
+         * @return the next node, or null if this is the last node (or was removed)
+         */
+        public Node<E> getNext() {
+            return next;
+        }
+
+        /**
+         * Returns the node before this one.
+         * @return the previous node, or null if this is the first node (or was removed)
+         */
+        public Node<E> getPrevious() {
+            return prev;
+        }
     }
 
     private Node<E> head; // Reference to the first node in the list
     private Node<E> tail; // Reference to the last node in the list
     private int size;     // Number of elements in the list
+    private int modCount; // Links and unlinks so far, checked by iterators to fail fast
 
     /**
      * Adds a new element to the front of the list.
      * @param data the value to add
      */
     public void addFirst(E data) {
+        addFirstNode(data);
+    }
+
+    /**
+     * Adds a new element to the front of the list and returns its node.
+     * @param data the value to add
+     * @return the node holding the value, usable with the node methods below
+     */
+    public Node<E> addFirstNode(E data) {
         Node<E> newNode = new Node<>(data);
-        if (head == null) {
-            head = tail = newNode;
-        } else {
-            newNode.next = head;
-            head.prev = newNode;
-            head = newNode;
-        }
+        linkFirst(newNode);
         size++;
+        return newNode;
     }
 
     /**
@@ -54,15 +101,98 @@ public class DoubleLinkedList<E> {
      * @param data the value to add
      */
     public void addLast(E data) {
+        addLastNode(data);
+    }
+
+    /**
+     * Adds a new element to the end of the list and returns its node.
+     * @param data the value to add
+     * @return the node holding the value, usable with the node methods below
+     */
+    public Node<E> addLastNode(E data) {
         Node<E> newNode = new Node<>(data);
-        if (tail == null) {
-            head = tail = newNode;
+        linkLast(newNode);
+        size++;
+        return newNode;
+    }
+
+    /**
+     * Inserts a new element right after the given node and returns its node.
+     * @param node a node of this list
+     * @param data the value to add
+     * @return the node holding the value
+     * @throws IllegalArgumentException if the node is not in this list
+     */
+    public Node<E> addAfter(Node<E> node, E data) {
+        checkOwner(node);
+        Node<E> newNode = new Node<>(data);
+        newNode.list = this;
+        newNode.prev = node;
+        newNode.next = node.next;
+        if (node.next != null) {
+            node.next.prev = newNode;
         } else {
-            tail.next = newNode;
-            newNode.prev = tail;
             tail = newNode;
         }
+        node.next = newNode;
         size++;
+        modCount++;
+        return newNode;
+    }
+
+    /**
+     * Moves a node of this list to the front in O(1).
+     * @param node a node of this list
+     * @throws IllegalArgumentException if the node is not in this list
+     */
+    public void moveToFront(Node<E> node) {
+        checkOwner(node);
+        if (node != head) {
+            unlink(node);
+            linkFirst(node);
+        }
+    }
+
+    /**
+     * Moves a node of this list to the end in O(1).
+     * @param node a node of this list
+     * @throws IllegalArgumentException if the node is not in this list
+     */
+    public void moveToBack(Node<E> node) {
+        checkOwner(node);
+        if (node != tail) {
+            unlink(node);
+            linkLast(node);
+        }
+    }
+
+    /**
+     * Removes a node of this list in O(1).
+     * @param node a node of this list
+     * @return the value the node held
+     * @throws IllegalArgumentException if the node is not in this list
+     */
+    public E remove(Node<E> node) {
+        checkOwner(node);
+        unlink(node);
+        size--;
+        return node.data;
+    }
+
+    /**
+     * Returns the first node of the list.
+     * @return the first node, or null if the list is empty
+     */
+    public Node<E> firstNode() {
+        return head;
+    }
+
+    /**
+     * Returns the last node of the list.
+     * @return the last node, or null if the list is empty
+     */
+    public Node<E> lastNode() {
+        return tail;
     }
 
     /**
@@ -74,15 +204,10 @@ public class DoubleLinkedList<E> {
         if (head == null) {
             throw new IllegalStateException("List is empty");
         }
-        E data = head.data;
-        head = head.next;
-        if (head != null) {
-            head.prev = null;
-        } else {
-            tail = null;
-        }
+        Node<E> first = head;
+        unlink(first);
         size--;
-        return data;
+        return first.data;
     }
 
     /**
@@ -94,15 +219,10 @@ public class DoubleLinkedList<E> {
         if (tail == null) {
             throw new IllegalStateException("List is empty");
         }
-        E data = tail.data;
-        tail = tail.prev;
-        if (tail != null) {
-            tail.next = null;
-        } else {
-            head = null;
-        }
+        Node<E> last = tail;
+        unlink(last);
         size--;
-        return data;
+        return last.data;
     }
 
     /**
@@ -129,6 +249,81 @@ public class DoubleLinkedList<E> {
         return size;
     }
 
+    /**
+     * Checks if the list has no elements.
+     * @return true if the list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns an iterator from the first element to the last. Its remove method
+     * unlinks the node last returned.
+     * @return a fail-fast iterator
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new ListItr(0);
+    }
+
+    /**
+     * Performs the action for every element from first to last, following the
+     * node links directly.
+     * @param action the action to perform
+     * @throws IllegalArgumentException if action is null
+     * @throws ConcurrentModificationException if the action adds, removes or moves a node
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        int expectedModCount = modCount;
+        for (Node<E> current = head; current != null && modCount == expectedModCount; current = current.next) {
+            action.accept(current.data);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a spliterator that knows the list's size. Nodes cannot be split in
+     * the middle without a walk, so it hands off batches of elements copied into
+     * arrays, each batch larger than the last, for parallel streams to work on.
+     * @return a SIZED, ORDERED spliterator
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential stream over the elements, first to last.
+     * @return a stream
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements.
+     * @return a parallel stream
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Returns a java.util.List view backed by this list. Positional operations walk
+     * from the nearer end, as in java.util.LinkedList.
+     * @return a List supporting every optional operation
+     */
+    public List<E> asList() {
+        return new ListView();
+    }
+
     /**
      * Returns a string representation of the list in forward order.
      * @return the string representation
@@ -165,4 +360,241 @@ public class DoubleLinkedList<E> {
         sb.append("]");
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    // Links a detached node in as the new head
+    private void linkFirst(Node<E> node) {
+        modCount++;
+        node.list = this;
+        node.prev = null;
+        node.next = head;
+        if (head == null) {
+            tail = node;
+        } else {
+            head.prev = node;
+        }
+        head = node;
+    }
+
+    // Links a detached node in as the new tail
+    private void linkLast(Node<E> node) {
+        modCount++;
+        node.list = this;
+        node.next = null;
+        node.prev = tail;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+    }
+
+    // Detaches a node from its neighbours, leaving it free to be relinked
+    private void unlink(Node<E> node) {
+        modCount++;
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        node.list = null;
+    }
+
+    private void checkOwner(Node<E> node) {
+        if (node == null || node.list != this) {
+            throw new IllegalArgumentException("Node does not belong to this list");
+        }
+    }
+
+    // Returns the node at the index, walking from the nearer end; null for index == size
+    private Node<E> node(int index) {
+        if (index == size) {
+            return null;
+        }
+        Node<E> current;
+        if (index < size / 2) {
+            current = head;
+            for (int i = 0; i < index; i++) {
+                current = current.next;
+            }
+        } else {
+            current = tail;
+            for (int i = size - 1; i > index; i--) {
+                current = current.prev;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * List iterator over the nodes. The cursor sits between lastReturned's
+     * neighbours, before next.
+     */
+    private final class ListItr implements ListIterator<E> {
+        private Node<E> next;         // Node returned by the next call to next(), or null at the end
+        private Node<E> lastReturned; // Node returned by the last next() or previous(), or null
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            next = node(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.data;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            next = next == null ? tail : next.prev;
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.data;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("No element to remove");
+            }
+            checkForComodification();
+            Node<E> following = lastReturned.next;
+            unlink(lastReturned);
+            size--;
+            if (next == lastReturned) {
+                next = following; // Came from previous(): the cursor stays put
+            } else {
+                nextIndex--;
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E data) {
+            if (lastReturned == null) {
+                throw new IllegalStateException("No element to set");
+            }
+            checkForComodification();
+            lastReturned.data = data;
+        }
+
+        @Override
+        public void add(E data) {
+            checkForComodification();
+            if (next == null) {
+                addLastNode(data);
+            } else if (next.prev == null) {
+                addFirstNode(data);
+            } else {
+                addAfter(next.prev, data);
+            }
+            lastReturned = null;
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            while (next != null && modCount == expectedModCount) {
+                lastReturned = next;
+                next = next.next;
+                nextIndex++;
+                action.accept(lastReturned.data);
+            }
+            checkForComodification();
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    // The List returned by asList; AbstractSequentialList builds every positional
+    // operation on ListItr
+    private final class ListView extends AbstractSequentialList<E> {
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            return new ListItr(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean add(E data) {
+            addLast(data);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            while (head != null) {
+                removeFirst();
+            }
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            DoubleLinkedList.this.forEach(action);
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return DoubleLinkedList.this.spliterator();
+        }
+    }
+}
@@ -1,16 +1,33 @@
 package data_structures.linked_lists.Singly_Linked_List;
+
+import java.util.AbstractSequentialList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A generic implementation of a singly linked list.
  * 
  * Features:
  * - Add elements to the beginning and end of the list
  * - Remove elements from the beginning and end
+ * - Get, insert and remove by position or value, walking from the head
  * - Search for elements
  * - Print elements in order
+ * - Fail-fast iterators, a sized spliterator for streams, and a java.util.List
+ *   view (asList)
  */
 
 
-public class SingleLinkedList<E> {
+public class SingleLinkedList<E> implements Iterable<E> {
     /**
      * Node class represents each element in the linked list.
      */
@@ -27,6 +44,7 @@ public class SingleLinkedList<E> {
     private Node<E> head;
     private Node<E> tail;
     private int size;
+    private int modCount; // Structural changes so far, checked by iterators to fail fast
 
     public SingleLinkedList() {
         head = null;
@@ -47,6 +65,7 @@ public class SingleLinkedList<E> {
             head = newNode;
         }
         size++;
+        modCount++;
     }
 
     /**
@@ -62,6 +81,7 @@ public class SingleLinkedList<E> {
             tail = newNode;
         }
         size++;
+        modCount++;
     }
 
     /**
@@ -79,11 +99,13 @@ public class SingleLinkedList<E> {
             tail = null;
         }
         size--;
+        modCount++;
         return data;
     }
 
     /**
-     * Removes and returns the last element of the list.
+     * Removes and returns the last element of the list. This walks from the head
+     * to find the new tail, so it takes O(n); UnrolledLinkedList does it in O(1).
      * @return the removed element
      * @throws IllegalStateException if the list is empty
      */
@@ -103,6 +125,7 @@ public class SingleLinkedList<E> {
             tail = current;
         }
         size--;
+        modCount++;
         return data;
     }
 
@@ -122,6 +145,71 @@ public class SingleLinkedList<E> {
         return false;
     }
 
+    /**
+     * Returns the element at the given position, walking from the head.
+     * @param index the position
+     * @return the element
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return node(index).data;
+    }
+
+    /**
+     * Inserts an element at the given position, walking from the head to the node
+     * before it.
+     * @param index the position, from 0 to size()
+     * @param data the element to add
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public void add(int index, E data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            addLast(data);
+            return;
+        }
+        if (index == 0) {
+            addFirst(data);
+            return;
+        }
+        Node<E> before = node(index - 1);
+        Node<E> newNode = new Node<>(data);
+        newNode.next = before.next;
+        before.next = newNode;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the first occurrence of the element, if present.
+     * @param data the element to remove (may be null)
+     * @return true if an element was removed
+     */
+    public boolean remove(Object data) {
+        Node<E> before = null;
+        for (Node<E> current = head; current != null; before = current, current = current.next) {
+            if (Objects.equals(data, current.data)) {
+                if (before == null) {
+                    head = current.next;
+                } else {
+                    before.next = current.next;
+                }
+                if (tail == current) {
+                    tail = before;
+                }
+                size--;
+                modCount++;
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns the number of elements in the list.
      * @return the size of the list
@@ -130,6 +218,73 @@ public class SingleLinkedList<E> {
         return size;
     }
 
+    /**
+     * Returns an iterator from the first element to the last. Its remove method
+     * unlinks the element last returned in O(1).
+     * @return a fail-fast iterator
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new ListItr(0);
+    }
+
+    /**
+     * Performs the action for every element from first to last, following the
+     * node links directly.
+     * @param action the action to perform
+     * @throws IllegalArgumentException if action is null
+     * @throws ConcurrentModificationException if the action adds or removes elements
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        int expectedModCount = modCount;
+        for (Node<E> current = head; current != null && modCount == expectedModCount; current = current.next) {
+            action.accept(current.data);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a spliterator that knows the list's size. It hands off growing
+     * batches of elements, copied into arrays, for parallel streams to split.
+     * @return a SIZED, ORDERED spliterator
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential stream over the elements, first to last.
+     * @return a stream
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements.
+     * @return a parallel stream
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Returns a java.util.List view backed by this list. Forward traversal, add,
+     * set and remove through its iterators are O(1) per step; positional access
+     * walks from the head, and ListIterator.previous walks from the head too.
+     * @return a List supporting every optional operation
+     */
+    public List<E> asList() {
+        return new ListView();
+    }
+
     /**
      * Returns a string representation of the list.
      * @return the string representation
@@ -148,4 +303,197 @@ public class SingleLinkedList<E> {
         sb.append("]");
         return sb.toString();
     }
+
+    // Returns the node at the index (walking from the head), or null for index -1
+    private Node<E> node(int index) {
+        Node<E> current = index < 0 ? null : head;
+        for (int i = 0; i < index; i++) {
+            current = current.next;
+        }
+        return current;
+    }
+
+    /**
+     * List iterator over the nodes. A singly linked node cannot find its
+     * predecessor, so the iterator keeps the node before the cursor and the node
+     * before lastReturned; previous() has to re-walk from the head to refill them.
+     */
+    private final class ListItr implements ListIterator<E> {
+        private Node<E> before;           // Node just before the cursor, or null at the front
+        private Node<E> lastReturned;     // Node returned by the last next() or previous(), or null
+        private Node<E> beforeLast;       // Node just before lastReturned, or null
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            before = node(index - 1);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            beforeLast = before;
+            lastReturned = before == null ? head : before.next;
+            before = lastReturned;
+            nextIndex++;
+            return lastReturned.data;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        // O(n): walks from the head to the node before the new cursor position
+        @Override
+        public E previous() {
+            checkForComodification();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            nextIndex--;
+            lastReturned = before;
+            beforeLast = node(nextIndex - 1);
+            before = beforeLast;
+            return lastReturned.data;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("No element to remove");
+            }
+            checkForComodification();
+            if (beforeLast == null) {
+                head = lastReturned.next;
+            } else {
+                beforeLast.next = lastReturned.next;
+            }
+            if (tail == lastReturned) {
+                tail = beforeLast;
+            }
+            if (before == lastReturned) {
+                before = beforeLast; // Came from next(): the cursor moves back one
+                nextIndex--;
+            }
+            lastReturned = null;
+            size--;
+            modCount++;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E data) {
+            if (lastReturned == null) {
+                throw new IllegalStateException("No element to set");
+            }
+            checkForComodification();
+            lastReturned.data = data;
+        }
+
+        @Override
+        public void add(E data) {
+            checkForComodification();
+            Node<E> newNode = new Node<>(data);
+            if (before == null) {
+                newNode.next = head;
+                head = newNode;
+            } else {
+                newNode.next = before.next;
+                before.next = newNode;
+            }
+            if (tail == before) {
+                tail = newNode;
+            }
+            before = newNode;
+            lastReturned = null;
+            nextIndex++;
+            size++;
+            modCount++;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            while (nextIndex < size && modCount == expectedModCount) {
+                beforeLast = before;
+                lastReturned = before == null ? head : before.next;
+                before = lastReturned;
+                nextIndex++;
+                action.accept(lastReturned.data);
+            }
+            checkForComodification();
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    // The List returned by asList; AbstractSequentialList builds every positional
+    // operation on ListItr
+    private final class ListView extends AbstractSequentialList<E> {
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            return new ListItr(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean add(E data) {
+            addLast(data);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            head = tail = null;
+            size = 0;
+            SingleLinkedList.this.modCount++;
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            SingleLinkedList.this.forEach(action);
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return SingleLinkedList.this.spliterator();
+        }
+    }
 }
\ No newline at end of file
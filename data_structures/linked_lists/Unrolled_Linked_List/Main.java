@@ -0,0 +1,135 @@
+package data_structures.linked_lists.Unrolled_Linked_List;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Demonstration of UnrolledLinkedList
+ */
+public class Main {
+    public static void main(String[] args) {
+        System.out.println("=== Unrolled Linked List Demonstration ===");
+
+        // 1. Add at both ends and in the middle
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        list.addLast(10);
+        list.addLast(30);
+        list.addFirst(5);
+        list.add(2, 20);
+        System.out.println("\nAfter addLast(10), addLast(30), addFirst(5), add(2, 20):");
+        System.out.println("List contents: " + list + ", size " + list.size());
+
+        // 2. Positional access
+        System.out.println("\nElement at index 2: " + list.get(2));
+        list.set(0, 1);
+        System.out.println("After set(0, 1): " + list);
+        System.out.println("Index of 30: " + list.indexOf(30));
+        System.out.println("Contains 99? " + list.contains(99));
+
+        // 3. Remove from both ends, by index and by value
+        System.out.println("\nremoveLast(): " + list.removeLast());
+        System.out.println("removeFirst(): " + list.removeFirst());
+        list.addLast(40);
+        System.out.println("remove(0): " + list.remove(0));
+        System.out.println("remove(Integer.valueOf(40)): " + list.remove(Integer.valueOf(40)));
+        System.out.println("List contents: " + list);
+
+        // 4. Many elements: chunks grow with sqrt(n), and iterators remove in place
+        list.clear();
+        for (int i = 0; i < 10_000; i++) {
+            list.addLast(i);
+        }
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i); // Each lookup starts from the chunk found by the last
+        }
+        System.out.println("\nSum of 0..9999 by index: " + sum);
+        for (Iterator<Integer> it = list.iterator(); it.hasNext(); ) {
+            if (it.next() % 2 != 0) {
+                it.remove();
+            }
+        }
+        System.out.println("After removing odd values: size " + list.size() + ", get(100) = " + list.get(100));
+        System.out.println("First five as a stream: "
+                + list.stream().limit(5).map(String::valueOf).collect(Collectors.joining(", ")));
+
+        // 5. java.util.List view
+        List<Integer> view = list.asList();
+        view.subList(0, 4_990).clear();
+        ListIterator<Integer> li = view.listIterator();
+        while (li.hasNext()) {
+            li.set(li.next() / 2);
+        }
+        System.out.println("\nView after subList(0, 4990).clear() and halving: " + view);
+
+        // 6. Fail-fast: a change made directly to the list breaks the view's iterators
+        System.out.println("\n=== Testing Fail-Fast Iterators ===");
+        Iterator<Integer> direct = list.iterator();
+        ListIterator<Integer> viaView = view.listIterator();
+        List<Integer> sub = view.subList(0, 5);
+        list.addLast(-1);
+        expectConcurrentModification("list iterator", direct::next);
+        expectConcurrentModification("view list iterator", viaView::next);
+        expectConcurrentModification("view sublist", () -> sub.get(0));
+
+        // 7. Random operations checked against ArrayList
+        System.out.println("\n=== Stress Testing Against ArrayList ===");
+        stressTest(200_000, 42);
+    }
+
+    private static void expectConcurrentModification(String what, Runnable action) {
+        try {
+            action.run();
+        } catch (ConcurrentModificationException e) {
+            System.out.println(what + ": ConcurrentModificationException, as expected");
+            return;
+        }
+        throw new IllegalStateException(what + " did not fail fast");
+    }
+
+    // Applies the same random operations to both lists and compares them throughout
+    private static void stressTest(int operations, long seed) {
+        Random random = new Random(seed);
+        UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+        List<Integer> model = new ArrayList<>();
+        for (int op = 0; op < operations; op++) {
+            int size = model.size();
+            int choice = random.nextInt(10);
+            Object actual;
+            Object expected;
+            if (choice < 5 || size == 0) {
+                int index = random.nextInt(size + 1);
+                list.add(index, op);
+                model.add(index, op);
+                actual = list.size();
+                expected = model.size();
+            } else if (choice == 5) {
+                int index = random.nextInt(size);
+                actual = list.remove(index);
+                expected = model.remove(index);
+            } else if (choice == 6) {
+                actual = list.removeFirst();
+                expected = model.remove(0);
+            } else if (choice == 7) {
+                actual = list.removeLast();
+                expected = model.remove(size - 1);
+            } else {
+                int index = random.nextInt(size);
+                actual = list.get(index);
+                expected = model.get(index);
+            }
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Operation " + op + ": expected " + expected + ", got " + actual);
+            }
+        }
+        if (!model.equals(list.asList())) {
+            throw new IllegalStateException("Contents differ from the model");
+        }
+        System.out.println("Stress test PASSED: " + operations + " operations, final size " + list.size());
+    }
+}
@@ -0,0 +1,802 @@
+package data_structures.linked_lists.Unrolled_Linked_List;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An unrolled linked list: a linked list of chunks, each holding a run of
+ * elements in a small array.
+ *
+ * Features:
+ * - O(1) addFirst, addLast, removeFirst and removeLast. Chunks link both ways,
+ *   so removeLast steps back from the tail instead of walking from the head
+ * - Positional get, set, add and remove in O(sqrt n). New chunks are sized close to
+ *   sqrt(n), so a walk from the nearer end visits O(sqrt n) chunks and an insert or
+ *   remove shifts at most one chunk's elements
+ * - Sequential positional access in O(1) amortized: the chunk found by the last
+ *   lookup is remembered, so get(i), get(i + 1), ... start from there
+ * - Random reads in O(log n) between structural changes: the second lookup after
+ *   a change builds an array of chunk start indexes, and later lookups binary
+ *   search it until the next add or remove
+ * - One array per chunk instead of one node per element: traversal reads
+ *   consecutive slots, and the list costs a few bytes per element, not a node
+ * - Fail-fast iterators, a sized spliterator for streams, and a java.util.List
+ *   view (asList)
+ *
+ * A chunk keeps its elements in items[start, start + count), with free slots at
+ * both ends, so adding or removing at either end of a chunk moves nothing. A
+ * full chunk is split in half; a chunk that falls to a quarter full is merged
+ * into a neighbour with room, so chunks stay dense.
+ */
+public class UnrolledLinkedList<E> implements Iterable<E> {
+    // Capacity of the chunks of a small list
+    private static final int MINIMUM_CHUNK_CAPACITY = 16;
+
+    /**
+     * A run of elements and its links to the neighbouring chunks.
+     */
+    private static final class Chunk<E> {
+        Object[] items;
+        int start; // Slot of the first element
+        int count; // Number of elements
+        Chunk<E> prev;
+        Chunk<E> next;
+
+        Chunk(int capacity) {
+            this.items = new Object[capacity];
+        }
+
+        int capacity() {
+            return items.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        E get(int offset) {
+            return (E) items[start + offset];
+        }
+    }
+
+    private Chunk<E> head; // First chunk, or null if the list is empty
+    private Chunk<E> tail; // Last chunk, or null if the list is empty
+    private int size;      // Number of elements in the list
+    private int modCount;  // Structural changes so far, checked by iterators to fail fast
+
+    // Chunk found by the last positional lookup, and the list index of its first
+    // element; only trusted while fingerModCount == modCount
+    private Chunk<E> finger;
+    private int fingerIndex;
+    private int fingerModCount = -1;
+
+    // Every chunk in order, and the list index of each one's first element, for
+    // binary search by random reads; rebuilt on demand, only trusted while
+    // chunkIndexModCount == modCount
+    private Object[] chunks;
+    private int[] chunkStarts;
+    private int chunkCount;
+    private int chunkIndexModCount = -1;
+    private int lookupModCount = -1; // modCount at the last positional lookup
+    private ListView view;           // Created by the first asList call
+
+    /**
+     * Adds an element to the beginning of the list.
+     * Time Complexity: O(1)
+     * @param data the element to add
+     */
+    public void addFirst(E data) {
+        if (head == null || head.start == 0) {
+            Chunk<E> chunk = new Chunk<>(targetCapacity());
+            chunk.start = chunk.capacity(); // Fill from the back, leaving room for more addFirst calls
+            linkAfter(null, chunk);
+        }
+        head.items[--head.start] = data;
+        head.count++;
+        size++;
+        countChange();
+    }
+
+    /**
+     * Adds an element to the end of the list.
+     * Time Complexity: O(1)
+     * @param data the element to add
+     */
+    public void addLast(E data) {
+        if (tail == null || tail.start + tail.count == tail.capacity()) {
+            linkAfter(tail, new Chunk<>(targetCapacity()));
+        }
+        tail.items[tail.start + tail.count++] = data;
+        size++;
+        countChange();
+    }
+
+    /**
+     * Inserts an element at the given position, shifting later elements back.
+     * Time Complexity: O(sqrt n)
+     * @param index the position, from 0 to size()
+     * @param data the element to add
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public void add(int index, E data) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            addLast(data);
+            return;
+        }
+        if (index == 0) {
+            addFirst(data);
+            return;
+        }
+        Chunk<E> chunk = locate(index);
+        int chunkIndex = fingerIndex;
+        if (chunk.count == chunk.capacity()) {
+            if (chunk.capacity() < targetCapacity()) {
+                grow(chunk);
+            } else {
+                split(chunk);
+                if (index - chunkIndex > chunk.count) {
+                    chunkIndex += chunk.count;
+                    chunk = chunk.next;
+                }
+            }
+        }
+        insertAt(chunk, index - chunkIndex, data);
+        size++;
+        countChange();
+        setFinger(chunk, chunkIndex);
+    }
+
+    /**
+     * Removes and returns the first element of the list.
+     * Time Complexity: O(1)
+     * @return the removed element
+     * @throws IllegalStateException if the list is empty
+     */
+    public E removeFirst() {
+        if (head == null) {
+            throw new IllegalStateException("List is empty");
+        }
+        Chunk<E> chunk = head;
+        E data = chunk.get(0);
+        chunk.items[chunk.start++] = null;
+        if (--chunk.count == 0) {
+            unlink(chunk);
+        }
+        size--;
+        countChange();
+        return data;
+    }
+
+    /**
+     * Removes and returns the last element of the list.
+     * Time Complexity: O(1)
+     * @return the removed element
+     * @throws IllegalStateException if the list is empty
+     */
+    public E removeLast() {
+        if (tail == null) {
+            throw new IllegalStateException("List is empty");
+        }
+        Chunk<E> chunk = tail;
+        E data = chunk.get(chunk.count - 1);
+        chunk.items[chunk.start + chunk.count - 1] = null;
+        if (--chunk.count == 0) {
+            unlink(chunk);
+        }
+        size--;
+        countChange();
+        return data;
+    }
+
+    /**
+     * Removes and returns the element at the given position.
+     * Time Complexity: O(sqrt n)
+     * @param index the position
+     * @return the removed element
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public E remove(int index) {
+        checkIndex(index);
+        Chunk<E> chunk = locate(index);
+        return removeAt(chunk, fingerIndex, index - fingerIndex);
+    }
+
+    /**
+     * Removes the first occurrence of the element, if present.
+     * Time Complexity: O(n)
+     * @param data the element to remove (may be null)
+     * @return true if an element was removed
+     */
+    public boolean remove(Object data) {
+        int chunkIndex = 0;
+        for (Chunk<E> chunk = head; chunk != null; chunkIndex += chunk.count, chunk = chunk.next) {
+            for (int offset = 0; offset < chunk.count; offset++) {
+                if (Objects.equals(data, chunk.items[chunk.start + offset])) {
+                    removeAt(chunk, chunkIndex, offset);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the element at the given position.
+     * Time Complexity: O(sqrt n), O(1) amortized when walking positions in order
+     * @param index the position
+     * @return the element
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public E get(int index) {
+        checkIndex(index);
+        Chunk<E> chunk = locate(index);
+        return chunk.get(index - fingerIndex);
+    }
+
+    /**
+     * Replaces the element at the given position.
+     * Time Complexity: O(sqrt n), O(1) amortized when walking positions in order
+     * @param index the position
+     * @param data the new element
+     * @return the element previously at that position
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public E set(int index, E data) {
+        checkIndex(index);
+        Chunk<E> chunk = locate(index);
+        int slot = chunk.start + index - fingerIndex;
+        E previous = chunk.get(index - fingerIndex);
+        chunk.items[slot] = data;
+        return previous;
+    }
+
+    /**
+     * Returns the position of the first occurrence of the element.
+     * Time Complexity: O(n)
+     * @param data the element to search for (may be null)
+     * @return the position, or -1 if absent
+     */
+    public int indexOf(Object data) {
+        int chunkIndex = 0;
+        for (Chunk<E> chunk = head; chunk != null; chunkIndex += chunk.count, chunk = chunk.next) {
+            for (int offset = 0; offset < chunk.count; offset++) {
+                if (Objects.equals(data, chunk.items[chunk.start + offset])) {
+                    return chunkIndex + offset;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the list contains the specified element.
+     * Time Complexity: O(n)
+     * @param data the element to search for (may be null)
+     * @return true if the element is found, false otherwise
+     */
+    public boolean contains(Object data) {
+        return indexOf(data) != -1;
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list has no elements.
+     * @return true if the list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every element.
+     * Time Complexity: O(1)
+     */
+    public void clear() {
+        head = tail = null;
+        finger = null;
+        chunks = null; // Drop the references so the old chunks can be collected
+        chunkStarts = null;
+        size = 0;
+        countChange();
+    }
+
+    /**
+     * Returns an iterator from the first element to the last. Its remove method
+     * removes the element last returned; it drops a chunk that becomes empty but
+     * never merges chunks, so the iterator's position stays valid.
+     * @return a fail-fast iterator
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Performs the action for every element from first to last, reading each
+     * chunk's array directly.
+     * @param action the action to perform
+     * @throws IllegalArgumentException if action is null
+     * @throws ConcurrentModificationException if the action adds or removes elements
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        int expectedModCount = modCount;
+        for (Chunk<E> chunk = head; chunk != null && modCount == expectedModCount; chunk = chunk.next) {
+            Object[] items = chunk.items;
+            int end = chunk.start + chunk.count;
+            for (int slot = chunk.start; slot < end && modCount == expectedModCount; slot++) {
+                @SuppressWarnings("unchecked")
+                E data = (E) items[slot];
+                action.accept(data);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a spliterator that knows the list's size. It hands off growing
+     * batches of elements, copied into arrays, for parallel streams to split.
+     * @return a SIZED, ORDERED spliterator
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential stream over the elements, first to last.
+     * @return a stream
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements.
+     * @return a parallel stream
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Returns a java.util.List view backed by this list, the same one on every call.
+     * Its list iterators go through get and set, which the remembered chunk makes
+     * O(1) amortized in order. Its iterators and sublists fail fast on changes made
+     * through the view or directly to this list.
+     * @return a List supporting every optional operation
+     */
+    public List<E> asList() {
+        if (view == null) {
+            view = new ListView();
+        }
+        return view;
+    }
+
+    /**
+     * Returns a string representation of the list.
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Chunk<E> chunk = head; chunk != null; chunk = chunk.next) {
+            for (int offset = 0; offset < chunk.count; offset++) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                sb.append(chunk.get(offset));
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    // Counts a structural change. The asList view's list iterators and sublists check
+    // its inherited modCount, so that is kept equal to this list's
+    private void countChange() {
+        modCount++;
+        if (view != null) {
+            view.syncModCount();
+        }
+    }
+
+    // Capacity for new and grown chunks: sqrt(size) rounded up to a power of two, at
+    // least the minimum. Not capped, so walks stay O(sqrt n) at any size; the largest
+    // chunk, at Integer.MAX_VALUE elements, holds 65536
+    private int targetCapacity() {
+        int root = (int) Math.sqrt(size);
+        if (root <= MINIMUM_CHUNK_CAPACITY) {
+            return MINIMUM_CHUNK_CAPACITY;
+        }
+        return Integer.highestOneBit(root - 1) << 1;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    // Finds the chunk holding the index and leaves its first index in fingerIndex.
+    // Tries the finger's chunk, then the chunk index if it is current. A second lookup
+    // with no structural change in between builds the index; otherwise the search
+    // walks from whichever of the head, the tail and the finger is closest
+    private Chunk<E> locate(int index) {
+        boolean repeated = lookupModCount == modCount;
+        lookupModCount = modCount;
+        if (fingerModCount == modCount && index >= fingerIndex && index < fingerIndex + finger.count) {
+            return finger;
+        }
+        if (repeated) {
+            if (chunkIndexModCount != modCount) {
+                buildChunkIndex();
+            }
+            return search(index);
+        }
+        Chunk<E> chunk = head;
+        int chunkIndex = 0;
+        if (size - index < index) {
+            chunk = tail;
+            chunkIndex = size - tail.count;
+        }
+        if (fingerModCount == modCount && Math.abs(index - fingerIndex) < Math.abs(index - chunkIndex)) {
+            chunk = finger;
+            chunkIndex = fingerIndex;
+        }
+        while (index >= chunkIndex + chunk.count) {
+            chunkIndex += chunk.count;
+            chunk = chunk.next;
+        }
+        while (index < chunkIndex) {
+            chunk = chunk.prev;
+            chunkIndex -= chunk.count;
+        }
+        setFinger(chunk, chunkIndex);
+        return chunk;
+    }
+
+    // Binary search of the chunk index for the last chunk starting at or before index
+    @SuppressWarnings("unchecked")
+    private Chunk<E> search(int index) {
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunkStarts[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        Chunk<E> chunk = (Chunk<E>) chunks[low];
+        setFinger(chunk, chunkStarts[low]);
+        return chunk;
+    }
+
+    // Records every chunk and its first index, reusing the arrays when they are large enough
+    private void buildChunkIndex() {
+        int count = 0;
+        for (Chunk<E> chunk = head; chunk != null; chunk = chunk.next) {
+            count++;
+        }
+        if (chunks == null || chunks.length < count) {
+            chunks = new Object[count + (count >> 1)];
+            chunkStarts = new int[chunks.length];
+        } else {
+            Arrays.fill(chunks, count, chunks.length, null); // Let dropped chunks be collected
+        }
+        int position = 0;
+        int chunkIndex = 0;
+        for (Chunk<E> chunk = head; chunk != null; chunk = chunk.next) {
+            chunks[position] = chunk;
+            chunkStarts[position++] = chunkIndex;
+            chunkIndex += chunk.count;
+        }
+        chunkCount = count;
+        chunkIndexModCount = modCount;
+    }
+
+    private void setFinger(Chunk<E> chunk, int chunkIndex) {
+        finger = chunk;
+        fingerIndex = chunkIndex;
+        fingerModCount = modCount;
+    }
+
+    // Inserts at a logical offset of a chunk with a free slot, shifting the shorter side
+    private static <E> void insertAt(Chunk<E> chunk, int offset, E data) {
+        Object[] items = chunk.items;
+        boolean roomAtEnd = chunk.start + chunk.count < items.length;
+        if (roomAtEnd && (chunk.start == 0 || offset >= chunk.count / 2)) {
+            int slot = chunk.start + offset;
+            System.arraycopy(items, slot, items, slot + 1, chunk.count - offset);
+            items[slot] = data;
+        } else {
+            System.arraycopy(items, chunk.start, items, chunk.start - 1, offset);
+            chunk.start--;
+            items[chunk.start + offset] = data;
+        }
+        chunk.count++;
+    }
+
+    // Removes the element at a logical offset, shifting the shorter side, and then
+    // drops the chunk if empty or merges it into a neighbour if a quarter full or less
+    private E removeAt(Chunk<E> chunk, int chunkIndex, int offset) {
+        E data = deleteAt(chunk, offset);
+        size--;
+        countChange();
+        if (chunk.count == 0) {
+            unlink(chunk);
+        } else if (chunk.count > chunk.capacity() / 4 || !merge(chunk)) {
+            setFinger(chunk, chunkIndex); // Still linked, and still starts at chunkIndex
+        }
+        return data;
+    }
+
+    // Removes the element at a logical offset without touching the chunk links
+    private static <E> E deleteAt(Chunk<E> chunk, int offset) {
+        Object[] items = chunk.items;
+        E data = chunk.get(offset);
+        if (offset < chunk.count / 2) {
+            System.arraycopy(items, chunk.start, items, chunk.start + 1, offset);
+            items[chunk.start++] = null;
+        } else {
+            int slot = chunk.start + offset;
+            System.arraycopy(items, slot + 1, items, slot, chunk.count - offset - 1);
+            items[chunk.start + chunk.count - 1] = null;
+        }
+        chunk.count--;
+        return data;
+    }
+
+    // Moves the next chunk's elements into this one, or this one's into the previous
+    // chunk, if they fit. Returns true if the chunk was merged away into its predecessor
+    private boolean merge(Chunk<E> chunk) {
+        Chunk<E> next = chunk.next;
+        if (next != null && chunk.count + next.count <= chunk.capacity()) {
+            append(chunk, next);
+            unlink(next);
+            return false;
+        }
+        Chunk<E> prev = chunk.prev;
+        if (prev != null && prev.count + chunk.count <= prev.capacity()) {
+            append(prev, chunk);
+            unlink(chunk);
+            fingerModCount = -1;
+            return true;
+        }
+        return false;
+    }
+
+    // Copies source's elements after target's, first sliding target's to the front if needed
+    private static <E> void append(Chunk<E> target, Chunk<E> source) {
+        if (target.start + target.count + source.count > target.capacity()) {
+            System.arraycopy(target.items, target.start, target.items, 0, target.count);
+            Arrays.fill(target.items, Math.max(target.count, target.start), target.start + target.count, null);
+            target.start = 0;
+        }
+        System.arraycopy(source.items, source.start, target.items, target.start + target.count, source.count);
+        target.count += source.count;
+    }
+
+    // Moves the upper half of a full chunk into a new chunk linked after it
+    private void split(Chunk<E> chunk) {
+        int keep = chunk.count / 2;
+        int moved = chunk.count - keep;
+        Chunk<E> upper = new Chunk<>(chunk.capacity());
+        System.arraycopy(chunk.items, chunk.start + keep, upper.items, 0, moved);
+        Arrays.fill(chunk.items, chunk.start + keep, chunk.start + chunk.count, null);
+        upper.count = moved;
+        chunk.count = keep;
+        linkAfter(chunk, upper);
+    }
+
+    // Gives a full chunk a larger array, centring its elements so both ends have room
+    private void grow(Chunk<E> chunk) {
+        Object[] items = new Object[targetCapacity()];
+        int start = (items.length - chunk.count) / 2;
+        System.arraycopy(chunk.items, chunk.start, items, start, chunk.count);
+        chunk.items = items;
+        chunk.start = start;
+    }
+
+    // Links a chunk after the given one, or at the front if that is null
+    private void linkAfter(Chunk<E> prev, Chunk<E> chunk) {
+        Chunk<E> next = prev == null ? head : prev.next;
+        chunk.prev = prev;
+        chunk.next = next;
+        if (prev == null) {
+            head = chunk;
+        } else {
+            prev.next = chunk;
+        }
+        if (next == null) {
+            tail = chunk;
+        } else {
+            next.prev = chunk;
+        }
+    }
+
+    private void unlink(Chunk<E> chunk) {
+        if (chunk.prev == null) {
+            head = chunk.next;
+        } else {
+            chunk.prev.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            tail = chunk.prev;
+        } else {
+            chunk.next.prev = chunk.prev;
+        }
+        if (finger == chunk) {
+            fingerModCount = -1;
+        }
+    }
+
+    /**
+     * Iterator over the chunks' arrays. Offsets are logical (relative to a chunk's
+     * start), so removing an element leaves the next one at the removed offset
+     * whichever side of the chunk was shifted.
+     */
+    private final class Itr implements Iterator<E> {
+        private Chunk<E> chunk = head; // Chunk of the next element
+        private int offset;            // Offset of the next element in chunk
+        private Chunk<E> lastChunk;    // Chunk of the element last returned, or null
+        private int lastOffset;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return chunk != null;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (chunk == null) {
+                throw new NoSuchElementException();
+            }
+            lastChunk = chunk;
+            lastOffset = offset;
+            E data = chunk.get(offset++);
+            if (offset == chunk.count) {
+                chunk = chunk.next;
+                offset = 0;
+            }
+            return data;
+        }
+
+        @Override
+        public void remove() {
+            if (lastChunk == null) {
+                throw new IllegalStateException("No element to remove");
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            deleteAt(lastChunk, lastOffset);
+            if (chunk == lastChunk) {
+                offset = lastOffset;
+            }
+            if (lastChunk.count == 0) {
+                unlink(lastChunk);
+            }
+            size--;
+            countChange();
+            lastChunk = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            while (chunk != null && modCount == expectedModCount) {
+                action.accept(next());
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    // The List returned by asList; each operation maps onto a method of the list
+    private final class ListView extends AbstractList<E> {
+        ListView() {
+            syncModCount();
+        }
+
+        // Changes made directly to the list then fail the view's iterators fast too
+        void syncModCount() {
+            modCount = UnrolledLinkedList.this.modCount;
+        }
+
+        @Override
+        public E get(int index) {
+            return UnrolledLinkedList.this.get(index);
+        }
+
+        @Override
+        public E set(int index, E data) {
+            return UnrolledLinkedList.this.set(index, data);
+        }
+
+        @Override
+        public void add(int index, E data) {
+            UnrolledLinkedList.this.add(index, data);
+        }
+
+        @Override
+        public E remove(int index) {
+            return UnrolledLinkedList.this.remove(index);
+        }
+
+        @Override
+        public boolean remove(Object data) {
+            return UnrolledLinkedList.this.remove(data);
+        }
+
+        @Override
+        public void clear() {
+            UnrolledLinkedList.this.clear();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int indexOf(Object data) {
+            return UnrolledLinkedList.this.indexOf(data);
+        }
+
+        @Override
+        public boolean contains(Object data) {
+            return UnrolledLinkedList.this.contains(data);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return UnrolledLinkedList.this.iterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            UnrolledLinkedList.this.forEach(action);
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return UnrolledLinkedList.this.spliterator();
+        }
+    }
+}